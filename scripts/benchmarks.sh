@@ -0,0 +1,12 @@
+#!/usr/bin/env bash
+# Builds the JMH benchmarks and records results as JSON, which CI uploads as a build artifact.
+# Extra arguments are passed through to JMH, e.g. `scripts/benchmarks.sh BeanUtilsBenchmark -p size=1024`.
+set -e
+
+RESULTS_DIR=${BENCHMARK_RESULTS_DIR:-spring-content-benchmarks/target}
+
+mvn -B -P benchmarks -pl spring-content-benchmarks -am package -DskipTests=true -Dgpg.skip -Dmaven.javadoc.skip=true
+
+mkdir -p ${RESULTS_DIR}
+java -jar spring-content-benchmarks/target/benchmarks.jar -rf json -rff ${RESULTS_DIR}/jmh-result.json "$@"
+echo "Benchmark results written to ${RESULTS_DIR}/jmh-result.json"
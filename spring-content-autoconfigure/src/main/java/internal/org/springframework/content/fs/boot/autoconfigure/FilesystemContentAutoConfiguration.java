@@ -12,6 +12,8 @@ import org.springframework.boot.bind.PropertySourcesPropertyValues;
 import org.springframework.boot.bind.RelaxedDataBinder;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.content.fs.io.FileWriteMode;
+import org.springframework.content.fs.io.FsyncPolicy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -34,7 +36,10 @@ public class FilesystemContentAutoConfiguration {
     @Bean
 	@ConditionalOnMissingBean(FileSystemResourceLoader.class)
 	FileSystemResourceLoader fileSystemResourceLoader(FilesystemProperties props) {
-		return new FileSystemResourceLoader(props.getFilesystemRoot());
+		FileSystemResourceLoader loader = new FileSystemResourceLoader(props.getFilesystemRoot());
+		loader.setWriteMode(props.getWriteMode());
+		loader.setFsyncPolicy(props.getFsyncPolicy());
+		return loader;
 	}
 
 	@Component
@@ -48,6 +53,16 @@ public class FilesystemContentAutoConfiguration {
 	     */
 		String filesystemRoot;
 
+		/**
+		 * How content is written; in place or atomically through a temporary file
+		 */
+		FileWriteMode writeMode = FileWriteMode.IN_PLACE;
+
+		/**
+		 * What is forced to storage before a write completes
+		 */
+		FsyncPolicy fsyncPolicy = FsyncPolicy.NONE;
+
 		public String getFilesystemRoot() {
             if (filesystemRoot == null) {
                 try {
@@ -63,5 +78,21 @@ public class FilesystemContentAutoConfiguration {
 		public void setFilesystemRoot(String filesystemRoot) {
 			this.filesystemRoot = filesystemRoot;
 		}
+
+		public FileWriteMode getWriteMode() {
+			return writeMode;
+		}
+
+		public void setWriteMode(FileWriteMode writeMode) {
+			this.writeMode = writeMode;
+		}
+
+		public FsyncPolicy getFsyncPolicy() {
+			return fsyncPolicy;
+		}
+
+		public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+			this.fsyncPolicy = fsyncPolicy;
+		}
 	}
 }
@@ -0,0 +1,90 @@
+package org.springframework.content.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.utils.BeanUtils;
+
+/**
+ * Measures reading and writing annotated content properties, as every store operation does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanUtilsBenchmark {
+
+	private Document document;
+
+	@Setup
+	public void setup() {
+		document = new Document();
+		document.setContentId("12345");
+		document.setContentLength(1024L);
+		document.mimeType = "text/plain";
+	}
+
+	@Benchmark
+	public Object getContentIdViaGetter() {
+		return BeanUtils.getFieldWithAnnotation(document, ContentId.class);
+	}
+
+	@Benchmark
+	public Object getMimeTypeViaField() {
+		return BeanUtils.getFieldWithAnnotation(document, MimeType.class);
+	}
+
+	@Benchmark
+	public Document setContentIdViaSetter() {
+		BeanUtils.setFieldWithAnnotation(document, ContentId.class, "67890");
+		return document;
+	}
+
+	@Benchmark
+	public Document setContentLengthWithConversion() {
+		BeanUtils.setFieldWithAnnotation(document, ContentLength.class, 0);
+		return document;
+	}
+
+	@Benchmark
+	public boolean hasMimeType() {
+		return BeanUtils.hasFieldWithAnnotation(document, MimeType.class);
+	}
+
+	public static class Document {
+
+		@ContentId private String contentId;
+		@ContentLength private long contentLength;
+		@MimeType String mimeType;
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public long getContentLength() {
+			return contentLength;
+		}
+
+		public void setContentLength(long contentLength) {
+			this.contentLength = contentLength;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package org.springframework.content.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.jpa.io.BlobResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import internal.org.springframework.content.jpa.io.GenericBlobResourceLoader;
+import internal.org.springframework.content.jpa.repository.DefaultJpaStoreImpl;
+
+/**
+ * Measures blob writes (through {@link DefaultJpaStoreImpl#setContent}) and blob reads (through
+ * {@link BlobResource#getInputStream()}) against embedded databases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BlobResourceBenchmark {
+
+	@Param({"H2", "HSQL"})
+	public EmbeddedDatabaseType database;
+
+	@Param({"1024", "102400", "10485760"})
+	public long size;
+
+	private EmbeddedDatabase db;
+	private GenericBlobResourceLoader loader;
+	private DefaultJpaStoreImpl<Document, String> store;
+	private Document written;
+	private byte[] buffer;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String script = (database == EmbeddedDatabaseType.H2 ? "schema-h2.sql" : "schema-hsqldb.sql");
+		db = new EmbeddedDatabaseBuilder()
+				.setType(database)
+				.generateUniqueName(true)
+				.addScript("org/springframework/content/jpa/" + script)
+				.build();
+		loader = new GenericBlobResourceLoader(new JdbcTemplate(db), new DataSourceTransactionManager(db));
+		store = new DefaultJpaStoreImpl<>(loader);
+		buffer = new byte[8192];
+
+		written = new Document();
+		store.setContent(written, new PayloadInputStream(size));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		db.shutdown();
+	}
+
+	@Benchmark
+	public Document write() {
+		Document doc = new Document();
+		doc.contentId = written.contentId;
+		store.setContent(doc, new PayloadInputStream(size));
+		return doc;
+	}
+
+	@Benchmark
+	public long read() throws IOException {
+		BlobResource resource = (BlobResource) loader.getResource(written.contentId);
+		return PayloadInputStream.drain(resource.getInputStream(), buffer);
+	}
+
+	public static class Document {
+		@ContentId public String contentId;
+		@ContentLength public long contentLength;
+	}
+}
@@ -0,0 +1,100 @@
+package org.springframework.content.benchmarks;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.storeservice.ContentStoreInfo;
+import org.springframework.core.io.Resource;
+
+import internal.org.springframework.content.commons.storeservice.ContentStoreInfoImpl;
+import internal.org.springframework.content.commons.storeservice.ContentStoreServiceImpl;
+import internal.org.springframework.content.rest.utils.ContentStoreUtils;
+
+/**
+ * Measures resolving a store from a request path or a domain class when many stores are registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentStoreUtilsBenchmark {
+
+	@Param({"10", "100", "300"})
+	public int stores;
+
+	private ContentStoreServiceImpl service;
+
+	@Setup
+	public void setup() {
+		Set<ContentStoreInfo> infos = new HashSet<>();
+		for (int i = 0; i < stores - 1; i++) {
+			infos.add(new ContentStoreInfoImpl(OtherStore.class, Other.class, (ContentStore<Object, Serializable>) new NoopContentStore()));
+		}
+		infos.add(new ContentStoreInfoImpl(DocumentStore.class, Document.class, (ContentStore<Object, Serializable>) new NoopContentStore()));
+
+		service = new ContentStoreServiceImpl();
+		service.setContentStoreInfos(infos);
+	}
+
+	@Benchmark
+	public ContentStoreInfo findStoreByPath() {
+		return ContentStoreUtils.findStore(service, "documents");
+	}
+
+	@Benchmark
+	public ContentStoreInfo findContentStoreByPath() {
+		return ContentStoreUtils.findContentStore(service, "documents");
+	}
+
+	@Benchmark
+	public ContentStoreInfo findContentStoreByDomainClass() {
+		return ContentStoreUtils.findContentStore(service, Document.class);
+	}
+
+	public static class Document {}
+
+	public static class Other {}
+
+	public interface DocumentStore extends ContentStore<Document, String> {}
+
+	public interface OtherStore extends ContentStore<Other, String> {}
+
+	public static class NoopContentStore implements Store<Serializable>, ContentStore<Object, Serializable> {
+
+		@Override
+		public Resource getResource(Serializable id) {
+			return null;
+		}
+
+		@Override
+		public void setContent(Object property, InputStream content) {
+		}
+
+		@Override
+		public void unsetContent(Object property) {
+		}
+
+		@Override
+		public InputStream getContent(Object property) {
+			return null;
+		}
+	}
+}
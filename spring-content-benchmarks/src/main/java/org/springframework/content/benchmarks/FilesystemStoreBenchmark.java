@@ -0,0 +1,82 @@
+package org.springframework.content.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.utils.FileServiceImpl;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import internal.org.springframework.content.fs.repository.DefaultFilesystemStoreImpl;
+
+/**
+ * Measures {@link DefaultFilesystemStoreImpl#setContent} and {@link DefaultFilesystemStoreImpl#getContent}
+ * across payload sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilesystemStoreBenchmark {
+
+	@Param({"1024", "1048576", "104857600", "1073741824"})
+	public long size;
+
+	private File root;
+	private DefaultFilesystemStoreImpl<Document, String> store;
+	private Document written;
+	private byte[] buffer;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		root = Files.createTempDirectory("spring-content-benchmarks").toFile();
+		store = new DefaultFilesystemStoreImpl<>(new FileSystemResourceLoader(root.getAbsolutePath()), new DefaultConversionService(), new FileServiceImpl());
+		buffer = new byte[8192];
+
+		written = new Document();
+		store.setContent(written, new PayloadInputStream(size));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(root);
+	}
+
+	@Benchmark
+	public Document setContent() {
+		Document doc = new Document();
+		doc.contentId = written.contentId;
+		store.setContent(doc, new PayloadInputStream(size));
+		return doc;
+	}
+
+	@Benchmark
+	public long getContent() throws IOException {
+		return PayloadInputStream.drain(store.getContent(written), buffer);
+	}
+
+	public static class Document {
+		@ContentId public String contentId;
+		@ContentLength public long contentLength;
+	}
+}
@@ -0,0 +1,56 @@
+package org.springframework.content.benchmarks;
+
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that produces a fixed number of bytes without holding them in memory,
+ * so that large payloads can be benchmarked without skewing heap usage.
+ */
+public class PayloadInputStream extends InputStream {
+
+	private final long size;
+	private long position = 0;
+
+	public PayloadInputStream(long size) {
+		this.size = size;
+	}
+
+	@Override
+	public int read() {
+		if (position >= size) {
+			return -1;
+		}
+		return (int) (position++ & 0x7F);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (position >= size) {
+			return -1;
+		}
+		int n = (int) Math.min(len, size - position);
+		for (int i = 0; i < n; i++) {
+			b[off + i] = (byte) ((position + i) & 0x7F);
+		}
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return (int) Math.min(Integer.MAX_VALUE, size - position);
+	}
+
+	public static long drain(InputStream in, byte[] buffer) throws java.io.IOException {
+		long total = 0;
+		try {
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				total += n;
+			}
+		} finally {
+			in.close();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,60 @@
+package org.springframework.content.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.content.benchmarks.StoreMethodInterceptorBenchmark.ExtendedStore;
+import org.springframework.content.benchmarks.StoreMethodInterceptorBenchmark.NoopListener;
+import org.springframework.content.benchmarks.StoreMethodInterceptorBenchmark.NoopStore;
+import org.springframework.content.commons.repository.StoreExtension;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Measures calls the store proxy dispatches to a {@link StoreExtension}, with and without a store
+ * event listener.  The extension is always registered so that every run measures a real call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreExtensionBenchmark {
+
+	@Param({"false", "true"})
+	public boolean listeners;
+
+	private GenericApplicationContext context;
+	private ExtendedStore proxy;
+
+	@Setup
+	public void setup() {
+		context = new GenericApplicationContext();
+		if (listeners) {
+			context.addApplicationListener(new NoopListener());
+		}
+		context.refresh();
+		proxy = StoreMethodInterceptorBenchmark.createProxy(new NoopStore(), context, true);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object proxiedExtensionMethod() {
+		return proxy.ping();
+	}
+}
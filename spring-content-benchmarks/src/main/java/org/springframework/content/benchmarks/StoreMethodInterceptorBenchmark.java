@@ -0,0 +1,195 @@
+package org.springframework.content.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.content.commons.repository.AssociativeStore;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.repository.StoreExtension;
+import org.springframework.content.commons.repository.StoreInvoker;
+import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Measures the overhead the store proxy adds to each call to a plain store method, with and
+ * without a {@link StoreExtension} and a store event listener.  Calls dispatched to an extension
+ * are measured by {@link StoreExtensionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreMethodInterceptorBenchmark {
+
+	@Param({"false", "true"})
+	public boolean extensions;
+
+	@Param({"false", "true"})
+	public boolean listeners;
+
+	private GenericApplicationContext context;
+	private NoopStore target;
+	private ExtendedStore proxy;
+	private Object entity;
+	private InputStream content;
+
+	@Setup
+	public void setup() {
+		target = new NoopStore();
+		entity = new Object();
+		content = new ByteArrayInputStream(new byte[0]);
+
+		context = new GenericApplicationContext();
+		if (listeners) {
+			context.addApplicationListener(new NoopListener());
+		}
+		context.refresh();
+		proxy = createProxy(target, context, extensions);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public InputStream directGetContent() {
+		return target.getContent(entity);
+	}
+
+	@Benchmark
+	public InputStream proxiedGetContent() {
+		return proxy.getContent(entity);
+	}
+
+	@Benchmark
+	public Object proxiedSetContent() {
+		proxy.setContent(entity, content);
+		return entity;
+	}
+
+	@Benchmark
+	public Resource proxiedGetResource() {
+		return proxy.getResource("12345");
+	}
+
+	/**
+	 * Creates a store proxy over the target that publishes events to the given context.
+	 */
+	@SuppressWarnings("unchecked")
+	static ExtendedStore createProxy(NoopStore target, GenericApplicationContext context, boolean extensions) {
+		BenchmarkStoreFactoryBean factory = new BenchmarkStoreFactoryBean(target);
+		factory.setStoreInterface((Class) ExtendedStore.class);
+		factory.setApplicationEventPublisher(context);
+		factory.setBeanClassLoader(StoreMethodInterceptorBenchmark.class.getClassLoader());
+		Set<StoreExtension> storeExtensions = new HashSet<>();
+		if (extensions) {
+			storeExtensions.add(new PingExtension());
+		}
+		Field field = ReflectionUtils.findField(AbstractStoreFactoryBean.class, "extensions");
+		ReflectionUtils.makeAccessible(field);
+		ReflectionUtils.setField(field, factory, storeExtensions);
+		return (ExtendedStore) factory.getStore();
+	}
+
+	public interface Pingable {
+		String ping();
+	}
+
+	public interface ExtendedStore extends AssociativeStore<Object, String>, ContentStore<Object, String>, Pingable {
+	}
+
+	public static class NoopStore implements AssociativeStore<Object, String>, ContentStore<Object, String> {
+
+		@Override
+		public void setContent(Object property, InputStream content) {
+		}
+
+		@Override
+		public void unsetContent(Object property) {
+		}
+
+		@Override
+		public InputStream getContent(Object property) {
+			return null;
+		}
+
+		@Override
+		public Resource getResource(String id) {
+			return null;
+		}
+
+		@Override
+		public Resource getResource(Object entity) {
+			return null;
+		}
+
+		@Override
+		public void associate(Object entity, String id) {
+		}
+
+		@Override
+		public void unassociate(Object entity) {
+		}
+	}
+
+	public static class PingExtension implements StoreExtension {
+
+		@Override
+		public Set<Method> getMethods() {
+			return Collections.singleton(ReflectionUtils.findMethod(Pingable.class, "ping"));
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation, StoreInvoker invoker) {
+			return "pong";
+		}
+	}
+
+	public static class NoopListener implements ApplicationListener<StoreEvent> {
+
+		@Override
+		public void onApplicationEvent(StoreEvent event) {
+		}
+	}
+
+	public static class BenchmarkStoreFactoryBean extends AbstractStoreFactoryBean {
+
+		private final Object target;
+
+		public BenchmarkStoreFactoryBean(Object target) {
+			this.target = target;
+		}
+
+		@Override
+		protected Object getContentStoreImpl() {
+			return target;
+		}
+	}
+}
@@ -1,13 +1,19 @@
 package internal.org.springframework.content.commons.repository;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.content.commons.annotations.HandleAfterGetContent;
 import org.springframework.content.commons.annotations.HandleAfterSetContent;
@@ -20,11 +26,11 @@ import org.springframework.content.commons.repository.StoreEvent;
 import org.springframework.content.commons.repository.events.AfterGetContentEvent;
 import org.springframework.content.commons.repository.events.AfterSetContentEvent;
 import org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.repository.events.AsyncStoreEventDelivery;
 import org.springframework.content.commons.repository.events.BeforeGetContentEvent;
 import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
 import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
 import org.springframework.content.commons.utils.ReflectionService;
-import org.springframework.content.commons.utils.ReflectionServiceImpl;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ClassUtils;
@@ -37,21 +43,50 @@ public class AnnotatedStoreEventInvoker
 
 	private static final Log logger = LogFactory.getLog(AnnotatedStoreEventInvoker.class);
 
+	private static final EventHandlerMethod[] NO_HANDLERS = new EventHandlerMethod[0];
+
 	private final MultiValueMap<Class<? extends StoreEvent>, EventHandlerMethod> handlerMethods = new LinkedMultiValueMap<Class<? extends StoreEvent>, EventHandlerMethod>();
 
+	// the handlers of each event type for each type of event source, computed on first use
+	private final ConcurrentMap<Class<? extends StoreEvent>, ConcurrentMap<Class<?>, EventHandlerMethod[]>> dispatch = new ConcurrentHashMap<>();
+
 	private ReflectionService reflectionService;
 
+	private AsyncStoreEventDelivery asyncDelivery;
+
+	/**
+	 * Creates an invoker that calls handlers through method handles bound to the handler beans.
+	 */
 	public AnnotatedStoreEventInvoker() {
-		reflectionService = new ReflectionServiceImpl();
 	}
 	
+	/**
+	 * Creates an invoker that calls handlers through the given reflection service.
+	 */
 	public AnnotatedStoreEventInvoker(ReflectionService reflectionService) {
 		this.reflectionService = reflectionService;
 	}
 	
+	/**
+	 * Sets how {@literal after} events are delivered.  When set they are delivered to handlers
+	 * asynchronously rather than in the store call that raised them.
+	 */
+	@Autowired(required=false)
+	public void setAsyncStoreEventDelivery(AsyncStoreEventDelivery asyncDelivery) {
+		this.asyncDelivery = asyncDelivery;
+	}
+
 	MultiValueMap<Class<? extends StoreEvent>, EventHandlerMethod> getHandlers() {
 		return handlerMethods;
 	}
+
+	/**
+	 * @param eventType the type of store event
+	 * @return true if a handler method is registered for events of that type
+	 */
+	public boolean hasHandlers(Class<? extends StoreEvent> eventType) {
+		return handlerMethods.containsKey(eventType);
+	}
 	
 	@Override
 	public Object postProcessBeforeInitialization(Object bean, String beanName)
@@ -90,29 +125,57 @@ public class AnnotatedStoreEventInvoker
 
 	@Override
 	public void onApplicationEvent(StoreEvent event) {
-		Class<? extends StoreEvent> eventType = event.getClass();
+		Object src = event.getSource();
 
-		if (!handlerMethods.containsKey(eventType)) {
-			return;
+		for (EventHandlerMethod handlerMethod : getHandlers(event.getClass(), src.getClass())) {
+			if (asyncDelivery != null && asyncDelivery.isAsync(event)) {
+				asyncDelivery.deliver(handlerMethod.handler, event, () -> invoke(handlerMethod, event));
+			} else {
+				invoke(handlerMethod, event);
+			}
 		}
+	}
 
-		for (EventHandlerMethod handlerMethod : handlerMethods.get(eventType)) {
+	private void invoke(EventHandlerMethod handlerMethod, StoreEvent event) {
+		Object src = event.getSource();
 
-			Object src = event.getSource();
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Invoking %s handler for %s.", event.getClass().getSimpleName(), src));
+		}
 
-			if (!ClassUtils.isAssignable(handlerMethod.targetType, src.getClass())) {
-				continue;
-			}
+		if (reflectionService != null) {
+			reflectionService.invokeMethod(handlerMethod.method, handlerMethod.handler, src);
+		} else {
+			handlerMethod.invoke(src);
+		}
+	}
 
-			List<Object> parameters = new ArrayList<Object>();
-			parameters.add(src);
-			
-			if (logger.isDebugEnabled()) {
-				logger.debug(String.format("Invoking {} handler for {}.", event.getClass().getSimpleName(), event.getSource()));
-			}
+	EventHandlerMethod[] getHandlers(Class<? extends StoreEvent> eventType, Class<?> sourceType) {
+		ConcurrentMap<Class<?>, EventHandlerMethod[]> handlersBySource = dispatch.get(eventType);
+		if (handlersBySource == null) {
+			handlersBySource = dispatch.computeIfAbsent(eventType, type -> new ConcurrentHashMap<>());
+		}
+
+		EventHandlerMethod[] handlers = handlersBySource.get(sourceType);
+		if (handlers == null) {
+			handlers = handlersBySource.computeIfAbsent(sourceType, type -> findHandlers(eventType, type));
+		}
+		return handlers;
+	}
+
+	private EventHandlerMethod[] findHandlers(Class<? extends StoreEvent> eventType, Class<?> sourceType) {
+		List<EventHandlerMethod> candidates = handlerMethods.get(eventType);
+		if (candidates == null) {
+			return NO_HANDLERS;
+		}
 
-			reflectionService.invokeMethod(handlerMethod.method, handlerMethod.handler, parameters.toArray());
+		List<EventHandlerMethod> handlers = new ArrayList<EventHandlerMethod>();
+		for (EventHandlerMethod handlerMethod : candidates) {
+			if (ClassUtils.isAssignable(handlerMethod.targetType, sourceType)) {
+				handlers.add(handlerMethod);
+			}
 		}
+		return (handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(new EventHandlerMethod[handlers.size()]));
 	}
 	
 	<H extends Annotation, E> void findHandler(Object bean, Method method, Class<H> handler, Class<? extends StoreEvent>  eventType) {
@@ -133,13 +196,17 @@ public class AnnotatedStoreEventInvoker
 		logger.debug(String.format("Annotated handler method found: {%s}", handlerMethod));
 
 		handlerMethods.add(eventType, handlerMethod);
+		dispatch.clear();
 	}
 
 	static class EventHandlerMethod {
 
+		private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class);
+
 		final Class<?> targetType;
 		final Method method;
 		final Object handler;
+		final MethodHandle invoker;
 
 		private EventHandlerMethod(Class<?> targetType, Object handler, Method method) {
 
@@ -148,6 +215,29 @@ public class AnnotatedStoreEventInvoker
 			this.handler = handler;
 
 			ReflectionUtils.makeAccessible(this.method);
+
+			// handlers taking more than the content object are left to fail when invoked, as before
+			MethodHandle bound = null;
+			if (method.getParameterCount() == 1) {
+				try {
+					bound = MethodHandles.lookup().unreflect(method).bindTo(handler).asType(HANDLER_TYPE);
+				} catch (IllegalAccessException iae) {
+					throw new IllegalStateException(String.format("Event handler method %s is not accessible", method.getName()), iae);
+				}
+			}
+			this.invoker = bound;
+		}
+
+		void invoke(Object source) {
+			if (invoker == null) {
+				ReflectionUtils.invokeMethod(method, handler, source);
+				return;
+			}
+			try {
+				invoker.invokeExact(source);
+			} catch (Throwable t) {
+				ReflectionUtils.rethrowRuntimeException(t);
+			}
 		}
 
 		@Override
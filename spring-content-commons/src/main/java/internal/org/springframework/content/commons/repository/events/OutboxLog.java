@@ -0,0 +1,338 @@
+package internal.org.springframework.content.commons.repository.events;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+import org.springframework.util.Assert;
+
+/**
+ * A durable, append-only log of records held in a directory of segment files.
+ * <p>
+ * Each record is numbered with an offset, one greater than the record before it, and is
+ * checksummed so that a record torn by a crash is discarded when the log is next opened.  Records
+ * are written to the newest segment until it reaches the segment size, when a new segment is
+ * started.  Consumers record, by name, the offset they have read up to and segments whose records
+ * have all been consumed can be deleted.
+ */
+public class OutboxLog implements Closeable {
+
+	public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+	private static final int HEADER_SIZE = 16;
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String OFFSET_SUFFIX = ".offset";
+
+	private final File directory;
+	private final long segmentSize;
+	private final boolean fsync;
+	private final ConcurrentSkipListMap<Long, File> segments = new ConcurrentSkipListMap<>();
+
+	// guarded by this
+	private FileChannel writer;
+	private volatile long nextOffset;
+
+	// where the last read ended, so the next read needn't scan its segment from the start
+	private final Object readLock = new Object();
+	private long hintSegment = -1;
+	private long hintPosition;
+	private long hintOffset;
+
+	/**
+	 * Opens the log in a directory, creating it if necessary.
+	 *
+	 * @param directory the directory holding the log
+	 * @param segmentSize the size a segment grows to before a new one is started
+	 * @param fsync whether each record is forced to disk before it is acknowledged
+	 * @throws IOException if the log can't be opened
+	 */
+	public OutboxLog(File directory, long segmentSize, boolean fsync) throws IOException {
+		Assert.notNull(directory, "directory must not be null");
+		Assert.isTrue(segmentSize > 0, "segmentSize must be greater than 0");
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.fsync = fsync;
+
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException(String.format("Unable to create outbox directory %s", directory));
+		}
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+		if (files != null) {
+			for (File file : files) {
+				String name = file.getName();
+				segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+			}
+		}
+		if (segments.isEmpty()) {
+			segments.put(0L, segmentFile(0L));
+		}
+
+		// only the newest segment can have been torn by a crash
+		Map.Entry<Long, File> newest = segments.lastEntry();
+		writer = FileChannel.open(newest.getValue().toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long position = 0;
+		long offset = newest.getKey();
+		Record record;
+		while ((record = readRecord(writer, position, offset)) != null) {
+			position = record.next;
+			offset++;
+		}
+		writer.truncate(position);
+		writer.position(position);
+		nextOffset = offset;
+	}
+
+	/**
+	 * Appends a record.
+	 *
+	 * @param payload the record
+	 * @return the record's offset
+	 * @throws IOException if the record can't be written
+	 */
+	public synchronized long append(byte[] payload) throws IOException {
+		if (writer.position() >= segmentSize) {
+			roll();
+		}
+
+		long offset = nextOffset;
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+		buffer.putInt(payload.length).putLong(offset).putInt((int) crc.getValue()).put(payload);
+		buffer.flip();
+
+		long start = writer.position();
+		try {
+			while (buffer.hasRemaining()) {
+				writer.write(buffer);
+			}
+			if (fsync) {
+				writer.force(false);
+			}
+		} catch (IOException ioe) {
+			// don't leave a partial record for the next one to be written after
+			writer.truncate(start);
+			writer.position(start);
+			throw ioe;
+		}
+		nextOffset = offset + 1;
+		return offset;
+	}
+
+	/**
+	 * Reads records from an offset.  Reading from an offset older than the oldest retained record
+	 * reads from the oldest retained record.
+	 *
+	 * @param from the offset of the first record to read
+	 * @param max the most records to read
+	 * @return the records, in order, or an empty list if there are none from that offset
+	 * @throws IOException if the records can't be read
+	 */
+	public List<Entry> read(long from, int max) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		long end = nextOffset;
+		if (from >= end) {
+			return entries;
+		}
+
+		synchronized (readLock) {
+			Long first = segments.floorKey(from);
+			if (first == null) {
+				first = segments.firstKey();
+			}
+			for (Map.Entry<Long, File> segment : segments.tailMap(first, true).entrySet()) {
+				long position = 0;
+				long offset = segment.getKey();
+				if (hintSegment == offset && hintOffset <= from) {
+					position = hintPosition;
+					offset = hintOffset;
+				}
+				try (FileChannel channel = FileChannel.open(segment.getValue().toPath(), StandardOpenOption.READ)) {
+					Record record;
+					while (offset < end && entries.size() < max && (record = readRecord(channel, position, offset)) != null) {
+						if (offset >= from) {
+							entries.add(new Entry(offset, record.payload));
+						}
+						position = record.next;
+						offset++;
+					}
+				} catch (NoSuchFileException nsfe) {
+					// deleted since it was listed
+					continue;
+				}
+				hintSegment = segment.getKey();
+				hintPosition = position;
+				hintOffset = offset;
+				if (offset >= end || entries.size() >= max) {
+					break;
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * @return the offset the next record will be appended at
+	 */
+	public long getNextOffset() {
+		return nextOffset;
+	}
+
+	/**
+	 * @return the offset of the oldest retained record
+	 */
+	public long getStartOffset() {
+		return segments.firstKey();
+	}
+
+	/**
+	 * Records the offset a consumer has read up to.
+	 *
+	 * @param consumer the consumer's name
+	 * @param offset the offset of the next record the consumer will read
+	 * @throws IOException if the offset can't be written
+	 */
+	public void commit(String consumer, long offset) throws IOException {
+		File file = new File(directory, consumer + OFFSET_SUFFIX);
+		File temp = new File(directory, consumer + OFFSET_SUFFIX + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.write(ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.US_ASCII)));
+			if (fsync) {
+				channel.force(true);
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * @param consumer the consumer's name
+	 * @return the offset of the next record the consumer will read, or -1 if it hasn't committed one
+	 * @throws IOException if the offset can't be read
+	 */
+	public long getCommitted(String consumer) throws IOException {
+		File file = new File(directory, consumer + OFFSET_SUFFIX);
+		if (!file.exists()) {
+			return -1;
+		}
+		return Long.parseLong(new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII).trim());
+	}
+
+	/**
+	 * Deletes segments whose records are all older than an offset, keeping the newest of them.
+	 *
+	 * @param offset the offset records older than have been consumed
+	 * @param retain the number of consumed segments to keep so they can be replayed
+	 */
+	public void deleteConsumedSegments(long offset, int retain) {
+		List<Long> consumed = new ArrayList<>();
+		Long base = segments.firstKey();
+		Long next;
+		while ((next = segments.higherKey(base)) != null && next <= offset) {
+			consumed.add(base);
+			base = next;
+		}
+		for (int i = 0; i < consumed.size() - retain; i++) {
+			File file = segments.remove(consumed.get(i));
+			if (file != null && !file.delete()) {
+				segments.put(consumed.get(i), file);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+
+	private void roll() throws IOException {
+		writer.force(true);
+		writer.close();
+		long base = nextOffset;
+		File file = segmentFile(base);
+		writer = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		segments.put(base, file);
+	}
+
+	private File segmentFile(long base) {
+		return new File(directory, String.format("%020d%s", base, SEGMENT_SUFFIX));
+	}
+
+	private static Record readRecord(FileChannel channel, long position, long expectedOffset) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		if (!readFully(channel, header, position)) {
+			return null;
+		}
+		header.flip();
+		int length = header.getInt();
+		long offset = header.getLong();
+		int checksum = header.getInt();
+		if (length < 0 || offset != expectedOffset || position + HEADER_SIZE + length > channel.size()) {
+			return null;
+		}
+
+		ByteBuffer payload = ByteBuffer.allocate(length);
+		if (!readFully(channel, payload, position + HEADER_SIZE)) {
+			return null;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload.array());
+		if ((int) crc.getValue() != checksum) {
+			return null;
+		}
+		return new Record(payload.array(), position + HEADER_SIZE + length);
+	}
+
+	private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static class Record {
+
+		private final byte[] payload;
+		private final long next;
+
+		Record(byte[] payload, long next) {
+			this.payload = payload;
+			this.next = next;
+		}
+	}
+
+	/**
+	 * A record and its offset.
+	 */
+	public static class Entry {
+
+		private final long offset;
+		private final byte[] payload;
+
+		Entry(long offset, byte[] payload) {
+			this.offset = offset;
+			this.payload = payload;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
+
+		public byte[] getPayload() {
+			return payload;
+		}
+	}
+}
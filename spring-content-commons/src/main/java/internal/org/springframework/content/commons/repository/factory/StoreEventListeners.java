@@ -0,0 +1,141 @@
+package internal.org.springframework.content.commons.repository.factory;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AbstractApplicationEventMulticaster;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ReflectionUtils;
+
+import internal.org.springframework.content.commons.repository.AnnotatedStoreEventInvoker;
+
+/**
+ * Tells whether anything listens for a type of store event, so that stores need not create and
+ * publish events nobody receives.
+ * <p>
+ * Listeners are found by asking each application context's event multicaster for the listeners it
+ * publishes to, which covers listener beans, listeners added to the context and
+ * {@literal @EventListener} methods.  Until the application context, and each of its parents, is
+ * running, or whenever the multicaster can't be asked, every event type is assumed to have
+ * listeners.  An event type found to have listeners is remembered; one found to have none is
+ * checked again after the recheck interval so that listeners added later are found.
+ */
+public class StoreEventListeners {
+
+	public static final long DEFAULT_RECHECK_INTERVAL = 1000L;
+
+	private static final Method GET_APPLICATION_LISTENERS = findGetApplicationListeners();
+
+	// NANOS_LISTENED if the event type has listeners, otherwise when it was found to have none
+	private static final long NANOS_LISTENED = Long.MIN_VALUE;
+
+	private final ApplicationEventPublisher publisher;
+	private final ConcurrentMap<Class<? extends StoreEvent>, Long> listened = new ConcurrentHashMap<>();
+	private long recheckNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_RECHECK_INTERVAL);
+
+	public StoreEventListeners(ApplicationEventPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	/**
+	 * Sets how long an event type found to have no listeners is assumed to have none.
+	 */
+	public void setRecheckInterval(long millis) {
+		this.recheckNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	/**
+	 * @param eventType the type of store event
+	 * @return false only if nothing listens for events of that type
+	 */
+	public boolean hasListeners(Class<? extends StoreEvent> eventType) {
+		Long result = listened.get(eventType);
+		if (result != null && (result == NANOS_LISTENED || System.nanoTime() - result < recheckNanos)) {
+			return result == NANOS_LISTENED;
+		}
+		if (!(publisher instanceof AbstractApplicationContext) || !isRefreshed((ApplicationContext) publisher)) {
+			return true;
+		}
+		boolean found = findListeners((ApplicationContext) publisher, eventType);
+		listened.put(eventType, found ? NANOS_LISTENED : System.nanoTime());
+		return found;
+	}
+
+	private boolean isRefreshed(ApplicationContext context) {
+		for (ApplicationContext ctx = context; ctx != null; ctx = ctx.getParent()) {
+			if (!(ctx instanceof AbstractApplicationContext)) {
+				return false;
+			}
+			try {
+				// the lifecycle processor is started once the context has registered every listener
+				if (!((AbstractApplicationContext) ctx).isRunning()) {
+					return false;
+				}
+			} catch (IllegalStateException ise) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean findListeners(ApplicationContext context, Class<? extends StoreEvent> eventType) {
+		ResolvableType type = ResolvableType.forClass(eventType);
+
+		// events are published to every ancestor of the context too
+		for (ApplicationContext ctx = context; ctx != null; ctx = ctx.getParent()) {
+			Collection<ApplicationListener<?>> listeners = getApplicationListeners((AbstractApplicationContext) ctx);
+			if (listeners == null) {
+				return true;
+			}
+			for (ApplicationListener<?> listener : listeners) {
+				if (listener instanceof AnnotatedStoreEventInvoker) {
+					// listens for every store event but only handles those it has handlers for
+					if (((AnnotatedStoreEventInvoker) listener).hasHandlers(eventType)) {
+						return true;
+					}
+				} else if (new GenericApplicationListenerAdapter(listener).supportsEventType(type)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns every listener the context's multicaster publishes to, resolving listener beans, or
+	 * null if they can't be determined.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Collection<ApplicationListener<?>> getApplicationListeners(AbstractApplicationContext context) {
+		if (GET_APPLICATION_LISTENERS == null) {
+			return null;
+		}
+		try {
+			Object multicaster = context.getBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME);
+			if (!(multicaster instanceof AbstractApplicationEventMulticaster)) {
+				return null;
+			}
+			return (Collection<ApplicationListener<?>>) ReflectionUtils.invokeMethod(GET_APPLICATION_LISTENERS, multicaster);
+		} catch (RuntimeException e) {
+			// for example a scoped listener bean that can't be resolved outside its scope
+			return null;
+		}
+	}
+
+	private static Method findGetApplicationListeners() {
+		Method method = ReflectionUtils.findMethod(AbstractApplicationEventMulticaster.class, "getApplicationListeners");
+		if (method != null) {
+			ReflectionUtils.makeAccessible(method);
+		}
+		return method;
+	}
+}
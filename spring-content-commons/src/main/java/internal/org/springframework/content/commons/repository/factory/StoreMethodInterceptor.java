@@ -3,11 +3,18 @@ package internal.org.springframework.content.commons.repository.factory;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
@@ -20,6 +27,7 @@ import org.springframework.content.commons.repository.events.AfterUnsetContentEv
 import org.springframework.content.commons.repository.events.BeforeGetContentEvent;
 import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
 import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
@@ -31,10 +39,19 @@ public class StoreMethodInterceptor implements MethodInterceptor {
 	private Map<Method,StoreExtension> extensions;
 	private ContentStore<Object, Serializable> store = null;
 	private ApplicationEventPublisher publisher;
+	private StoreEventListeners listeners;
+
+	// the most entities handed to the store, and held to publish unset events with, at a time
+	static final int UNSET_BATCH_SIZE = 1000;
+
+	// how each method is handled, computed when the proxy is created or on the method's first call
+	private final ConcurrentMap<Method, Dispatch> dispatch = new ConcurrentHashMap<>();
 	
 	private static Method getContentMethod; 
 	private static Method setContentMethod; 
 	private static Method unsetContentMethod;
+	private static Method unsetContentsMethod;
+	private static Method deleteAllMethod;
 	private static Method getResourceMethod;
 	private static Method associativeGetResourceMethod;
 	private static Method associateResourceMethod;
@@ -49,6 +66,10 @@ public class StoreMethodInterceptor implements MethodInterceptor {
 		Assert.notNull(setContentMethod);
 		unsetContentMethod = ReflectionUtils.findMethod(ContentStore.class, "unsetContent", Object.class);
 		Assert.notNull(unsetContentMethod);
+		unsetContentsMethod = ReflectionUtils.findMethod(ContentStore.class, "unsetContent", Iterable.class);
+		Assert.notNull(unsetContentsMethod);
+		deleteAllMethod = ReflectionUtils.findMethod(Store.class, "deleteAll", Iterable.class);
+		Assert.notNull(deleteAllMethod);
 		getResourceMethod = ReflectionUtils.findMethod(Store.class, "getResource", Serializable.class);
 		Assert.notNull(getResourceMethod);
 		associativeGetResourceMethod = ReflectionUtils.findMethod(AssociativeStore.class, "getResource", Object.class);
@@ -60,6 +81,14 @@ public class StoreMethodInterceptor implements MethodInterceptor {
 	}
 	
 	public StoreMethodInterceptor(ContentStore<Object, Serializable> store, Class<?> domainClass, Class<? extends Serializable> contentIdClass, Map<Method,StoreExtension> extensions, ApplicationEventPublisher publisher) {
+		this(store, domainClass, contentIdClass, extensions, publisher, null);
+	}
+
+	/**
+	 * Creates an interceptor for a store, computing how each of the store interface's methods is
+	 * handled up front.
+	 */
+	public StoreMethodInterceptor(ContentStore<Object, Serializable> store, Class<?> domainClass, Class<? extends Serializable> contentIdClass, Map<Method,StoreExtension> extensions, ApplicationEventPublisher publisher, Class<?> storeInterface) {
 		if (extensions == null) {
 			extensions = Collections.<Method, StoreExtension>emptyMap();
 		}
@@ -68,67 +97,204 @@ public class StoreMethodInterceptor implements MethodInterceptor {
         this.contentIdClass = contentIdClass;
 		this.extensions = extensions;
 		this.publisher = publisher;
+		this.listeners = new StoreEventListeners(publisher);
+
+		for (Method method : extensions.keySet()) {
+			dispatch.put(method, dispatchFor(method));
+		}
+		if (storeInterface != null) {
+			for (Method method : storeInterface.getMethods()) {
+				dispatch.put(method, dispatchFor(method));
+			}
+		}
 	}
 	
 	@Override
 	public Object invoke(MethodInvocation invocation) throws Throwable {
 		Method method = invocation.getMethod();
-		StoreExtension extension = extensions.get(method);
-		if (extension != null) {
-			return extension.invoke(invocation, new StoreInvokerImpl(domainClass, contentIdClass, invocation));
-		} else {
-			if (!isStoreMethod(invocation)) {
-				throw new StoreAccessException(String.format("No implementation found for %s", method.getName()));
-			}
+		Dispatch target = dispatch.get(method);
+		if (target == null) {
+			target = dispatch.computeIfAbsent(method, this::dispatchFor);
 		}
-		
-		StoreEvent before = null;
-		StoreEvent after = null;
-		
-		if (getContentMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0) {
-				before = new BeforeGetContentEvent(invocation.getArguments()[0], store);
-				after = new AfterGetContentEvent(invocation.getArguments()[0], store);
-			}
-		} else if (setContentMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0) {
-				before = new BeforeSetContentEvent(invocation.getArguments()[0], store);
-				after = new AfterSetContentEvent(invocation.getArguments()[0], store);
+
+		switch (target) {
+		case EXTENSION:
+			return extensions.get(method).invoke(invocation, new StoreInvokerImpl(domainClass, contentIdClass, invocation));
+		case MISSING:
+			throw new StoreAccessException(String.format("No implementation found for %s", method.getName()));
+		case PROCEED:
+			return invocation.proceed();
+		case UNSET_CONTENTS:
+			return invokeUnsetContents(invocation);
+		default:
+			return invokeWithEvents(invocation, target);
+		}
+	}
+
+	private Object invokeWithEvents(MethodInvocation invocation, Dispatch target) throws Throwable {
+		Object[] args = invocation.getArguments();
+		boolean publish = (args.length > 0 && (target != Dispatch.UNSET_CONTENT || args[0] != null));
+
+		// events are only created when something listens for them
+		if (publish && listeners.hasListeners(target.before)) {
+			publisher.publishEvent(target.newBefore(args[0], store));
+		}
+
+		// unsetting content clears the entity's content id, so take it first
+		boolean publishAfter = publish && listeners.hasListeners(target.after);
+		Object contentId = (publishAfter && target == Dispatch.UNSET_CONTENT ? contentId(args[0]) : null);
+
+		Object result = invocation.proceed();
+
+		if (publishAfter) {
+			publisher.publishEvent(target.newAfter(args[0], contentId, store));
+		}
+		return result;
+	}
+
+	private Object invokeUnsetContents(MethodInvocation invocation) throws Throwable {
+		Object[] args = invocation.getArguments();
+		boolean publishBefore = listeners.hasListeners(BeforeUnsetContentEvent.class);
+		boolean publishAfter = listeners.hasListeners(AfterUnsetContentEvent.class);
+		if (args.length == 0 || args[0] == null || (!publishBefore && !publishAfter)) {
+			return invocation.proceed();
+		}
+
+		// walk the entities once, as they may not be iterable again, handing them to the store a
+		// batch at a time so only a batch of entities and content ids are held to publish events
+		// with; an invocation that can't be proceeded with more than once gets a single batch
+		boolean batched = (invocation instanceof ProxyMethodInvocation);
+		Iterator<?> entities = ((Iterable<?>) args[0]).iterator();
+		Object result;
+		do {
+			List<Object> batch = new ArrayList<>();
+			while (entities.hasNext() && (!batched || batch.size() < UNSET_BATCH_SIZE)) {
+				batch.add(entities.next());
 			}
-		} else if (unsetContentMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0 && invocation.getArguments()[0] != null) {
-				before = new BeforeUnsetContentEvent(invocation.getArguments()[0], store);
-				after = new AfterUnsetContentEvent(invocation.getArguments()[0], store);
+			result = invokeUnsetBatch(invocation, batched, batch, publishBefore, publishAfter);
+		} while (entities.hasNext());
+		return result;
+	}
+
+	private Object invokeUnsetBatch(MethodInvocation invocation, boolean batched, List<Object> entities, boolean publishBefore, boolean publishAfter) throws Throwable {
+		if (publishBefore) {
+			for (Object entity : entities) {
+				if (entity != null) {
+					publisher.publishEvent(new BeforeUnsetContentEvent(entity, store));
+				}
 			}
 		}
 
-		if (before != null) {
-			publisher.publishEvent(before);
+		if (!publishAfter) {
+			return proceed(invocation, batched, entities);
 		}
+
+		List<Object> contentIds = new ArrayList<>(entities.size());
+		for (Object entity : entities) {
+			contentIds.add(entity != null ? contentId(entity) : null);
+		}
+
 		Object result;
 		try {
-			result = invocation.proceed();
-		} catch (Exception e) {
-			throw e;
+			result = proceed(invocation, batched, entities);
+		} catch (Throwable t) {
+			// some content may have been removed before the store failed
+			publishAfterUnset(entities, contentIds);
+			throw t;
 		}
+		publishAfterUnset(entities, contentIds);
+		return result;
+	}
 
-		if (after != null) {
-			publisher.publishEvent(after);
+	private static Object proceed(MethodInvocation invocation, boolean batched, List<Object> entities) throws Throwable {
+		if (batched) {
+			return ((ProxyMethodInvocation) invocation).invocableClone(entities).proceed();
 		}
-		return result;
+		invocation.getArguments()[0] = entities;
+		return invocation.proceed();
 	}
 
-	private boolean isStoreMethod(MethodInvocation invocation) {
-		if (getContentMethod.equals(invocation.getMethod()) || 
-			setContentMethod.equals(invocation.getMethod()) || 
-			unsetContentMethod.equals(invocation.getMethod()) || 
-			getResourceMethod.equals(invocation.getMethod()) ||
-			associativeGetResourceMethod.equals(invocation.getMethod()) ||
-			associateResourceMethod.equals(invocation.getMethod()) ||
-			unassociateResourceMethod.equals(invocation.getMethod())) {
-			return true;
-		}
-		return false;
+	// the store clears the content id of each entity whose content it removed
+	private void publishAfterUnset(List<Object> entities, List<Object> contentIds) {
+		for (int i = 0; i < entities.size(); i++) {
+			Object entity = entities.get(i);
+			Object contentId = contentIds.get(i);
+			if (entity != null && contentId != null && contentId(entity) == null) {
+				publisher.publishEvent(new AfterUnsetContentEvent(entity, contentId, store));
+			}
+		}
 	}
-}
 
+	private static Object contentId(Object entity) {
+		try {
+			return BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	private Dispatch dispatchFor(Method method) {
+		if (extensions.containsKey(method)) {
+			return Dispatch.EXTENSION;
+		} else if (getContentMethod.equals(method)) {
+			return Dispatch.GET_CONTENT;
+		} else if (setContentMethod.equals(method)) {
+			return Dispatch.SET_CONTENT;
+		} else if (unsetContentMethod.equals(method)) {
+			return Dispatch.UNSET_CONTENT;
+		} else if (unsetContentsMethod.equals(method)) {
+			return Dispatch.UNSET_CONTENTS;
+		} else if (deleteAllMethod.equals(method) ||
+				getResourceMethod.equals(method) ||
+				associativeGetResourceMethod.equals(method) ||
+				associateResourceMethod.equals(method) ||
+				unassociateResourceMethod.equals(method)) {
+			return Dispatch.PROCEED;
+		}
+		return Dispatch.MISSING;
+	}
+
+	private enum Dispatch {
+		EXTENSION,
+		MISSING,
+		PROCEED,
+		UNSET_CONTENTS,
+		GET_CONTENT(BeforeGetContentEvent.class, AfterGetContentEvent.class),
+		SET_CONTENT(BeforeSetContentEvent.class, AfterSetContentEvent.class),
+		UNSET_CONTENT(BeforeUnsetContentEvent.class, AfterUnsetContentEvent.class);
+
+		final Class<? extends StoreEvent> before;
+		final Class<? extends StoreEvent> after;
+
+		Dispatch() {
+			this(null, null);
+		}
+
+		Dispatch(Class<? extends StoreEvent> before, Class<? extends StoreEvent> after) {
+			this.before = before;
+			this.after = after;
+		}
+
+		StoreEvent newBefore(Object entity, ContentStore<Object, Serializable> store) {
+			switch (this) {
+			case GET_CONTENT:
+				return new BeforeGetContentEvent(entity, store);
+			case SET_CONTENT:
+				return new BeforeSetContentEvent(entity, store);
+			default:
+				return new BeforeUnsetContentEvent(entity, store);
+			}
+		}
+
+		StoreEvent newAfter(Object entity, Object contentId, ContentStore<Object, Serializable> store) {
+			switch (this) {
+			case GET_CONTENT:
+				return new AfterGetContentEvent(entity, store);
+			case SET_CONTENT:
+				return new AfterSetContentEvent(entity, store);
+			default:
+				return new AfterUnsetContentEvent(entity, contentId, store);
+			}
+		}
+	}
+}
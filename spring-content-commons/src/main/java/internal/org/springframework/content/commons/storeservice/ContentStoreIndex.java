@@ -0,0 +1,93 @@
+package internal.org.springframework.content.commons.storeservice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.repository.AssociativeStore;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.search.Searchable;
+import org.springframework.content.commons.storeservice.ContentStoreInfo;
+import org.springframework.content.commons.storeservice.StoreKey;
+
+/**
+ * An immutable index of a set of stores by interface, by domain object class, by the types they
+ * implement and by key.  Stores of the common types are indexed when the index is created; other
+ * types, and keys, are indexed the first time they are looked up.  Keys are indexed by name so the
+ * index grows with the number of key names, however many key instances are used.
+ */
+class ContentStoreIndex {
+
+	private static final ContentStoreInfo[] NONE = new ContentStoreInfo[] {};
+
+	private final List<ContentStoreInfo> infos;
+	private final Map<Class<?>, ContentStoreInfo> byInterface;
+	private final Map<Class<?>, ContentStoreInfo> byDomainObjectClass;
+	private final ConcurrentMap<Class<?>, ContentStoreInfo[]> byType = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, ConcurrentMap<String, Map<Object, ContentStoreInfo>>> byKey = new ConcurrentHashMap<>();
+
+	ContentStoreIndex(Collection<ContentStoreInfo> infos) {
+		this.infos = Collections.unmodifiableList(new ArrayList<>(infos));
+
+		Map<Class<?>, ContentStoreInfo> byInterface = new HashMap<>();
+		Map<Class<?>, ContentStoreInfo> byDomainObjectClass = new HashMap<>();
+		for (ContentStoreInfo info : this.infos) {
+			byInterface.putIfAbsent(info.getInterface(), info);
+			if (info.getDomainObjectClass() != null && info.getImplementation(ContentStore.class) != null) {
+				byDomainObjectClass.putIfAbsent(info.getDomainObjectClass(), info);
+			}
+		}
+		this.byInterface = Collections.unmodifiableMap(byInterface);
+		this.byDomainObjectClass = Collections.unmodifiableMap(byDomainObjectClass);
+
+		for (Class<?> type : new Class<?>[] {Store.class, AssociativeStore.class, ContentStore.class, Renderable.class, Searchable.class}) {
+			getStores(type);
+		}
+	}
+
+	Collection<ContentStoreInfo> getInfos() {
+		return infos;
+	}
+
+	ContentStoreInfo[] getStores(Class<?> storeType) {
+		return byType.computeIfAbsent(storeType, type -> {
+			List<ContentStoreInfo> stores = new ArrayList<>();
+			for (ContentStoreInfo info : infos) {
+				if (info.getImplementation(type) != null) {
+					stores.add(info);
+				}
+			}
+			return (stores.isEmpty() ? NONE : stores.toArray(new ContentStoreInfo[stores.size()]));
+		});
+	}
+
+	ContentStoreInfo getStore(Class<?> storeInterface) {
+		return byInterface.get(storeInterface);
+	}
+
+	ContentStoreInfo getContentStore(Class<?> domainObjectClass) {
+		return byDomainObjectClass.get(domainObjectClass);
+	}
+
+	ContentStoreInfo getStore(Class<?> storeType, StoreKey<?> key, Object value) {
+		return byKey.computeIfAbsent(storeType, type -> new ConcurrentHashMap<>())
+				.computeIfAbsent(key.getName(), name -> {
+					Map<Object, ContentStoreInfo> stores = new HashMap<>();
+					for (ContentStoreInfo info : getStores(storeType)) {
+						Object k = key.keyOf(info);
+						if (k != null) {
+							stores.putIfAbsent(k, info);
+						}
+					}
+					return Collections.unmodifiableMap(stores);
+				})
+				.get(value);
+	}
+}
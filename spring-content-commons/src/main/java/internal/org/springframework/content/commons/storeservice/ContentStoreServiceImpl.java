@@ -3,6 +3,8 @@ package internal.org.springframework.content.commons.storeservice;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -12,13 +14,17 @@ import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.factory.StoreFactory;
 import org.springframework.content.commons.storeservice.ContentStoreInfo;
-import org.springframework.content.commons.storeservice.ContentStoreService;
+import org.springframework.content.commons.storeservice.IndexedContentStoreService;
 import org.springframework.content.commons.storeservice.StoreFilter;
+import org.springframework.content.commons.storeservice.StoreKey;
 
-public class ContentStoreServiceImpl implements ContentStoreService {
+public class ContentStoreServiceImpl implements IndexedContentStoreService {
 
 	private Set<ContentStoreInfo> contentStoreInfos = new HashSet<>();
-	
+
+	// rebuilt whenever the stores change, which they only do at startup
+	private volatile ContentStoreIndex index = new ContentStoreIndex(Collections.<ContentStoreInfo>emptySet());
+
 	public ContentStoreServiceImpl() {
 	}
 
@@ -34,6 +40,7 @@ public class ContentStoreServiceImpl implements ContentStoreService {
 				contentStoreInfos.add(info);
 			}
 		}
+		index = new ContentStoreIndex(contentStoreInfos);
 	}
 	
 	private Class<?> getDomainObjectClass(Class<?> contentStoreInterface) {
@@ -50,11 +57,12 @@ public class ContentStoreServiceImpl implements ContentStoreService {
 	}
 
 	public Set<ContentStoreInfo> getContentStoreInfos() {
-		return contentStoreInfos;
+		return Collections.unmodifiableSet(contentStoreInfos);
 	}
 
 	public void setContentStoreInfos(Set<ContentStoreInfo> contentStoreInfos) {
 		this.contentStoreInfos = contentStoreInfos;
+		this.index = new ContentStoreIndex(contentStoreInfos);
 	}
 
 	public ContentStoreInfo[] getContentStores() {
@@ -68,12 +76,31 @@ public class ContentStoreServiceImpl implements ContentStoreService {
 	
 	@Override
 	public ContentStoreInfo[] getStores(Class<?> storeType, StoreFilter filter) {
-		Set<ContentStoreInfo> storeInfos = new HashSet<>();
-		for (ContentStoreInfo info : contentStoreInfos) {
-			if (info.getImplementation(storeType) != null && filter.matches(info)) {
+		ContentStoreInfo[] stores = index.getStores(storeType);
+		if (filter == MATCH_ALL) {
+			return stores.clone();
+		}
+		List<ContentStoreInfo> storeInfos = new ArrayList<>();
+		for (ContentStoreInfo info : stores) {
+			if (filter.matches(info)) {
 				storeInfos.add(info);
 			}
 		}
-		return storeInfos.toArray(new ContentStoreInfo[] {});
+		return storeInfos.toArray(new ContentStoreInfo[storeInfos.size()]);
+	}
+
+	@Override
+	public ContentStoreInfo getStore(Class<?> storeInterface) {
+		return index.getStore(storeInterface);
+	}
+
+	@Override
+	public ContentStoreInfo getContentStore(Class<?> domainObjectClass) {
+		return index.getContentStore(domainObjectClass);
+	}
+
+	@Override
+	public <K> ContentStoreInfo getStore(Class<?> storeType, StoreKey<K> key, K value) {
+		return index.getStore(storeType, key, value);
 	}
 }
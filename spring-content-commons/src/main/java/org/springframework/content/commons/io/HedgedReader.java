@@ -0,0 +1,335 @@
+package org.springframework.content.commons.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Opens content from a remote store, hedging against slow requests and retrying failed ones.
+ * <p>
+ * A request that hasn't returned the first byte of content within the given percentile of
+ * recent first byte latencies is hedged with a second, identical, request.  Whichever request
+ * returns the first byte first is used; the other is cancelled and anything it opens is closed.
+ * Each store keeps its own {@link LatencyHistogram} so that the delay before hedging follows the
+ * latency of that store.  No request is hedged until {@link #MIN_SAMPLES} latencies have been
+ * recorded, and at most {@code threads / 2} hedges are outstanding at any one time so that a
+ * store that is slow across the board is not sent twice the load.
+ * <p>
+ * Requests don't wait for a thread.  When every thread is busy the request is made on the
+ * caller's thread, without hedging, and a hedge that can't be started straight away isn't made.
+ * Latencies are measured from when a request starts so time spent waiting for a thread of an
+ * executor given to the reader isn't counted.
+ * <p>
+ * Each request is retried on errors the given predicate considers transient, waiting a random
+ * time of up to {@code backoff * 2^(attempt - 1)} milliseconds, capped at {@link #MAX_BACKOFF},
+ * between attempts.
+ */
+public class HedgedReader {
+
+	public static final int DEFAULT_THREADS = 16;
+	public static final double DEFAULT_PERCENTILE = 0.95;
+	public static final int DEFAULT_ATTEMPTS = 3;
+	public static final long DEFAULT_BACKOFF = 50L;
+	public static final long MAX_BACKOFF = 2000L;
+	public static final long MIN_SAMPLES = 64L;
+
+	private final ExecutorService executor;
+	private final Predicate<Throwable> transientError;
+	private final double percentile;
+	private final int attempts;
+	private final long backoff;
+	private final Semaphore hedges;
+	private final boolean ownsExecutor;
+
+	public HedgedReader(ExecutorService executor, int maxHedges, Predicate<Throwable> transientError, double percentile, int attempts, long backoff) {
+		this(executor, maxHedges, transientError, percentile, attempts, backoff, false);
+	}
+
+	private HedgedReader(ExecutorService executor, int maxHedges, Predicate<Throwable> transientError, double percentile, int attempts, long backoff, boolean ownsExecutor) {
+		Assert.notNull(executor, "executor must not be null");
+		Assert.notNull(transientError, "transientError must not be null");
+		Assert.isTrue(percentile >= 0.0 && percentile < 1.0, "percentile must be at least 0 and less than 1");
+		Assert.isTrue(attempts > 0, "attempts must be greater than 0");
+		Assert.isTrue(backoff >= 0, "backoff must not be negative");
+		this.executor = executor;
+		this.transientError = transientError;
+		this.percentile = percentile;
+		this.attempts = attempts;
+		this.backoff = backoff;
+		this.hedges = new Semaphore(Math.max(maxHedges, 0));
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	/**
+	 * Creates a reader with its own pool of threads.
+	 *
+	 * @param name the name of the reader's threads
+	 * @param threads the number of threads
+	 * @param transientError the errors worth retrying
+	 * @param percentile the percentile of recent latencies after which a request is hedged, or 0 to never hedge
+	 * @param attempts the number of times each request is attempted
+	 * @param backoff the initial time, in milliseconds, to wait before retrying
+	 * @return the reader
+	 */
+	public static HedgedReader create(String name, int threads, Predicate<Throwable> transientError, double percentile, int attempts, long backoff) {
+		Assert.isTrue(threads > 1, "threads must be greater than 1");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+		threadFactory.setDaemon(true);
+
+		// threads are started as needed and a request is rejected, rather than queued, once they are all busy
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(0, threads,
+				60L, TimeUnit.SECONDS,
+				new SynchronousQueue<Runnable>(),
+				threadFactory);
+		return new HedgedReader(executor, threads / 2, transientError, percentile, attempts, backoff, true);
+	}
+
+	/**
+	 * Opens content, hedging and retrying the request as necessary.  If every request fails the
+	 * error of the first to fail is thrown.
+	 *
+	 * @param latencies the recent first byte latencies of the store the content is read from;
+	 *                  updated with the latency of this request
+	 * @param request opens the content, or returns null if there is no content
+	 * @return the content, or null if there is no content
+	 * @throws IOException if the content can't be opened
+	 */
+	public InputStream read(LatencyHistogram latencies, Callable<InputStream> request) throws IOException {
+		Claim claim = new Claim();
+		CompletionService<InputStream> completion = new ExecutorCompletionService<>(executor);
+		List<Future<InputStream>> outstanding = new ArrayList<>(2);
+		Attempt primary = new Attempt(latencies, request, claim, false);
+		try {
+			outstanding.add(completion.submit(primary));
+		} catch (RejectedExecutionException ree) {
+			// every thread is busy so open the content on this thread rather than wait for one
+			try {
+				return primary.call();
+			} catch (Exception e) {
+				throw rethrow(e);
+			}
+		}
+
+		Attempt hedge = null;
+		Throwable failure = null;
+		try {
+			long delay = hedgeDelay(latencies);
+			Future<InputStream> done = (delay >= 0 ? completion.poll(delay, TimeUnit.MICROSECONDS) : completion.take());
+			if (done == null) {
+				if (hedges.tryAcquire()) {
+					hedge = new Attempt(latencies, request, claim, true);
+					try {
+						outstanding.add(completion.submit(hedge));
+					} catch (RejectedExecutionException ree) {
+						// no thread to hedge with
+						hedge.releaseHedge();
+						hedge = null;
+					}
+				}
+				done = completion.take();
+			}
+
+			while (true) {
+				outstanding.remove(done);
+				try {
+					return done.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+				}
+				if (outstanding.isEmpty()) {
+					break;
+				}
+				done = completion.take();
+			}
+		} catch (InterruptedException ie) {
+			// nothing will read content a request has already opened
+			closeQuietly(claim.abandon());
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while opening content");
+		} finally {
+			// anything the losing request opens is closed when it completes
+			claim.abandon();
+			for (Future<InputStream> loser : outstanding) {
+				loser.cancel(true);
+			}
+			if (hedge != null) {
+				// a hedge cancelled before it starts never runs to release its permit
+				hedge.releaseHedge();
+			}
+		}
+
+		throw rethrow(failure);
+	}
+
+	public void shutdown() {
+		if (ownsExecutor) {
+			executor.shutdownNow();
+		}
+	}
+
+	private static IOException rethrow(Throwable failure) {
+		if (failure instanceof IOException) {
+			return (IOException) failure;
+		} else if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		return new IOException("Unable to open content", failure);
+	}
+
+	private static void closeQuietly(InputStream content) {
+		if (content != null) {
+			try {
+				content.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	private long hedgeDelay(LatencyHistogram latencies) {
+		if (percentile <= 0.0 || latencies.getCount() < MIN_SAMPLES) {
+			return -1L;
+		}
+		return latencies.percentile(percentile, TimeUnit.MICROSECONDS);
+	}
+
+	private long backoff(int attempt) {
+		long cap = Math.min(MAX_BACKOFF, backoff << Math.min(attempt - 1, 30));
+		return (cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0L);
+	}
+
+	/**
+	 * The content opened by whichever request completes first, until the reader returns it or
+	 * abandons the read.
+	 */
+	private static class Claim {
+
+		private boolean settled;
+		private InputStream content;
+
+		synchronized boolean claim(InputStream content) {
+			if (settled) {
+				return false;
+			}
+			this.settled = true;
+			this.content = content;
+			return true;
+		}
+
+		synchronized boolean isSettled() {
+			return settled;
+		}
+
+		/**
+		 * Stops any further request claiming the read.
+		 *
+		 * @return the content already claimed, if any
+		 */
+		synchronized InputStream abandon() {
+			settled = true;
+			InputStream claimed = content;
+			content = null;
+			return claimed;
+		}
+	}
+
+	private class Attempt implements Callable<InputStream> {
+
+		private final LatencyHistogram latencies;
+		private final Callable<InputStream> request;
+		private final Claim claim;
+		private final boolean hedge;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		Attempt(LatencyHistogram latencies, Callable<InputStream> request, Claim claim, boolean hedge) {
+			this.latencies = latencies;
+			this.request = request;
+			this.claim = claim;
+			this.hedge = hedge;
+		}
+
+		@Override
+		public InputStream call() throws Exception {
+			long started = System.nanoTime();
+			try {
+				InputStream content = openWithRetry();
+				latencies.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+				if (!claim.claim(content)) {
+					closeQuietly(content);
+					throw new InterruptedIOException("Superseded by another request");
+				}
+				return content;
+			} finally {
+				if (hedge) {
+					releaseHedge();
+				}
+			}
+		}
+
+		void releaseHedge() {
+			if (released.compareAndSet(false, true)) {
+				hedges.release();
+			}
+		}
+
+		private InputStream openWithRetry() throws Exception {
+			for (int attempt = 1; ; attempt++) {
+				try {
+					return open();
+				} catch (Exception e) {
+					if (attempt >= attempts || !transientError.test(e) || claim.isSettled() || Thread.currentThread().isInterrupted()) {
+						throw e;
+					}
+				}
+				Thread.sleep(backoff(attempt));
+			}
+		}
+
+		private InputStream open() throws Exception {
+			InputStream content = request.call();
+			if (content == null) {
+				return null;
+			}
+
+			// the request is only complete once the first byte has arrived
+			PushbackInputStream pushback = new PushbackInputStream(content, 1);
+			try {
+				int b = pushback.read();
+				if (b >= 0) {
+					pushback.unread(b);
+				}
+			} catch (IOException | RuntimeException e) {
+				try {
+					pushback.close();
+				} catch (IOException ignored) {
+				}
+				throw e;
+			}
+			return pushback;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package org.springframework.content.commons.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of recent request latencies from which percentiles can be estimated.
+ * <p>
+ * Latencies are counted in buckets whose width grows with the latency; each power of two
+ * microseconds is divided into four buckets, so an estimate is within 25% of the actual latency.
+ * Every {@link #DECAY_INTERVAL} recordings all counts are halved so the histogram follows
+ * changes in latency rather than averaging over the lifetime of the application.
+ * <p>
+ * Recording is lock free.  Recordings made while counts are being halved may be counted before
+ * or after the halving; the histogram is an estimate so this is not worth preventing.
+ */
+public class LatencyHistogram {
+
+	public static final int DECAY_INTERVAL = 1024;
+
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong recordings = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param latency the latency
+	 * @param unit the unit of the latency
+	 */
+	public void record(long latency, TimeUnit unit) {
+		long micros = Math.max(unit.toMicros(latency), 0L);
+		counts.incrementAndGet(bucket(micros));
+		total.incrementAndGet();
+
+		if (recordings.incrementAndGet() % DECAY_INTERVAL == 0) {
+			decay();
+		}
+	}
+
+	/**
+	 * @return the number of recordings currently counted
+	 */
+	public long getCount() {
+		return total.get();
+	}
+
+	/**
+	 * Estimates the latency below which the given fraction of recorded latencies fall.
+	 *
+	 * @param percentile the fraction, between 0 and 1
+	 * @param unit the unit to return the latency in
+	 * @return the estimated latency, or -1 if nothing has been recorded
+	 */
+	public long percentile(double percentile, TimeUnit unit) {
+		long count = total.get();
+		if (count <= 0) {
+			return -1L;
+		}
+
+		long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0.0), 1.0) * count);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank && seen > 0) {
+				return unit.convert(upperBound(i), TimeUnit.MICROSECONDS);
+			}
+		}
+		return unit.convert(upperBound(BUCKETS - 1), TimeUnit.MICROSECONDS);
+	}
+
+	private void decay() {
+		long removed = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			long count;
+			long halved;
+			do {
+				count = counts.get(i);
+				halved = count / 2;
+			} while (!counts.compareAndSet(i, count, halved));
+			removed += count - halved;
+		}
+		total.addAndGet(-removed);
+	}
+
+	static int bucket(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = bucket % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return (1L << exponent) + (subBucket + 1) * width - 1;
+	}
+}
@@ -0,0 +1,23 @@
+package org.springframework.content.commons.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A resource whose content can be read from an arbitrary offset without reading the content that
+ * precedes it; for example, with a ranged request to a remote store.
+ */
+public interface RangeableResource extends Resource {
+
+	/**
+	 * Returns a stream over bytes {@code start} to {@code end}, inclusive, of the resource's content.
+	 *
+	 * @param start the offset of the first byte
+	 * @param end the offset of the last byte
+	 * @return the range of the resource's content
+	 * @throws IOException if the content can't be read
+	 */
+	InputStream getInputStream(long start, long end) throws IOException;
+}
@@ -0,0 +1,35 @@
+package org.springframework.content.commons.io;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+import org.springframework.util.Assert;
+
+/**
+ * A stream of content whose length is known before it is read; for example, the body of a
+ * request with a Content-Length header.  Stores that can use the length, to size a write for
+ * instance, may check for it.  To any other store it is an ordinary stream.
+ */
+public class SizedInputStream extends FilterInputStream {
+
+	private final long length;
+
+	/**
+	 * @param in the content
+	 * @param length the number of bytes of content
+	 */
+	public SizedInputStream(InputStream in, long length) {
+		super(in);
+		Assert.notNull(in, "in must not be null");
+		Assert.isTrue(length >= 0, "length must not be negative");
+		this.length = length;
+	}
+
+	/**
+	 * @return the number of bytes of content the stream was created with, whether or not they
+	 * have been read
+	 */
+	public long getLength() {
+		return length;
+	}
+}
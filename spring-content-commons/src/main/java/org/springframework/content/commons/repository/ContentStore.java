@@ -9,4 +9,21 @@ public interface ContentStore<S, SID extends Serializable> extends ContentReposi
 	void unsetContent(S property);
 	InputStream getContent(S property);
 
+	/**
+	 * Unsets the content of each of the given entities.  Stores that can remove content in bulk
+	 * override this method to do so; by default content is unset one entity at a time.
+	 * <p>
+	 * The content id of each entity whose content is removed is cleared, even when the content of
+	 * others can't be, so that {@code AfterUnsetContentEvent}s are only raised for those entities.
+	 * While unset events are listened for, a store's proxy hands it the entities in batches of at
+	 * most 1000, raising each batch's before events ahead of it and its after events once it is unset.
+	 *
+	 * @param properties the entities whose content is to be unset
+	 */
+	default void unsetContent(Iterable<S> properties) {
+		for (S property : properties) {
+			unsetContent(property);
+		}
+	}
+
 }
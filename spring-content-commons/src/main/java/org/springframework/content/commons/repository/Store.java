@@ -2,10 +2,26 @@ package org.springframework.content.commons.repository;
 
 import java.io.Serializable;
 
+import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.core.io.Resource;
 
 public interface Store<SID extends Serializable> {
 
 	Resource getResource(SID id);
 
-}
\ No newline at end of file
+	/**
+	 * Deletes the content with each of the given ids.  Stores that can remove content in bulk
+	 * override this method to do so; by default each resource is deleted in turn.
+	 *
+	 * @param ids the ids of the content to delete
+	 */
+	default void deleteAll(Iterable<SID> ids) {
+		for (SID id : ids) {
+			Resource resource = getResource(id);
+			if (resource instanceof DeletableResource && resource.exists()) {
+				((DeletableResource) resource).delete();
+			}
+		}
+	}
+
+}
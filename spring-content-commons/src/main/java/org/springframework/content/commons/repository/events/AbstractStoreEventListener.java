@@ -2,6 +2,7 @@ package org.springframework.content.commons.repository.events;
 
 import static org.springframework.core.GenericTypeResolver.resolveTypeArgument;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.StoreEvent;
 import org.springframework.context.ApplicationListener;
 
@@ -10,19 +11,75 @@ public abstract class AbstractStoreEventListener<T>
 
 	private final Class<?> INTERESTED_TYPE = resolveTypeArgument(getClass(), AbstractStoreEventListener.class);
 
+	private AsyncStoreEventDelivery asyncDelivery;
+	private StoreEventOutbox outbox;
+
+	/**
+	 * Sets how {@literal after} events are delivered.  When set they are delivered to this listener
+	 * asynchronously rather than in the store call that raised them.
+	 *
+	 * @param asyncDelivery the asynchronous delivery
+	 */
+	@Autowired(required=false)
+	public void setAsyncStoreEventDelivery(AsyncStoreEventDelivery asyncDelivery) {
+		this.asyncDelivery = asyncDelivery;
+	}
+
+	/**
+	 * Sets the outbox store events are recorded in.  When set the event types it records are
+	 * delivered to this listener from the outbox, at least once and in the order they were raised,
+	 * rather than in the store call that raised them.  The outbox takes precedence over
+	 * asynchronous delivery.
+	 *
+	 * @param outbox the outbox
+	 */
+	@Autowired(required=false)
+	public void setStoreEventOutbox(StoreEventOutbox outbox) {
+		this.outbox = outbox;
+		if (outbox != null) {
+			outbox.register(this);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public final void onApplicationEvent(StoreEvent event) {
 
-		Class<?> srcType = event.getSource().getClass();
+		if (!isInterested(event)) {
+			return;
+		}
 
-		if (null != INTERESTED_TYPE && !INTERESTED_TYPE.isAssignableFrom(srcType)) {
+		if (outbox != null && outbox.isRecorded(event)) {
+			// delivered by the outbox once it has been recorded
 			return;
 		}
 
+		if (asyncDelivery != null && asyncDelivery.isAsync(event)) {
+			asyncDelivery.deliver(this, event, () -> dispatch(event));
+			return;
+		}
+
+		dispatch(event);
+	}
+
+	/**
+	 * Delivers an event relayed by the outbox.
+	 */
+	void deliver(StoreEvent event) {
+		if (isInterested(event)) {
+			dispatch(event);
+		}
+	}
+
+	private boolean isInterested(StoreEvent event) {
+		Class<?> srcType = event.getSource().getClass();
+		return (null == INTERESTED_TYPE || INTERESTED_TYPE.isAssignableFrom(srcType));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void dispatch(StoreEvent event) {
 		if (event instanceof BeforeGetContentEvent) {
 			onBeforeGetContent((BeforeGetContentEvent) event);
 			onBeforeGetContent((T) event.getSource());
@@ -9,8 +9,28 @@ public class AfterUnsetContentEvent extends StoreEvent {
 
 	private static final long serialVersionUID = 3984922393423249069L;
 
+	private final Object contentId;
+
 	public AfterUnsetContentEvent(Object source, ContentStore<Object,Serializable> store) {
+		this(source, null, store);
+	}
+
+	/**
+	 * @param source the entity whose content was unset
+	 * @param contentId the entity's content id before its content was unset
+	 * @param store the store
+	 */
+	public AfterUnsetContentEvent(Object source, Object contentId, ContentStore<Object,Serializable> store) {
 		super(source, store);
+		this.contentId = contentId;
 	}
 
+	/**
+	 * Returns the entity's content id before its content was unset, as the store clears it.
+	 *
+	 * @return the content id, or null if it isn't known
+	 */
+	public Object getContentId() {
+		return contentId;
+	}
 }
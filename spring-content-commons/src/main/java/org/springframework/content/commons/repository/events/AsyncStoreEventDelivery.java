@@ -0,0 +1,187 @@
+package org.springframework.content.commons.repository.events;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Delivers {@literal after} store events to listeners asynchronously so that store calls don't
+ * wait for listeners, such as full text indexers, to handle them.
+ * <p>
+ * Declaring a bean of this type opts every {@link AbstractStoreEventListener} and
+ * {@link org.springframework.content.commons.annotations.StoreEventHandler} into asynchronous
+ * delivery of {@link AfterGetContentEvent}, {@link AfterSetContentEvent} and
+ * {@link AfterUnsetContentEvent}.  {@literal Before} events are always delivered in the store call.
+ * <p>
+ * Events are queued on one of a number of workers chosen by listener and content id, so each
+ * listener receives the events of a piece of content in the order they were raised.  An
+ * {@link AfterUnsetContentEvent} is routed by the content id the entity had before its content was
+ * unset.  Each worker's queue is bounded; when it is full the {@link OverflowPolicy} decides what
+ * happens to the event.
+ * As events are delivered after the store call returns, listeners see the content entity as it is
+ * when they run, which may have changed since the event was raised.
+ */
+public class AsyncStoreEventDelivery implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(AsyncStoreEventDelivery.class);
+
+	public static final int DEFAULT_THREADS = 4;
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+	public static final long DEFAULT_SHUTDOWN_TIMEOUT = 10000L;
+
+	/**
+	 * What happens to an event when its worker's queue is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * the store call waits until the event can be queued, unless it was made by a listener
+		 * that is itself being delivered an event, as waiting for a worker's queue from a worker
+		 * could deadlock; the event is then delivered in the store call
+		 */
+		BLOCK,
+		/** the event is delivered in the store call, possibly ahead of events already queued */
+		CALLER_RUNS,
+		/** the event is dropped and a warning logged */
+		DROP
+	}
+
+	private final ThreadPoolExecutor[] workers;
+	private final ThreadLocal<Boolean> delivering = new ThreadLocal<>();
+	private final AtomicLong dropped = new AtomicLong();
+	private long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+	public AsyncStoreEventDelivery() {
+		this(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * @param threads the number of workers delivering events
+	 * @param queueCapacity the number of events that can be queued, shared between the workers
+	 * @param policy what happens to an event when its worker's queue is full
+	 */
+	public AsyncStoreEventDelivery(int threads, int queueCapacity, OverflowPolicy policy) {
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+		Assert.notNull(policy, "policy must not be null");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("store-events-");
+		threadFactory.setDaemon(true);
+
+		RejectedExecutionHandler overflow = rejectionHandler(policy);
+		int capacity = Math.max(1, queueCapacity / threads);
+
+		// each worker has a single thread so that the events it is given are delivered in order
+		workers = new ThreadPoolExecutor[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new ThreadPoolExecutor(1, 1,
+					0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<Runnable>(capacity),
+					threadFactory,
+					overflow);
+		}
+	}
+
+	/**
+	 * Sets how long to wait, when the application context is closed, for queued events to be
+	 * delivered.
+	 */
+	public void setShutdownTimeout(long millis) {
+		this.shutdownTimeout = millis;
+	}
+
+	/**
+	 * @param event a store event
+	 * @return true if the event is delivered asynchronously
+	 */
+	public boolean isAsync(StoreEvent event) {
+		return event instanceof AfterGetContentEvent || event instanceof AfterSetContentEvent || event instanceof AfterUnsetContentEvent;
+	}
+
+	/**
+	 * Queues the delivery of an event to a listener.
+	 *
+	 * @param listener the listener
+	 * @param event the event
+	 * @param delivery delivers the event to the listener
+	 */
+	public void deliver(Object listener, StoreEvent event, Runnable delivery) {
+		workers[worker(listener, event)].execute(() -> {
+			delivering.set(Boolean.TRUE);
+			try {
+				delivery.run();
+			} catch (RuntimeException e) {
+				logger.error(String.format("Unexpected error delivering %s to %s", event.getClass().getSimpleName(), listener), e);
+			} finally {
+				delivering.remove();
+			}
+		});
+	}
+
+	/**
+	 * @return the number of events dropped because their worker's queue was full
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		for (ThreadPoolExecutor worker : workers) {
+			worker.shutdown();
+		}
+		long deadline = System.currentTimeMillis() + shutdownTimeout;
+		for (ThreadPoolExecutor worker : workers) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0 || !worker.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+				logger.warn(String.format("%s store events were not delivered before shutdown", worker.getQueue().size()));
+			}
+		}
+	}
+
+	private int worker(Object listener, StoreEvent event) {
+		Object contentId = (event instanceof AfterUnsetContentEvent
+				? ((AfterUnsetContentEvent) event).getContentId()
+				: BeanUtils.getFieldWithAnnotation(event.getSource(), ContentId.class));
+		int key = (contentId != null ? contentId.hashCode() : System.identityHashCode(event.getSource()));
+		int hash = 31 * System.identityHashCode(listener) + key;
+		hash ^= (hash >>> 16);
+		return (hash & Integer.MAX_VALUE) % workers.length;
+	}
+
+	private RejectedExecutionHandler rejectionHandler(OverflowPolicy policy) {
+		switch (policy) {
+		case CALLER_RUNS:
+			return (task, executor) -> task.run();
+		case DROP:
+			return (task, executor) -> {
+				dropped.incrementAndGet();
+				logger.warn("Store event queue full; dropping event");
+			};
+		default:
+			return (task, executor) -> {
+				// a listener raising an event routed to its own, or another waiting, worker's full queue would never return
+				if (executor.isShutdown() || Boolean.TRUE.equals(delivering.get())) {
+					task.run();
+					return;
+				}
+				try {
+					executor.getQueue().put(task);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					task.run();
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,560 @@
+package org.springframework.content.commons.repository.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.storeservice.ContentStoreInfo;
+import org.springframework.content.commons.storeservice.ContentStoreService;
+import org.springframework.content.commons.storeservice.IndexedContentStoreService;
+import org.springframework.content.commons.storeservice.StoreKey;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.util.Assert;
+
+import internal.org.springframework.content.commons.repository.events.OutboxLog;
+
+/**
+ * Records store events in a durable log before the store call that raised them returns, and
+ * relays them from the log to listeners, so that listeners such as full text indexers receive
+ * every event even if the application stops before they have handled it.
+ * <p>
+ * Declaring a bean of this type opts every {@link AbstractStoreEventListener} into delivery of
+ * the recorded event types through the outbox.  By default these are the events full text
+ * indexers handle: {@link AfterSetContentEvent}, {@link BeforeUnsetContentEvent} and
+ * {@link AfterUnsetContentEvent}.  Recording {@link BeforeUnsetContentEvent} keeps an index
+ * deletion in order with the indexing of the content before it.  Other event types, such as
+ * {@link AfterGetContentEvent} which would add a write to every read, can be recorded with
+ * {@link #setRecordedEvents}.  A recorded {@literal before} event is delivered after the store
+ * call, so its listeners can't prevent the call.  Event types that aren't recorded are delivered in
+ * the store call.
+ * <p>
+ * Events are relayed, in the order they were raised, by a single thread.  The offset of the next
+ * event to relay is only recorded once the events before it have been delivered to every listener,
+ * so events are delivered at least once; an event that was being delivered when the application
+ * stopped is delivered again when it restarts.  An event a listener throws on is retried, up to
+ * the maximum number of attempts, after which it is moved to a dead letter log in the
+ * {@literal dead-letters} sub-directory so that the events behind it are delivered.  Recorded
+ * events can be relayed again with {@link #replayFrom}.
+ * <p>
+ * The log holds the content entity as it was when the event was raised, so content entities must
+ * be {@link Serializable}.  Events of entities that aren't are delivered in the store call, as
+ * though there were no outbox.  Relayed events are raised on the store the entity's type is
+ * managed by.
+ */
+public class StoreEventOutbox implements SmartApplicationListener, SmartLifecycle, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(StoreEventOutbox.class);
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	public static final long DEFAULT_POLL_INTERVAL = 500L;
+	public static final long DEFAULT_RETRY_INTERVAL = 1000L;
+	public static final int DEFAULT_RETAINED_SEGMENTS = 2;
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+	private static final String CONSUMER = "listeners";
+	private static final String DEAD_LETTERS = "dead-letters";
+	private static final List<Class<? extends StoreEvent>> EVENT_TYPES = Arrays.asList(
+			BeforeGetContentEvent.class, AfterGetContentEvent.class,
+			BeforeSetContentEvent.class, AfterSetContentEvent.class,
+			BeforeUnsetContentEvent.class, AfterUnsetContentEvent.class);
+	private static final StoreKey<String> INTERFACE_NAME = StoreKey.named("interfaceName", info -> info.getInterface().getName());
+
+	private final File directory;
+	private long segmentSize = OutboxLog.DEFAULT_SEGMENT_SIZE;
+	private boolean fsync = true;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private long pollInterval = DEFAULT_POLL_INTERVAL;
+	private long retryInterval = DEFAULT_RETRY_INTERVAL;
+	private int retainedSegments = DEFAULT_RETAINED_SEGMENTS;
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	private volatile Set<Class<? extends StoreEvent>> recordedEvents = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			AfterSetContentEvent.class, BeforeUnsetContentEvent.class, AfterUnsetContentEvent.class)));
+
+	private final List<AbstractStoreEventListener<?>> listeners = new CopyOnWriteArrayList<>();
+	private final Set<Class<?>> unserializable = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+	private ObjectProvider<ContentStoreService> stores;
+
+	private OutboxLog log;
+	private OutboxLog deadLetters;
+	private final Object signal = new Object();
+	private final AtomicLong replay = new AtomicLong(-1);
+	private volatile long committed;
+	private volatile boolean running;
+	private Thread relay;
+	// the offset of the event being retried, and how many times it has been attempted, used only by the relay
+	private long failing = -1;
+	private int attempts;
+
+	/**
+	 * @param directory the directory the log is kept in
+	 */
+	public StoreEventOutbox(File directory) {
+		Assert.notNull(directory, "directory must not be null");
+		this.directory = directory;
+	}
+
+	/**
+	 * Sets the size each of the log's files grows to before another is started.
+	 */
+	public void setSegmentSize(long segmentSize) {
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Sets whether each event is forced to disk before the store call returns.  Without it events
+	 * survive the application stopping but not the machine.
+	 */
+	public void setFsync(boolean fsync) {
+		this.fsync = fsync;
+	}
+
+	/**
+	 * Sets the most events read from the log at a time.
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets how often the log is checked for new events when there are none.
+	 */
+	public void setPollInterval(long millis) {
+		this.pollInterval = millis;
+	}
+
+	/**
+	 * Sets how long to wait before retrying an event that a listener failed to handle.
+	 */
+	public void setRetryInterval(long millis) {
+		this.retryInterval = millis;
+	}
+
+	/**
+	 * Sets how many times an event is delivered to listeners that throw before it is moved to the
+	 * dead letter log.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be greater than 0");
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * Sets the types of store event recorded in, and delivered through, the outbox.
+	 */
+	public void setRecordedEvents(Collection<Class<? extends StoreEvent>> eventTypes) {
+		Assert.notNull(eventTypes, "eventTypes must not be null");
+		for (Class<? extends StoreEvent> eventType : eventTypes) {
+			Assert.isTrue(EVENT_TYPES.contains(eventType), String.format("%s can't be recorded", eventType.getName()));
+		}
+		this.recordedEvents = Collections.unmodifiableSet(new HashSet<>(eventTypes));
+	}
+
+	/**
+	 * Sets how many of the log's files to keep, once every event in them has been delivered, so
+	 * that those events can be replayed.
+	 */
+	public void setRetainedSegments(int retainedSegments) {
+		this.retainedSegments = retainedSegments;
+	}
+
+	@Autowired(required=false)
+	public void setContentStoreService(ObjectProvider<ContentStoreService> stores) {
+		this.stores = stores;
+	}
+
+	/**
+	 * Relays events from the given offset, whether or not they have been relayed before.  Offsets
+	 * older than the oldest event retained are relayed from the oldest event retained.
+	 *
+	 * @param offset the offset of the first event to relay
+	 * @throws IOException if the log can't be opened
+	 */
+	public void replayFrom(long offset) throws IOException {
+		OutboxLog log = getLog();
+		Assert.isTrue(offset >= 0 && offset <= log.getNextOffset(), String.format("offset must be between 0 and %s", log.getNextOffset()));
+		replay.set(Math.max(offset, log.getStartOffset()));
+		synchronized (signal) {
+			signal.notifyAll();
+		}
+	}
+
+	/**
+	 * @return the offset of the next event to be relayed
+	 */
+	public long getCommittedOffset() {
+		return committed;
+	}
+
+	/**
+	 * @return the offset the next event will be recorded at
+	 * @throws IOException if the log can't be opened
+	 */
+	public long getNextOffset() throws IOException {
+		return getLog().getNextOffset();
+	}
+
+	/**
+	 * @return the number of events moved to the dead letter log
+	 * @throws IOException if the dead letter log can't be opened
+	 */
+	public long getDeadLetterCount() throws IOException {
+		return getDeadLetters().getNextOffset();
+	}
+
+	@Override
+	public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+		for (Class<? extends StoreEvent> recorded : recordedEvents) {
+			if (recorded.isAssignableFrom(eventType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean supportsSourceType(Class<?> sourceType) {
+		return true;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent applicationEvent) {
+		if (!(applicationEvent instanceof StoreEvent) || !isRecorded((StoreEvent) applicationEvent) || listeners.isEmpty()) {
+			return;
+		}
+
+		StoreEvent event = (StoreEvent) applicationEvent;
+		byte[] record;
+		try {
+			record = serialize(event);
+		} catch (NotSerializableException nse) {
+			if (unserializable.add(event.getSource().getClass())) {
+				logger.warn(String.format("%s is not serializable; its store events are delivered directly rather than through the outbox", event.getSource().getClass().getName()));
+			}
+			deliver(event);
+			return;
+		} catch (IOException ioe) {
+			throw new StoreAccessException(String.format("Unable to record %s in the outbox", event.getClass().getSimpleName()), ioe);
+		}
+
+		try {
+			getLog().append(record);
+		} catch (IOException ioe) {
+			throw new StoreAccessException(String.format("Unable to record %s in the outbox", event.getClass().getSimpleName()), ioe);
+		}
+		synchronized (signal) {
+			signal.notifyAll();
+		}
+	}
+
+	@Override
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		try {
+			OutboxLog log = getLog();
+			long offset = log.getCommitted(CONSUMER);
+			committed = Math.max(offset, log.getStartOffset());
+		} catch (IOException ioe) {
+			throw new StoreAccessException(String.format("Unable to open the outbox in %s", directory), ioe);
+		}
+		running = true;
+		relay = new Thread(this::relay, "store-event-outbox");
+		relay.setDaemon(true);
+		relay.start();
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		synchronized (signal) {
+			signal.notifyAll();
+		}
+		try {
+			// let an event being delivered finish rather than deliver it again on restart
+			relay.join(retryInterval + pollInterval);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void stop(Runnable callback) {
+		stop();
+		callback.run();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return true;
+	}
+
+	@Override
+	public int getPhase() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		stop();
+		synchronized (this) {
+			if (log != null) {
+				log.close();
+			}
+			if (deadLetters != null) {
+				deadLetters.close();
+			}
+		}
+	}
+
+	/**
+	 * Registers a listener to relay events to.
+	 */
+	void register(AbstractStoreEventListener<?> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * @param event a store event
+	 * @return true if the event is delivered through the outbox
+	 */
+	boolean isRecorded(StoreEvent event) {
+		return supportsEventType(event.getClass());
+	}
+
+	private void relay() {
+		while (running) {
+			try {
+				long from = replay.getAndSet(-1);
+				if (from >= 0) {
+					committed = from;
+					log.commit(CONSUMER, from);
+				}
+
+				List<OutboxLog.Entry> batch = log.read(committed, batchSize);
+				if (batch.isEmpty()) {
+					await(pollInterval);
+					continue;
+				}
+				boolean retry = false;
+				for (OutboxLog.Entry entry : batch) {
+					if (!running || replay.get() >= 0) {
+						break;
+					}
+					StoreEvent event = deserialize(entry);
+					if (event != null && !deliverOrPark(entry, event)) {
+						retry = true;
+						break;
+					}
+					committed = entry.getOffset() + 1;
+				}
+				log.commit(CONSUMER, committed);
+				log.deleteConsumedSegments(committed, retainedSegments);
+				if (retry) {
+					await(retryInterval);
+				}
+			} catch (IOException | RuntimeException e) {
+				logger.error(String.format("Unable to relay store event %s from the outbox; retrying", committed), e);
+				try {
+					log.commit(CONSUMER, committed);
+				} catch (IOException ioe) {
+					// recorded with the next batch
+				}
+				await(retryInterval);
+			}
+		}
+	}
+
+	/**
+	 * Delivers a relayed event, moving it to the dead letter log once it has failed the maximum
+	 * number of times.
+	 *
+	 * @return false if the event should be retried
+	 */
+	private boolean deliverOrPark(OutboxLog.Entry entry, StoreEvent event) throws IOException {
+		if (failing != entry.getOffset()) {
+			failing = entry.getOffset();
+			attempts = 0;
+		}
+		try {
+			deliver(event);
+			failing = -1;
+			return true;
+		} catch (RuntimeException re) {
+			if (++attempts < maxAttempts) {
+				logger.warn(String.format("Unable to relay store event %s from the outbox; retrying (attempt %s of %s)", entry.getOffset(), attempts, maxAttempts), re);
+				return false;
+			}
+			long parked = getDeadLetters().append(entry.getPayload());
+			logger.error(String.format("Unable to relay store event %s from the outbox after %s attempts; moved to dead letter %s", entry.getOffset(), attempts, parked), re);
+			failing = -1;
+			return true;
+		}
+	}
+
+	private void deliver(StoreEvent event) {
+		for (AbstractStoreEventListener<?> listener : listeners) {
+			listener.deliver(event);
+		}
+	}
+
+	private void await(long millis) {
+		synchronized (signal) {
+			if (!running || replay.get() >= 0) {
+				return;
+			}
+			try {
+				signal.wait(millis);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+		}
+	}
+
+	private synchronized OutboxLog getLog() throws IOException {
+		if (log == null) {
+			log = new OutboxLog(directory, segmentSize, fsync);
+		}
+		return log;
+	}
+
+	private synchronized OutboxLog getDeadLetters() throws IOException {
+		if (deadLetters == null) {
+			deadLetters = new OutboxLog(new File(directory, DEAD_LETTERS), segmentSize, fsync);
+		}
+		return deadLetters;
+	}
+
+	private byte[] serialize(StoreEvent event) throws IOException {
+		Object entity = event.getSource();
+		if (!(entity instanceof Serializable)) {
+			throw new NotSerializableException(entity.getClass().getName());
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			Object contentId = (event instanceof AfterUnsetContentEvent ? ((AfterUnsetContentEvent) event).getContentId() : null);
+			out.writeObject(new Record(event.getClass().getName(), storeInterface(entity.getClass()), (Serializable) entity,
+					(contentId instanceof Serializable ? (Serializable) contentId : null)));
+		}
+		return bytes.toByteArray();
+	}
+
+	private StoreEvent deserialize(OutboxLog.Entry entry) {
+		Record record;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(entry.getPayload()))) {
+			record = (Record) in.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			// can never be delivered so don't hold up the events behind it
+			logger.error(String.format("Skipping store event %s that can't be read from the outbox", entry.getOffset()), e);
+			return null;
+		}
+
+		ContentStore<Object, Serializable> store = store(record.storeInterface);
+		if (BeforeGetContentEvent.class.getName().equals(record.eventType)) {
+			return new BeforeGetContentEvent(record.entity, store);
+		} else if (AfterGetContentEvent.class.getName().equals(record.eventType)) {
+			return new AfterGetContentEvent(record.entity, store);
+		} else if (BeforeSetContentEvent.class.getName().equals(record.eventType)) {
+			return new BeforeSetContentEvent(record.entity, store);
+		} else if (AfterSetContentEvent.class.getName().equals(record.eventType)) {
+			return new AfterSetContentEvent(record.entity, store);
+		} else if (BeforeUnsetContentEvent.class.getName().equals(record.eventType)) {
+			return new BeforeUnsetContentEvent(record.entity, store);
+		} else if (AfterUnsetContentEvent.class.getName().equals(record.eventType)) {
+			return new AfterUnsetContentEvent(record.entity, record.contentId, store);
+		}
+		logger.error(String.format("Skipping store event %s of unknown type %s", entry.getOffset(), record.eventType));
+		return null;
+	}
+
+	private String storeInterface(Class<?> entityClass) {
+		ContentStoreService service = (stores != null ? stores.getIfAvailable() : null);
+		if (service == null) {
+			return null;
+		}
+		if (service instanceof IndexedContentStoreService) {
+			ContentStoreInfo info = ((IndexedContentStoreService) service).getContentStore(entityClass);
+			if (info != null) {
+				return info.getInterface().getName();
+			}
+		}
+		ContentStoreInfo[] infos = service.getStores(ContentStore.class, info -> info.getDomainObjectClass() != null && info.getDomainObjectClass().isAssignableFrom(entityClass));
+		return (infos.length > 0 ? infos[0].getInterface().getName() : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private ContentStore<Object, Serializable> store(String storeInterface) {
+		ContentStoreService service = (stores != null ? stores.getIfAvailable() : null);
+		if (service == null || storeInterface == null) {
+			return null;
+		}
+		if (service instanceof IndexedContentStoreService) {
+			ContentStoreInfo info = ((IndexedContentStoreService) service).getStore(ContentStore.class, INTERFACE_NAME, storeInterface);
+			return (info != null ? (ContentStore<Object, Serializable>) info.getImplementation(ContentStore.class) : null);
+		}
+		for (ContentStoreInfo info : service.getStores(ContentStore.class)) {
+			if (info.getInterface().getName().equals(storeInterface)) {
+				return (ContentStore<Object, Serializable>) info.getImplementation(ContentStore.class);
+			}
+		}
+		return null;
+	}
+
+	private static class Record implements Serializable {
+
+		private static final long serialVersionUID = 5207405366413316245L;
+
+		private final String eventType;
+		private final String storeInterface;
+		private final Serializable entity;
+		// null in records written before it was added
+		private final Serializable contentId;
+
+		Record(String eventType, String storeInterface, Serializable entity, Serializable contentId) {
+			this.eventType = eventType;
+			this.storeInterface = storeInterface;
+			this.entity = entity;
+			this.contentId = contentId;
+		}
+	}
+}
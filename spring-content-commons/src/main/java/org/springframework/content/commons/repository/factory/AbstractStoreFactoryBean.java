@@ -139,7 +139,8 @@ public abstract class AbstractStoreFactoryBean
 																								getDomainClass(storeInterface), 
 																								getContentIdClass(storeInterface), 
 																								extensionsMap, 
-																								publisher);
+																								publisher,
+																								storeInterface);
 		result.addAdvice(intercepter);
 
 		return (Store<? extends Serializable>)result.getProxy(classLoader);
@@ -0,0 +1,36 @@
+package org.springframework.content.commons.storeservice;
+
+/**
+ * A {@link ContentStoreService} that indexes its stores so that looking a store up doesn't
+ * scan every store.
+ */
+public interface IndexedContentStoreService extends ContentStoreService {
+
+	/**
+	 * Returns the store with the given interface
+	 *
+	 * @param storeInterface the store's interface class
+	 * @return the store, or null
+	 */
+	public ContentStoreInfo getStore(Class<?> storeInterface);
+
+	/**
+	 * Returns the content store whose domain object class is the given class
+	 *
+	 * @param domainObjectClass the domain object class
+	 * @return the content store, or null
+	 */
+	public ContentStoreInfo getContentStore(Class<?> domainObjectClass);
+
+	/**
+	 * Returns the store of the given type with the given key.  Stores are indexed by the key's name
+	 * the first time it is used, and the index is kept, so keys should be constants; see
+	 * {@link StoreKey}.  Where more than one store has the key the first is returned.
+	 *
+	 * @param storeType the type of store
+	 * @param key the key stores are looked up by
+	 * @param value the key of the store to return
+	 * @return the store, or null
+	 */
+	public <K> ContentStoreInfo getStore(Class<?> storeType, StoreKey<K> key, K value);
+}
@@ -0,0 +1,65 @@
+package org.springframework.content.commons.storeservice;
+
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * A named key that stores are looked up by.  Stores are indexed once per key name so keys are
+ * identified by their name, not their function; a key should be declared once, as a constant,
+ * and every key with the same name must compute the same key.
+ *
+ * @param <K> the type of the key
+ */
+public final class StoreKey<K> {
+
+	private final String name;
+	private final Function<ContentStoreInfo, K> function;
+
+	private StoreKey(String name, Function<ContentStoreInfo, K> function) {
+		this.name = name;
+		this.function = function;
+	}
+
+	/**
+	 * Creates a key
+	 *
+	 * @param name the key's name
+	 * @param function computes a store's key, or null if it has none
+	 * @return the key
+	 */
+	public static <K> StoreKey<K> named(String name, Function<ContentStoreInfo, K> function) {
+		Assert.hasText(name, "name must not be empty");
+		Assert.notNull(function, "function must not be null");
+		return new StoreKey<>(name, function);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns a store's key
+	 *
+	 * @param info the store
+	 * @return the store's key, or null if it has none
+	 */
+	public K keyOf(ContentStoreInfo info) {
+		return function.apply(info);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return (o instanceof StoreKey && name.equals(((StoreKey<?>) o).name));
+	}
+
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "StoreKey[" + name + "]";
+	}
+}
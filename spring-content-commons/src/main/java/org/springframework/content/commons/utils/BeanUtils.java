@@ -1,11 +1,7 @@
 package org.springframework.content.commons.utils;
 
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.BeansException;
-import org.springframework.util.ReflectionUtils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -26,48 +22,19 @@ public final class BeanUtils {
 	public static boolean hasFieldWithAnnotation(Object domainObj, Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
 
-        Field field = findFieldWithAnnotation(domainObj, annotationClass);
-        if (field != null && field.getAnnotation(annotationClass) != null) {
-            return true;
-        }
-
-		return false;
+		return ContentPropertyAccessor.forObject(domainObj, annotationClass).isPresent();
 	}
 
 	public static Field findFieldWithAnnotation(Object domainObj, Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-		Field candidate = findFieldWithAnnotation(domainObj.getClass(), annotationClass, wrapper);
-		if (candidate != null) return candidate;
-		return null;
+
+		return ContentPropertyAccessor.forObject(domainObj, annotationClass).getField();
 	}
 
 	public static Field findFieldWithAnnotation(Class<?> domainObjClass, Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
 
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObjClass);
-		Field candidate = findFieldWithAnnotation(domainObjClass, annotationClass, wrapper);
-		if (candidate != null) return candidate;
-		return null;
-	}
-
-	private static Field findFieldWithAnnotation(Class<?> domainObjClass, Class<? extends Annotation> annotationClass, BeanWrapper wrapper) {
-		PropertyDescriptor[] descriptors = wrapper.getPropertyDescriptors();
-		for (PropertyDescriptor descriptor : descriptors) {
-			Field candidate = getField(domainObjClass, descriptor.getName());
-			if (candidate != null) {
-				if (candidate.getAnnotation(annotationClass) != null) {
-					return candidate;
-				}
-			}
-		}
-
-		for (Field field : getAllFields(domainObjClass)) {
-			if (field.getAnnotation(annotationClass) != null) {
-				return field;
-			}
-		}
-		return null;
+		return ContentPropertyAccessor.forClass(domainObjClass, annotationClass).getField();
 	}
 
 	protected static List<Field> getAllFields(Class<?> type) {
@@ -102,35 +69,18 @@ public final class BeanUtils {
 
 	public static Class<?> getFieldWithAnnotationType(Object domainObj, Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		Class<?> type = null;
 
-        Field field = findFieldWithAnnotation(domainObj, annotationClass);
-        if (field != null && field.getAnnotation(annotationClass) != null) {
-            type = field.getType();
-        }
-
-		return type;
+		return ContentPropertyAccessor.forObject(domainObj, annotationClass).getType();
 	}
 
 	public static Object getFieldWithAnnotation(Object domainObj, Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		Object value = null;
-
-        Field field = findFieldWithAnnotation(domainObj, annotationClass);
-        if (field != null && field.getAnnotation(annotationClass) != null) {
-            try {
-                PropertyDescriptor descriptor = org.springframework.beans.BeanUtils.getPropertyDescriptor(domainObj.getClass(), field.getName());
-                if (descriptor != null) {
-                    BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-                    value = wrapper.getPropertyValue(field.getName());
-                } else {
-                    value = ReflectionUtils.getField(field, domainObj);
-                }
-                return value;
-            } catch (IllegalArgumentException iae) {}
-        }
-
-		return value;
+
+		try {
+			return ContentPropertyAccessor.forObject(domainObj, annotationClass).getValue(domainObj);
+		} catch (IllegalArgumentException iae) {}
+
+		return null;
 	}
 
 	/**
@@ -161,18 +111,10 @@ public final class BeanUtils {
 	 */
 	public static void setFieldWithAnnotationConditionally(Object domainObj, Class<? extends Annotation> annotationClass, Object value, Condition condition) {
 
-		Field field = findFieldWithAnnotation(domainObj, annotationClass);
-		if (field != null && field.getAnnotation(annotationClass) != null && condition.matches(field)) {
+		ContentPropertyAccessor accessor = ContentPropertyAccessor.forObject(domainObj, annotationClass);
+		if (accessor.isPresent() && condition.matches(accessor.getField())) {
 			try {
-			    PropertyDescriptor descriptor = org.springframework.beans.BeanUtils.getPropertyDescriptor(domainObj.getClass(), field.getName());
-			    if (descriptor != null) {
-                    BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-			        wrapper.setPropertyValue(field.getName(), value);
-                    return;
-                } else {
-                    ReflectionUtils.setField(field, domainObj, value);
-                }
-				return;
+				accessor.setValue(domainObj, value);
 			} catch (IllegalArgumentException iae) {}
 		}
 	}
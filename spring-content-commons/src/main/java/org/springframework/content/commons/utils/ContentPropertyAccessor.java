@@ -0,0 +1,192 @@
+package org.springframework.content.commons.utils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Accessor for the property of a domain class that carries a given content annotation;
+ * i.e. {@link org.springframework.content.commons.annotations.ContentId @ContentId},
+ * {@link org.springframework.content.commons.annotations.ContentLength @ContentLength},
+ * {@link org.springframework.content.commons.annotations.MimeType @MimeType} or
+ * {@link org.springframework.content.commons.annotations.OriginalFileName @OriginalFileName}.
+ * <p>
+ * The annotated field is resolved once per domain class and annotation and its getter and
+ * setter (or the field itself when there is no accessor method) are bound as
+ * {@link MethodHandle}s so that subsequent reads and writes do not introspect the class.
+ */
+public final class ContentPropertyAccessor {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ContentPropertyAccessor NONE = new ContentPropertyAccessor(null, null, null, null);
+
+	private static final Map<Class<?>, Map<Class<? extends Annotation>, ContentPropertyAccessor>> accessors = new ConcurrentReferenceHashMap<>();
+
+	private final Field field;
+	private final MethodHandle getter;
+	private final MethodHandle setter;
+	private final Class<?> setterType;
+
+	private ContentPropertyAccessor(Field field, MethodHandle getter, MethodHandle setter, Class<?> setterType) {
+		this.field = field;
+		this.getter = getter;
+		this.setter = setter;
+		this.setterType = setterType;
+	}
+
+	/**
+	 * Returns the accessor for the property of domainClass annotated with annotationClass.  Accessors
+	 * are cached so calling this method repeatedly for the same arguments is cheap.
+	 *
+	 * @param domainClass
+	 * 					the class containing the annotated field
+	 * @param annotationClass
+	 * 					the annotation to look for
+	 * @return the accessor, never null; use {@link #isPresent()} to determine whether the field exists
+	 */
+	public static ContentPropertyAccessor forClass(Class<?> domainClass, Class<? extends Annotation> annotationClass) {
+		Assert.notNull(domainClass, "domainClass must not be null");
+		Assert.notNull(annotationClass, "annotationClass must not be null");
+
+		Map<Class<? extends Annotation>, ContentPropertyAccessor> classAccessors = accessors.get(domainClass);
+		if (classAccessors == null) {
+			classAccessors = new ConcurrentHashMap<>(4);
+			Map<Class<? extends Annotation>, ContentPropertyAccessor> existing = accessors.putIfAbsent(domainClass, classAccessors);
+			if (existing != null) {
+				classAccessors = existing;
+			}
+		}
+
+		ContentPropertyAccessor accessor = classAccessors.get(annotationClass);
+		if (accessor == null) {
+			accessor = createAccessor(domainClass, annotationClass);
+			classAccessors.put(annotationClass, accessor);
+		}
+		return accessor;
+	}
+
+	public static ContentPropertyAccessor forObject(Object domainObj, Class<? extends Annotation> annotationClass) {
+		Assert.notNull(domainObj, "domainObj must not be null");
+		return forClass(domainObj.getClass(), annotationClass);
+	}
+
+	public boolean isPresent() {
+		return field != null;
+	}
+
+	public Field getField() {
+		return field;
+	}
+
+	public Class<?> getType() {
+		return (field != null ? field.getType() : null);
+	}
+
+	public Object getValue(Object domainObj) {
+		if (getter == null) {
+			return null;
+		}
+
+		try {
+			return getter.invokeExact(domainObj);
+		} catch (Throwable t) {
+			ReflectionUtils.rethrowRuntimeException(t);
+			return null;
+		}
+	}
+
+	public void setValue(Object domainObj, Object value) {
+		if (setter == null) {
+			return;
+		}
+
+		if (value == null && setterType.isPrimitive()) {
+			return;
+		}
+		if (value != null && !ClassUtils.isAssignableValue(setterType, value)) {
+			value = new SimpleTypeConverter().convertIfNecessary(value, setterType);
+		}
+
+		try {
+			setter.invokeExact(domainObj, value);
+		} catch (Throwable t) {
+			ReflectionUtils.rethrowRuntimeException(t);
+		}
+	}
+
+	private static ContentPropertyAccessor createAccessor(Class<?> domainClass, Class<? extends Annotation> annotationClass) {
+		Field field = resolveField(domainClass, annotationClass);
+		if (field == null) {
+			return NONE;
+		}
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		PropertyDescriptor descriptor = org.springframework.beans.BeanUtils.getPropertyDescriptor(domainClass, field.getName());
+		Method readMethod = (descriptor != null ? descriptor.getReadMethod() : null);
+		Method writeMethod = (descriptor != null ? descriptor.getWriteMethod() : null);
+
+		try {
+			MethodHandle getter;
+			if (readMethod != null) {
+				ReflectionUtils.makeAccessible(readMethod);
+				getter = lookup.unreflect(readMethod);
+			} else {
+				ReflectionUtils.makeAccessible(field);
+				getter = lookup.unreflectGetter(field);
+			}
+
+			MethodHandle setter;
+			Class<?> setterType;
+			if (writeMethod != null) {
+				ReflectionUtils.makeAccessible(writeMethod);
+				setter = lookup.unreflect(writeMethod);
+				setterType = writeMethod.getParameterTypes()[0];
+			} else {
+				ReflectionUtils.makeAccessible(field);
+				setter = lookup.unreflectSetter(field);
+				setterType = field.getType();
+			}
+
+			return new ContentPropertyAccessor(field, getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE), setterType);
+		} catch (IllegalAccessException iae) {
+			throw new IllegalStateException(String.format("Unable to access field %s on %s", field.getName(), domainClass.getName()), iae);
+		}
+	}
+
+	private static Field resolveField(Class<?> domainClass, Class<? extends Annotation> annotationClass) {
+		List<Field> fields = BeanUtils.getAllFields(domainClass);
+
+		for (PropertyDescriptor descriptor : org.springframework.beans.BeanUtils.getPropertyDescriptors(domainClass)) {
+			for (Field field : fields) {
+				if (field.getName().equals(descriptor.getName())) {
+					if (field.getAnnotation(annotationClass) != null) {
+						return field;
+					}
+					break;
+				}
+			}
+		}
+
+		for (Field field : fields) {
+			if (field.getAnnotation(annotationClass) != null) {
+				return field;
+			}
+		}
+		return null;
+	}
+}
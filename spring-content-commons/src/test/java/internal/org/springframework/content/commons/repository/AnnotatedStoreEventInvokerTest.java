@@ -52,6 +52,7 @@ public class AnnotatedStoreEventInvokerTest {
 	private AnnotatedStoreEventInvoker invoker;
 	
 	private StoreEvent event;
+	private CountingEventHandler countingHandler;
 	
 	// mocks
 	private ReflectionService reflectionService;
@@ -173,8 +174,60 @@ public class AnnotatedStoreEventInvokerTest {
 				});
 			});
 		});
+
+		Describe("#onApplicationEvent without a reflection service", () -> {
+			BeforeEach(() -> {
+				store = mock(ContentStore.class);
+				countingHandler = new CountingEventHandler();
+				invoker = new AnnotatedStoreEventInvoker();
+				invoker.postProcessAfterInitialization(countingHandler, "counting-bean");
+			});
+			Context("given events from a source the handler accepts", () -> {
+				BeforeEach(() -> {
+					invoker.onApplicationEvent(new BeforeGetContentEvent(new EventSource(), store));
+					invoker.onApplicationEvent(new BeforeGetContentEvent(new EventSource(), store));
+				});
+				It("should invoke the handler for each event", () -> {
+					assertThat(countingHandler.count, is(2));
+				});
+			});
+			Context("given an event from a source the handler doesn't accept", () -> {
+				BeforeEach(() -> {
+					invoker.onApplicationEvent(new BeforeGetContentEvent(new Object(), store));
+				});
+				It("should not invoke the handler", () -> {
+					assertThat(countingHandler.count, is(0));
+				});
+			});
+			Context("given a handler that throws", () -> {
+				It("should propagate the exception", () -> {
+					try {
+						invoker.onApplicationEvent(new AfterGetContentEvent(new EventSource(), store));
+						fail("expected exception");
+					} catch (IllegalStateException ise) {
+						assertThat(ise.getMessage(), is("badness"));
+					}
+				});
+			});
+		});
 	}
 	
+	@StoreEventHandler
+	public class CountingEventHandler {
+
+		private int count;
+
+		@HandleBeforeGetContent
+		public void beforeGetContent(EventSource source) {
+			count++;
+		}
+
+		@HandleAfterGetContent
+		public void afterGetContent(EventSource source) {
+			throw new IllegalStateException("badness");
+		}
+	}
+
 	@StoreEventHandler
 	public class CustomEventHandler {
 		
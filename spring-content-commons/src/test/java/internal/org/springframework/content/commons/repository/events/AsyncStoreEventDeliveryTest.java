@@ -0,0 +1,191 @@
+package internal.org.springframework.content.commons.repository.events;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.repository.events.AsyncStoreEventDelivery;
+import org.springframework.content.commons.repository.events.AsyncStoreEventDelivery.OverflowPolicy;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@SuppressWarnings("unchecked")
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class AsyncStoreEventDeliveryTest {
+
+	private AsyncStoreEventDelivery delivery;
+	private ContentStore<Object,Serializable> store;
+	private Object listener;
+	private CountDownLatch blocked;
+	private Thread callerRan;
+
+	{
+		Describe("AsyncStoreEventDelivery", () -> {
+			BeforeEach(() -> {
+				store = (ContentStore<Object,Serializable>) mock(ContentStore.class);
+				listener = new Object();
+			});
+			AfterEach(() -> {
+				if (blocked != null) {
+					blocked.countDown();
+				}
+				delivery.destroy();
+			});
+			Context("given the default delivery", () -> {
+				BeforeEach(() -> {
+					delivery = new AsyncStoreEventDelivery();
+				});
+				It("should only deliver after events asynchronously", () -> {
+					assertThat(delivery.isAsync(new AfterSetContentEvent(new Content("1"), store)), is(true));
+					assertThat(delivery.isAsync(new BeforeSetContentEvent(new Content("1"), store)), is(false));
+				});
+				It("should deliver each content's events to a listener in order", () -> {
+					List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+					CountDownLatch done = new CountDownLatch(100);
+					for (int i = 0; i < 100; i++) {
+						int n = i;
+						delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> {
+							delivered.add(n);
+							done.countDown();
+						});
+					}
+					assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+					for (int i = 0; i < 100; i++) {
+						assertThat(delivered.get(i), is(i));
+					}
+				});
+				It("should deliver events off the calling thread", () -> {
+					CountDownLatch done = new CountDownLatch(1);
+					Thread[] ran = new Thread[1];
+					delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> {
+						ran[0] = Thread.currentThread();
+						done.countDown();
+					});
+					assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+					assertThat(ran[0], is(not(Thread.currentThread())));
+				});
+			});
+			Context("given many workers", () -> {
+				BeforeEach(() -> {
+					delivery = new AsyncStoreEventDelivery(16, 1024, OverflowPolicy.BLOCK);
+				});
+				It("should deliver an after unset event on the worker of the content it was unset from", () -> {
+					for (int i = 0; i < 16; i++) {
+						CountDownLatch done = new CountDownLatch(2);
+						Thread[] ran = new Thread[2];
+						delivery.deliver(listener, new AfterSetContentEvent(new Content(Integer.toString(i)), store), () -> {
+							ran[0] = Thread.currentThread();
+							done.countDown();
+						});
+						// the store has cleared the entity's content id by the time the event is raised
+						delivery.deliver(listener, new AfterUnsetContentEvent(new Content(null), Integer.toString(i), store), () -> {
+							ran[1] = Thread.currentThread();
+							done.countDown();
+						});
+						assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+						assertThat(ran[1], is(ran[0]));
+					}
+				});
+			});
+			Context("given a full queue", () -> {
+				JustBeforeEach(() -> {
+					blocked = new CountDownLatch(1);
+					CountDownLatch started = new CountDownLatch(1);
+					delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> {
+						started.countDown();
+						try {
+							blocked.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					});
+					started.await();
+					delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> {});
+					delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> callerRan = Thread.currentThread());
+				});
+				Context("and a drop policy", () -> {
+					BeforeEach(() -> {
+						delivery = new AsyncStoreEventDelivery(1, 1, OverflowPolicy.DROP);
+					});
+					It("should drop the event", () -> {
+						assertThat(delivery.getDropped(), is(1L));
+					});
+				});
+				Context("and a caller runs policy", () -> {
+					BeforeEach(() -> {
+						delivery = new AsyncStoreEventDelivery(1, 1, OverflowPolicy.CALLER_RUNS);
+					});
+					It("should deliver the event in the calling thread", () -> {
+						assertThat(callerRan, is(Thread.currentThread()));
+					});
+				});
+			});
+			Context("given a listener that raises events while its own worker's queue is full", () -> {
+				BeforeEach(() -> {
+					delivery = new AsyncStoreEventDelivery(1, 1, OverflowPolicy.BLOCK);
+				});
+				It("should deliver them on the listener's thread rather than wait for itself", () -> {
+					CountDownLatch done = new CountDownLatch(1);
+					Thread[] ran = new Thread[2];
+					delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> {
+						ran[0] = Thread.currentThread();
+						delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> {});
+						delivery.deliver(listener, new AfterSetContentEvent(new Content("1"), store), () -> ran[1] = Thread.currentThread());
+						done.countDown();
+					});
+
+					assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+					assertThat(ran[1], is(ran[0]));
+				});
+			});
+			Context("given a listener with asynchronous delivery", () -> {
+				BeforeEach(() -> {
+					delivery = new AsyncStoreEventDelivery();
+				});
+				It("should receive after events off the calling thread", () -> {
+					CountDownLatch done = new CountDownLatch(1);
+					Thread[] ran = new Thread[1];
+					AbstractStoreEventListener<Object> storeListener = new AbstractStoreEventListener<Object>() {
+						@Override
+						protected void onAfterSetContent(Object entity) {
+							ran[0] = Thread.currentThread();
+							done.countDown();
+						}
+					};
+					storeListener.setAsyncStoreEventDelivery(delivery);
+					storeListener.onApplicationEvent(new AfterSetContentEvent(new Content("1"), store));
+
+					assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+					assertThat(ran[0], is(not(Thread.currentThread())));
+				});
+			});
+		});
+	}
+
+	public static class Content {
+		@ContentId
+		private String contentId;
+
+		public Content(String contentId) {
+			this.contentId = contentId;
+		}
+	}
+}
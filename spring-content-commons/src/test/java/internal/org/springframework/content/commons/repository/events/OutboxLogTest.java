@@ -0,0 +1,136 @@
+package internal.org.springframework.content.commons.repository.events;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class OutboxLogTest {
+
+	private File directory;
+	private OutboxLog log;
+
+	{
+		Describe("OutboxLog", () -> {
+			BeforeEach(() -> {
+				directory = Files.createTempDirectory("outbox").toFile();
+			});
+			AfterEach(() -> {
+				log.close();
+				FileUtils.deleteDirectory(directory);
+			});
+			Context("given a new log", () -> {
+				BeforeEach(() -> {
+					log = new OutboxLog(directory, OutboxLog.DEFAULT_SEGMENT_SIZE, true);
+				});
+				It("should number records from 0", () -> {
+					assertThat(log.append(bytes("a")), is(0L));
+					assertThat(log.append(bytes("b")), is(1L));
+					assertThat(log.getNextOffset(), is(2L));
+				});
+				It("should read records from an offset", () -> {
+					for (int i = 0; i < 5; i++) {
+						log.append(bytes(Integer.toString(i)));
+					}
+
+					List<OutboxLog.Entry> entries = log.read(2, 2);
+					assertThat(entries.size(), is(2));
+					assertThat(entries.get(0).getOffset(), is(2L));
+					assertThat(string(entries.get(0).getPayload()), is("2"));
+					assertThat(string(entries.get(1).getPayload()), is("3"));
+
+					entries = log.read(4, 10);
+					assertThat(entries.size(), is(1));
+					assertThat(string(entries.get(0).getPayload()), is("4"));
+
+					assertThat(log.read(5, 10).isEmpty(), is(true));
+				});
+				It("should keep records when it is reopened", () -> {
+					log.append(bytes("a"));
+					log.append(bytes("b"));
+					log.close();
+
+					log = new OutboxLog(directory, OutboxLog.DEFAULT_SEGMENT_SIZE, true);
+					assertThat(log.getNextOffset(), is(2L));
+					assertThat(log.append(bytes("c")), is(2L));
+					assertThat(string(log.read(0, 10).get(2).getPayload()), is("c"));
+				});
+				It("should discard a torn record when it is reopened", () -> {
+					log.append(bytes("a"));
+					log.append(bytes("b"));
+					log.close();
+
+					File segment = directory.listFiles((dir, name) -> name.endsWith(".log"))[0];
+					try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+						file.setLength(file.length() - 1);
+					}
+
+					log = new OutboxLog(directory, OutboxLog.DEFAULT_SEGMENT_SIZE, true);
+					assertThat(log.getNextOffset(), is(1L));
+					assertThat(log.append(bytes("c")), is(1L));
+					assertThat(string(log.read(0, 10).get(1).getPayload()), is("c"));
+				});
+				It("should remember committed offsets", () -> {
+					assertThat(log.getCommitted("consumer"), is(-1L));
+
+					log.commit("consumer", 3);
+					log.commit("consumer", 4);
+
+					assertThat(log.getCommitted("consumer"), is(4L));
+				});
+			});
+			Context("given a log with small segments", () -> {
+				BeforeEach(() -> {
+					log = new OutboxLog(directory, 1, false);
+					for (int i = 0; i < 10; i++) {
+						log.append(bytes("record-" + i));
+					}
+				});
+				It("should read across segments", () -> {
+					assertThat(directory.listFiles((dir, name) -> name.endsWith(".log")).length, is(10));
+
+					List<OutboxLog.Entry> entries = log.read(0, 100);
+					assertThat(entries.size(), is(10));
+					for (int i = 0; i < 10; i++) {
+						assertThat(entries.get(i).getOffset(), is((long) i));
+						assertThat(string(entries.get(i).getPayload()), is("record-" + i));
+					}
+				});
+				It("should delete consumed segments beyond those retained", () -> {
+					log.deleteConsumedSegments(6, 2);
+
+					assertThat(log.getStartOffset(), is(4L));
+					assertThat(log.read(0, 100).get(0).getOffset(), is(4L));
+					assertThat(directory.listFiles((dir, name) -> name.endsWith(".log")).length, is(6));
+				});
+				It("should never delete the newest segment", () -> {
+					log.deleteConsumedSegments(10, 0);
+
+					assertThat(log.getStartOffset(), is(9L));
+					assertThat(log.append(bytes("record-10")), is(10L));
+				});
+			});
+		});
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String string(byte[] value) {
+		return new String(value, StandardCharsets.UTF_8);
+	}
+}
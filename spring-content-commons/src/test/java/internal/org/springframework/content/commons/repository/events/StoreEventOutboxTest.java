@@ -0,0 +1,230 @@
+package internal.org.springframework.content.commons.repository.events;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterGetContentEvent;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.repository.events.StoreEventOutbox;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@SuppressWarnings("unchecked")
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class StoreEventOutboxTest {
+
+	private File directory;
+	private StoreEventOutbox outbox;
+	private RecordingListener listener;
+	private ContentStore<Object,Serializable> store;
+
+	{
+		Describe("StoreEventOutbox", () -> {
+			BeforeEach(() -> {
+				directory = Files.createTempDirectory("outbox").toFile();
+				store = (ContentStore<Object,Serializable>) mock(ContentStore.class);
+				outbox = newOutbox();
+				listener = new RecordingListener();
+				listener.setStoreEventOutbox(outbox);
+			});
+			AfterEach(() -> {
+				outbox.destroy();
+				FileUtils.deleteDirectory(directory);
+			});
+			Context("given a started outbox", () -> {
+				BeforeEach(() -> {
+					outbox.start();
+				});
+				It("should relay after events to listeners in order", () -> {
+					publish(new AfterSetContentEvent(new Content("1"), store));
+					publish(new AfterUnsetContentEvent(new Content("1"), store));
+
+					awaitDelivered(2);
+					assertThat(listener.delivered, is(Arrays.asList("set:1", "unset:1")));
+					assertThat(outbox.getNextOffset(), is(2L));
+				});
+				It("should deliver before events in the store call", () -> {
+					publish(new BeforeSetContentEvent(new Content("1"), store));
+
+					assertThat(listener.delivered, is(Collections.singletonList("before-set:1")));
+					assertThat(outbox.getNextOffset(), is(0L));
+				});
+				It("should deliver events of unserializable content in the store call", () -> {
+					publish(new AfterSetContentEvent(new Object(), store));
+
+					assertThat(listener.delivered.size(), is(1));
+					assertThat(outbox.getNextOffset(), is(0L));
+				});
+				It("should relay before unset events in order with after events", () -> {
+					publish(new AfterSetContentEvent(new Content("1"), store));
+					publish(new BeforeUnsetContentEvent(new Content("1"), store));
+
+					assertThat(outbox.getNextOffset(), is(2L));
+					awaitDelivered(2);
+					assertThat(listener.delivered, is(Arrays.asList("set:1", "before-unset:1")));
+				});
+				It("should deliver after get events in the store call by default", () -> {
+					publish(new AfterGetContentEvent(new Content("1"), store));
+
+					assertThat(listener.delivered, is(Collections.singletonList("get:1")));
+					assertThat(outbox.getNextOffset(), is(0L));
+				});
+				It("should retry an event until the listener handles it", () -> {
+					listener.failures.set(2);
+
+					publish(new AfterSetContentEvent(new Content("1"), store));
+
+					awaitDelivered(1);
+					assertThat(listener.failures.get(), is(0));
+					assertThat(listener.delivered, is(Collections.singletonList("set:1")));
+				});
+				It("should move an event that keeps failing to the dead letter log", () -> {
+					listener.failures.set(Integer.MAX_VALUE);
+
+					publish(new AfterSetContentEvent(new Content("1"), store));
+					publish(new AfterUnsetContentEvent(new Content("1"), store));
+
+					awaitDelivered(1);
+					assertThat(listener.delivered, is(Collections.singletonList("unset:1")));
+					assertThat(outbox.getDeadLetterCount(), is(1L));
+				});
+				It("should relay events again when replayed", () -> {
+					publish(new AfterSetContentEvent(new Content("1"), store));
+					publish(new AfterSetContentEvent(new Content("2"), store));
+					awaitDelivered(2);
+
+					outbox.replayFrom(1);
+
+					awaitDelivered(3);
+					assertThat(listener.delivered.get(2), is("set:2"));
+				});
+			});
+			Context("given events recorded before the outbox was stopped", () -> {
+				BeforeEach(() -> {
+					publish(new AfterSetContentEvent(new Content("1"), store));
+					publish(new AfterSetContentEvent(new Content("2"), store));
+					outbox.destroy();
+				});
+				It("should relay them when it is started again", () -> {
+					outbox = newOutbox();
+					listener = new RecordingListener();
+					listener.setStoreEventOutbox(outbox);
+					outbox.start();
+
+					awaitDelivered(2);
+					assertThat(listener.delivered, is(Arrays.asList("set:1", "set:2")));
+				});
+				It("should not relay events already delivered", () -> {
+					outbox = newOutbox();
+					listener = new RecordingListener();
+					listener.setStoreEventOutbox(outbox);
+					outbox.start();
+					awaitDelivered(2);
+					outbox.destroy();
+
+					outbox = newOutbox();
+					listener = new RecordingListener();
+					listener.setStoreEventOutbox(outbox);
+					outbox.start();
+					publish(new AfterSetContentEvent(new Content("3"), store));
+
+					awaitDelivered(1);
+					assertThat(listener.delivered, is(Collections.singletonList("set:3")));
+				});
+			});
+		});
+	}
+
+	private StoreEventOutbox newOutbox() {
+		StoreEventOutbox outbox = new StoreEventOutbox(directory);
+		outbox.setFsync(false);
+		outbox.setPollInterval(10);
+		outbox.setRetryInterval(10);
+		outbox.setMaxAttempts(3);
+		return outbox;
+	}
+
+	private void publish(StoreEvent event) {
+		outbox.onApplicationEvent(event);
+		listener.onApplicationEvent(event);
+	}
+
+	private void awaitDelivered(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (listener.delivered.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(listener.delivered.size(), is(count));
+	}
+
+	public static class Content implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String id;
+
+		public Content(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String toString() {
+			return id;
+		}
+	}
+
+	public static class RecordingListener extends AbstractStoreEventListener<Object> {
+
+		private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+		private final AtomicInteger failures = new AtomicInteger();
+
+		@Override
+		protected void onBeforeSetContent(Object entity) {
+			delivered.add("before-set:" + entity);
+		}
+
+		@Override
+		protected void onAfterSetContent(Object entity) {
+			if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+				throw new IllegalStateException("failed");
+			}
+			delivered.add("set:" + entity);
+		}
+
+		@Override
+		protected void onAfterGetContent(Object entity) {
+			delivered.add("get:" + entity);
+		}
+
+		@Override
+		protected void onBeforeUnsetContent(Object entity) {
+			delivered.add("before-unset:" + entity);
+		}
+
+		@Override
+		protected void onAfterUnsetContent(Object entity) {
+			delivered.add("unset:" + entity);
+		}
+	}
+}
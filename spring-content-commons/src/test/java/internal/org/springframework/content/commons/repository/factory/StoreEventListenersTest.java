@@ -0,0 +1,131 @@
+package internal.org.springframework.content.commons.repository.factory;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.content.commons.annotations.HandleBeforeGetContent;
+import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.repository.events.AfterGetContentEvent;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeGetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.commons.repository.AnnotatedStoreEventInvoker;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class StoreEventListenersTest {
+
+	private GenericApplicationContext context;
+	private StoreEventListeners listeners;
+
+	{
+		Describe("StoreEventListeners", () -> {
+			BeforeEach(() -> {
+				context = new GenericApplicationContext();
+				listeners = new StoreEventListeners(context);
+			});
+			AfterEach(() -> {
+				context.close();
+			});
+			Context("given a context that hasn't been refreshed", () -> {
+				It("should assume every event type has listeners", () -> {
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(true));
+				});
+			});
+			Context("given a refreshed context with no listeners", () -> {
+				BeforeEach(() -> {
+					context.refresh();
+				});
+				It("should have no listeners", () -> {
+					assertThat(listeners.hasListeners(BeforeGetContentEvent.class), is(false));
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(false));
+				});
+			});
+			Context("given a refreshed context with a listener bean for one event type", () -> {
+				BeforeEach(() -> {
+					context.registerBeanDefinition("listener", new RootBeanDefinition(AfterSetContentListener.class));
+					context.refresh();
+				});
+				It("should only have listeners for that event type", () -> {
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(true));
+					assertThat(listeners.hasListeners(BeforeSetContentEvent.class), is(false));
+				});
+			});
+			Context("given a refreshed context with an event listener method for one event type", () -> {
+				BeforeEach(() -> {
+					AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+					context.registerBeanDefinition("listener", new RootBeanDefinition(AfterSetContentEventListener.class));
+					context.refresh();
+				});
+				It("should only have listeners for that event type", () -> {
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(true));
+					assertThat(listeners.hasListeners(BeforeSetContentEvent.class), is(false));
+				});
+			});
+			Context("given a listener added after an event type was found to have none", () -> {
+				BeforeEach(() -> {
+					listeners.setRecheckInterval(0L);
+					context.refresh();
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(false));
+					context.addApplicationListener(new AfterSetContentListener());
+				});
+				It("should find the listener once the recheck interval has passed", () -> {
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(true));
+				});
+			});
+			Context("given a refreshed context with an annotated event handler", () -> {
+				BeforeEach(() -> {
+					context.registerBeanDefinition("invoker", new RootBeanDefinition(AnnotatedStoreEventInvoker.class));
+					context.registerBeanDefinition("handler", new RootBeanDefinition(BeforeGetContentHandler.class));
+					context.refresh();
+				});
+				It("should only have listeners for the event types it handles", () -> {
+					assertThat(listeners.hasListeners(BeforeGetContentEvent.class), is(true));
+					assertThat(listeners.hasListeners(AfterGetContentEvent.class), is(false));
+				});
+			});
+			Context("given a publisher that isn't an application context", () -> {
+				It("should assume every event type has listeners", () -> {
+					listeners = new StoreEventListeners(mock(ApplicationEventPublisher.class));
+					assertThat(listeners.hasListeners(AfterSetContentEvent.class), is(true));
+				});
+			});
+		});
+	}
+
+	public static class AfterSetContentListener implements ApplicationListener<AfterSetContentEvent> {
+		@Override
+		public void onApplicationEvent(AfterSetContentEvent event) {
+		}
+	}
+
+	public static class AfterSetContentEventListener {
+		@EventListener
+		public void onAfterSetContent(AfterSetContentEvent event) {
+		}
+	}
+
+	@StoreEventHandler
+	public static class BeforeGetContentHandler {
+		@HandleBeforeGetContent
+		public void beforeGetContent(Object entity) {
+		}
+	}
+}
@@ -5,13 +5,17 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
@@ -19,18 +23,27 @@ import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.MimeType;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.repository.StoreExtension;
 import org.springframework.content.commons.repository.events.AfterGetContentEvent;
 import org.springframework.content.commons.repository.events.AfterSetContentEvent;
@@ -38,6 +51,7 @@ import org.springframework.content.commons.repository.events.AfterUnsetContentEv
 import org.springframework.content.commons.repository.events.BeforeGetContentEvent;
 import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
 import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
@@ -57,6 +71,11 @@ public class StoreMethodInterceptorTest {
 	private ApplicationEventPublisher publisher;
 
 	private Exception e;
+
+	private Object[] args;
+	private ContentObject first;
+	private ContentObject second;
+	private List<Integer> batches;
 	
 	private Map<Method, StoreExtension> extensions = null;
 	
@@ -157,8 +176,15 @@ public class StoreMethodInterceptorTest {
 					Class<?> storeClazz = ContentStore.class;
 					final Method unsetContentMethod = storeClazz.getMethod("unsetContent", Object.class);
 
+					ContentObject entity = new ContentObject("plain/text");
+					entity.contentId = "12345";
+
 					when(invocation.getMethod()).thenReturn(unsetContentMethod);
-					when(invocation.getArguments()).thenReturn(new Object[]{new ContentObject("plain/text")});
+					when(invocation.getArguments()).thenReturn(new Object[]{entity});
+					when(invocation.proceed()).thenAnswer(answer -> {
+						entity.contentId = null;
+						return null;
+					});
 				});
 				It("should proceed", () -> {
 					InOrder inOrder = Mockito.inOrder(publisher, invocation);
@@ -167,6 +193,118 @@ public class StoreMethodInterceptorTest {
 					verify(invocation).proceed();
 					inOrder.verify(publisher).publishEvent(argThat(isA(AfterUnsetContentEvent.class)));
 				});
+				It("should publish the content id the entity had before its content was unset", () -> {
+					ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+					verify(publisher, times(2)).publishEvent(events.capture());
+
+					assertThat(((AfterUnsetContentEvent) events.getAllValues().get(1)).getContentId(), is("12345"));
+				});
+			});
+			Context("when unsetContent is invoked with many entities", () -> {
+				BeforeEach(() -> {
+					invocation = mock(MethodInvocation.class);
+
+					Class<?> storeClazz = ContentStore.class;
+					final Method unsetContentMethod = storeClazz.getMethod("unsetContent", Iterable.class);
+
+					first = new ContentObject("plain/text");
+					first.contentId = "1";
+					second = new ContentObject("plain/text");
+					second.contentId = "2";
+					List<ContentObject> entities = Arrays.asList(first, second);
+
+					// an iterable that can only be walked once
+					Iterator<ContentObject> once = entities.iterator();
+					args = new Object[]{(Iterable<ContentObject>) () -> once};
+
+					when(invocation.getMethod()).thenReturn(unsetContentMethod);
+					when(invocation.getArguments()).thenReturn(args);
+					when(invocation.proceed()).thenAnswer(answer -> {
+						for (Object entity : (Iterable<?>) args[0]) {
+							((ContentObject) entity).contentId = null;
+						}
+						return null;
+					});
+				});
+				It("should proceed once, publishing events for each entity", () -> {
+					InOrder inOrder = Mockito.inOrder(publisher, invocation);
+
+					inOrder.verify(publisher, times(2)).publishEvent(argThat(isA(BeforeUnsetContentEvent.class)));
+					inOrder.verify(invocation).proceed();
+					inOrder.verify(publisher, times(2)).publishEvent(argThat(isA(AfterUnsetContentEvent.class)));
+				});
+				It("should hand the store every entity", () -> {
+					assertThat(first.contentId, is(nullValue()));
+					assertThat(second.contentId, is(nullValue()));
+				});
+				Context("given the content of one entity can't be removed", () -> {
+					BeforeEach(() -> {
+						when(invocation.proceed()).thenAnswer(answer -> {
+							first.contentId = null;
+							throw new StoreAccessException("Unable to unset content");
+						});
+					});
+					It("should publish after events only for the entities whose content was removed", () -> {
+						ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+						verify(publisher, times(3)).publishEvent(events.capture());
+
+						List<ApplicationEvent> published = events.getAllValues();
+						assertThat(published.get(2), instanceOf(AfterUnsetContentEvent.class));
+						assertThat(published.get(2).getSource(), is(first));
+						assertThat(e, instanceOf(StoreAccessException.class));
+					});
+				});
+			});
+			Context("when unsetContent is invoked with more entities than fit in a batch", () -> {
+				BeforeEach(() -> {
+					ProxyMethodInvocation proxied = mock(ProxyMethodInvocation.class);
+					invocation = proxied;
+
+					Class<?> storeClazz = ContentStore.class;
+					final Method unsetContentMethod = storeClazz.getMethod("unsetContent", Iterable.class);
+
+					List<ContentObject> entities = new ArrayList<>();
+					for (int i = 0; i < StoreMethodInterceptor.UNSET_BATCH_SIZE * 2 + 500; i++) {
+						ContentObject entity = new ContentObject("plain/text");
+						entity.contentId = Integer.toString(i);
+						entities.add(entity);
+					}
+
+					// an iterable that can only be walked once
+					Iterator<ContentObject> once = entities.iterator();
+					args = new Object[]{(Iterable<ContentObject>) () -> once};
+
+					batches = new ArrayList<>();
+					when(invocation.getMethod()).thenReturn(unsetContentMethod);
+					when(invocation.getArguments()).thenReturn(args);
+					when(proxied.invocableClone(Matchers.<Object>any())).thenAnswer(answer -> {
+						List<ContentObject> batch = answer.getArgument(0);
+						MethodInvocation clone = mock(MethodInvocation.class);
+						when(clone.proceed()).thenAnswer(proceed -> {
+							batches.add(batch.size());
+							for (ContentObject entity : batch) {
+								entity.contentId = null;
+							}
+							return null;
+						});
+						return clone;
+					});
+				});
+				It("should hand the store the entities a batch at a time", () -> {
+					assertThat(batches, is(Arrays.asList(StoreMethodInterceptor.UNSET_BATCH_SIZE, StoreMethodInterceptor.UNSET_BATCH_SIZE, 500)));
+					verify(invocation, never()).proceed();
+				});
+				It("should publish each batch's after events before the next batch's before events", () -> {
+					ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+					verify(publisher, times(StoreMethodInterceptor.UNSET_BATCH_SIZE * 4 + 1000)).publishEvent(events.capture());
+
+					List<ApplicationEvent> published = events.getAllValues();
+					int batch = StoreMethodInterceptor.UNSET_BATCH_SIZE;
+					assertThat(published.get(batch - 1), instanceOf(BeforeUnsetContentEvent.class));
+					assertThat(published.get(batch), instanceOf(AfterUnsetContentEvent.class));
+					assertThat(published.get(2 * batch - 1), instanceOf(AfterUnsetContentEvent.class));
+					assertThat(published.get(2 * batch), instanceOf(BeforeUnsetContentEvent.class));
+				});
 			});
 			Context("when unsetContent is invoked with illegal arguments", () -> {
 				BeforeEach(() -> {
@@ -263,6 +401,9 @@ public class StoreMethodInterceptorTest {
 	}
 	
 	public static class ContentObject {
+		@ContentId
+		public String contentId;
+
 		@MimeType
 		public String mimeType;
 		
@@ -5,12 +5,16 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -23,10 +27,12 @@ import org.springframework.content.commons.repository.factory.StoreFactory;
 import org.springframework.content.commons.storeservice.ContentStoreInfo;
 import org.springframework.content.commons.storeservice.ContentStoreService;
 import org.springframework.content.commons.storeservice.StoreFilter;
+import org.springframework.content.commons.storeservice.StoreKey;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 
+@SuppressWarnings("unchecked")
 @RunWith(Ginkgo4jRunner.class)
 @Ginkgo4jConfiguration(threads = 1)
 public class ContentStoreServiceImplTest {
@@ -168,6 +174,44 @@ public class ContentStoreServiceImplTest {
 					assertThat(infos.length, is(0));
 				});
 			});
+			Context("given content stores", () -> {
+				BeforeEach(() -> {
+					Set<ContentStoreInfo> infos = new HashSet<>();
+					infos.add(new ContentStoreInfoImpl(EntityContentStoreInterface.class, Entity.class, mock(ContentStore.class)));
+					infos.add(new ContentStoreInfoImpl(OtherEntityContentStoreInterface.class, OtherEntity.class, mock(ContentStore.class)));
+					contentRepoService.setContentStoreInfos(infos);
+				});
+				It("should find a store by interface", () -> {
+					assertThat(contentRepoService.getStore(EntityContentStoreInterface.class).getInterface(), is((Object) EntityContentStoreInterface.class));
+					assertThat(contentRepoService.getStore(StoreInterface.class), is(nullValue()));
+				});
+				It("should find a content store by domain object class", () -> {
+					assertThat(contentRepoService.getContentStore(OtherEntity.class).getInterface(), is((Object) OtherEntityContentStoreInterface.class));
+					assertThat(contentRepoService.getContentStore(Object.class), is(nullValue()));
+				});
+				It("should find a store by key", () -> {
+					StoreKey<String> name = StoreKey.named("simpleName", info -> info.getInterface().getSimpleName());
+
+					assertThat(contentRepoService.getStore(ContentStore.class, name, "EntityContentStoreInterface").getInterface(), is((Object) EntityContentStoreInterface.class));
+					assertThat(contentRepoService.getStore(Store.class, name, "EntityContentStoreInterface"), is(nullValue()));
+					assertThat(contentRepoService.getStore(ContentStore.class, name, "missing"), is(nullValue()));
+				});
+				It("should index stores once per key name", () -> {
+					StoreKey<String> name = StoreKey.named("simpleName", info -> info.getInterface().getSimpleName());
+					StoreKey<String> sameName = StoreKey.named("simpleName", info -> info.getInterface().getName());
+
+					assertThat(sameName, is(name));
+					assertThat(contentRepoService.getStore(ContentStore.class, name, "EntityContentStoreInterface").getInterface(), is((Object) EntityContentStoreInterface.class));
+					// a key with the same name is looked up in the index already built for the name
+					assertThat(contentRepoService.getStore(ContentStore.class, sameName, "EntityContentStoreInterface").getInterface(), is((Object) EntityContentStoreInterface.class));
+					assertThat(contentRepoService.getStore(ContentStore.class, sameName, EntityContentStoreInterface.class.getName()), is(nullValue()));
+				});
+				It("should not be affected by changes to the stores returned", () -> {
+					contentRepoService.getStores(ContentStore.class)[0] = null;
+
+					assertThat(contentRepoService.getStores(ContentStore.class)[0], is(not(nullValue())));
+				});
+			});
 		});
 	}
 	
@@ -192,4 +236,10 @@ public class ContentStoreServiceImplTest {
 
 	public interface OtherEntityStoreInterface extends AssociativeStore<OtherEntity, String> {
 	}
+
+	public interface EntityContentStoreInterface extends ContentStore<Entity, String> {
+	}
+
+	public interface OtherEntityContentStoreInterface extends ContentStore<OtherEntity, String> {
+	}
 }
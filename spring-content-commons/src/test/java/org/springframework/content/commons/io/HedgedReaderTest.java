@@ -0,0 +1,208 @@
+package org.springframework.content.commons.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class HedgedReaderTest {
+
+	private HedgedReader reader;
+	private LatencyHistogram latencies;
+	private AtomicInteger requests;
+	private AtomicInteger closed;
+	private CountDownLatch release;
+
+	private InputStream content;
+	private Exception e;
+
+	{
+		Describe("HedgedReader", () -> {
+			BeforeEach(() -> {
+				reader = HedgedReader.create("test-read", 4, t -> t instanceof IOException && !(t instanceof FileNotFoundException), 0.9, 3, 1);
+				latencies = new LatencyHistogram();
+				requests = new AtomicInteger();
+				closed = new AtomicInteger();
+				release = new CountDownLatch(1);
+				e = null;
+			});
+			AfterEach(() -> {
+				release.countDown();
+				reader.shutdown();
+			});
+			Context("given a request that succeeds", () -> {
+				BeforeEach(() -> {
+					content = reader.read(latencies, () -> {
+						requests.incrementAndGet();
+						return new ByteArrayInputStream("content".getBytes());
+					});
+				});
+				It("should return the content and record the latency", () -> {
+					assertThat(IOUtils.toString(content), is("content"));
+					assertThat(requests.get(), is(1));
+					assertThat(latencies.getCount(), is(1L));
+				});
+			});
+			Context("given a request with no content", () -> {
+				It("should return null", () -> {
+					assertThat(reader.read(latencies, () -> null), is(nullValue()));
+				});
+			});
+			Context("given a request that fails transiently", () -> {
+				BeforeEach(() -> {
+					content = reader.read(latencies, () -> {
+						if (requests.incrementAndGet() < 3) {
+							throw new IOException("transient");
+						}
+						return new ByteArrayInputStream("content".getBytes());
+					});
+				});
+				It("should retry the request", () -> {
+					assertThat(IOUtils.toString(content), is("content"));
+					assertThat(requests.get(), is(3));
+				});
+			});
+			Context("given a request that fails permanently", () -> {
+				BeforeEach(() -> {
+					try {
+						reader.read(latencies, () -> {
+							requests.incrementAndGet();
+							throw new FileNotFoundException("missing");
+						});
+					} catch (Exception e) {
+						this.e = e;
+					}
+				});
+				It("should throw the request's error without retrying", () -> {
+					assertThat(e, is(instanceOf(FileNotFoundException.class)));
+					assertThat(requests.get(), is(1));
+				});
+			});
+			Context("given every thread is busy", () -> {
+				BeforeEach(() -> {
+					for (int i = 0; i < 4; i++) {
+						new Thread(() -> {
+							try {
+								reader.read(latencies, () -> {
+									requests.incrementAndGet();
+									release.await();
+									return null;
+								});
+							} catch (IOException ioe) {
+							}
+						}).start();
+					}
+					while (requests.get() < 4) {
+						Thread.sleep(10);
+					}
+				});
+				It("should open the content on the caller's thread rather than wait", () -> {
+					String caller = Thread.currentThread().getName();
+					content = reader.read(latencies, () -> new ByteArrayInputStream(Thread.currentThread().getName().getBytes()));
+					assertThat(IOUtils.toString(content), is(caller));
+				});
+			});
+			Context("given the caller is interrupted while a request is opening content", () -> {
+				BeforeEach(() -> {
+					Thread caller = new Thread(() -> {
+						try {
+							reader.read(latencies, () -> {
+								requests.incrementAndGet();
+								// ignores interrupts, like many blocking clients
+								while (release.getCount() > 0) {
+									Thread.yield();
+								}
+								return new ByteArrayInputStream("content".getBytes()) {
+									@Override
+									public void close() {
+										closed.incrementAndGet();
+									}
+								};
+							});
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+					});
+					caller.start();
+					while (requests.get() < 1) {
+						Thread.sleep(10);
+					}
+					caller.interrupt();
+					caller.join();
+					release.countDown();
+
+					long deadline = System.currentTimeMillis() + 10000;
+					while (closed.get() == 0 && System.currentTimeMillis() < deadline) {
+						Thread.sleep(10);
+					}
+				});
+				It("should close the content once it is opened", () -> {
+					assertThat(e, is(instanceOf(InterruptedIOException.class)));
+					assertThat(closed.get(), is(1));
+				});
+			});
+			Context("given the store's recent latencies are known", () -> {
+				BeforeEach(() -> {
+					for (int i = 0; i < HedgedReader.MIN_SAMPLES; i++) {
+						latencies.record(1, TimeUnit.MILLISECONDS);
+					}
+				});
+				Context("given a request that is slow to respond", () -> {
+					BeforeEach(() -> {
+						content = reader.read(latencies, () -> {
+							if (requests.incrementAndGet() == 1) {
+								release.await();
+								return new ByteArrayInputStream("slow".getBytes());
+							}
+							return new ByteArrayInputStream("hedge".getBytes());
+						});
+					});
+					It("should return the content of the hedging request", () -> {
+						assertThat(IOUtils.toString(content), is("hedge"));
+						assertThat(requests.get(), is(2));
+					});
+				});
+				Context("given percentile is 0", () -> {
+					BeforeEach(() -> {
+						reader.shutdown();
+						reader = HedgedReader.create("test-read", 4, t -> false, 0.0, 1, 0);
+						new Thread(() -> {
+							try {
+								Thread.sleep(200);
+							} catch (InterruptedException ie) {
+							}
+							release.countDown();
+						}).start();
+						content = reader.read(latencies, () -> {
+							requests.incrementAndGet();
+							release.await();
+							return new ByteArrayInputStream("slow".getBytes());
+						});
+					});
+					It("should not hedge", () -> {
+						assertThat(IOUtils.toString(content), is("slow"));
+						assertThat(requests.get(), is(1));
+					});
+				});
+			});
+		});
+	}
+}
@@ -0,0 +1,60 @@
+package org.springframework.content.commons.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class LatencyHistogramTest {
+
+	private LatencyHistogram histogram;
+
+	{
+		Describe("LatencyHistogram", () -> {
+			BeforeEach(() -> {
+				histogram = new LatencyHistogram();
+			});
+			Context("given nothing has been recorded", () -> {
+				It("should not estimate percentiles", () -> {
+					assertThat(histogram.percentile(0.5, TimeUnit.MILLISECONDS), is(-1L));
+				});
+			});
+			Context("given latencies have been recorded", () -> {
+				BeforeEach(() -> {
+					for (int i = 1; i <= 1000; i++) {
+						histogram.record(i, TimeUnit.MILLISECONDS);
+					}
+				});
+				It("should estimate percentiles to within 25%", () -> {
+					long p50 = histogram.percentile(0.5, TimeUnit.MILLISECONDS);
+					assertThat(p50 >= 500 && p50 <= 625, is(true));
+					long p95 = histogram.percentile(0.95, TimeUnit.MILLISECONDS);
+					assertThat(p95 >= 950 && p95 <= 1188, is(true));
+				});
+				It("should decay older recordings", () -> {
+					for (int i = 0; i < LatencyHistogram.DECAY_INTERVAL * 4; i++) {
+						histogram.record(1, TimeUnit.MILLISECONDS);
+					}
+					assertThat(histogram.percentile(0.95, TimeUnit.MILLISECONDS) <= 1, is(true));
+				});
+			});
+		});
+		Describe("buckets", () -> {
+			It("should contain the latencies assigned to them", () -> {
+				for (long micros = 0; micros < 100000; micros += 7) {
+					int bucket = LatencyHistogram.bucket(micros);
+					assertThat(LatencyHistogram.upperBound(bucket) >= micros, is(true));
+					assertThat(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < micros, is(true));
+				}
+			});
+		});
+	}
+}
@@ -0,0 +1,89 @@
+package org.springframework.content.commons.utils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class ContentPropertyAccessorTest {
+
+	private ContentPropertyAccessor accessor;
+	private TestEntity entity;
+
+	{
+		Describe("ContentPropertyAccessor", () -> {
+			BeforeEach(() -> {
+				entity = new TestEntity();
+			});
+			Context("#forClass", () -> {
+				It("should return the same accessor for the same class and annotation", () -> {
+					assertThat(ContentPropertyAccessor.forClass(TestEntity.class, ContentId.class), is(sameInstance(ContentPropertyAccessor.forClass(TestEntity.class, ContentId.class))));
+				});
+				It("should return an absent accessor for a missing annotation", () -> {
+					accessor = ContentPropertyAccessor.forClass(TestEntity.class, Override.class);
+					assertThat(accessor.isPresent(), is(false));
+					assertThat(accessor.getValue(entity), is(nullValue()));
+				});
+			});
+			Context("given a private field without accessor methods", () -> {
+				BeforeEach(() -> {
+					accessor = ContentPropertyAccessor.forClass(TestEntity.class, ContentId.class);
+				});
+				It("should set and get the field", () -> {
+					accessor.setValue(entity, "12345");
+					assertThat(accessor.getValue(entity), is("12345"));
+				});
+			});
+			Context("given a primitive property with accessor methods", () -> {
+				BeforeEach(() -> {
+					accessor = ContentPropertyAccessor.forClass(TestEntity.class, ContentLength.class);
+				});
+				It("should convert the value to the property type", () -> {
+					accessor.setValue(entity, 0);
+					assertThat(entity.getLen(), is(0L));
+					accessor.setValue(entity, 20L);
+					assertThat(accessor.getValue(entity), is(20L));
+				});
+				It("should report the field's type", () -> {
+					assertThat(accessor.getType().equals(long.class), is(true));
+				});
+			});
+			Context("given an inheriting class", () -> {
+				BeforeEach(() -> {
+					entity = new InheritingTestEntity();
+					accessor = ContentPropertyAccessor.forObject(entity, MimeType.class);
+				});
+				It("should set and get the inherited field", () -> {
+					accessor.setValue(entity, "text/plain");
+					assertThat(accessor.getValue(entity), is("text/plain"));
+				});
+			});
+		});
+	}
+
+	public static class TestEntity {
+		@ContentId private String id;
+		@ContentLength private long len;
+		@MimeType public String mimeType;
+
+		public long getLen() {
+			return len;
+		}
+		public void setLen(long len) {
+			this.len = len;
+		}
+	}
+
+	public static class InheritingTestEntity extends TestEntity {}
+}
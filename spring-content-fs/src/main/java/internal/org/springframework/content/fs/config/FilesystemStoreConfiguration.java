@@ -21,6 +21,17 @@ public class FilesystemStoreConfiguration {
 		return conversion;
 	}
 
+	@Bean
+	public FilesystemStorePropertiesImpl filesystemStoreProperties() {
+		FilesystemStorePropertiesImpl properties = new FilesystemStorePropertiesImpl();
+		if (configurers != null) {
+			for (FilesystemStoreConfigurer configurer : configurers) {
+				configurer.configure(properties);
+			}
+		}
+		return properties;
+	}
+
 	protected void addConverters(ConverterRegistry registry) {
 		if (configurers == null) 
 			return;
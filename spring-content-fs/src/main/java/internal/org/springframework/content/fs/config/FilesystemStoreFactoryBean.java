@@ -17,6 +17,9 @@ public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
 	
 	@Autowired
 	ConversionService filesystemStoreConverter;
+
+	@Autowired(required=false)
+	FilesystemStorePropertiesImpl filesystemStoreProperties;
 	
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -28,7 +31,11 @@ public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultFilesystemStoreImpl(loader, filesystemStoreConverter, new FileServiceImpl());
+		if (filesystemStoreProperties == null) {
+			return new DefaultFilesystemStoreImpl(loader, filesystemStoreConverter, new FileServiceImpl());
+		}
+		return new DefaultFilesystemStoreImpl(loader, filesystemStoreConverter, new FileServiceImpl(),
+				filesystemStoreProperties.getPlacementStrategy(), filesystemStoreProperties.isFallbackToFlatLayout());
 	}
 
 }
@@ -0,0 +1,33 @@
+package internal.org.springframework.content.fs.config;
+
+import org.springframework.content.fs.config.FilesystemStoreProperties;
+import org.springframework.content.fs.io.FlatPlacementStrategy;
+import org.springframework.content.fs.io.PlacementStrategy;
+import org.springframework.util.Assert;
+
+public class FilesystemStorePropertiesImpl implements FilesystemStoreProperties {
+
+	private PlacementStrategy placementStrategy = new FlatPlacementStrategy();
+	private boolean fallbackToFlatLayout = false;
+
+	@Override
+	public FilesystemStoreProperties placementStrategy(PlacementStrategy strategy) {
+		Assert.notNull(strategy, "strategy must not be null");
+		placementStrategy = strategy;
+		return this;
+	}
+
+	public PlacementStrategy getPlacementStrategy() {
+		return placementStrategy;
+	}
+
+	@Override
+	public FilesystemStoreProperties fallbackToFlatLayout(boolean fallback) {
+		fallbackToFlatLayout = fallback;
+		return this;
+	}
+
+	public boolean isFallbackToFlatLayout() {
+		return fallbackToFlatLayout;
+	}
+}
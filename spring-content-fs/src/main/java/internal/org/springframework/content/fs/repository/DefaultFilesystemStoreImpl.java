@@ -21,7 +21,10 @@ import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.commons.utils.FileService;
+import org.springframework.content.fs.io.FileSystemDeletableResource;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.content.fs.io.FlatPlacementStrategy;
+import org.springframework.content.fs.io.PlacementStrategy;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.Resource;
@@ -36,12 +39,20 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable> implements
 	private FileSystemResourceLoader loader;
 	private ConversionService conversion;
 	private FileService fileService;
+	private PlacementStrategy placement;
+	private boolean fallbackToFlatLayout;
 
 
 	public DefaultFilesystemStoreImpl(FileSystemResourceLoader loader, ConversionService conversion, FileService fileService) {
+		this(loader, conversion, fileService, new FlatPlacementStrategy(), false);
+	}
+
+	public DefaultFilesystemStoreImpl(FileSystemResourceLoader loader, ConversionService conversion, FileService fileService, PlacementStrategy placement, boolean fallbackToFlatLayout) {
 		this.loader = loader;
 		this.conversion = conversion;
 		this.fileService = fileService;
+		this.placement = placement;
+		this.fallbackToFlatLayout = fallbackToFlatLayout;
 	}
 
 	@Override
@@ -51,20 +62,29 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable> implements
 
 	@Override
 	public Resource getResource(S entity) {
+		return getResourceInternal(getOrCreateContentId(entity));
+	}
+
+	protected Resource getResourceInternal(Object id) {
+		String location = conversion.convert(id, String.class);
+		Resource resource = loader.getResource(placement.getLocation(location));
+		if (fallbackToFlatLayout && !resource.exists()) {
+			Resource flat = loader.getResource(location);
+			if (flat.exists()) {
+				return flat;
+			}
+		}
+		return resource;
+	}
+
+	private Object getOrCreateContentId(S entity) {
 		Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
 		if (contentId == null) {
 			contentId = UUID.randomUUID();
 			contentId = convertToExternalContentIdType(entity, contentId);
 			BeanUtils.setFieldWithAnnotation(entity, ContentId.class, contentId);
 		}
-
-		return getResourceInternal(contentId);
-	}
-
-	protected Resource getResourceInternal(Object id) {
-		String location = conversion.convert(id, String.class);
-		Resource resource = loader.getResource(location);
-		return resource;
+		return contentId;
 	}
 
 	@Override
@@ -96,17 +116,22 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable> implements
 
 	@Override
 	public void setContent(S property, InputStream content) {
-		Resource resource = getResource(property);
+		Object contentId = getOrCreateContentId(property);
+		String location = conversion.convert(contentId, String.class);
+		Resource resource = loader.getResource(placement.getLocation(location));
 		OutputStream os = null;
+		long contentLen = -1L;
 		try {
 		    if (resource.exists() == false) {
 		        File resourceFile = resource.getFile();
 		        File parent = resourceFile.getParentFile();
 		        this.fileService.mkdirs(parent);
             }
-			if (resource instanceof WritableResource) {
+			if (resource instanceof FileSystemDeletableResource) {
+				contentLen = ((FileSystemDeletableResource)resource).write(content);
+			} else if (resource instanceof WritableResource) {
 				os = ((WritableResource)resource).getOutputStream();
-				IOUtils.copy(content, os);
+				contentLen = IOUtils.copyLarge(content, os);
 			}
 		} catch (IOException e) {
 			logger.error(String.format("Unexpected error setting content for resource %s", property.toString()), e);
@@ -119,11 +144,34 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable> implements
 	            // ignore
 	        }
 		}
-			
+
+		// the length is known from the bytes written so there is no need to ask the resource
+		if (contentLen >= 0) {
+			BeanUtils.setFieldWithAnnotation(property, ContentLength.class, contentLen);
+			if (fallbackToFlatLayout) {
+				deleteFlatResource(location, resource);
+			}
+		}
+	}
+
+	// content is always written where it is placed so any copy left in the flat layout is stale
+	private void deleteFlatResource(String location, Resource placed) {
+		Resource flat = loader.getResource(location);
+		if (!isSameFile(flat, placed) && flat.exists() && flat instanceof DeletableResource) {
+			((DeletableResource)flat).delete();
+		}
+	}
+
+	// resources don't compare equal across resource types so compare the files they resolve to
+	private static boolean isSameFile(Resource flat, Resource placed) {
 		try {
-			BeanUtils.setFieldWithAnnotation(property, ContentLength.class, resource.contentLength());
+			File flatFile = flat.getFile();
+			File placedFile = placed.getFile();
+			// when in doubt keep the flat copy rather than risk deleting what was just written
+			return flatFile == null || placedFile == null
+					|| flatFile.toPath().toAbsolutePath().normalize().equals(placedFile.toPath().toAbsolutePath().normalize());
 		} catch (IOException e) {
-			logger.error(String.format("Unexpected error setting content length for content for resource %s", resource.toString()), e);
+			return true;
 		}
 	}
 
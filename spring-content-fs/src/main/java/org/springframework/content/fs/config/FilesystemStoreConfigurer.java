@@ -5,5 +5,8 @@ import org.springframework.core.convert.converter.ConverterRegistry;
 public interface FilesystemStoreConfigurer {
 	
 	void configureFilesystemStoreConverters(ConverterRegistry registry);
+
+	default void configure(FilesystemStoreProperties store) {
+	}
 	
 }
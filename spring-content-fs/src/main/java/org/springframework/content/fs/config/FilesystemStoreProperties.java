@@ -0,0 +1,27 @@
+package org.springframework.content.fs.config;
+
+import org.springframework.content.fs.io.PlacementStrategy;
+
+public interface FilesystemStoreProperties {
+
+	/**
+	 * Sets the strategy that places content within the filesystem root.  Defaults to
+	 * {@link org.springframework.content.fs.io.FlatPlacementStrategy}.
+	 *
+	 * @param strategy the placement strategy
+	 * @return these properties
+	 */
+	FilesystemStoreProperties placementStrategy(PlacementStrategy strategy);
+
+	/**
+	 * Sets whether content not found where the placement strategy places it is looked for as a flat
+	 * child of the root.  Enable while a flat root is migrated with
+	 * {@link org.springframework.content.fs.io.PlacementMigrator}.  Content written while enabled
+	 * is always written where the placement strategy places it.
+	 *
+	 * @param fallback true to fall back to the flat layout
+	 * @return these properties
+	 */
+	FilesystemStoreProperties fallbackToFlatLayout(boolean fallback);
+
+}
@@ -0,0 +1,180 @@
+package org.springframework.content.fs.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Output stream that writes to a temporary file, through a buffer, and moves it over its target
+ * when closed.  Any failure, or {@link #abort()}, deletes the temporary file and leaves the target
+ * as it was.
+ */
+class AtomicFileOutputStream extends OutputStream {
+
+	private static Log logger = LogFactory.getLog(AtomicFileOutputStream.class);
+
+	private final Path target;
+	private final Path temp;
+	private final FsyncPolicy fsyncPolicy;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private boolean closed;
+
+	AtomicFileOutputStream(Path target, FsyncPolicy fsyncPolicy, int bufferSize) throws IOException {
+		this.target = target.toAbsolutePath();
+		this.fsyncPolicy = fsyncPolicy;
+
+		Path dir = this.target.getParent();
+		Files.createDirectories(dir);
+
+		// unlike Files.createTempFile, which makes the file readable by its owner only, the
+		// temporary file is created with the default permissions a file written in place would get
+		Path temp;
+		FileChannel channel;
+		while (true) {
+			temp = dir.resolve(String.format(".%s.%s.tmp", this.target.getFileName(), Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36)));
+			try {
+				channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+				break;
+			} catch (FileAlreadyExistsException e) {
+				// another write picked the same name; pick again
+			}
+		}
+		this.temp = temp;
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureOpen();
+		try {
+			if (!buffer.hasRemaining()) {
+				drain();
+			}
+			buffer.put((byte) b);
+		} catch (IOException e) {
+			abort();
+			throw e;
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		try {
+			if (len >= buffer.capacity()) {
+				drain();
+				writeFully(ByteBuffer.wrap(b, off, len));
+				return;
+			}
+			if (len > buffer.remaining()) {
+				drain();
+			}
+			buffer.put(b, off, len);
+		} catch (IOException e) {
+			abort();
+			throw e;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		try {
+			drain();
+		} catch (IOException e) {
+			abort();
+			throw e;
+		}
+	}
+
+	/**
+	 * Completes the write, moving the temporary file over the target.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			drain();
+			if (fsyncPolicy == FsyncPolicy.DATA) {
+				channel.force(false);
+			} else if (fsyncPolicy == FsyncPolicy.METADATA) {
+				channel.force(true);
+			}
+			channel.close();
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			discard();
+			throw e;
+		}
+
+		if (fsyncPolicy == FsyncPolicy.METADATA) {
+			syncDirectory(target.getParent());
+		}
+	}
+
+	/**
+	 * Abandons the write, leaving the target as it was.
+	 */
+	void abort() {
+		if (!closed) {
+			closed = true;
+			discard();
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException(String.format("Stream to %s is closed", target));
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		writeFully(buffer);
+		buffer.clear();
+	}
+
+	private void writeFully(ByteBuffer bytes) throws IOException {
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+	}
+
+	private void discard() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			logger.debug(String.format("Unexpected error closing %s", temp), e);
+		}
+		try {
+			Files.deleteIfExists(temp);
+		} catch (IOException e) {
+			logger.warn(String.format("Unable to delete %s", temp), e);
+		}
+	}
+
+	private static void syncDirectory(Path dir) {
+		// not every platform can open, or force, a directory
+		try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			logger.debug(String.format("Unable to sync directory %s", dir), e);
+		}
+	}
+}
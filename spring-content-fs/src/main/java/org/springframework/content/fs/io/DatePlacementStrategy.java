@@ -0,0 +1,58 @@
+package org.springframework.content.fs.io;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import org.springframework.util.Assert;
+
+/**
+ * Partitions content into {@code yyyy/MM/dd} directories, in UTC, by the time its content id was
+ * created.  Placement must be derivable from the content id alone so only content ids that are
+ * time-based (version 1) UUIDs carry the necessary date; content with any other id is placed by
+ * the fallback strategy.
+ * <p>
+ * Content ids generated by the store are random (version 4) UUIDs, so this strategy only
+ * partitions content whose entities assign their own time-based content ids, for example with a
+ * time-based UUID generator.  Content with store-generated ids is placed by the fallback strategy.
+ */
+public class DatePlacementStrategy implements PlacementStrategy {
+
+	// offset between the UUID epoch, 1582-10-15, and the unix epoch in 100ns intervals
+	private static final long UUID_EPOCH_OFFSET = 0x01B21DD213814000L;
+
+	private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd").withZone(ZoneOffset.UTC);
+
+	private final PlacementStrategy fallback;
+
+	public DatePlacementStrategy() {
+		this(new FlatPlacementStrategy());
+	}
+
+	/**
+	 * @param fallback the strategy that places content whose id isn't a time-based UUID
+	 */
+	public DatePlacementStrategy(PlacementStrategy fallback) {
+		Assert.notNull(fallback, "fallback must not be null");
+		this.fallback = fallback;
+	}
+
+	@Override
+	public String getLocation(String location) {
+		String name = (location.startsWith("/") ? location.substring(1) : location);
+
+		UUID uuid;
+		try {
+			uuid = UUID.fromString(name);
+		} catch (IllegalArgumentException iae) {
+			return fallback.getLocation(location);
+		}
+		if (uuid.version() != 1) {
+			return fallback.getLocation(location);
+		}
+
+		long millis = (uuid.timestamp() - UUID_EPOCH_OFFSET) / 10000;
+		return FORMAT.format(Instant.ofEpochMilli(millis)) + "/" + name;
+	}
+}
@@ -1,6 +1,7 @@
 package org.springframework.content.fs.io;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -8,6 +9,7 @@ import java.net.URI;
 import java.net.URL;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.io.DeletableResource;
@@ -19,10 +21,20 @@ public class FileSystemDeletableResource implements WritableResource, DeletableR
 
 	private static Log logger = LogFactory.getLog(FileSystemDeletableResource.class);
 
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
 	private FileSystemResource resource;
+	private FileWriteMode writeMode;
+	private FsyncPolicy fsyncPolicy;
 	
 	public FileSystemDeletableResource(FileSystemResource resource) {
+		this(resource, FileWriteMode.IN_PLACE, FsyncPolicy.NONE);
+	}
+
+	public FileSystemDeletableResource(FileSystemResource resource, FileWriteMode writeMode, FsyncPolicy fsyncPolicy) {
 		this.resource = resource;
+		this.writeMode = writeMode;
+		this.fsyncPolicy = fsyncPolicy;
 	}
 
 	@Override
@@ -63,10 +75,50 @@ public class FileSystemDeletableResource implements WritableResource, DeletableR
 	}
 
 	public OutputStream getOutputStream() throws IOException {
+		if (writeMode == FileWriteMode.ATOMIC) {
+			return new AtomicFileOutputStream(this.getFile().toPath(), fsyncPolicy, DEFAULT_BUFFER_SIZE);
+		}
 		if (!exists()) {
 			FileUtils.touch(this.getFile());
 		}
-		return resource.getOutputStream();
+		if (fsyncPolicy == FsyncPolicy.NONE) {
+			return resource.getOutputStream();
+		}
+		return new FileOutputStream(this.getFile()) {
+			@Override
+			public void close() throws IOException {
+				try {
+					getChannel().force(fsyncPolicy == FsyncPolicy.METADATA);
+				} finally {
+					super.close();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Writes content to this resource.  When writing atomically a failed write leaves the existing
+	 * content in place.
+	 *
+	 * @param content the content to write
+	 * @return the number of bytes written
+	 * @throws IOException if the content could not be written
+	 */
+	public long write(InputStream content) throws IOException {
+		OutputStream os = getOutputStream();
+		long written;
+		try {
+			written = IOUtils.copyLarge(content, os);
+		} catch (IOException | RuntimeException e) {
+			if (os instanceof AtomicFileOutputStream) {
+				((AtomicFileOutputStream) os).abort();
+			} else {
+				IOUtils.closeQuietly(os);
+			}
+			throw e;
+		}
+		os.close();
+		return written;
 	}
 
 	public URL getURL() throws IOException {
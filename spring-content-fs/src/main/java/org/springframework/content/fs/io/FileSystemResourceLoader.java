@@ -26,6 +26,8 @@ public class FileSystemResourceLoader extends org.springframework.core.io.FileSy
 	private static final Logger logger = LoggerFactory.getLogger(FileSystemResourceLoader.class);
 
 	private FileSystemResource root;
+	private FileWriteMode writeMode = FileWriteMode.IN_PLACE;
+	private FsyncPolicy fsyncPolicy = FsyncPolicy.NONE;
 	
 	public FileSystemResourceLoader(String root) {
 	    Assert.notNull(root);
@@ -37,6 +39,27 @@ public class FileSystemResourceLoader extends org.springframework.core.io.FileSy
 		return root.getPath();
 	}
 
+	/**
+	 * Sets how resources write content.  Defaults to {@link FileWriteMode#IN_PLACE}.
+	 *
+	 * @param writeMode the write mode
+	 */
+	public void setWriteMode(FileWriteMode writeMode) {
+		Assert.notNull(writeMode, "writeMode must not be null");
+		this.writeMode = writeMode;
+	}
+
+	/**
+	 * Sets what resources force to storage before a write completes.  Defaults to
+	 * {@link FsyncPolicy#NONE}.
+	 *
+	 * @param fsyncPolicy the fsync policy
+	 */
+	public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+		Assert.notNull(fsyncPolicy, "fsyncPolicy must not be null");
+		this.fsyncPolicy = fsyncPolicy;
+	}
+
     private String suffixPath(String path) {
 	    if (path.endsWith("/") == false) {
 	        return path + "/";
@@ -49,7 +72,7 @@ public class FileSystemResourceLoader extends org.springframework.core.io.FileSy
         Assert.notNull(root);
 		Resource resource = root.createRelative(location);
 		if (resource instanceof FileSystemResource) {
-			resource = new FileSystemDeletableResource((FileSystemResource)resource);
+			resource = new FileSystemDeletableResource((FileSystemResource)resource, writeMode, fsyncPolicy);
 		}
 		return resource;
 	}
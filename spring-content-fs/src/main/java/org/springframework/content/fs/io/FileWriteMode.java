@@ -0,0 +1,20 @@
+package org.springframework.content.fs.io;
+
+/**
+ * How a {@link FileSystemDeletableResource} writes content.
+ */
+public enum FileWriteMode {
+
+	/**
+	 * Content is written directly into the resource's file.  Readers may see partially written
+	 * content and a failed write leaves the file truncated.
+	 */
+	IN_PLACE,
+
+	/**
+	 * Content is written to a temporary file in the same directory that is moved over the
+	 * resource's file once it is complete.  Readers see either the old content or the new, and a
+	 * failed write leaves the old content in place.
+	 */
+	ATOMIC
+}
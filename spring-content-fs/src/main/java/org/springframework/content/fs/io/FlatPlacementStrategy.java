@@ -0,0 +1,13 @@
+package org.springframework.content.fs.io;
+
+/**
+ * Places content at its location; i.e. content ids that convert to a plain name are stored as
+ * children of the filesystem root.  This is the default.
+ */
+public class FlatPlacementStrategy implements PlacementStrategy {
+
+	@Override
+	public String getLocation(String location) {
+		return location;
+	}
+}
@@ -0,0 +1,23 @@
+package org.springframework.content.fs.io;
+
+/**
+ * What a {@link FileSystemDeletableResource} forces to storage before a write completes.
+ */
+public enum FsyncPolicy {
+
+	/**
+	 * Nothing is forced; the operating system writes content back in its own time.
+	 */
+	NONE,
+
+	/**
+	 * The file's content is forced to storage.
+	 */
+	DATA,
+
+	/**
+	 * The file's content and metadata are forced to storage and, for atomic writes, so is the
+	 * directory entry the file was moved to.
+	 */
+	METADATA
+}
@@ -0,0 +1,74 @@
+package org.springframework.content.fs.io;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.Assert;
+
+/**
+ * Fans content out over nested directories named after a hash of its location, for example
+ * {@code 3f/a2/<location>}.  Hashing spreads content evenly whether or not the content ids are
+ * random, keeping every directory small.
+ * <p>
+ * The hash is a 64 bit FNV-1a hash of the location's UTF-8 bytes, rendered as hex, so that
+ * content is placed identically by every JVM.
+ */
+public class HashPrefixPlacementStrategy implements PlacementStrategy {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final int levels;
+	private final int width;
+
+	/**
+	 * Creates a strategy with two levels of 256 directories each.
+	 */
+	public HashPrefixPlacementStrategy() {
+		this(2, 2);
+	}
+
+	/**
+	 * @param levels the number of directory levels
+	 * @param width the number of hex characters in each directory name
+	 */
+	public HashPrefixPlacementStrategy(int levels, int width) {
+		Assert.isTrue(levels > 0, "levels must be greater than 0");
+		Assert.isTrue(width > 0, "width must be greater than 0");
+		Assert.isTrue(levels * width <= 16, "levels * width must not exceed 16");
+		this.levels = levels;
+		this.width = width;
+	}
+
+	@Override
+	public String getLocation(String location) {
+		String name = (location.startsWith("/") ? location.substring(1) : location);
+		String hash = hex(hash(name));
+
+		StringBuilder path = new StringBuilder(levels * (width + 1) + name.length());
+		for (int i = 0; i < levels; i++) {
+			path.append(hash, i * width, (i + 1) * width).append('/');
+		}
+		return path.append(name).toString();
+	}
+
+	private static long hash(String name) {
+		long hash = FNV_OFFSET_BASIS;
+		for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= (b & 0xff);
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+	private static String hex(long hash) {
+		String hex = Long.toHexString(hash);
+		if (hex.length() == 16) {
+			return hex;
+		}
+		StringBuilder padded = new StringBuilder(16);
+		for (int i = hex.length(); i < 16; i++) {
+			padded.append('0');
+		}
+		return padded.append(hex).toString();
+	}
+}
@@ -0,0 +1,94 @@
+package org.springframework.content.fs.io;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Moves content stored as flat children of a filesystem root to where a {@link PlacementStrategy}
+ * places it.
+ * <p>
+ * Migration can run while the store is in use provided the store is configured with the same
+ * placement strategy and to fall back to the flat layout, so that content not yet moved is still
+ * found.  Content is hard linked into place before its flat copy is removed; linking never replaces
+ * an existing file so content written at its new location during the migration is kept.  On
+ * filesystems without hard links content is moved instead.
+ */
+public class PlacementMigrator {
+
+	private static Log logger = LogFactory.getLog(PlacementMigrator.class);
+
+	private final Path root;
+	private final PlacementStrategy placement;
+
+	public PlacementMigrator(FileSystemResourceLoader loader, PlacementStrategy placement) {
+		Assert.notNull(loader, "loader must not be null");
+		Assert.notNull(placement, "placement must not be null");
+		this.root = Paths.get(loader.getFilesystemRoot()).toAbsolutePath().normalize();
+		this.placement = placement;
+	}
+
+	/**
+	 * Migrates every file directly under the root.  Hidden files, such as those being written
+	 * atomically, are left alone.
+	 *
+	 * @return the number of files migrated
+	 * @throws IOException if the root can't be listed or a file can't be migrated
+	 */
+	public long migrate() throws IOException {
+		long migrated = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				if (name.startsWith(".") || !Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+					continue;
+				}
+
+				Path target = root.resolve(placement.getLocation(name)).normalize();
+				if (target.equals(file)) {
+					continue;
+				}
+				if (migrate(file, target)) {
+					migrated++;
+				}
+			}
+		}
+		logger.info(String.format("Migrated %s files under %s", migrated, root));
+		return migrated;
+	}
+
+	private boolean migrate(Path file, Path target) throws IOException {
+		Files.createDirectories(target.getParent());
+		try {
+			Files.createLink(target, file);
+		} catch (FileAlreadyExistsException e) {
+			// the content has been rewritten at its new location so the flat copy is stale
+			Files.deleteIfExists(file);
+			return false;
+		} catch (NoSuchFileException e) {
+			// the content was deleted, or migrated, concurrently
+			return false;
+		} catch (UnsupportedOperationException e) {
+			try {
+				Files.move(file, target);
+				return true;
+			} catch (FileAlreadyExistsException faee) {
+				Files.deleteIfExists(file);
+				return false;
+			} catch (NoSuchFileException nsfe) {
+				return false;
+			}
+		}
+		Files.deleteIfExists(file);
+		return true;
+	}
+}
@@ -0,0 +1,21 @@
+package org.springframework.content.fs.io;
+
+/**
+ * Strategy for placing content within a filesystem store's root.  A placement strategy is applied
+ * to the location a content id converts to and returns the path, relative to the root, that the
+ * content is stored at.
+ * <p>
+ * A strategy must always place a given location at the same path; changing strategy for a store
+ * that already holds content requires that content to be moved.
+ */
+public interface PlacementStrategy {
+
+	/**
+	 * Returns the path at which content with the given location is stored.
+	 *
+	 * @param location the location the content id converts to
+	 * @return the path relative to the filesystem root
+	 */
+	String getLocation(String location);
+
+}
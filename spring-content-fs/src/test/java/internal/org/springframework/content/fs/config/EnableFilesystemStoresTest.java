@@ -85,6 +85,7 @@ public class EnableFilesystemStoresTest {
 				});
 				It("should call that configurer to help customize the store", () -> {
 					verify(configurer).configureFilesystemStoreConverters(anyObject());
+					verify(configurer).configure(anyObject());
 				});
 			});
 			
@@ -4,8 +4,12 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.UUID;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 import org.mockito.Matchers;
@@ -14,9 +18,14 @@ import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.content.commons.utils.FileService;
+import org.springframework.content.commons.utils.FileServiceImpl;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.content.fs.io.FlatPlacementStrategy;
+import org.springframework.content.fs.io.HashPrefixPlacementStrategy;
+import org.springframework.content.fs.io.PlacementStrategy;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 
@@ -57,6 +66,8 @@ public class DefaultFilesystemStoresImplTest {
     private OutputStream output;
 
     private File parent;
+    private File root;
+    private PlacementStrategy placement;
     
     private String id;
 
@@ -362,6 +373,40 @@ public class DefaultFilesystemStoresImplTest {
 				});
 			});
     	});
+
+        Describe("DefaultFilesystemContentRepositoryImpl falling back to the flat layout", () -> {
+            BeforeEach(() -> {
+                root = Files.createTempDirectory("fs-store").toFile();
+                entity = new TestEntity("12345");
+            });
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(root);
+            });
+            JustBeforeEach(() -> {
+                filesystemContentRepoImpl = new DefaultFilesystemStoreImpl<ContentProperty, String>(new FileSystemResourceLoader(root.getAbsolutePath()), new DefaultConversionService(), new FileServiceImpl(), placement, true);
+                filesystemContentRepoImpl.setContent(entity, new ByteArrayInputStream("new content".getBytes()));
+            });
+            Context("given the flat placement strategy", () -> {
+                BeforeEach(() -> {
+                    placement = new FlatPlacementStrategy();
+                });
+                It("should keep the content it has just written", () -> {
+                    assertThat(new File(root, "12345").exists(), is(true));
+                    assertThat(IOUtils.toString(filesystemContentRepoImpl.getContent(entity)), is("new content"));
+                });
+            });
+            Context("given a strategy that places content elsewhere and a flat copy of the content", () -> {
+                BeforeEach(() -> {
+                    placement = new HashPrefixPlacementStrategy();
+                    FileUtils.writeStringToFile(new File(root, "12345"), "old content");
+                });
+                It("should write the placed content and remove the flat copy", () -> {
+                    assertThat(new File(root, "12345").exists(), is(false));
+                    assertThat(new File(root, new HashPrefixPlacementStrategy().getLocation("12345")).exists(), is(true));
+                    assertThat(IOUtils.toString(filesystemContentRepoImpl.getContent(entity)), is("new content"));
+                });
+            });
+        });
     }
 
 	public interface ContentProperty {
@@ -1,5 +1,6 @@
 package org.springframework.content.fs.io;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
@@ -7,10 +8,17 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
 
@@ -94,6 +102,62 @@ public class FileSystemResourceLoaderTest {
 					});
 				});
 			});
+			Context("#write", () -> {
+				BeforeEach(() -> {
+					parent = new File(Paths.get(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString()).toAbsolutePath().toString());
+					location = "FileSystemResourceLoaderTest.tmp";
+					file = new File(parent, location);
+					ex = null;
+
+					loader = new FileSystemResourceLoader(parent.getPath() + "/");
+					loader.setWriteMode(FileWriteMode.ATOMIC);
+					loader.setFsyncPolicy(FsyncPolicy.METADATA);
+				});
+				AfterEach(() -> {
+					FileUtils.deleteDirectory(parent);
+				});
+				Context("given an atomic write", () -> {
+					JustBeforeEach(() -> {
+						FileSystemDeletableResource resource = (FileSystemDeletableResource) loader.getResource(location);
+						assertThat(resource.write(new ByteArrayInputStream("Hello Spring Content World!".getBytes())), is(27L));
+					});
+					It("should write the content and leave no temporary files", () -> {
+						assertThat(FileUtils.readFileToString(file, "UTF-8"), is("Hello Spring Content World!"));
+						assertThat(parent.list().length, is(1));
+					});
+					It("should give the file the permissions of a file written in place", () -> {
+						if (!Files.getFileStore(parent.toPath()).supportsFileAttributeView("posix")) {
+							return;
+						}
+						Path inPlace = Files.createFile(parent.toPath().resolve("in-place.tmp"));
+						assertThat(Files.getPosixFilePermissions(file.toPath()), is(Files.getPosixFilePermissions(inPlace)));
+					});
+				});
+				Context("given an atomic write that fails", () -> {
+					BeforeEach(() -> {
+						FileUtils.writeStringToFile(file, "original content", "UTF-8");
+					});
+					JustBeforeEach(() -> {
+						FileSystemDeletableResource resource = (FileSystemDeletableResource) loader.getResource(location);
+						InputStream failing = new SequenceInputStream(new ByteArrayInputStream("partial".getBytes()), new InputStream() {
+							@Override
+							public int read() throws IOException {
+								throw new IOException("badness");
+							}
+						});
+						try {
+							resource.write(failing);
+						} catch (IOException e) {
+							ex = e;
+						}
+					});
+					It("should leave the original content in place", () -> {
+						assertThat(ex, is(not(nullValue())));
+						assertThat(FileUtils.readFileToString(file, "UTF-8"), is("original content"));
+						assertThat(parent.list().length, is(1));
+					});
+				});
+			});
 		});
 	}
 }
@@ -0,0 +1,73 @@
+package org.springframework.content.fs.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class PlacementMigratorTest {
+
+	private File root;
+	private PlacementStrategy placement;
+	private PlacementMigrator migrator;
+
+	private long migrated;
+
+	{
+		Describe("PlacementMigrator", () -> {
+			BeforeEach(() -> {
+				root = Files.createTempDirectory("placement-migrator").toFile();
+				placement = new HashPrefixPlacementStrategy();
+				migrator = new PlacementMigrator(new FileSystemResourceLoader(root.getAbsolutePath() + "/"), placement);
+
+				FileUtils.writeStringToFile(new File(root, "abcd-efgh"), "some content", "UTF-8");
+				FileUtils.writeStringToFile(new File(root, ".abcd-efgh.tmp"), "partial content", "UTF-8");
+			});
+			JustBeforeEach(() -> {
+				migrated = migrator.migrate();
+			});
+			AfterEach(() -> {
+				FileUtils.deleteDirectory(root);
+			});
+			Context("#migrate", () -> {
+				It("should move flat content to where it is placed", () -> {
+					assertThat(migrated, is(1L));
+					assertThat(new File(root, "abcd-efgh").exists(), is(false));
+					assertThat(FileUtils.readFileToString(new File(root, placement.getLocation("abcd-efgh")), "UTF-8"), is("some content"));
+				});
+				It("should leave hidden files alone", () -> {
+					assertThat(new File(root, ".abcd-efgh.tmp").exists(), is(true));
+				});
+				It("should not migrate content twice", () -> {
+					assertThat(migrator.migrate(), is(0L));
+				});
+			});
+			Context("given the content has been rewritten where it is placed", () -> {
+				BeforeEach(() -> {
+					File placed = new File(root, placement.getLocation("abcd-efgh"));
+					FileUtils.writeStringToFile(placed, "new content", "UTF-8");
+				});
+				It("should keep the new content and remove the flat copy", () -> {
+					assertThat(migrated, is(0L));
+					assertThat(new File(root, "abcd-efgh").exists(), is(false));
+					assertThat(FileUtils.readFileToString(new File(root, placement.getLocation("abcd-efgh")), "UTF-8"), is("new content"));
+				});
+			});
+		});
+	}
+}
@@ -1,16 +1,26 @@
 package internal.org.springframework.content.jpa.config;
 
+import internal.org.springframework.content.jpa.io.BlobWriterExecutor;
+import internal.org.springframework.content.jpa.io.ChunkPrefetchExecutor;
+import internal.org.springframework.content.jpa.io.ChunkedBlobResourceLoader;
 import internal.org.springframework.content.jpa.io.DelegatingBlobResourceLoader;
 import internal.org.springframework.content.jpa.io.GenericBlobResourceLoader;
+import internal.org.springframework.content.jpa.io.MySqlBlobResourceLoader;
+import internal.org.springframework.content.jpa.io.PostgresBlobResourceLoader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.jpa.config.BlobLayout;
+import org.springframework.content.jpa.config.JpaStoreConfigurer;
 import org.springframework.content.jpa.io.BlobResourceLoader;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 public class JpaStoreConfiguration {
@@ -18,13 +28,83 @@ public class JpaStoreConfiguration {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired(required=false)
+    private List<JpaStoreConfigurer> configurers;
+
+    private ExecutorService blobWriter;
+    private ExecutorService chunkPrefetcher;
+
+    @Bean
+    public JpaStorePropertiesImpl jpaStoreProperties() {
+        JpaStorePropertiesImpl properties = new JpaStorePropertiesImpl();
+        if (configurers != null) {
+            for (JpaStoreConfigurer configurer : configurers) {
+                configurer.configure(properties);
+            }
+        }
+        return properties;
+    }
+
     @Bean
     public DelegatingBlobResourceLoader blobResourceLoader(DataSource ds, List<BlobResourceLoader> loaders) {
+        if (jpaStoreProperties().getLayout() == BlobLayout.CHUNKED) {
+            // chunked content is laid out the same way on every database
+            List<BlobResourceLoader> chunked = new ArrayList<>();
+            for (BlobResourceLoader loader : loaders) {
+                if ("GENERIC".equals(loader.getDatabaseName())) {
+                    chunked.add(loader);
+                }
+            }
+            loaders = chunked;
+        }
         return new DelegatingBlobResourceLoader(ds, loaders);
     }
 
     @Bean
     public BlobResourceLoader genericBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
-        return new GenericBlobResourceLoader(new JdbcTemplate(ds), txnMgr);
+        JpaStorePropertiesImpl properties = jpaStoreProperties();
+        if (properties.getLayout() == BlobLayout.CHUNKED) {
+            return new ChunkedBlobResourceLoader(new JdbcTemplate(ds), txnMgr, chunkPrefetcher(properties), properties.getChunkSize(), properties.getChunkBatchSize());
+        }
+        return new GenericBlobResourceLoader(new JdbcTemplate(ds), txnMgr, blobWriter(properties), properties.getWriterBufferSize(), properties.getCommitTimeout());
+    }
+
+    @Bean
+    public BlobResourceLoader postgresBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
+        JpaStorePropertiesImpl properties = jpaStoreProperties();
+        return new PostgresBlobResourceLoader(new JdbcTemplate(ds), txnMgr, blobWriter(properties), properties.getWriterBufferSize(), properties.getCommitTimeout());
+    }
+
+    @Bean
+    public BlobResourceLoader mySqlBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
+        JpaStorePropertiesImpl properties = jpaStoreProperties();
+        return new MySqlBlobResourceLoader(new JdbcTemplate(ds), txnMgr, blobWriter(properties), properties.getWriterBufferSize(), properties.getCommitTimeout());
+    }
+
+    private synchronized ExecutorService blobWriter(JpaStorePropertiesImpl properties) {
+        if (properties.getWriterExecutor() != null) {
+            return properties.getWriterExecutor();
+        }
+        if (blobWriter == null) {
+            blobWriter = BlobWriterExecutor.create(properties.getWriterThreads(), properties.getWriterQueueCapacity());
+        }
+        return blobWriter;
+    }
+
+    private synchronized ExecutorService chunkPrefetcher(JpaStorePropertiesImpl properties) {
+        if (chunkPrefetcher == null) {
+            chunkPrefetcher = ChunkPrefetchExecutor.create(properties.getPrefetchThreads());
+        }
+        return chunkPrefetcher;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (blobWriter != null) {
+            blobWriter.shutdown();
+        }
+        if (chunkPrefetcher != null) {
+            chunkPrefetcher.shutdown();
+        }
     }
 }
@@ -4,6 +4,7 @@ import internal.org.springframework.content.jpa.io.DelegatingBlobResourceLoader;
 import internal.org.springframework.content.jpa.repository.DefaultJpaStoreImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
+import org.springframework.content.jpa.config.BlobWriteMode;
 import org.springframework.util.Assert;
 
 @SuppressWarnings("rawtypes")
@@ -12,10 +13,14 @@ public class JpaStoreFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired
 	private DelegatingBlobResourceLoader blobResourceLoader;
 
+	@Autowired(required=false)
+	private JpaStorePropertiesImpl properties;
+
 	@Override
 	protected Object getContentStoreImpl() {
 		Assert.notNull(blobResourceLoader, "blobResourceLoader cannot be null");
-		return new DefaultJpaStoreImpl(blobResourceLoader);
+		BlobWriteMode writeMode = (properties != null ? properties.getWriteMode() : BlobWriteMode.PIPED);
+		return new DefaultJpaStoreImpl(blobResourceLoader, writeMode);
 	}
 
 }
@@ -1,10 +1,27 @@
 package internal.org.springframework.content.jpa.config;
 
+import internal.org.springframework.content.jpa.io.BlobWriterExecutor;
+import internal.org.springframework.content.jpa.io.ChunkPrefetchExecutor;
+import internal.org.springframework.content.jpa.io.ChunkedBlobResource;
+import org.springframework.content.jpa.config.BlobLayout;
+import org.springframework.content.jpa.config.BlobWriteMode;
 import org.springframework.content.jpa.config.JpaStoreProperties;
+import org.springframework.content.jpa.io.AbstractBlobResource;
+
+import java.util.concurrent.ExecutorService;
 
 public class JpaStorePropertiesImpl implements JpaStoreProperties {
 
-    private int commitTimeout = 30;
+    private int commitTimeout = AbstractBlobResource.DEFAULT_COMMIT_TIMEOUT;
+    private BlobWriteMode writeMode = BlobWriteMode.PIPED;
+    private BlobLayout layout = BlobLayout.SINGLE_ROW;
+    private int chunkSize = ChunkedBlobResource.DEFAULT_CHUNK_SIZE;
+    private int chunkBatchSize = ChunkedBlobResource.DEFAULT_CHUNK_BATCH_SIZE;
+    private int prefetchThreads = ChunkPrefetchExecutor.DEFAULT_THREADS;
+    private int writerThreads = BlobWriterExecutor.DEFAULT_THREADS;
+    private int writerQueueCapacity = BlobWriterExecutor.DEFAULT_QUEUE_CAPACITY;
+    private int writerBufferSize = AbstractBlobResource.DEFAULT_BUFFER_SIZE;
+    private ExecutorService writerExecutor;
 
     public org.springframework.content.jpa.config.JpaStoreProperties commitTimeout(int seconds) {
         commitTimeout = seconds;
@@ -15,4 +32,94 @@ public class JpaStorePropertiesImpl implements JpaStoreProperties {
         return commitTimeout;
     }
 
+    @Override
+    public JpaStoreProperties writeMode(BlobWriteMode mode) {
+        writeMode = mode;
+        return this;
+    }
+
+    public BlobWriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    @Override
+    public JpaStoreProperties layout(BlobLayout layout) {
+        this.layout = layout;
+        return this;
+    }
+
+    public BlobLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public JpaStoreProperties chunkSize(int bytes) {
+        chunkSize = bytes;
+        return this;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public JpaStoreProperties chunkBatchSize(int chunks) {
+        chunkBatchSize = chunks;
+        return this;
+    }
+
+    public int getChunkBatchSize() {
+        return chunkBatchSize;
+    }
+
+    @Override
+    public JpaStoreProperties prefetchThreads(int threads) {
+        prefetchThreads = threads;
+        return this;
+    }
+
+    public int getPrefetchThreads() {
+        return prefetchThreads;
+    }
+
+    @Override
+    public JpaStoreProperties writerThreads(int threads) {
+        writerThreads = threads;
+        return this;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    @Override
+    public JpaStoreProperties writerQueueCapacity(int capacity) {
+        writerQueueCapacity = capacity;
+        return this;
+    }
+
+    public int getWriterQueueCapacity() {
+        return writerQueueCapacity;
+    }
+
+    @Override
+    public JpaStoreProperties writerBufferSize(int bytes) {
+        writerBufferSize = bytes;
+        return this;
+    }
+
+    public int getWriterBufferSize() {
+        return writerBufferSize;
+    }
+
+    @Override
+    public JpaStoreProperties writerExecutor(ExecutorService executor) {
+        writerExecutor = executor;
+        return this;
+    }
+
+    public ExecutorService getWriterExecutor() {
+        return writerExecutor;
+    }
+
 }
@@ -0,0 +1,49 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Creates the bounded executors that drain blob output streams into the database.
+ * <p>
+ * Each write occupies one thread for its duration.  When all threads are busy further writes
+ * queue, applying backpressure to their callers through the pipe, and once the queue is full
+ * writes are rejected rather than spawning more threads.
+ */
+public final class BlobWriterExecutor {
+
+    public static final int DEFAULT_THREADS = 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private BlobWriterExecutor() {}
+
+    public static ExecutorService create(int threads, int queueCapacity) {
+        Assert.isTrue(threads > 0, "threads must be greater than 0");
+        Assert.isTrue(queueCapacity >= 0, "queueCapacity must not be negative");
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("blob-writer-");
+        threadFactory.setDaemon(true);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60L, TimeUnit.SECONDS,
+                queueCapacity > 0 ? new LinkedBlockingQueue<Runnable>(queueCapacity) : new SynchronousQueue<Runnable>(),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static ExecutorService getDefault() {
+        return DefaultHolder.EXECUTOR;
+    }
+
+    private static class DefaultHolder {
+        private static final ExecutorService EXECUTOR = create(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+}
@@ -0,0 +1,47 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Creates the small bounded executors that prefetch chunks for readers of chunked content.
+ * <p>
+ * Prefetches are kept off the blob writer executor so that busy writers neither delay reads nor
+ * fill the writers' queue.  Once the queue is full further prefetches are rejected and each reader
+ * fetches its next batch when it needs it instead.
+ */
+public final class ChunkPrefetchExecutor {
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private ChunkPrefetchExecutor() {}
+
+    public static ExecutorService create(int threads) {
+        Assert.isTrue(threads > 0, "threads must be greater than 0");
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("chunk-prefetch-");
+        threadFactory.setDaemon(true);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(DEFAULT_QUEUE_CAPACITY),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static ExecutorService getDefault() {
+        return DefaultHolder.EXECUTOR;
+    }
+
+    private static class DefaultHolder {
+        private static final ExecutorService EXECUTOR = create(DEFAULT_THREADS);
+    }
+}
@@ -0,0 +1,544 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.jpa.io.AbortableOutputStream;
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.lang.String.format;
+
+/**
+ * Blob resource that stores its content as fixed size chunks in the BLOB_CHUNKS table.  The BLOBS
+ * table still holds one row per content, to generate its id, but that row's content is null.
+ * <p>
+ * Chunk n holds bytes [n * chunkSize, (n + 1) * chunkSize) of the content so every chunk but the
+ * last is exactly chunkSize long.  The chunk size must therefore never change for stored content.
+ */
+public class ChunkedBlobResource extends AbstractBlobResource {
+
+    private static Log logger = LogFactory.getLog(ChunkedBlobResource.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_CHUNK_BATCH_SIZE = 4;
+    public static final String DEFAULT_LENGTH_FUNCTION = "OCTET_LENGTH";
+
+    private final JdbcTemplate template;
+    private final PlatformTransactionManager txnMgr;
+    private final Executor prefetcher;
+    private final int chunkSize;
+    private final int batchSize;
+    private final String lengthFunction;
+
+    /**
+     * @param id the blob id
+     * @param template the template used to access the BLOBS and BLOB_CHUNKS tables
+     * @param txnMgr the transaction manager each write is committed with
+     * @param prefetcher the executor that prefetches chunks for readers, such as a
+     * {@link ChunkPrefetchExecutor}
+     * @param chunkSize the size of each chunk in bytes
+     * @param batchSize the number of chunks inserted, or fetched, per round trip
+     */
+    public ChunkedBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr, Executor prefetcher, int chunkSize, int batchSize) {
+        this(id, template, txnMgr, prefetcher, chunkSize, batchSize, DEFAULT_LENGTH_FUNCTION);
+    }
+
+    /**
+     * @param id the blob id
+     * @param template the template used to access the BLOBS and BLOB_CHUNKS tables
+     * @param txnMgr the transaction manager each write is committed with
+     * @param prefetcher the executor that prefetches chunks for readers, such as a
+     * {@link ChunkPrefetchExecutor}
+     * @param chunkSize the size of each chunk in bytes
+     * @param batchSize the number of chunks inserted, or fetched, per round trip
+     * @param lengthFunction the SQL function returning the length of a chunk in bytes
+     */
+    public ChunkedBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr, Executor prefetcher, int chunkSize, int batchSize, String lengthFunction) {
+        // content is written on the calling thread so the superclass's writer executor is never used
+        super(id, template, txnMgr, prefetcher, DEFAULT_BUFFER_SIZE, DEFAULT_COMMIT_TIMEOUT);
+        Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        this.template = template;
+        this.txnMgr = txnMgr;
+        this.prefetcher = prefetcher;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.lengthFunction = lengthFunction;
+    }
+
+    /**
+     * Returns a stream that inserts content a batch of chunks at a time.  The write runs in a
+     * transaction, joining the caller's if there is one, that is committed when the stream is closed
+     * so the stream must be written and closed by the thread that opened it.  Existing content is
+     * replaced.  A caller that fails to write all of its content must
+     * {@link AbortableOutputStream#abort() abort} the stream rather than close it; a stream that
+     * failed to write is rolled back, not committed, when it is closed.
+     */
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        TransactionStatus status;
+        try {
+            status = txnMgr.getTransaction(new DefaultTransactionDefinition());
+        } catch (TransactionException te) {
+            throw new IOException(format("writing content %s", getId()), te);
+        }
+
+        try {
+            if (exists()) {
+                template.update("DELETE FROM BLOB_CHUNKS WHERE blob_id=?", blobId());
+            } else {
+                setId(insertBlob());
+            }
+        } catch (RuntimeException re) {
+            rollback(status);
+            throw new IOException(format("writing content %s", getId()), re);
+        }
+
+        return new ChunkOutputStream(status);
+    }
+
+    /**
+     * Writes content on the calling thread.  When length is known the content must be exactly that
+     * long, otherwise nothing is written.
+     */
+    @Override
+    public long write(InputStream content, long length) throws IOException {
+        ChunkOutputStream os = (ChunkOutputStream) getOutputStream();
+        long written;
+        try {
+            written = IOUtils.copyLarge(content, os);
+            if (length >= 0 && written != length) {
+                throw new IOException(format("content %s is %s bytes long but was declared as %s", getId(), written, length));
+            }
+        } catch (IOException | RuntimeException e) {
+            os.abort();
+            throw e;
+        }
+        os.close();
+        return written;
+    }
+
+    /**
+     * Returns a stream that fetches chunks a batch at a time and, outside of a transaction, prefetches
+     * the next batch while the current one is read.  Skipping moves straight to the chunk containing
+     * the new position so reading a byte range only fetches the chunks it spans.
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (!exists()) {
+            return null;
+        }
+        return new ChunkInputStream(blobId());
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        String sql = format("SELECT seq, %s(data) FROM BLOB_CHUNKS WHERE blob_id=? AND seq=(SELECT MAX(seq) FROM BLOB_CHUNKS WHERE blob_id=?)", lengthFunction);
+        int id = blobId();
+        try {
+            return template.query(sql, new ResultSetExtractor<Long>() {
+                @Override
+                public Long extractData(ResultSet rs) throws SQLException, DataAccessException {
+                    if (!rs.next()) {
+                        return 0L;
+                    }
+                    return (long) rs.getInt(1) * chunkSize + rs.getLong(2);
+                }
+            }, id, id);
+        } catch (DataAccessException dae) {
+            throw new IOException(format("getting length of content %s", getId()), dae);
+        }
+    }
+
+    @Override
+    public void delete() {
+        final int id = blobId();
+        new TransactionTemplate(txnMgr).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.update("DELETE FROM BLOB_CHUNKS WHERE blob_id=?", id);
+                template.update("DELETE FROM BLOBS WHERE id=?", id);
+            }
+        });
+    }
+
+    private int blobId() {
+        return Integer.parseInt(getId().toString());
+    }
+
+    private int insertBlob() {
+        String sql = "INSERT INTO BLOBS (content) VALUES(NULL)";
+        return template.execute(
+            new PreparedStatementCreator() {
+                @Override
+                public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+                    return con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                }
+            }, new PreparedStatementCallback<Integer>() {
+                @Override
+                public Integer doInPreparedStatement(PreparedStatement ps) throws SQLException, DataAccessException {
+                    ps.executeUpdate();
+                    try (ResultSet set = ps.getGeneratedKeys()) {
+                        set.next();
+                        return set.getInt(1);
+                    }
+                }
+            }
+        );
+    }
+
+    private List<byte[]> fetch(int id, int fromSeq) {
+        String sql = "SELECT data FROM BLOB_CHUNKS WHERE blob_id=? AND seq>=? AND seq<? ORDER BY seq";
+        return template.query(sql, new RowMapper<byte[]>() {
+            @Override
+            public byte[] mapRow(ResultSet rs, int rowNum) throws SQLException {
+                return rs.getBytes(1);
+            }
+        }, id, fromSeq, fromSeq + batchSize);
+    }
+
+    private void rollback(TransactionStatus status) {
+        try {
+            txnMgr.rollback(status);
+        } catch (TransactionException te) {
+            logger.error(format("rolling back content %s", getId()), te);
+        }
+    }
+
+    private class ChunkOutputStream extends AbortableOutputStream {
+
+        private final TransactionStatus status;
+        private final List<byte[]> batch;
+        private final Deque<byte[]> spare;
+        private byte[] chunk;
+        private int count;
+        private int seq;
+        private boolean closed;
+        private boolean aborted;
+
+        ChunkOutputStream(TransactionStatus status) {
+            this.status = status;
+            this.batch = new ArrayList<>(batchSize);
+            this.spare = new ArrayDeque<>(batchSize);
+            this.chunk = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            try {
+                chunk[count++] = (byte) b;
+                if (count == chunkSize) {
+                    nextChunk();
+                }
+            } catch (IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            try {
+                while (len > 0) {
+                    int n = Math.min(len, chunkSize - count);
+                    System.arraycopy(b, off, chunk, count, n);
+                    count += n;
+                    off += n;
+                    len -= n;
+                    if (count == chunkSize) {
+                        nextChunk();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        /**
+         * Flushes the remaining chunks and commits the write, unless the stream was aborted or
+         * failed to write in which case the write has been rolled back.
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                if (aborted) {
+                    throw new IOException(format("content %s was not written in full and has been rolled back", getId()));
+                }
+                return;
+            }
+            if (count > 0) {
+                batch.add(Arrays.copyOf(chunk, count));
+                count = 0;
+            }
+            flushBatch();
+            closed = true;
+            try {
+                txnMgr.commit(status);
+            } catch (TransactionException te) {
+                throw new IOException(format("committing content %s", getId()), te);
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (!closed) {
+                closed = true;
+                aborted = true;
+                rollback(status);
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException(format("content %s stream %s", getId(), (aborted ? "aborted" : "closed")));
+            }
+        }
+
+        private void nextChunk() throws IOException {
+            batch.add(chunk);
+            chunk = (spare.isEmpty() ? new byte[chunkSize] : spare.pop());
+            count = 0;
+            if (batch.size() == batchSize) {
+                flushBatch();
+            }
+        }
+
+        private void flushBatch() throws IOException {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            final int id = blobId();
+            final int first = seq;
+            try {
+                template.batchUpdate("INSERT INTO BLOB_CHUNKS (blob_id, seq, data) VALUES(?, ?, ?)", new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, id);
+                        ps.setInt(2, first + i);
+                        ps.setBytes(3, batch.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                });
+            } catch (RuntimeException re) {
+                abort();
+                throw new IOException(format("writing content %s", getId()), re);
+            }
+
+            seq += batch.size();
+            for (byte[] written : batch) {
+                if (written.length == chunkSize) {
+                    spare.push(written);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private class ChunkInputStream extends InputStream {
+
+        private final int id;
+        private final boolean prefetch;
+        private final Deque<byte[]> chunks = new ArrayDeque<>();
+        private byte[] chunk;
+        private int offset;
+        private int seq = -1;
+        private int nextSeq;
+        private boolean eof;
+        private CompletableFuture<List<byte[]>> pending;
+
+        ChunkInputStream(int id) {
+            this.id = id;
+            // a prefetch runs on another connection so it can't see chunks written by an uncommitted transaction
+            this.prefetch = !TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureChunk()) {
+                return -1;
+            }
+            return chunk[offset++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - offset);
+            System.arraycopy(chunk, offset, b, off, n);
+            offset += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            if (chunk != null && n <= chunk.length - offset) {
+                offset += (int) n;
+                return n;
+            }
+
+            long from = position();
+            long target = from + n;
+            int targetSeq = (int) (target / chunkSize);
+
+            while (seq < targetSeq && !chunks.isEmpty()) {
+                chunk = chunks.poll();
+                seq++;
+            }
+            if (seq != targetSeq) {
+                reposition(targetSeq);
+                if (!ensureChunk()) {
+                    // the target is past the end of the content
+                    return Math.max(0, contentLength() - from);
+                }
+            }
+            offset = (int) Math.min(target - (long) seq * chunkSize, chunk.length);
+            return position() - from;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (chunk != null ? chunk.length - offset : 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+            chunks.clear();
+            chunk = null;
+            eof = true;
+        }
+
+        private long position() {
+            if (chunk == null) {
+                return (long) (seq + 1) * chunkSize;
+            }
+            return (long) seq * chunkSize + offset;
+        }
+
+        private void reposition(int targetSeq) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+            chunks.clear();
+            chunk = null;
+            offset = 0;
+            seq = targetSeq - 1;
+            nextSeq = targetSeq;
+            eof = false;
+        }
+
+        // makes sure the current chunk has unread bytes, returning false at the end of the content
+        private boolean ensureChunk() throws IOException {
+            while (chunk == null || offset >= chunk.length) {
+                if (chunks.isEmpty() && !fill()) {
+                    return false;
+                }
+                chunk = chunks.poll();
+                seq++;
+                offset = 0;
+            }
+            return true;
+        }
+
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+
+            List<byte[]> batch;
+            if (pending != null) {
+                batch = await(pending);
+                pending = null;
+            } else {
+                try {
+                    batch = fetch(id, nextSeq);
+                } catch (DataAccessException dae) {
+                    throw new IOException(format("reading content %s", id), dae);
+                }
+            }
+
+            nextSeq += batch.size();
+            chunks.addAll(batch);
+            if (batch.size() < batchSize) {
+                eof = true;
+            } else if (prefetch) {
+                pending = prefetch(nextSeq);
+            }
+            return !batch.isEmpty();
+        }
+
+        private CompletableFuture<List<byte[]>> prefetch(int fromSeq) {
+            try {
+                return CompletableFuture.supplyAsync(() -> fetch(id, fromSeq), prefetcher);
+            } catch (RejectedExecutionException ree) {
+                // fetch the batch when it is needed instead
+                return null;
+            }
+        }
+
+        private List<byte[]> await(CompletableFuture<List<byte[]>> batch) throws IOException {
+            try {
+                return batch.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(format("interrupted reading content %s", id));
+            } catch (ExecutionException ee) {
+                throw new IOException(format("reading content %s", id), ee.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.springframework.content.jpa.io.BlobResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+
+public class ChunkedBlobResourceLoader implements BlobResourceLoader {
+
+    private JdbcTemplate template;
+    private PlatformTransactionManager txnMgr;
+    private Executor prefetcher;
+    private int chunkSize;
+    private int batchSize;
+    private volatile String lengthFunction;
+
+    public ChunkedBlobResourceLoader(JdbcTemplate template, PlatformTransactionManager txnMgr) {
+        this(template, txnMgr, ChunkPrefetchExecutor.getDefault(), ChunkedBlobResource.DEFAULT_CHUNK_SIZE, ChunkedBlobResource.DEFAULT_CHUNK_BATCH_SIZE);
+    }
+
+    public ChunkedBlobResourceLoader(JdbcTemplate template, PlatformTransactionManager txnMgr, Executor prefetcher, int chunkSize, int batchSize) {
+        this.template = template;
+        this.txnMgr = txnMgr;
+        this.prefetcher = prefetcher;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String getDatabaseName() {
+        return "GENERIC";
+    }
+
+    @Override
+    public Resource getResource(String location) {
+        return new ChunkedBlobResource(location, template, txnMgr, prefetcher, chunkSize, batchSize, getLengthFunction());
+    }
+
+    private String getLengthFunction() {
+        String function = lengthFunction;
+        if (function == null) {
+            // SQL Server is the only supported database without OCTET_LENGTH
+            function = template.execute(new ConnectionCallback<String>() {
+                @Override
+                public String doInConnection(Connection con) throws SQLException, DataAccessException {
+                    String database = con.getMetaData().getDatabaseProductName();
+                    return ("Microsoft SQL Server".equals(database) ? "DATALENGTH" : ChunkedBlobResource.DEFAULT_LENGTH_FUNCTION);
+                }
+            });
+            lengthFunction = function;
+        }
+        return function;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return ClassUtils.getDefaultClassLoader();
+    }
+}
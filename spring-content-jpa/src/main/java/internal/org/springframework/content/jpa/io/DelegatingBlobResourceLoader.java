@@ -9,6 +9,7 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.util.ClassUtils;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
@@ -38,8 +39,8 @@ public class DelegatingBlobResourceLoader implements ResourceLoader {
     @Override
     public Resource getResource(String location) {
         if (database == null) {
-            try {
-                database = ds.getConnection().getMetaData().getDatabaseProductName();
+            try (Connection conn = ds.getConnection()) {
+                database = conn.getMetaData().getDatabaseProductName();
             } catch (SQLException e) {
                 logger.error("Error fetching database name", e);
             }
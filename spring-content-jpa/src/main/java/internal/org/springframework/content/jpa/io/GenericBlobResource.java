@@ -4,10 +4,16 @@ import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.concurrent.Executor;
+
 public class GenericBlobResource extends AbstractBlobResource {
 
     public GenericBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
         super(id, template, txnMgr);
     }
 
+    public GenericBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr, Executor writer, int bufferSize, int commitTimeout) {
+        super(id, template, txnMgr, writer, bufferSize, commitTimeout);
+    }
+
 }
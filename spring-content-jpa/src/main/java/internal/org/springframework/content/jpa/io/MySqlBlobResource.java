@@ -0,0 +1,191 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static java.lang.String.format;
+
+/**
+ * Blob resource for MySQL that reads content a window at a time.  Connector/J reads each row of a
+ * result set in full, even when streaming results, so a longblob would otherwise be held in heap in
+ * its entirety.  Instead content is fetched with SUBSTRING in windows of {@link #WINDOW_SIZE} bytes,
+ * on one connection and transaction so every window sees the same content, and skipping moves
+ * straight to the window containing the new position.  At most one window is held in memory.
+ * <p>
+ * The server may read the stored value up to the window for each window, so reading large content
+ * this way costs more database work than a single query; the chunked layout avoids both costs.
+ */
+public class MySqlBlobResource extends AbstractBlobResource {
+
+    public static final int WINDOW_SIZE = 1024 * 1024;
+
+    private final JdbcTemplate template;
+
+    public MySqlBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
+        this(id, template, txnMgr, BlobWriterExecutor.getDefault(), DEFAULT_BUFFER_SIZE, DEFAULT_COMMIT_TIMEOUT);
+    }
+
+    public MySqlBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr, Executor writer, int bufferSize, int commitTimeout) {
+        super(id, template, txnMgr, writer, bufferSize, commitTimeout);
+        this.template = template;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        ReadConnection conn = null;
+        try {
+            conn = ReadConnection.open(template.getDataSource());
+            Long contentLength = null;
+            try (PreparedStatement ps = conn.get().prepareStatement("SELECT LENGTH(content) FROM BLOBS WHERE id=?")) {
+                ps.setInt(1, blobId());
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        contentLength = rs.getLong(1);
+                    }
+                }
+            }
+            if (contentLength == null) {
+                conn.close();
+                return null;
+            }
+            PreparedStatement window = conn.get().prepareStatement("SELECT SUBSTRING(content, ?, ?) FROM BLOBS WHERE id=?");
+            return new WindowInputStream(conn, window, contentLength);
+        } catch (SQLException e) {
+            if (conn != null) {
+                conn.close();
+            }
+            throw new IOException(format("getting content %s", getId()), e);
+        }
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        try {
+            List<Long> lengths = template.queryForList("SELECT LENGTH(content) FROM BLOBS WHERE id=?", Long.class, blobId());
+            return (lengths.isEmpty() || lengths.get(0) == null ? 0 : lengths.get(0));
+        } catch (DataAccessException dae) {
+            throw new IOException(format("getting length of content %s", getId()), dae);
+        }
+    }
+
+    private int blobId() {
+        return Integer.parseInt(getId().toString());
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    private class WindowInputStream extends InputStream {
+
+        private final ReadConnection conn;
+        private final PreparedStatement window;
+        private final long length;
+        private byte[] buffer = new byte[0];
+        private long bufferStart;
+        private long position;
+        private boolean closed;
+
+        WindowInputStream(ReadConnection conn, PreparedStatement window, long length) {
+            this.conn = conn;
+            this.window = window;
+            this.length = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureWindow()) {
+                return -1;
+            }
+            return buffer[(int) (position++ - bufferStart)] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureWindow()) {
+                return -1;
+            }
+            int offset = (int) (position - bufferStart);
+            int n = Math.min(len, buffer.length - offset);
+            System.arraycopy(buffer, offset, b, off, n);
+            position += n;
+            return n;
+        }
+
+        /**
+         * Moves the position without fetching the skipped content.
+         */
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            long skipped = Math.min(n, length - position);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            long offset = position - bufferStart;
+            return (offset >= 0 && offset < buffer.length ? (int) (buffer.length - offset) : 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(window);
+            conn.close();
+        }
+
+        // makes sure the buffer holds the byte at position, returning false at the end of the content
+        private boolean ensureWindow() throws IOException {
+            if (position >= bufferStart && position < bufferStart + buffer.length) {
+                return true;
+            }
+            if (closed || position >= length) {
+                return false;
+            }
+
+            try {
+                // SUBSTRING positions start at 1
+                window.setLong(1, position + 1);
+                window.setInt(2, WINDOW_SIZE);
+                window.setInt(3, blobId());
+                try (ResultSet rs = window.executeQuery()) {
+                    byte[] content = (rs.next() ? rs.getBytes(1) : null);
+                    if (content == null || content.length == 0) {
+                        return false;
+                    }
+                    buffer = content;
+                    bufferStart = position;
+                    return true;
+                }
+            } catch (SQLException e) {
+                throw new IOException(format("reading content %s", getId()), e);
+            }
+        }
+    }
+}
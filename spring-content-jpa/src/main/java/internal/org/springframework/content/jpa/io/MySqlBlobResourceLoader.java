@@ -0,0 +1,46 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.content.jpa.io.BlobResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.Executor;
+
+public class MySqlBlobResourceLoader implements BlobResourceLoader {
+
+    private JdbcTemplate template;
+    private PlatformTransactionManager txnMgr;
+    private Executor writer;
+    private int bufferSize;
+    private int commitTimeout;
+
+    public MySqlBlobResourceLoader(JdbcTemplate template, PlatformTransactionManager txnMgr) {
+        this(template, txnMgr, BlobWriterExecutor.getDefault(), AbstractBlobResource.DEFAULT_BUFFER_SIZE, AbstractBlobResource.DEFAULT_COMMIT_TIMEOUT);
+    }
+
+    public MySqlBlobResourceLoader(JdbcTemplate template, PlatformTransactionManager txnMgr, Executor writer, int bufferSize, int commitTimeout) {
+        this.template = template;
+        this.txnMgr = txnMgr;
+        this.writer = writer;
+        this.bufferSize = bufferSize;
+        this.commitTimeout = commitTimeout;
+    }
+
+    @Override
+    public String getDatabaseName() {
+        return "MySQL";
+    }
+
+    @Override
+    public Resource getResource(String location) {
+        return new MySqlBlobResource(location, template, txnMgr, writer, bufferSize, commitTimeout);
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return ClassUtils.getDefaultClassLoader();
+    }
+}
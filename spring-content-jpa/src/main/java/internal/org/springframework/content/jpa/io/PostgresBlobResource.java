@@ -0,0 +1,298 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.postgresql.PGConnection;
+import org.postgresql.largeobject.LargeObject;
+import org.postgresql.largeobject.LargeObjectManager;
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static java.lang.String.format;
+
+/**
+ * Blob resource for PostgreSQL that stores content as a large object referenced by
+ * BLOBS.content_oid.  Large objects are streamed to and from the server a buffer at a time and can
+ * be read from any offset, whereas the driver materializes a bytea value in full.  Content stored in
+ * BLOBS.content by an earlier version is still read, and is replaced by a large object when it is
+ * next written.
+ */
+public class PostgresBlobResource extends AbstractBlobResource {
+
+    private final JdbcTemplate template;
+    private final PlatformTransactionManager txnMgr;
+    private final int bufferSize;
+
+    public PostgresBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
+        this(id, template, txnMgr, BlobWriterExecutor.getDefault(), DEFAULT_BUFFER_SIZE, DEFAULT_COMMIT_TIMEOUT);
+    }
+
+    public PostgresBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr, Executor writer, int bufferSize, int commitTimeout) {
+        super(id, template, txnMgr, writer, bufferSize, commitTimeout);
+        this.template = template;
+        this.txnMgr = txnMgr;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Writes content into a new large object on the calling thread, joining the caller's transaction
+     * if there is one.  The large object replaces any existing content once it has been written.
+     */
+    @Override
+    public long write(InputStream content, long length) throws IOException {
+        CountingInputStream counter = new CountingInputStream(content);
+        Integer newId;
+        try {
+            newId = new TransactionTemplate(txnMgr).execute(new TransactionCallback<Integer>() {
+                @Override
+                public Integer doInTransaction(TransactionStatus status) {
+                    long oid = template.execute(new ConnectionCallback<Long>() {
+                        @Override
+                        public Long doInConnection(Connection con) throws SQLException, DataAccessException {
+                            return createLargeObject(con, counter, length);
+                        }
+                    });
+
+                    if (exists()) {
+                        int id = blobId();
+                        template.queryForList("SELECT lo_unlink(content_oid) FROM BLOBS WHERE id=? AND content_oid IS NOT NULL", id);
+                        template.update("UPDATE BLOBS SET content=NULL, content_oid=? WHERE id=?", oid, id);
+                        return id;
+                    }
+
+                    KeyHolder keys = new GeneratedKeyHolder();
+                    template.update(new PreparedStatementCreator() {
+                        @Override
+                        public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+                            PreparedStatement ps = con.prepareStatement("INSERT INTO BLOBS (content_oid) VALUES(?)", new String[] {"id"});
+                            ps.setLong(1, oid);
+                            return ps;
+                        }
+                    }, keys);
+                    return keys.getKey().intValue();
+                }
+            });
+        } catch (RuntimeException re) {
+            throw new IOException(format("writing content %s", getId()), re);
+        }
+        setId(newId);
+        return counter.getByteCount();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        List<Long> oids = contentOid();
+        if (oids.isEmpty()) {
+            return null;
+        }
+        if (oids.get(0) == null) {
+            return super.getInputStream();
+        }
+
+        ReadConnection conn = null;
+        try {
+            // large objects can only be read inside a transaction
+            conn = ReadConnection.open(template.getDataSource());
+            LargeObject lo = largeObjects(conn.get()).open(oids.get(0), LargeObjectManager.READ);
+            return new LargeObjectInputStream(lo, conn);
+        } catch (SQLException e) {
+            if (conn != null) {
+                conn.close();
+            }
+            throw new IOException(format("getting content %s", getId()), e);
+        }
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        List<Long> oids = contentOid();
+        if (oids.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            if (oids.get(0) == null) {
+                Long length = template.queryForObject("SELECT octet_length(content) FROM BLOBS WHERE id=?", Long.class, blobId());
+                return (length != null ? length : 0);
+            }
+            return new TransactionTemplate(txnMgr).execute(new TransactionCallback<Long>() {
+                @Override
+                public Long doInTransaction(TransactionStatus status) {
+                    return template.execute(new ConnectionCallback<Long>() {
+                        @Override
+                        public Long doInConnection(Connection con) throws SQLException, DataAccessException {
+                            LargeObject lo = largeObjects(con).open(oids.get(0), LargeObjectManager.READ);
+                            try {
+                                return lo.size64();
+                            } finally {
+                                lo.close();
+                            }
+                        }
+                    });
+                }
+            });
+        } catch (DataAccessException dae) {
+            throw new IOException(format("getting length of content %s", getId()), dae);
+        }
+    }
+
+    @Override
+    public void delete() {
+        final int id = blobId();
+        new TransactionTemplate(txnMgr).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.queryForList("SELECT lo_unlink(content_oid) FROM BLOBS WHERE id=? AND content_oid IS NOT NULL", id);
+                template.update("DELETE FROM BLOBS WHERE id=?", id);
+            }
+        });
+    }
+
+    private int blobId() {
+        return Integer.parseInt(getId().toString());
+    }
+
+    // returns no elements if the blob doesn't exist and a null element if its content isn't a large object
+    private List<Long> contentOid() throws IOException {
+        try {
+            return template.queryForList("SELECT content_oid FROM BLOBS WHERE id=?", Long.class, blobId());
+        } catch (DataAccessException dae) {
+            throw new IOException(format("getting content %s", getId()), dae);
+        }
+    }
+
+    private long createLargeObject(Connection con, InputStream content, long length) throws SQLException {
+        LargeObjectManager lom = largeObjects(con);
+        long oid = lom.createLO(LargeObjectManager.READWRITE);
+        LargeObject lo = lom.open(oid, LargeObjectManager.WRITE);
+        long written = 0;
+        try {
+            byte[] buffer = new byte[bufferSize];
+            int n;
+            while ((n = content.read(buffer)) != -1) {
+                lo.write(buffer, 0, n);
+                written += n;
+            }
+        } catch (IOException ioe) {
+            throw new SQLException(format("reading content %s", getId()), ioe);
+        } finally {
+            lo.close();
+        }
+        if (length >= 0 && written != length) {
+            throw new SQLException(format("content %s is %s bytes long but was declared as %s", getId(), written, length));
+        }
+        return oid;
+    }
+
+    private static LargeObjectManager largeObjects(Connection con) throws SQLException {
+        return con.unwrap(PGConnection.class).getLargeObjectAPI();
+    }
+
+    private class LargeObjectInputStream extends InputStream {
+
+        private final LargeObject lo;
+        private final ReadConnection conn;
+        private final byte[] buffer = new byte[bufferSize];
+        private int pos;
+        private int limit;
+        private boolean closed;
+
+        LargeObjectInputStream(LargeObject lo, ReadConnection conn) {
+            this.lo = lo;
+            this.conn = conn;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            return buffer[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            int n = Math.min(len, limit - pos);
+            System.arraycopy(buffer, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        /**
+         * Seeks the large object rather than reading the skipped bytes.
+         */
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            if (n <= limit - pos) {
+                pos += (int) n;
+                return n;
+            }
+            try {
+                long current = lo.tell64() - (limit - pos);
+                long target = Math.min(current + n, lo.size64());
+                lo.seek64(target, LargeObject.SEEK_SET);
+                pos = limit = 0;
+                return target - current;
+            } catch (SQLException e) {
+                throw new IOException(format("skipping content %s", getId()), e);
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            return limit - pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                lo.close();
+            } catch (SQLException e) {
+                throw new IOException(format("closing content %s", getId()), e);
+            } finally {
+                conn.close();
+            }
+        }
+
+        private boolean fill() throws IOException {
+            try {
+                int n = lo.read(buffer, 0, buffer.length);
+                pos = 0;
+                limit = Math.max(n, 0);
+                return limit > 0;
+            } catch (SQLException e) {
+                throw new IOException(format("reading content %s", getId()), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A connection held open by a content stream.  Outside of a transaction the connection is switched
+ * out of auto-commit for the life of the stream, so that every statement the stream issues reads
+ * the same content, and committed when the stream is closed.  Inside a transaction the transaction's
+ * connection is used as is.
+ */
+class ReadConnection {
+
+    private static Log logger = LogFactory.getLog(ReadConnection.class);
+
+    private final Connection conn;
+    private final DataSource ds;
+    private final boolean restoreAutoCommit;
+
+    private ReadConnection(Connection conn, DataSource ds, boolean restoreAutoCommit) {
+        this.conn = conn;
+        this.ds = ds;
+        this.restoreAutoCommit = restoreAutoCommit;
+    }
+
+    static ReadConnection open(DataSource ds) throws SQLException {
+        Connection conn = DataSourceUtils.getConnection(ds);
+        try {
+            boolean restoreAutoCommit = false;
+            if (!DataSourceUtils.isConnectionTransactional(conn, ds) && conn.getAutoCommit()) {
+                conn.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            return new ReadConnection(conn, ds, restoreAutoCommit);
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(conn, ds);
+            throw e;
+        }
+    }
+
+    Connection get() {
+        return conn;
+    }
+
+    void close() {
+        try {
+            if (restoreAutoCommit) {
+                try {
+                    conn.commit();
+                } catch (SQLException e) {
+                    logger.debug("ending content read transaction", e);
+                }
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.debug("restoring auto-commit", e);
+                }
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(conn, ds);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * A fixed size ring buffer that hands content written by one thread to a reader on another.
+ * <p>
+ * Unlike {@link java.io.PipedInputStream} neither side polls; each waits until the other signals
+ * that there is content, or room for it.  The writer either closes the pipe, when the reader sees
+ * the end of the content, or aborts it, when the reader fails instead so that whatever it is
+ * writing the content to is not committed.
+ */
+public class RingBufferPipe {
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition readable = lock.newCondition();
+    private final Condition writable = lock.newCondition();
+    private final InputStream source = new Source();
+
+    private int head;
+    private int count;
+    private boolean closed;
+    private boolean aborted;
+    private boolean sourceClosed;
+
+    /**
+     * @param size the size of the buffer in bytes
+     */
+    public RingBufferPipe(int size) {
+        Assert.isTrue(size > 0, "size must be greater than 0");
+        this.buffer = new byte[size];
+    }
+
+    /**
+     * @return the stream the reader reads the content from
+     */
+    public InputStream getInputStream() {
+        return source;
+    }
+
+    /**
+     * Writes content, waiting for the reader to make room for it.
+     *
+     * @throws IOException if the pipe has been closed or aborted, or the reader has stopped reading
+     */
+    public void write(byte[] b, int off, int len) throws IOException {
+        lock.lock();
+        try {
+            while (len > 0) {
+                while (count == buffer.length && !sourceClosed && !closed && !aborted) {
+                    await(writable);
+                }
+                if (closed || aborted) {
+                    throw new IOException("Pipe closed");
+                } else if (sourceClosed) {
+                    throw new IOException("Pipe reader closed");
+                }
+                int tail = (head + count) % buffer.length;
+                int n = Math.min(len, Math.min(buffer.length - count, buffer.length - tail));
+                System.arraycopy(b, off, buffer, tail, n);
+                count += n;
+                off += n;
+                len -= n;
+                readable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the end of the content.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            readable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards the content.  The reader fails on its next read, even if it has read everything
+     * written so far.
+     */
+    public void abort() {
+        lock.lock();
+        try {
+            aborted = true;
+            readable.signalAll();
+            writable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the content has been discarded
+     */
+    public boolean isAborted() {
+        lock.lock();
+        try {
+            return aborted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void await(Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the pipe");
+        }
+    }
+
+    private class Source extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return (read(b, 0, 1) == -1 ? -1 : b[0] & 0xff);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                while (count == 0 && !closed && !aborted && !sourceClosed) {
+                    await(readable);
+                }
+                if (aborted) {
+                    throw new IOException("Pipe aborted");
+                } else if (sourceClosed) {
+                    throw new IOException("Pipe reader closed");
+                } else if (count == 0) {
+                    return -1;
+                }
+                int n = Math.min(len, Math.min(count, buffer.length - head));
+                System.arraycopy(buffer, head, b, off, n);
+                head = (head + n) % buffer.length;
+                count -= n;
+                writable.signal();
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                sourceClosed = true;
+                writable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -6,11 +6,15 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.SizedInputStream;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.Condition;
+import org.springframework.content.jpa.config.BlobWriteMode;
+import org.springframework.content.jpa.io.AbortableOutputStream;
 import org.springframework.content.jpa.io.BlobResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -29,9 +33,15 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable> implements Store<S
     private static Log logger = LogFactory.getLog(DefaultJpaStoreImpl.class);
 
     private ResourceLoader loader;
+    private BlobWriteMode writeMode;
 
     public DefaultJpaStoreImpl(ResourceLoader blobResourceLoader) {
+        this(blobResourceLoader, BlobWriteMode.PIPED);
+    }
+
+    public DefaultJpaStoreImpl(ResourceLoader blobResourceLoader, BlobWriteMode writeMode) {
         this.loader = blobResourceLoader;
+        this.writeMode = writeMode;
     }
 
     @Override
@@ -94,32 +104,60 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable> implements Store<S
 	@Override
 	public void setContent(S metadata, InputStream content) {
         Resource resource = getResource(metadata);
+        if (writeMode == BlobWriteMode.DIRECT && resource instanceof BlobResource) {
+            setContentDirect(metadata, (BlobResource) resource, content);
+            return;
+        }
+
         OutputStream os = null;
         long contentLen = -1L;
         try {
             if (resource instanceof WritableResource) {
                 os = ((WritableResource)resource).getOutputStream();
-                contentLen = IOUtils.copyLarge(content, os);
+                try {
+                    contentLen = IOUtils.copyLarge(content, os);
+                } catch (IOException | RuntimeException e) {
+                    // don't commit what was copied before the failure
+                    AbortableOutputStream.abortQuietly(os);
+                    os = null;
+                    throw e;
+                }
+                // closing waits for the write to commit
+                os.close();
             }
         } catch (IOException e) {
-            logger.error(String.format("Unable to get output stream for resource %s", resource));
+            throw new StoreAccessException(String.format("Unable to set content for resource %s", resource), e);
         } finally {
             IOUtils.closeQuietly(content);
             IOUtils.closeQuietly(os);
         }
 
-        waitForCommit((BlobResource) resource);
-
         BeanUtils.setFieldWithAnnotation(metadata, ContentId.class, ((BlobResource)resource).getId());
         BeanUtils.setFieldWithAnnotation(metadata, ContentLength.class, contentLen);
 
         return;
 	}
 
-    private void waitForCommit(BlobResource resource) {
-        synchronized (resource) {
-            return;
+    private void setContentDirect(S metadata, BlobResource resource, InputStream content) {
+        long contentLen;
+        try {
+            contentLen = resource.write(content, getKnownContentLength(content));
+        } catch (IOException e) {
+            throw new StoreAccessException(String.format("Unable to set content for resource %s", resource), e);
+        } finally {
+            IOUtils.closeQuietly(content);
         }
+
+        BeanUtils.setFieldWithAnnotation(metadata, ContentId.class, resource.getId());
+        BeanUtils.setFieldWithAnnotation(metadata, ContentLength.class, contentLen);
+    }
+
+    /*
+     * The length is only known when the caller says so with the stream; @ContentLength may still
+     * describe content being replaced.
+     */
+    private long getKnownContentLength(InputStream content) {
+        return (content instanceof SizedInputStream ? ((SizedInputStream) content).getLength() : -1L);
     }
 
     @Override
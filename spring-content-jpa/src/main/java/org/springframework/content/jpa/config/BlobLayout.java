@@ -0,0 +1,19 @@
+package org.springframework.content.jpa.config;
+
+/**
+ * How a JPA store lays content out in the database.
+ */
+public enum BlobLayout {
+
+    /**
+     * Each content is a single value in the BLOBS table.
+     */
+    SINGLE_ROW,
+
+    /**
+     * Each content is split into fixed size chunks in the BLOB_CHUNKS table.  Chunks are written in
+     * batches and read incrementally so neither the driver nor the database materialize the whole
+     * content, and byte ranges are served by reading only the chunks they span.
+     */
+    CHUNKED
+}
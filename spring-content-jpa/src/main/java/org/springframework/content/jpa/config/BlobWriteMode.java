@@ -0,0 +1,19 @@
+package org.springframework.content.jpa.config;
+
+/**
+ * How a JPA store writes content into the database.
+ */
+public enum BlobWriteMode {
+
+    /**
+     * Content is piped to a writer thread that inserts it in its own transaction.
+     */
+    PIPED,
+
+    /**
+     * Content is inserted on the calling thread, inside the caller's transaction if there is one, avoiding
+     * a thread handoff and a buffer copy per write.  The content's length is passed to the driver when the
+     * content is given as a {@link org.springframework.content.commons.io.SizedInputStream}.
+     */
+    DIRECT
+}
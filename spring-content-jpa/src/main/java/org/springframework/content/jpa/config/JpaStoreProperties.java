@@ -1,7 +1,86 @@
 package org.springframework.content.jpa.config;
 
+import java.util.concurrent.ExecutorService;
+
 public interface JpaStoreProperties {
 
     JpaStoreProperties commitTimeout(int seconds);
 
+    /**
+     * Sets how content is written into the database.  Defaults to {@link BlobWriteMode#PIPED}.
+     *
+     * @param mode the write mode
+     * @return these properties
+     */
+    JpaStoreProperties writeMode(BlobWriteMode mode);
+
+    /**
+     * Sets how content is laid out in the database.  Defaults to {@link BlobLayout#SINGLE_ROW}.
+     *
+     * @param layout the layout
+     * @return these properties
+     */
+    JpaStoreProperties layout(BlobLayout layout);
+
+    /**
+     * Sets the size of each chunk when the layout is {@link BlobLayout#CHUNKED}.  Content offsets are
+     * derived from the chunk size so it must not be changed once content has been stored.
+     *
+     * @param bytes the chunk size in bytes
+     * @return these properties
+     */
+    JpaStoreProperties chunkSize(int bytes);
+
+    /**
+     * Sets the number of chunks inserted, or fetched, per round trip when the layout is
+     * {@link BlobLayout#CHUNKED}.
+     *
+     * @param chunks the number of chunks per batch
+     * @return these properties
+     */
+    JpaStoreProperties chunkBatchSize(int chunks);
+
+    /**
+     * Sets the number of threads that prefetch chunks for readers when the layout is
+     * {@link BlobLayout#CHUNKED}.  When all are busy readers fetch each batch as they need it.
+     *
+     * @param threads the number of prefetch threads
+     * @return these properties
+     */
+    JpaStoreProperties prefetchThreads(int threads);
+
+    /**
+     * Sets the number of threads that drain blob output streams into the database.
+     *
+     * @param threads the number of writer threads
+     * @return these properties
+     */
+    JpaStoreProperties writerThreads(int threads);
+
+    /**
+     * Sets the number of writes that may wait for a writer thread before further writes are rejected.
+     *
+     * @param capacity the queue capacity
+     * @return these properties
+     */
+    JpaStoreProperties writerQueueCapacity(int capacity);
+
+    /**
+     * Sets the size of the buffer between a caller writing content and the writer thread.
+     *
+     * @param bytes the buffer size in bytes
+     * @return these properties
+     */
+    JpaStoreProperties writerBufferSize(int bytes);
+
+    /**
+     * Sets the executor that drains blob output streams into the database, replacing the default
+     * bounded pool; for example, a virtual thread executor.  The executor must run writes on a thread
+     * other than the caller's.
+     *
+     * @param executor the writer executor
+     * @return these properties
+     */
+    JpaStoreProperties writerExecutor(ExecutorService executor);
+
 }
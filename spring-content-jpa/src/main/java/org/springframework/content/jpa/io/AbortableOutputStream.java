@@ -0,0 +1,34 @@
+package org.springframework.content.jpa.io;
+
+import java.io.OutputStream;
+
+/**
+ * An output stream whose content is only committed when it is closed after being written in
+ * full.  A caller that fails part way through writing aborts the stream instead, discarding
+ * everything written to it.
+ */
+public abstract class AbortableOutputStream extends OutputStream {
+
+    /**
+     * Discards everything written to this stream.  Closing the stream afterwards commits nothing;
+     * instead it throws an {@link java.io.IOException} reporting that the write was rolled back.
+     */
+    public abstract void abort();
+
+    /**
+     * Aborts the stream if it is abortable, otherwise closes it quietly.
+     *
+     * @param os the stream, or null
+     */
+    public static void abortQuietly(OutputStream os) {
+        if (os instanceof AbortableOutputStream) {
+            ((AbortableOutputStream) os).abort();
+        } else if (os != null) {
+            try {
+                os.close();
+            } catch (Exception e) {
+                // the write has already failed
+            }
+        }
+    }
+}
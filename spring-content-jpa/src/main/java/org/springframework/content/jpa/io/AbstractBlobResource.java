@@ -1,6 +1,9 @@
 package org.springframework.content.jpa.io;
 
+import internal.org.springframework.content.jpa.io.BlobWriterExecutor;
+import internal.org.springframework.content.jpa.io.RingBufferPipe;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.core.io.Resource;
@@ -20,6 +23,13 @@ import java.io.*;
 import java.net.URI;
 import java.net.URL;
 import java.sql.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static java.lang.String.format;
 
@@ -27,14 +37,35 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     private static Log logger = LogFactory.getLog(AbstractBlobResource.class);
 
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int DEFAULT_COMMIT_TIMEOUT = 30;
+
     private Object id;
     private JdbcTemplate template;
     private PlatformTransactionManager txnMgr;
+    private Executor writer;
+    private int bufferSize;
+    private int commitTimeout;
 
     public AbstractBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
+        this(id, template, txnMgr, BlobWriterExecutor.getDefault(), DEFAULT_BUFFER_SIZE, DEFAULT_COMMIT_TIMEOUT);
+    }
+
+    /**
+     * @param id the blob id
+     * @param template the template used to access the BLOBS table
+     * @param txnMgr the transaction manager each write is committed with
+     * @param writer the executor that drains output streams into the database
+     * @param bufferSize the size, in bytes, of the pipe between the caller and the writer
+     * @param commitTimeout the number of seconds closing an output stream waits for its commit
+     */
+    public AbstractBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr, Executor writer, int bufferSize, int commitTimeout) {
         this.id = id;
         this.template = template;
         this.txnMgr = txnMgr;
+        this.writer = writer;
+        this.bufferSize = bufferSize;
+        this.commitTimeout = commitTimeout;
     }
 
     public Object getId() {
@@ -54,35 +85,89 @@ public abstract class AbstractBlobResource implements BlobResource {
         return true;
     }
 
+    /**
+     * Returns a stream that is drained into the database by the writer executor, using
+     * {@link #write(InputStream, long)}, through a ring buffer of the buffer size.  Closing the
+     * stream waits for the write to commit and rethrows any error it raised.  Aborting the stream,
+     * or the commit not completing within the commit timeout, rolls the write back unless it is
+     * already committing.  The commit can also be observed asynchronously through
+     * {@link BlobOutputStream#getCommit()}.
+     */
     @Override
     public OutputStream getOutputStream() throws IOException {
         final Object id = this.id;
         final AbstractBlobResource resource = this;
-        TransactionTemplate txn = new TransactionTemplate(txnMgr);
 
-        PipedInputStream is = new PipedInputStream();
-        PipedOutputStream os = new PipedOutputStream(is);
+        RingBufferPipe pipe = new RingBufferPipe(bufferSize);
+        BlobOutputStream os = new BlobOutputStream(id, pipe, commitTimeout);
+        CompletableFuture<Object> commit = os.getCommit();
 
-        Thread t = new Thread(
-                () -> {
-                    synchronized (resource) {
-                        try {
-                            Object rc = update(txn, is, id, resource);
-                            if (rc != null && !rc.equals(-1)) {
-                                resource.setId(rc);
+        try {
+            writer.execute(() -> {
+                try {
+                    // a write abandoned while it waited for a writer thread is never started
+                    checkNotAborted(pipe, id);
+                    new TransactionTemplate(txnMgr).execute(new TransactionCallback<Object>() {
+                        @Override
+                        public Object doInTransaction(TransactionStatus status) {
+                            try {
+                                resource.write(pipe.getInputStream(), -1L);
+                                // the reader may have seen the end of the content before the stream was abandoned
+                                checkNotAborted(pipe, id);
+                            } catch (IOException ioe) {
+                                throw new UncheckedIOException(ioe);
                             }
-                        } catch (SQLException e) {
-                            e.printStackTrace();
+                            return null;
                         }
-                    }
+                    });
+                    commit.complete(resource.getId());
+                } catch (Throwable t) {
+                    Throwable cause = (t instanceof UncheckedIOException ? t.getCause() : t);
+                    logger.error(format("writing content %s", id), cause);
+                    commit.completeExceptionally(cause);
+                } finally {
+                    IOUtils.closeQuietly(pipe.getInputStream());
                 }
-        );
-        t.start();
+            });
+        } catch (RejectedExecutionException ree) {
+            pipe.abort();
+            throw new IOException(format("Unable to schedule write of content %s", id), ree);
+        }
 
         return os;
     }
 
-    private Object update(TransactionTemplate txn, InputStream fin, Object id, AbstractBlobResource resource) throws SQLException {
+    private static void checkNotAborted(RingBufferPipe pipe, Object id) throws IOException {
+        if (pipe.isAborted()) {
+            throw new IOException(format("write of content %s was abandoned", id));
+        }
+    }
+
+    /**
+     * Writes content on the calling thread, joining the caller's transaction if there is one.  When
+     * length is known it is passed to the driver and the content must be exactly that long.
+     *
+     * @param content the content to write
+     * @param length the length of the content in bytes, or -1 if unknown
+     * @return the number of bytes written
+     * @throws IOException if the content could not be written
+     */
+    @Override
+    public long write(InputStream content, long length) throws IOException {
+        TransactionTemplate txn = new TransactionTemplate(txnMgr);
+        CountingInputStream counter = new CountingInputStream(content);
+        try {
+            Object rc = update(txn, counter, length, this.id, this);
+            if (rc != null && !rc.equals(-1)) {
+                this.setId(rc);
+            }
+        } catch (RuntimeException re) {
+            throw new IOException(format("writing content %s", id), re);
+        }
+        return counter.getByteCount();
+    }
+
+    private Object update(TransactionTemplate txn, InputStream fin, long length, Object id, AbstractBlobResource resource) {
         return txn.execute(new TransactionCallback<Integer>() {
             @Override
             public Integer doInTransaction(TransactionStatus transactionStatus) {
@@ -95,9 +180,10 @@ public abstract class AbstractBlobResource implements BlobResource {
                             // mark the resource as being updated
                             resource.setId(-1);
 
-                            ps.setBinaryStream(1, fin);
+                            bindContent(ps, fin, length);
                             ps.setInt(2, Integer.parseInt(id.toString()));
                             ps.executeUpdate();
+                            verifyContentLength(fin, length);
                             IOUtils.closeQuietly(fin);
                             return Integer.parseInt(id.toString());
                         }
@@ -115,14 +201,13 @@ public abstract class AbstractBlobResource implements BlobResource {
                             public Integer doInPreparedStatement(PreparedStatement ps) throws SQLException, DataAccessException {
                                 ResultSet set = null;
                                 try {
-                                    ps.setBinaryStream(1, fin);
+                                    bindContent(ps, fin, length);
                                     ps.executeUpdate();
+                                    verifyContentLength(fin, length);
                                     IOUtils.closeQuietly(fin);
                                     set = ps.getGeneratedKeys();
                                     set.next();
                                     return set.getInt(1);
-                                } catch (SQLException sqle) {
-                                    logger.error("inserting content", sqle);
                                 } finally {
                                     if (set != null) {
                                         try {
@@ -132,7 +217,6 @@ public abstract class AbstractBlobResource implements BlobResource {
                                         }
                                     }
                                 }
-                                return null;
                             }
 
                         }
@@ -143,6 +227,28 @@ public abstract class AbstractBlobResource implements BlobResource {
         });
     }
 
+    private static void bindContent(PreparedStatement ps, InputStream fin, long length) throws SQLException {
+        if (length >= 0) {
+            ps.setBinaryStream(1, fin, length);
+        } else {
+            ps.setBinaryStream(1, fin);
+        }
+    }
+
+    private static void verifyContentLength(InputStream fin, long length) throws SQLException {
+        if (length < 0) {
+            return;
+        }
+        try {
+            // the driver stops reading at length so make sure we didn't truncate the content
+            if (fin.read() != -1) {
+                throw new SQLException(format("content is longer than its declared length %s", length));
+            }
+        } catch (IOException ioe) {
+            throw new SQLException("verifying content length", ioe);
+        }
+    }
+
     @Override
     public boolean exists() {
         String sql = "SELECT COUNT(id) FROM BLOBS WHERE id=" + this.id;
@@ -237,6 +343,88 @@ public abstract class AbstractBlobResource implements BlobResource {
         this.template.update(sql);
     }
 
+    /**
+     * Output stream for a blob write that is being drained into the database by another thread.
+     */
+    public static class BlobOutputStream extends AbortableOutputStream {
+
+        private final Object id;
+        private final RingBufferPipe pipe;
+        private final int commitTimeout;
+        private final CompletableFuture<Object> commit = new CompletableFuture<>();
+        private final byte[] single = new byte[1];
+
+        public BlobOutputStream(Object id, RingBufferPipe pipe, int commitTimeout) {
+            this.id = id;
+            this.pipe = pipe;
+            this.commitTimeout = commitTimeout;
+        }
+
+        /**
+         * Returns the commit handle for this write.  It completes with the id of the blob once the
+         * write is committed, or exceptionally if the write fails.
+         *
+         * @return the commit handle
+         */
+        public CompletableFuture<Object> getCommit() {
+            return commit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                pipe.write(b, off, len);
+            } catch (IOException ioe) {
+                throw failure(ioe);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            pipe.close();
+            try {
+                commit.get(commitTimeout, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                abort();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(format("interrupted waiting for content %s to commit", id));
+            } catch (ExecutionException ee) {
+                throw new IOException(format("writing content %s", id), ee.getCause());
+            } catch (TimeoutException te) {
+                // don't let the write commit after the caller has been told it failed
+                abort();
+                throw new IOException(format("timed out waiting for content %s to commit", id), te);
+            }
+        }
+
+        /**
+         * Abandons the write, which is rolled back unless it is already committing.  Closing the
+         * stream afterwards waits for the writer and reports the rollback, if there was one.
+         */
+        @Override
+        public void abort() {
+            pipe.abort();
+        }
+
+        private IOException failure(IOException ioe) {
+            // prefer the writer's error to the broken pipe it caused
+            if (commit.isCompletedExceptionally()) {
+                try {
+                    commit.join();
+                } catch (CompletionException ce) {
+                    return new IOException(format("writing content %s", id), ce.getCause());
+                }
+            }
+            return ioe;
+        }
+    }
+
     public class ClosingInputStream extends InputStream {
 
         private Object id;
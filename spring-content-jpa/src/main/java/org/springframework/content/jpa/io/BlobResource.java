@@ -4,8 +4,21 @@ import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 public interface BlobResource extends Resource, WritableResource, DeletableResource {
 
     Object getId();
 
+    /**
+     * Writes content into this blob on the calling thread.
+     *
+     * @param content the content to write
+     * @param length the length of the content in bytes, or -1 if unknown
+     * @return the number of bytes written
+     * @throws IOException if the content could not be written
+     */
+    long write(InputStream content, long length) throws IOException;
+
 }
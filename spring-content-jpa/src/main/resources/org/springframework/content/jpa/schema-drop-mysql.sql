@@ -1 +1,2 @@
+DROP TABLE IF EXISTS BLOB_CHUNKS;
 DROP TABLE IF EXISTS BLOBS
\ No newline at end of file
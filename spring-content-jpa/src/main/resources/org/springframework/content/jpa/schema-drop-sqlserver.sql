@@ -1 +1,2 @@
+IF EXISTS (SELECT * FROM sysobjects WHERE name='BLOB_CHUNKS' AND xtype='U') DROP TABLE BLOB_CHUNKS;
 IF EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') DROP TABLE BLOBS
\ No newline at end of file
@@ -1 +1,2 @@
-CREATE TABLE BLOBS (id INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1), content BLOB, PRIMARY KEY ( id ))
\ No newline at end of file
+CREATE TABLE BLOBS (id INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1), content BLOB, PRIMARY KEY ( id ));
+CREATE TABLE BLOB_CHUNKS (blob_id INTEGER NOT NULL, seq INTEGER NOT NULL, data BLOB, PRIMARY KEY ( blob_id, seq ))
\ No newline at end of file
@@ -2,4 +2,10 @@ CREATE TABLE IF NOT EXISTS BLOBS (
   id int(11) NOT NULL AUTO_INCREMENT,
   content longblob,
   PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+CREATE TABLE IF NOT EXISTS BLOB_CHUNKS (
+  blob_id int(11) NOT NULL,
+  seq int(11) NOT NULL,
+  data longblob,
+  PRIMARY KEY (blob_id, seq)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
\ No newline at end of file
@@ -1,4 +1,13 @@
 CREATE TABLE IF NOT EXISTS BLOBS (
 	id SERIAL PRIMARY KEY,
-	content bytea
+	content bytea,
+	content_oid oid
+);
+-- upgrades tables created before content_oid was added; requires PostgreSQL 9.6 or later
+ALTER TABLE BLOBS ADD COLUMN IF NOT EXISTS content_oid oid;
+CREATE TABLE IF NOT EXISTS BLOB_CHUNKS (
+	blob_id INTEGER NOT NULL,
+	seq INTEGER NOT NULL,
+	data bytea,
+	PRIMARY KEY (blob_id, seq)
 );
\ No newline at end of file
@@ -1 +1,2 @@
-IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') CREATE TABLE BLOBS ( id int IDENTITY(1,1), content varBinary(MAX) )
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') CREATE TABLE BLOBS ( id int IDENTITY(1,1), content varBinary(MAX) );
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOB_CHUNKS' AND xtype='U') CREATE TABLE BLOB_CHUNKS ( blob_id int NOT NULL, seq int NOT NULL, data varBinary(MAX), PRIMARY KEY ( blob_id, seq ) )
\ No newline at end of file
@@ -0,0 +1,137 @@
+package internal.org.springframework.content.jpa.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.jpa.io.AbortableOutputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ChunkedBlobResourceTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    private ChunkedBlobResource resource;
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate template;
+    private PlatformTransactionManager txnMgr;
+
+    private Exception e;
+
+    {
+        Describe("ChunkedBlobResource", () -> {
+            BeforeEach(() -> {
+                db = new EmbeddedDatabaseBuilder()
+                        .generateUniqueName(true)
+                        .setType(EmbeddedDatabaseType.HSQL)
+                        .addScript("org/springframework/content/jpa/schema-hsqldb.sql")
+                        .build();
+                template = new JdbcTemplate(db);
+                txnMgr = new DataSourceTransactionManager(db);
+                resource = resource("-1");
+            });
+            AfterEach(() -> {
+                db.shutdown();
+            });
+            Context("given content has been written", () -> {
+                BeforeEach(() -> {
+                    OutputStream os = resource.getOutputStream();
+                    IOUtils.write(CONTENT.getBytes(), os);
+                    os.close();
+                });
+                It("should store the content in chunks", () -> {
+                    assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOB_CHUNKS WHERE blob_id=?", Integer.class, resource.getId()), is(5));
+                });
+                It("should return the content", () -> {
+                    try (InputStream in = resource(resource.getId().toString()).getInputStream()) {
+                        assertThat(IOUtils.toString(in), is(CONTENT));
+                    }
+                });
+                It("should return the content's length", () -> {
+                    assertThat(resource(resource.getId().toString()).contentLength(), is((long) CONTENT.length()));
+                });
+                It("should skip to the middle of a chunk", () -> {
+                    try (InputStream in = resource(resource.getId().toString()).getInputStream()) {
+                        assertThat(in.skip(13), is(13L));
+                        assertThat(IOUtils.toString(in), is(CONTENT.substring(13)));
+                    }
+                });
+                It("should report the bytes actually skipped when skipping past the end", () -> {
+                    try (InputStream in = resource(resource.getId().toString()).getInputStream()) {
+                        assertThat(in.read(), is((int) '0'));
+                        assertThat(in.skip(100), is((long) CONTENT.length() - 1));
+                        assertThat(in.read(), is(-1));
+                    }
+                });
+                Context("when the content is overwritten", () -> {
+                    BeforeEach(() -> {
+                        resource.write(new ByteArrayInputStream("xyz".getBytes()), 3);
+                    });
+                    It("should replace the chunks", () -> {
+                        try (InputStream in = resource(resource.getId().toString()).getInputStream()) {
+                            assertThat(IOUtils.toString(in), is("xyz"));
+                        }
+                    });
+                });
+                Context("when the content is deleted", () -> {
+                    BeforeEach(() -> {
+                        resource.delete();
+                    });
+                    It("should remove the blob and its chunks", () -> {
+                        assertThat(resource.exists(), is(false));
+                        assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOB_CHUNKS", Integer.class), is(0));
+                    });
+                });
+            });
+            Context("given a write that is aborted part way through", () -> {
+                BeforeEach(() -> {
+                    OutputStream os = resource.getOutputStream();
+                    os.write(CONTENT.getBytes(), 0, 10);
+                    ((AbortableOutputStream) os).abort();
+                    try {
+                        os.close();
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+                });
+                It("should roll back rather than commit on close", () -> {
+                    assertThat(e, is(not(nullValue())));
+                    assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOBS", Integer.class), is(0));
+                    assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOB_CHUNKS", Integer.class), is(0));
+                });
+            });
+            Context("given content longer than its declared length", () -> {
+                BeforeEach(() -> {
+                    try {
+                        resource.write(new ByteArrayInputStream(CONTENT.getBytes()), 10);
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+                });
+                It("should fail and write nothing", () -> {
+                    assertThat(e, is(not(nullValue())));
+                    assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOBS", Integer.class), is(0));
+                    assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOB_CHUNKS", Integer.class), is(0));
+                });
+            });
+        });
+    }
+
+    private ChunkedBlobResource resource(String id) {
+        return new ChunkedBlobResource(id, template, txnMgr, ChunkPrefetchExecutor.getDefault(), 4, 2);
+    }
+}
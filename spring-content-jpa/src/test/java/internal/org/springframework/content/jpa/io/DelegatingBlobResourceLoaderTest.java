@@ -60,6 +60,42 @@ public class DelegatingBlobResourceLoaderTest {
                         verify(customLoader).getResource(anyObject());
                     });
                 });
+                Context("given a PostgreSQL datasource", () -> {
+                    BeforeEach(() -> {
+                        ds = mock(DataSource.class);
+                        Connection conn = mock(Connection.class);
+                        DatabaseMetaData metadata = mock(DatabaseMetaData.class);
+                        when(ds.getConnection()).thenReturn(conn);
+                        when(conn.getMetaData()).thenReturn(metadata);
+                        when(metadata.getDatabaseProductName()).thenReturn("PostgreSQL");
+
+                        loaders = new ArrayList<>();
+                        loaders.add(new GenericBlobResourceLoader(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class)));
+                        loaders.add(new PostgresBlobResourceLoader(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class)));
+                        loaders.add(new MySqlBlobResourceLoader(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class)));
+                    });
+                    It("should return a PostgresBlobResource", () -> {
+                        assertThat(resource, instanceOf(PostgresBlobResource.class));
+                    });
+                });
+                Context("given a MySQL datasource", () -> {
+                    BeforeEach(() -> {
+                        ds = mock(DataSource.class);
+                        Connection conn = mock(Connection.class);
+                        DatabaseMetaData metadata = mock(DatabaseMetaData.class);
+                        when(ds.getConnection()).thenReturn(conn);
+                        when(conn.getMetaData()).thenReturn(metadata);
+                        when(metadata.getDatabaseProductName()).thenReturn("MySQL");
+
+                        loaders = new ArrayList<>();
+                        loaders.add(new GenericBlobResourceLoader(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class)));
+                        loaders.add(new PostgresBlobResourceLoader(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class)));
+                        loaders.add(new MySqlBlobResourceLoader(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class)));
+                    });
+                    It("should return a MySqlBlobResource", () -> {
+                        assertThat(resource, instanceOf(MySqlBlobResource.class));
+                    });
+                });
                 Context("given a datasource that doesn't have a matching blobresourceloader", () -> {
                     BeforeEach(() -> {
                         ds = mock(DataSource.class);
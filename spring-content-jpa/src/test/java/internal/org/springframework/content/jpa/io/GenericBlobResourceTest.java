@@ -10,17 +10,20 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
@@ -41,9 +44,12 @@ public class GenericBlobResourceTest {
     private ResultSet rs;
 
     private InputStream in;
+    private InputStream bound;
 
     private Object result;
 
+    private Exception e;
+
 
     {
         Describe("GenericBlobResource", () -> {
@@ -176,6 +182,70 @@ public class GenericBlobResourceTest {
                         verify(preparedStatement, timeout(100)).executeUpdate();
                     });
                 });
+                Context("given the database write fails", () -> {
+                    BeforeEach(() -> {
+                        // exists
+                        when(rs.next()).thenReturn(true);
+                        when(rs.getInt(1)).thenReturn(1);
+
+                        in = new ByteArrayInputStream("Hello Spring Content JPA World!".getBytes());
+
+                        // update
+                        preparedStatement = mock(PreparedStatement.class);
+                        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+                        when(preparedStatement.executeUpdate()).thenThrow(new SQLException("badness"));
+                    });
+                    JustBeforeEach(() ->{
+                        try {
+                            IOUtils.copy(in, (OutputStream)result);
+                            ((OutputStream)result).close();
+                        } catch (IOException ioe) {
+                            e = ioe;
+                        } finally {
+                            IOUtils.closeQuietly(in);
+                        }
+                    });
+                    It("should report the failure when the output stream is closed", () -> {
+                        assertThat(e, is(instanceOf(IOException.class)));
+                        assertThat(((AbstractBlobResource.BlobOutputStream)result).getCommit().isCompletedExceptionally(), is(true));
+                    });
+                });
+                Context("given the write is aborted part way through", () -> {
+                    BeforeEach(() -> {
+                        // exists
+                        when(rs.next()).thenReturn(true);
+                        when(rs.getInt(1)).thenReturn(1);
+
+                        // update, reading the content as a driver would
+                        preparedStatement = mock(PreparedStatement.class);
+                        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+                        doAnswer(invocation -> {
+                            bound = invocation.getArgument(1);
+                            return null;
+                        }).when(preparedStatement).setBinaryStream(eq(1), any(InputStream.class));
+                        when(preparedStatement.executeUpdate()).thenAnswer(invocation -> {
+                            try {
+                                IOUtils.toByteArray(bound);
+                            } catch (IOException ioe) {
+                                throw new SQLException(ioe);
+                            }
+                            return 1;
+                        });
+                    });
+                    JustBeforeEach(() ->{
+                        ((OutputStream)result).write("Hello".getBytes());
+                        ((AbstractBlobResource.BlobOutputStream)result).abort();
+                        try {
+                            ((OutputStream)result).close();
+                        } catch (IOException ioe) {
+                            e = ioe;
+                        }
+                    });
+                    It("should report the rollback when the output stream is closed", () -> {
+                        assertThat(e, is(instanceOf(IOException.class)));
+                        assertThat(((AbstractBlobResource.BlobOutputStream)result).getCommit().isCompletedExceptionally(), is(true));
+                    });
+                });
                 Context("given the blob does not exist in the database", () -> {
                     BeforeEach(() -> {
                         // exists
@@ -0,0 +1,127 @@
+package internal.org.springframework.content.jpa.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MySqlBlobResourceTest {
+
+    private static final String LENGTH_SQL = "SELECT LENGTH(content) FROM BLOBS WHERE id=?";
+    private static final String WINDOW_SQL = "SELECT SUBSTRING(content, ?, ?) FROM BLOBS WHERE id=?";
+
+    private MySqlBlobResource resource;
+
+    private JdbcTemplate template;
+    private PlatformTransactionManager txnMgr;
+
+    private DataSource ds;
+    private Connection conn;
+    private PreparedStatement lengthStatement;
+    private PreparedStatement windowStatement;
+    private ResultSet lengthResult;
+    private ResultSet windowResult;
+
+    private byte[] content;
+    private long windowStart;
+    private InputStream result;
+
+    {
+        Describe("MySqlBlobResource", () -> {
+            BeforeEach(() -> {
+                ds = mock(DataSource.class);
+                conn = mock(Connection.class);
+                lengthStatement = mock(PreparedStatement.class);
+                windowStatement = mock(PreparedStatement.class);
+                lengthResult = mock(ResultSet.class);
+                windowResult = mock(ResultSet.class);
+                template = new JdbcTemplate(ds);
+                txnMgr = new DataSourceTransactionManager(ds);
+
+                content = new byte[MySqlBlobResource.WINDOW_SIZE * 2 + 10];
+                for (int i = 0; i < content.length; i++) {
+                    content[i] = (byte) i;
+                }
+
+                when(ds.getConnection()).thenReturn(conn);
+                when(conn.prepareStatement(LENGTH_SQL)).thenReturn(lengthStatement);
+                when(conn.prepareStatement(WINDOW_SQL)).thenReturn(windowStatement);
+                when(lengthStatement.executeQuery()).thenReturn(lengthResult);
+                when(windowStatement.executeQuery()).thenReturn(windowResult);
+                doAnswer(invocation -> {
+                    // SUBSTRING positions start at 1
+                    windowStart = (Long) invocation.getArgument(1) - 1;
+                    return null;
+                }).when(windowStatement).setLong(eq(1), anyLong());
+                when(windowResult.next()).thenReturn(true);
+                when(windowResult.getBytes(1)).thenAnswer(invocation -> {
+                    int start = (int) Math.min(windowStart, content.length);
+                    int end = (int) Math.min(windowStart + MySqlBlobResource.WINDOW_SIZE, content.length);
+                    return Arrays.copyOfRange(content, start, end);
+                });
+            });
+            Context("#getInputStream", () -> {
+                JustBeforeEach(() -> {
+                    resource = new MySqlBlobResource("1", template, txnMgr);
+                    result = resource.getInputStream();
+                });
+                Context("given the blob exists in the database", () -> {
+                    BeforeEach(() -> {
+                        when(lengthResult.next()).thenReturn(true);
+                        when(lengthResult.getLong(1)).thenReturn((long) content.length);
+                    });
+                    It("should read the content a window at a time", () -> {
+                        try {
+                            assertThat(IOUtils.toByteArray(result), is(content));
+                        } finally {
+                            IOUtils.closeQuietly(result);
+                        }
+                        verify(windowStatement, times(3)).executeQuery();
+                        verify(windowStatement, atLeastOnce()).setInt(2, MySqlBlobResource.WINDOW_SIZE);
+                    });
+                    It("should skip to the window containing the new position without reading skipped windows", () -> {
+                        try {
+                            long skip = MySqlBlobResource.WINDOW_SIZE * 2 + 4;
+                            assertThat(result.skip(skip), is(skip));
+                            assertThat(IOUtils.toByteArray(result), is(Arrays.copyOfRange(content, (int) skip, content.length)));
+                        } finally {
+                            IOUtils.closeQuietly(result);
+                        }
+                        verify(windowStatement, times(1)).executeQuery();
+                    });
+                    It("should release the query and connection when closed", () -> {
+                        result.close();
+
+                        verify(windowStatement).close();
+                        verify(conn).close();
+                    });
+                });
+                Context("given the blob does not exist in the database", () -> {
+                    BeforeEach(() -> {
+                        when(lengthResult.next()).thenReturn(false);
+                    });
+                    It("should return null and release the connection", () -> {
+                        assertThat(result, is(nullValue()));
+                        verify(conn).close();
+                    });
+                });
+            });
+        });
+    }
+}
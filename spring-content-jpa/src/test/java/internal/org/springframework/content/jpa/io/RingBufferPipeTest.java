@@ -0,0 +1,76 @@
+package internal.org.springframework.content.jpa.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RingBufferPipeTest {
+
+    private RingBufferPipe pipe;
+    private CompletableFuture<byte[]> read;
+
+    private Exception e;
+
+    {
+        Describe("RingBufferPipe", () -> {
+            BeforeEach(() -> {
+                pipe = new RingBufferPipe(7);
+                read = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return IOUtils.toByteArray(pipe.getInputStream());
+                    } catch (IOException ioe) {
+                        throw new RuntimeException(ioe);
+                    }
+                });
+                e = null;
+            });
+            Context("given content larger than the buffer", () -> {
+                It("should hand all of it to the reader", () -> {
+                    byte[] content = new byte[1000];
+                    new Random().nextBytes(content);
+                    for (int off = 0; off < content.length; off += 100) {
+                        pipe.write(content, off, 100);
+                    }
+                    pipe.close();
+
+                    assertThat(read.get(), is(content));
+                });
+            });
+            Context("given the pipe is aborted after its content has been written", () -> {
+                It("should fail the reader rather than end the content", () -> {
+                    pipe.write("abc".getBytes(), 0, 3);
+                    pipe.abort();
+                    try {
+                        read.get();
+                    } catch (ExecutionException ee) {
+                        e = ee;
+                    }
+                    assertThat(e, is(not(nullValue())));
+                    assertThat(pipe.isAborted(), is(true));
+                });
+            });
+            Context("given the reader has stopped reading", () -> {
+                It("should fail the writer rather than wait for room", () -> {
+                    read.cancel(true);
+                    pipe.getInputStream().close();
+                    try {
+                        pipe.write(new byte[100], 0, 100);
+                    } catch (IOException ioe) {
+                        e = ioe;
+                    }
+                    assertThat(e, is(instanceOf(IOException.class)));
+                });
+            });
+        });
+    }
+}
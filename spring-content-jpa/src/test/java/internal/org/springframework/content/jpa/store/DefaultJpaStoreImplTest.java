@@ -7,6 +7,9 @@ import org.hamcrest.CoreMatchers;
 import org.junit.runner.RunWith;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.SizedInputStream;
+import org.springframework.content.jpa.config.BlobWriteMode;
+import org.springframework.content.jpa.io.AbortableOutputStream;
 import org.springframework.content.jpa.io.BlobResource;
 import org.springframework.content.jpa.io.BlobResourceLoader;
 import org.springframework.core.io.Resource;
@@ -17,6 +20,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Random;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
@@ -31,6 +35,7 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,11 +53,12 @@ public class DefaultJpaStoreImplTest {
     private Resource resource;
     private Integer id;
     private Exception e;
+    private BlobWriteMode writeMode = BlobWriteMode.PIPED;
 
     {
         Describe("DefaultJpaStoreImpl", () -> {
             JustBeforeEach(() -> {
-                    store = new DefaultJpaStoreImpl(blobResourceLoader);
+                    store = new DefaultJpaStoreImpl(blobResourceLoader, writeMode);
             });
 
             Describe("Store", () -> {
@@ -204,6 +210,61 @@ public class DefaultJpaStoreImplTest {
                         assertThat(entity.getContentLen(), is(5000L));
                     });
                 });
+                Context("when reading the content fails part way through", () -> {
+                    BeforeEach(() -> {
+                        blobResourceLoader = mock(BlobResourceLoader.class);
+
+                        entity = new TestEntity();
+                        inputStream = mock(InputStream.class);
+                        when(inputStream.read(anyObject())).thenReturn(100).thenThrow(new IOException("broken"));
+
+                        resource = mock(BlobResource.class);
+                        when(blobResourceLoader.getResource("-1")).thenReturn((BlobResource)resource);
+                        outputStream = mock(AbortableOutputStream.class);
+                        when(((BlobResource) resource).getOutputStream()).thenReturn(outputStream);
+                    });
+                    It("should abort the write rather than commit it", () -> {
+                        assertThat(e, is(not(nullValue())));
+                        verify((AbortableOutputStream) outputStream).abort();
+                        verify(outputStream, never()).close();
+                    });
+                });
+                Context("when the write mode is direct", () -> {
+                    BeforeEach(() -> {
+                        writeMode = BlobWriteMode.DIRECT;
+                        blobResourceLoader = mock(BlobResourceLoader.class);
+
+                        entity = new TestEntity();
+                        inputStream = new SizedInputStream(new ByteArrayInputStream(new byte[5000]), 5000L);
+
+                        resource = mock(BlobResource.class);
+                        when(blobResourceLoader.getResource("-1")).thenReturn((BlobResource)resource);
+                        when(((BlobResource) resource).write(inputStream, 5000L)).thenReturn(5000L);
+                        when(((BlobResource) resource).getId()).thenReturn(12345);
+                    });
+                    AfterEach(() -> {
+                        writeMode = BlobWriteMode.PIPED;
+                    });
+                    It("should write the inputstream directly using the known content length", () -> {
+                        verify((BlobResource) resource).write(inputStream, 5000L);
+                        verify((BlobResource) resource, never()).getOutputStream();
+                    });
+                    It("should update the @ContentId and @ContentLength fields", () -> {
+                        assertThat(entity.getContentId(), is(12345));
+                        assertThat(entity.getContentLen(), is(5000L));
+                    });
+                    Context("given content of unknown length", () -> {
+                        BeforeEach(() -> {
+                            entity.setContentLen(10L);
+                            inputStream = new ByteArrayInputStream(new byte[5000]);
+                            when(((BlobResource) resource).write(inputStream, -1L)).thenReturn(5000L);
+                        });
+                        It("should not take the length from the entity", () -> {
+                            verify((BlobResource) resource).write(inputStream, -1L);
+                            assertThat(entity.getContentLen(), is(5000L));
+                        });
+                    });
+                });
             });
         });
     }
@@ -3,16 +3,23 @@ package internal.org.springframework.content.mongo.config;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.HedgedReader;
+import org.springframework.content.mongo.config.MongoStoreConfigurer;
 import org.springframework.content.mongo.config.MongoStoreConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.DefaultConversionService;
 
+import internal.org.springframework.content.mongo.io.GridFsChunkReader;
+import internal.org.springframework.content.mongo.io.GridFsVersions;
+import internal.org.springframework.content.mongo.repository.MongoErrors;
+
 @Configuration
 public class MongoStoreConfiguration {
 
 	@Autowired(required=false) private List<MongoStoreConverter<?,String>> customConverters;
+	@Autowired(required=false) private List<MongoStoreConfigurer> configurers;
 
 	@Bean
 	public DefaultConversionService mongoStoreConverter() {
@@ -24,4 +31,30 @@ public class MongoStoreConfiguration {
 		}
 		return conversion;
 	}
+
+	@Bean
+	public MongoStorePropertiesImpl mongoStoreProperties() {
+		MongoStorePropertiesImpl properties = new MongoStorePropertiesImpl();
+		if (configurers != null) {
+			for (MongoStoreConfigurer configurer : configurers) {
+				configurer.configure(properties);
+			}
+		}
+		return properties;
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public GridFsChunkReader mongoChunkReader() {
+		return GridFsChunkReader.create(GridFsChunkReader.DEFAULT_BATCH_SIZE, GridFsChunkReader.DEFAULT_READ_AHEAD, GridFsChunkReader.DEFAULT_THREADS);
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public GridFsVersions mongoGridFsVersions() {
+		return GridFsVersions.create(GridFsVersions.DEFAULT_THREADS);
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public HedgedReader mongoHedgedReader() {
+		return HedgedReader.create("mongo-read", HedgedReader.DEFAULT_THREADS, MongoErrors::isTransient, HedgedReader.DEFAULT_PERCENTILE, HedgedReader.DEFAULT_ATTEMPTS, HedgedReader.DEFAULT_BACKOFF);
+	}
 }
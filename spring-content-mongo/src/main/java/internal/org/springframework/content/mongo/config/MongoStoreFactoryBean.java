@@ -1,16 +1,33 @@
 package internal.org.springframework.content.mongo.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.HedgedReader;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
+import com.mongodb.DB;
+
+import internal.org.springframework.content.mongo.io.GridFsBucket;
+import internal.org.springframework.content.mongo.io.GridFsChunkReader;
+import internal.org.springframework.content.mongo.io.GridFsVersions;
 import internal.org.springframework.content.mongo.repository.DefaultMongoStoreImpl;
 
 public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Autowired private GridFsTemplate gridFs;
 	@Autowired private ConversionService mongoStoreConverter;
+	@Autowired(required=false) private HedgedReader mongoHedgedReader;
+	@Autowired(required=false) private GridFsChunkReader mongoChunkReader;
+	@Autowired(required=false) private GridFsVersions mongoGridFsVersions;
+	@Autowired(required=false) private MongoStorePropertiesImpl mongoStoreProperties;
+	@Autowired(required=false) private MongoDbFactory mongoDbFactory;
+	@Autowired(required=false) private MongoConverter mongoConverter;
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -19,6 +36,40 @@ public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultMongoStoreImpl(gridFs, mongoStoreConverter);
+		if (mongoDbFactory == null) {
+			DefaultMongoStoreImpl store = new DefaultMongoStoreImpl(gridFs, mongoStoreConverter);
+			store.setHedgedReader(mongoHedgedReader);
+			return store;
+		}
+
+		MongoStorePropertiesImpl properties = (mongoStoreProperties != null ? mongoStoreProperties.getStoreProperties(getStoreInterface()) : new MongoStorePropertiesImpl());
+		String bucketName = properties.getBucket();
+
+		// the template is built over the factory, rather than taken from the application, so that
+		// the database and bucket the store's files and chunks are held in are known
+		GridFsTemplate template = new GridFsTemplate(mongoDbFactory, getMongoConverter(), bucketName);
+		DB db = mongoDbFactory.getDb();
+
+		DefaultMongoStoreImpl store = new DefaultMongoStoreImpl(template, mongoStoreConverter);
+		store.setHedgedReader(mongoHedgedReader);
+		if (properties.isCustomized()) {
+			store.setBucket(new GridFsBucket(db, bucketName, properties.getChunkSize(), properties.getWriteConcern()));
+		}
+		if (mongoChunkReader != null) {
+			store.setChunkReader(mongoChunkReader, db.getCollection(bucketName + ".chunks"));
+		}
+		if (mongoGridFsVersions != null) {
+			store.setVersions(mongoGridFsVersions, db.getCollection(bucketName + ".files"));
+		}
+		return store;
+	}
+
+	private MongoConverter getMongoConverter() {
+		if (mongoConverter == null) {
+			MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(mongoDbFactory), new MongoMappingContext());
+			converter.afterPropertiesSet();
+			mongoConverter = converter;
+		}
+		return mongoConverter;
 	}
 }
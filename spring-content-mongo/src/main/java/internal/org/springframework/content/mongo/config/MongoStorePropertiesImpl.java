@@ -0,0 +1,107 @@
+package internal.org.springframework.content.mongo.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.content.mongo.config.MongoStoreProperties;
+import org.springframework.util.Assert;
+
+import com.mongodb.WriteConcern;
+
+public class MongoStorePropertiesImpl implements MongoStoreProperties {
+
+	public static final String DEFAULT_BUCKET = "fs";
+	public static final int MAX_CHUNK_SIZE = 15 * 1024 * 1024;
+
+	private final MongoStorePropertiesImpl defaults;
+	private final Map<Class<?>, MongoStorePropertiesImpl> stores;
+
+	private String bucket;
+	private Integer chunkSize;
+	private WriteConcern writeConcern;
+
+	public MongoStorePropertiesImpl() {
+		this(null);
+	}
+
+	private MongoStorePropertiesImpl(MongoStorePropertiesImpl defaults) {
+		this.defaults = defaults;
+		this.stores = (defaults == null ? new HashMap<>() : null);
+	}
+
+	@Override
+	public MongoStoreProperties bucket(String bucket) {
+		Assert.hasText(bucket, "bucket must not be empty");
+		this.bucket = bucket;
+		return this;
+	}
+
+	public String getBucket() {
+		if (bucket != null) {
+			return bucket;
+		}
+		return (defaults != null ? defaults.getBucket() : DEFAULT_BUCKET);
+	}
+
+	@Override
+	public MongoStoreProperties chunkSize(int bytes) {
+		Assert.isTrue(bytes > 0 && bytes <= MAX_CHUNK_SIZE, "chunkSize must be greater than 0 and at most 15MB");
+		this.chunkSize = bytes;
+		return this;
+	}
+
+	/**
+	 * @return the chunk size, or null to use the driver's default
+	 */
+	public Integer getChunkSize() {
+		if (chunkSize != null) {
+			return chunkSize;
+		}
+		return (defaults != null ? defaults.getChunkSize() : null);
+	}
+
+	@Override
+	public MongoStoreProperties writeConcern(WriteConcern writeConcern) {
+		Assert.notNull(writeConcern, "writeConcern must not be null");
+		this.writeConcern = writeConcern;
+		return this;
+	}
+
+	/**
+	 * @return the write concern, or null to use the database's
+	 */
+	public WriteConcern getWriteConcern() {
+		if (writeConcern != null) {
+			return writeConcern;
+		}
+		return (defaults != null ? defaults.getWriteConcern() : null);
+	}
+
+	@Override
+	public MongoStoreProperties forStore(Class<?> storeInterface) {
+		Assert.notNull(storeInterface, "storeInterface must not be null");
+		if (defaults != null) {
+			return defaults.forStore(storeInterface);
+		}
+		return stores.computeIfAbsent(storeInterface, key -> new MongoStorePropertiesImpl(this));
+	}
+
+	/**
+	 * @param storeInterface the store's interface
+	 * @return the properties of the store
+	 */
+	public MongoStorePropertiesImpl getStoreProperties(Class<?> storeInterface) {
+		if (defaults != null) {
+			return defaults.getStoreProperties(storeInterface);
+		}
+		MongoStorePropertiesImpl properties = stores.get(storeInterface);
+		return (properties != null ? properties : this);
+	}
+
+	/**
+	 * @return true if the store's content is stored differently to GridFS's defaults
+	 */
+	public boolean isCustomized() {
+		return bucket != null || chunkSize != null || writeConcern != null || (defaults != null && defaults.isCustomized());
+	}
+}
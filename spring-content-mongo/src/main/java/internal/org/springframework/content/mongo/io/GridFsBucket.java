@@ -0,0 +1,88 @@
+package internal.org.springframework.content.mongo.io;
+
+import java.io.InputStream;
+
+import org.springframework.util.Assert;
+
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.WriteConcern;
+import com.mongodb.gridfs.GridFS;
+import com.mongodb.gridfs.GridFSFile;
+import com.mongodb.gridfs.GridFSInputFile;
+
+/**
+ * A GridFS bucket that content is stored in with a given chunk size and write concern.
+ * <p>
+ * The write concern is set on the bucket's collections, which the driver shares between every
+ * user of the database, so it applies to everything written to the bucket.
+ */
+public class GridFsBucket {
+
+	private final DB db;
+	private final String name;
+	private final Integer chunkSize;
+	private final DBCollection files;
+	private final DBCollection chunks;
+
+	private volatile GridFS gridFs;
+
+	/**
+	 * @param db the database holding the bucket
+	 * @param name the name of the bucket
+	 * @param chunkSize the size of the chunks content is stored in, or null for the driver's default
+	 * @param writeConcern the write concern content is stored with, or null for the database's
+	 */
+	public GridFsBucket(DB db, String name, Integer chunkSize, WriteConcern writeConcern) {
+		Assert.notNull(db, "db must not be null");
+		Assert.hasText(name, "name must not be empty");
+		this.db = db;
+		this.name = name;
+		this.chunkSize = chunkSize;
+		this.files = db.getCollection(name + ".files");
+		this.chunks = db.getCollection(name + ".chunks");
+		if (writeConcern != null) {
+			files.setWriteConcern(writeConcern);
+			chunks.setWriteConcern(writeConcern);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public DBCollection getFiles() {
+		return files;
+	}
+
+	public DBCollection getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * Stores content as a new file, writing each chunk as it is read.
+	 *
+	 * @param content the content
+	 * @param filename the name of the file
+	 * @return the stored file
+	 */
+	public GridFSFile store(InputStream content, String filename) {
+		GridFSInputFile file = getGridFs().createFile(content, filename);
+		if (chunkSize != null) {
+			file.save(chunkSize);
+		} else {
+			file.save();
+		}
+		return file;
+	}
+
+	private GridFS getGridFs() {
+		// created on first use as the driver queries the bucket when it is created
+		GridFS fs = gridFs;
+		if (fs == null) {
+			fs = new GridFS(db, name);
+			gridFs = fs;
+		}
+		return fs;
+	}
+}
@@ -0,0 +1,268 @@
+package internal.org.springframework.content.mongo.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.Binary;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+
+/**
+ * Reads GridFS files, or byte ranges of them, directly from the chunks collection.
+ * <p>
+ * A byte range maps onto a run of chunks so reading from an offset only queries the chunks
+ * spanning the range.  Chunks are queried in batches that are fetched ahead of the reader on the
+ * executor and returned in order, so a large file is read by several queries at once rather than
+ * by a single cursor.  At most {@code chunkSize * batchSize * readAhead} bytes of a file are held
+ * in memory by each read.
+ */
+public class GridFsChunkReader {
+
+	public static final int DEFAULT_BATCH_SIZE = 4;
+	public static final int DEFAULT_READ_AHEAD = 4;
+	public static final int DEFAULT_THREADS = 8;
+
+	private final ExecutorService executor;
+	private final int batchSize;
+	private final int readAhead;
+	private final boolean ownsExecutor;
+
+	public GridFsChunkReader(ExecutorService executor, int batchSize, int readAhead) {
+		this(executor, batchSize, readAhead, false);
+	}
+
+	private GridFsChunkReader(ExecutorService executor, int batchSize, int readAhead, boolean ownsExecutor) {
+		Assert.notNull(executor, "executor must not be null");
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		Assert.isTrue(readAhead > 0, "readAhead must be greater than 0");
+		this.executor = executor;
+		this.batchSize = batchSize;
+		this.readAhead = readAhead;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	public static GridFsChunkReader create(int batchSize, int readAhead, int threads) {
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gridfs-read-");
+		threadFactory.setDaemon(true);
+
+		// the number of batches outstanding is bounded by each read's read ahead
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+				60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return new GridFsChunkReader(executor, batchSize, readAhead, true);
+	}
+
+	/**
+	 * Returns a stream over bytes {@code start} to {@code end}, inclusive, of a GridFS file.
+	 *
+	 * @param chunks the chunks collection of the file's bucket
+	 * @param fileId the id of the file
+	 * @param length the length of the file
+	 * @param chunkSize the size of the file's chunks
+	 * @param start the offset of the first byte
+	 * @param end the offset of the last byte
+	 * @return the range of the file's content
+	 */
+	public InputStream read(DBCollection chunks, Object fileId, long length, int chunkSize, long start, long end) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+		Assert.isTrue(start >= 0, "start must not be negative");
+		return new ChunkedInputStream(chunks, fileId, chunkSize, start, Math.min(end, length - 1));
+	}
+
+	public void shutdown() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	private class ChunkedInputStream extends InputStream {
+
+		private final DBCollection chunks;
+		private final Object fileId;
+		private final int chunkSize;
+		private final long end;
+		private final long lastChunk;
+
+		private final Deque<Future<List<byte[]>>> batches = new ArrayDeque<>();
+		private long nextChunk;
+
+		private final Deque<byte[]> fetched = new ArrayDeque<>();
+		private byte[] chunk;
+		private int position;
+		private int limit;
+		private long offset;
+		private boolean closed;
+
+		ChunkedInputStream(DBCollection chunks, Object fileId, int chunkSize, long start, long end) {
+			this.chunks = chunks;
+			this.fileId = fileId;
+			this.chunkSize = chunkSize;
+			this.end = end;
+			this.offset = start;
+			this.nextChunk = start / chunkSize;
+			this.lastChunk = (end >= start ? end / chunkSize : nextChunk - 1);
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!ensureChunk()) {
+				return -1;
+			}
+			offset++;
+			return chunk[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!ensureChunk()) {
+				return -1;
+			}
+			int n = Math.min(len, limit - position);
+			System.arraycopy(chunk, position, b, off, n);
+			position += n;
+			offset += n;
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			if (n <= 0 || !ensureChunk()) {
+				return 0;
+			}
+			int skipped = (int) Math.min(n, limit - position);
+			position += skipped;
+			offset += skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return (chunk != null ? limit - position : 0);
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			chunk = null;
+			fetched.clear();
+			for (Future<List<byte[]>> pending : batches) {
+				pending.cancel(true);
+			}
+			batches.clear();
+		}
+
+		private boolean ensureChunk() throws IOException {
+			if (closed) {
+				throw new IOException("Stream closed");
+			}
+			if (chunk != null && position < limit) {
+				return true;
+			}
+			if (offset > end) {
+				chunk = null;
+				return false;
+			}
+
+			if (fetched.isEmpty()) {
+				fetchAhead();
+				Future<List<byte[]>> next = batches.poll();
+				if (next == null) {
+					chunk = null;
+					return false;
+				}
+				fetched.addAll(await(next));
+				fetchAhead();
+			}
+
+			// the first chunk may start before, and the last end after, the range being read
+			chunk = fetched.poll();
+			position = (int) (offset % chunkSize);
+			limit = (int) Math.min(chunk.length, end - (offset - position) + 1);
+			if (position >= limit) {
+				throw new IOException(String.format("Chunk %s of GridFS file %s is shorter than expected", offset / chunkSize, fileId));
+			}
+			return true;
+		}
+
+		private List<byte[]> await(Future<List<byte[]>> batch) throws IOException {
+			try {
+				return batch.get();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new InterruptedIOException(String.format("Read of GridFS file %s interrupted", fileId));
+			} catch (ExecutionException | CancellationException e) {
+				close();
+				Throwable cause = (e instanceof ExecutionException ? e.getCause() : e);
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				throw new IOException(String.format("Unable to read GridFS file %s", fileId), cause);
+			}
+		}
+
+		private void fetchAhead() {
+			while (batches.size() < readAhead && nextChunk <= lastChunk) {
+				long first = nextChunk;
+				long last = Math.min(first + batchSize - 1, lastChunk);
+				batches.add(executor.submit(() -> fetch(first, last)));
+				nextChunk = last + 1;
+			}
+		}
+
+		private List<byte[]> fetch(long first, long last) throws IOException {
+			DBObject query = new BasicDBObject("files_id", fileId)
+					.append("n", new BasicDBObject("$gte", (int) first).append("$lte", (int) last));
+			List<byte[]> batch = new ArrayList<>((int) (last - first + 1));
+			try (DBCursor cursor = chunks.find(query).sort(new BasicDBObject("n", 1))) {
+				long expected = first;
+				while (cursor.hasNext()) {
+					DBObject doc = cursor.next();
+					if (((Number) doc.get("n")).longValue() != expected) {
+						break;
+					}
+					batch.add(data(doc.get("data")));
+					expected++;
+				}
+				if (expected != last + 1) {
+					throw new IOException(String.format("Chunk %s of GridFS file %s is missing", expected, fileId));
+				}
+			}
+			return batch;
+		}
+
+		private byte[] data(Object data) {
+			if (data instanceof Binary) {
+				return ((Binary) data).getData();
+			}
+			return (byte[]) data;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package internal.org.springframework.content.mongo.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBCollection;
+import com.mongodb.gridfs.GridFSDBFile;
+
+/**
+ * A resource for a GridFS file that reads its content, or byte ranges of it, with a
+ * {@link GridFsChunkReader} so that reading from an offset only fetches the chunks that are needed.
+ * Unlike {@link GridFsResource} the content can be read more than once.  Everything else is
+ * delegated to the {@link GridFsResource}.
+ */
+public class GridFsStoreResource implements RangeableResource {
+
+	private final GridFsResource delegate;
+	private final GridFSDBFile file;
+	private final DBCollection chunks;
+	private final GridFsChunkReader reader;
+
+	public GridFsStoreResource(GridFSDBFile file, DBCollection chunks, GridFsChunkReader reader) {
+		Assert.notNull(file, "file must not be null");
+		Assert.notNull(chunks, "chunks must not be null");
+		Assert.notNull(reader, "reader must not be null");
+		this.delegate = new GridFsResource(file);
+		this.file = file;
+		this.chunks = chunks;
+		this.reader = reader;
+	}
+
+	public Object getId() {
+		return file.getId();
+	}
+
+	public String getContentType() {
+		return file.getContentType();
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return reader.read(chunks, file.getId(), file.getLength(), (int) file.getChunkSize(), 0, file.getLength() - 1);
+	}
+
+	@Override
+	public InputStream getInputStream(long start, long end) throws IOException {
+		return reader.read(chunks, file.getId(), file.getLength(), (int) file.getChunkSize(), start, end);
+	}
+
+	@Override
+	public boolean exists() {
+		return true;
+	}
+
+	@Override
+	public boolean isReadable() {
+		return true;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return false;
+	}
+
+	@Override
+	public URL getURL() throws IOException {
+		return delegate.getURL();
+	}
+
+	@Override
+	public URI getURI() throws IOException {
+		return delegate.getURI();
+	}
+
+	@Override
+	public File getFile() throws IOException {
+		return delegate.getFile();
+	}
+
+	@Override
+	public long contentLength() throws IOException {
+		return file.getLength();
+	}
+
+	@Override
+	public long lastModified() throws IOException {
+		return delegate.lastModified();
+	}
+
+	@Override
+	public Resource createRelative(String relativePath) throws IOException {
+		return delegate.createRelative(relativePath);
+	}
+
+	@Override
+	public String getFilename() {
+		return file.getFilename();
+	}
+
+	@Override
+	public String getDescription() {
+		return delegate.getDescription();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (this == other || (other instanceof GridFsStoreResource && file.getId().equals(((GridFsStoreResource) other).file.getId())));
+	}
+
+	@Override
+	public int hashCode() {
+		return file.getId().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getDescription();
+	}
+}
@@ -0,0 +1,147 @@
+package internal.org.springframework.content.mongo.io;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.gridfs.GridFSDBFile;
+import com.mongodb.gridfs.GridFSFile;
+
+/**
+ * Replaces GridFS content by storing a new version of the file under the same filename rather
+ * than deleting the existing file first.  Readers always see the newest version, ordered by upload
+ * date and then id, and older versions are removed in the background once the new version is
+ * stored.
+ * <p>
+ * Replacing content therefore costs the upload alone, and content is never missing while it is
+ * being replaced.  A version is only ever removed by a newer one, so concurrent replacements of
+ * the same content leave the newest in place whichever completes first.
+ */
+public class GridFsVersions {
+
+	private static Log logger = LogFactory.getLog(GridFsVersions.class);
+
+	public static final int DEFAULT_THREADS = 2;
+
+	private static final Sort NEWEST_FIRST = new Sort(Sort.Direction.DESC, "uploadDate", "_id");
+
+	private final Executor executor;
+	private final boolean ownsExecutor;
+	private final Set<String> indexed = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	public GridFsVersions(Executor executor) {
+		this(executor, false);
+	}
+
+	private GridFsVersions(Executor executor, boolean ownsExecutor) {
+		Assert.notNull(executor, "executor must not be null");
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	public static GridFsVersions create(int threads) {
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gridfs-cleanup-");
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+				60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return new GridFsVersions(executor, true);
+	}
+
+	/**
+	 * Finds the newest version of a file.
+	 *
+	 * @param gridFs the GridFS to search
+	 * @param location the filename
+	 * @return the newest version, or null if there is no file with that name
+	 */
+	public GridFSDBFile findNewest(GridFsOperations gridFs, String location) {
+		List<GridFSDBFile> files = gridFs.find(query(whereFilename().is(location)).with(NEWEST_FIRST));
+		return (files == null || files.isEmpty() ? null : files.get(0));
+	}
+
+	/**
+	 * Removes, in the background, every version of a file older than the given version.
+	 *
+	 * @param gridFs the GridFS holding the file
+	 * @param location the filename
+	 * @param version the version to keep
+	 */
+	public void removeOlderVersions(GridFsOperations gridFs, String location, GridFSFile version) {
+		Query older = olderThan(location, version);
+		try {
+			executor.execute(() -> remove(gridFs, location, older));
+		} catch (RejectedExecutionException ree) {
+			remove(gridFs, location, older);
+		}
+	}
+
+	/**
+	 * Creates, if it doesn't already exist, the index GridFS drivers create on the files collection
+	 * so that finding the newest version of a file is a single index lookup.  The index is only
+	 * created once per collection; should creating it fail it is created the next time this is
+	 * called.
+	 *
+	 * @param files the files collection of a GridFS bucket
+	 */
+	public void ensureIndex(DBCollection files) {
+		if (files == null || indexed.contains(files.getFullName())) {
+			return;
+		}
+		try {
+			files.createIndex(new BasicDBObject("filename", 1).append("uploadDate", 1));
+			indexed.add(files.getFullName());
+		} catch (RuntimeException e) {
+			logger.warn(String.format("Unable to index %s", files.getFullName()), e);
+		}
+	}
+
+	public void shutdown() {
+		if (ownsExecutor) {
+			((ExecutorService) executor).shutdown();
+		}
+	}
+
+	private void remove(GridFsOperations gridFs, String location, Query older) {
+		try {
+			gridFs.delete(older);
+		} catch (RuntimeException e) {
+			// left in place until the content is next replaced or unset
+			logger.warn(String.format("Unable to remove older versions of %s", location), e);
+		}
+	}
+
+	static Query olderThan(String location, GridFSFile version) {
+		Date uploaded = version.getUploadDate();
+		return query(whereFilename().is(location).orOperator(
+				where("uploadDate").lt(uploaded),
+				where("uploadDate").is(uploaded).and("_id").lt(version.getId())));
+	}
+}
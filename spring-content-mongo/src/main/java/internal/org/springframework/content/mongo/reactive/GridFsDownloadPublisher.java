@@ -0,0 +1,160 @@
+package internal.org.springframework.content.mongo.reactive;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+import com.mongodb.async.client.gridfs.GridFSDownloadStream;
+
+/**
+ * Publishes the content of a GridFS file as buffers read from an asynchronous download stream.
+ * <p>
+ * A buffer is only read when the subscriber has requested one, and only one read is outstanding
+ * at a time, so a slow subscriber holds one buffer and no thread.  The stream is opened when
+ * content is first requested and closed when it is exhausted, fails or the subscription is
+ * cancelled.
+ */
+public class GridFsDownloadPublisher implements Publisher<ByteBuffer> {
+
+	private static Log logger = LogFactory.getLog(GridFsDownloadPublisher.class);
+
+	/** The driver's default chunk size */
+	public static final int DEFAULT_BUFFER_SIZE = 255 * 1024;
+
+	private final Supplier<GridFSDownloadStream> opener;
+	private final int bufferSize;
+
+	public GridFsDownloadPublisher(Supplier<GridFSDownloadStream> opener, int bufferSize) {
+		Assert.notNull(opener, "opener must not be null");
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		this.opener = opener;
+		this.bufferSize = bufferSize;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber must not be null");
+		}
+		subscriber.onSubscribe(new DownloadSubscription(subscriber));
+	}
+
+	/*
+	 * Signals are only made by the one thread draining, or, for onNext, by the read callback while
+	 * reading is set, which keeps the drain from signalling; so the subscriber is never signalled
+	 * concurrently, even when it makes an invalid request while a buffer is being delivered.
+	 */
+	private class DownloadSubscription implements Subscription {
+
+		private final Subscriber<? super ByteBuffer> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+		private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		// a read is outstanding, or its buffer is being delivered
+		private volatile boolean reading;
+		// the stream is exhausted
+		private volatile boolean exhausted;
+		// completed, failed or cancelled
+		private volatile boolean done;
+
+		// only used while draining
+		private GridFSDownloadStream stream;
+
+		DownloadSubscription(Subscriber<? super ByteBuffer> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				error.compareAndSet(null, new IllegalArgumentException("request must be greater than 0"));
+			} else {
+				demand.getAndUpdate(d -> (d + n < 0 ? Long.MAX_VALUE : d + n));
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			done = true;
+			drain();
+		}
+
+		private void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			do {
+				if (reading) {
+					continue;
+				}
+				if (!done) {
+					Throwable t = error.get();
+					if (t != null) {
+						done = true;
+						subscriber.onError(t);
+					} else if (exhausted) {
+						done = true;
+						subscriber.onComplete();
+					} else if (demand.get() > 0) {
+						reading = true;
+						readNext();
+					}
+				}
+				if (done && !reading) {
+					closeStream();
+				}
+			} while (wip.decrementAndGet() != 0);
+		}
+
+		private void readNext() {
+			ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+			try {
+				if (stream == null) {
+					stream = opener.get();
+				}
+				stream.read(buffer, (bytes, t) -> onRead(buffer, bytes, t));
+			} catch (RuntimeException e) {
+				onRead(buffer, null, e);
+			}
+		}
+
+		private void onRead(ByteBuffer buffer, Integer bytes, Throwable t) {
+			if (t != null) {
+				error.compareAndSet(null, t);
+			} else if (bytes == null || bytes < 0) {
+				exhausted = true;
+			} else if (bytes > 0 && !done) {
+				buffer.flip();
+				demand.getAndUpdate(d -> (d == Long.MAX_VALUE ? d : d - 1));
+				subscriber.onNext(buffer);
+			}
+			// cleared after delivery so that a request made by onNext doesn't read, or signal, concurrently
+			reading = false;
+			drain();
+		}
+
+		private void closeStream() {
+			if (stream == null) {
+				return;
+			}
+			GridFSDownloadStream closing = stream;
+			stream = null;
+			closing.close((result, t) -> {
+				if (t != null) {
+					logger.debug("Unable to close GridFS download stream", t);
+				}
+			});
+		}
+	}
+}
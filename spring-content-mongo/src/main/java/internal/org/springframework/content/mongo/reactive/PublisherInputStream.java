@@ -0,0 +1,190 @@
+package internal.org.springframework.content.mongo.reactive;
+
+import java.nio.ByteBuffer;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.gridfs.AsyncInputStream;
+
+/**
+ * An asynchronous input stream over a publisher of buffers, for uploading content to GridFS.
+ * <p>
+ * The publisher is subscribed to on the first read and a buffer is only requested once the
+ * previous one has been read, so content is pulled from the publisher as fast as GridFS stores
+ * it.  Closing the stream before the publisher completes cancels the subscription.
+ */
+public class PublisherInputStream implements AsyncInputStream, Subscriber<ByteBuffer> {
+
+	private final Publisher<ByteBuffer> content;
+	private final Object lock = new Object();
+
+	private boolean subscribed;
+	private Subscription subscription;
+	private ByteBuffer current;
+	private ByteBuffer pendingDst;
+	private SingleResultCallback<Integer> pendingCallback;
+	private boolean complete;
+	private boolean closed;
+	private Throwable error;
+	private long count;
+
+	public PublisherInputStream(Publisher<ByteBuffer> content) {
+		Assert.notNull(content, "content must not be null");
+		this.content = content;
+	}
+
+	/**
+	 * @return the number of bytes read
+	 */
+	public long getCount() {
+		synchronized (lock) {
+			return count;
+		}
+	}
+
+	@Override
+	public void read(ByteBuffer dst, SingleResultCallback<Integer> callback) {
+		boolean subscribe = false;
+		Subscription request = null;
+		Integer result = null;
+		Throwable failure = null;
+		synchronized (lock) {
+			if (closed) {
+				failure = new IllegalStateException("Stream closed");
+			} else if (pendingCallback != null) {
+				failure = new IllegalStateException("A read is already pending");
+			} else if (current != null && current.hasRemaining()) {
+				result = transfer(dst);
+			} else if (error != null) {
+				failure = error;
+			} else if (complete) {
+				result = -1;
+			} else {
+				pendingDst = dst;
+				pendingCallback = callback;
+				if (!subscribed) {
+					subscribed = true;
+					subscribe = true;
+				} else {
+					request = subscription;
+				}
+			}
+		}
+
+		if (subscribe) {
+			content.subscribe(this);
+		} else if (request != null) {
+			request.request(1);
+		} else if (failure != null) {
+			callback.onResult(null, failure);
+		} else if (result != null) {
+			callback.onResult(result, null);
+		}
+	}
+
+	@Override
+	public void close(SingleResultCallback<Void> callback) {
+		Subscription cancel = null;
+		synchronized (lock) {
+			if (!closed) {
+				closed = true;
+				current = null;
+				if (!complete && error == null) {
+					cancel = subscription;
+				}
+			}
+		}
+		if (cancel != null) {
+			cancel.cancel();
+		}
+		callback.onResult(null, null);
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		boolean accepted = false;
+		boolean request = false;
+		synchronized (lock) {
+			if (subscription == null && !closed) {
+				subscription = s;
+				accepted = true;
+				request = (pendingCallback != null);
+			}
+		}
+		if (!accepted) {
+			s.cancel();
+		} else if (request) {
+			s.request(1);
+		}
+	}
+
+	@Override
+	public void onNext(ByteBuffer buffer) {
+		SingleResultCallback<Integer> callback = null;
+		Integer result = null;
+		Subscription request = null;
+		synchronized (lock) {
+			if (closed) {
+				return;
+			}
+			current = buffer;
+			if (pendingCallback != null) {
+				if (current.hasRemaining()) {
+					result = transfer(pendingDst);
+					callback = pendingCallback;
+					pendingDst = null;
+					pendingCallback = null;
+				} else {
+					request = subscription;
+				}
+			}
+		}
+		if (callback != null) {
+			callback.onResult(result, null);
+		} else if (request != null) {
+			request.request(1);
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		SingleResultCallback<Integer> callback;
+		synchronized (lock) {
+			error = t;
+			callback = pendingCallback;
+			pendingDst = null;
+			pendingCallback = null;
+		}
+		if (callback != null) {
+			callback.onResult(null, t);
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		SingleResultCallback<Integer> callback;
+		synchronized (lock) {
+			complete = true;
+			callback = pendingCallback;
+			pendingDst = null;
+			pendingCallback = null;
+		}
+		if (callback != null) {
+			callback.onResult(-1, null);
+		}
+	}
+
+	private int transfer(ByteBuffer dst) {
+		int n = Math.min(dst.remaining(), current.remaining());
+		ByteBuffer slice = current.duplicate();
+		slice.limit(slice.position() + n);
+		dst.put(slice);
+		current.position(current.position() + n);
+		count += n;
+		return n;
+	}
+}
@@ -0,0 +1,83 @@
+package internal.org.springframework.content.mongo.reactive;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+import com.mongodb.async.SingleResultCallback;
+
+/**
+ * Publishes the result of an asynchronous driver operation.  The operation is started when the
+ * result is first requested, once for each subscriber.  A null result completes without a value.
+ *
+ * @param <T> the type of the result
+ */
+public class SingleResultPublisher<T> implements Publisher<T> {
+
+	private final Consumer<SingleResultCallback<T>> operation;
+
+	public SingleResultPublisher(Consumer<SingleResultCallback<T>> operation) {
+		Assert.notNull(operation, "operation must not be null");
+		this.operation = operation;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber must not be null");
+		}
+		subscriber.onSubscribe(new SingleResultSubscription(subscriber));
+	}
+
+	private class SingleResultSubscription implements Subscription {
+
+		private final Subscriber<? super T> subscriber;
+		private final AtomicBoolean requested = new AtomicBoolean();
+		private final AtomicBoolean terminated = new AtomicBoolean();
+
+		SingleResultSubscription(Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				if (terminated.compareAndSet(false, true)) {
+					subscriber.onError(new IllegalArgumentException("request must be greater than 0"));
+				}
+				return;
+			}
+			if (!requested.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				operation.accept(this::onResult);
+			} catch (RuntimeException e) {
+				onResult(null, e);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			terminated.set(true);
+		}
+
+		private void onResult(T result, Throwable t) {
+			if (!terminated.compareAndSet(false, true)) {
+				return;
+			}
+			if (t != null) {
+				subscriber.onError(t);
+				return;
+			}
+			if (result != null) {
+				subscriber.onNext(result);
+			}
+			subscriber.onComplete();
+		}
+	}
+}
@@ -10,10 +10,13 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.UUID;
 
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.HedgedReader;
+import org.springframework.content.commons.io.LatencyHistogram;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
@@ -22,15 +25,32 @@ import org.springframework.content.commons.utils.Condition;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.util.Assert;
 
+import com.mongodb.DBCollection;
+import com.mongodb.gridfs.GridFSDBFile;
+import com.mongodb.gridfs.GridFSFile;
+
+import internal.org.springframework.content.mongo.io.GridFsBucket;
+import internal.org.springframework.content.mongo.io.GridFsChunkReader;
+import internal.org.springframework.content.mongo.io.GridFsStoreResource;
+import internal.org.springframework.content.mongo.io.GridFsVersions;
+
 public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store<SID>, AssociativeStore<S, SID>, ContentStore<S,SID> {
 
 	private static Log logger = LogFactory.getLog(DefaultMongoStoreImpl.class);
 
 	private GridFsTemplate gridFs;
 	private ConversionService converter;
+	private HedgedReader reader;
+	private final LatencyHistogram readLatencies = new LatencyHistogram();
+	private GridFsChunkReader chunkReader;
+	private DBCollection chunks;
+	private GridFsVersions versions;
+	private DBCollection files;
+	private GridFsBucket bucket;
 
 	public DefaultMongoStoreImpl(GridFsTemplate gridFs, ConversionService converter) {
 		Assert.notNull(gridFs, "gridFs cannot be null");
@@ -40,10 +60,45 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store
 		this.converter = converter;
 	}
 
+	/**
+	 * Sets the reader used to open content.  The reader hedges requests that are slow compared to
+	 * this store's recent requests and retries requests that fail with transient errors.
+	 */
+	public void setHedgedReader(HedgedReader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Sets the reader used to read content directly from the GridFS chunks collection.  Resources
+	 * then support reading byte ranges and content is read by several queries at once.
+	 */
+	public void setChunkReader(GridFsChunkReader chunkReader, DBCollection chunks) {
+		Assert.isTrue(chunkReader == null || chunks != null, "chunks must be specified with a chunkReader");
+		this.chunkReader = chunkReader;
+		this.chunks = chunks;
+	}
+
+	/**
+	 * Sets how content is replaced.  Content is then replaced by storing a new version and removing
+	 * the old one in the background rather than by deleting the old content first.
+	 */
+	public void setVersions(GridFsVersions versions, DBCollection files) {
+		this.versions = versions;
+		this.files = files;
+	}
+
+	/**
+	 * Sets the bucket content is written to, with its chunk size and write concern.  The
+	 * {@link GridFsTemplate} must be for the same bucket.
+	 */
+	public void setBucket(GridFsBucket bucket) {
+		this.bucket = bucket;
+	}
+
 	@Override
     public Resource getResource(SID id) {
 		String location = converter.convert(id, String.class);
-		return gridFs.getResource(location);
+		return getResource(location);
 	}
 
 	@Override
@@ -59,14 +114,32 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store
 		}
 
 		String location = converter.convert(contentId, String.class);
-		return gridFs.getResource(location);
+		return getResource(location);
+	}
+
+	private Resource getResource(String location) {
+		if (chunkReader == null && versions == null) {
+			return gridFs.getResource(location);
+		}
+
+		GridFSDBFile file;
+		if (versions != null) {
+			versions.ensureIndex(files);
+			file = versions.findNewest(gridFs, location);
+		} else {
+			file = gridFs.findOne(query(whereFilename().is(location)));
+		}
+		if (file == null) {
+			return null;
+		}
+		return (chunkReader != null ? new GridFsStoreResource(file, chunks, chunkReader) : new GridFsResource(file));
 	}
 
 	@Override
     public void associate(S entity, SID id) {
 		String location = converter.convert(id, String.class);
 		BeanUtils.setFieldWithAnnotation(entity, ContentId.class, location);
-		Resource resource = gridFs.getResource(location);
+		Resource resource = getResource(location);
 		try {
 				BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, resource.contentLength());
 			} catch (IOException e) {
@@ -99,12 +172,22 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store
 		}
 
 		String location = converter.convert(contentId, String.class);
+		if (versions != null) {
+			// the length is known from the bytes stored so there is no need to read the file back
+			versions.ensureIndex(files);
+			CountingInputStream counting = new CountingInputStream(content);
+			GridFSFile stored = store(counting, location);
+			versions.removeOlderVersions(gridFs, location, stored);
+			BeanUtils.setFieldWithAnnotation(property, ContentLength.class, counting.getByteCount());
+			return;
+		}
+
 		Resource resource = gridFs.getResource(location);
 		if (resource != null && resource.exists()) {
 			gridFs.delete(query(whereFilename().is(resource.getFilename())));
 		}
 
-		gridFs.store(content, location);
+		store(content, location);
 		resource = gridFs.getResource(location);
 
 		long contentLen = 0L;
@@ -116,6 +199,10 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store
 		BeanUtils.setFieldWithAnnotation(property, ContentLength.class, contentLen);
 	}
 
+	private GridFSFile store(InputStream content, String location) {
+		return (bucket != null ? bucket.store(content, location) : gridFs.store(content, location));
+	}
+
 	@Override
 	public InputStream getContent(S property) {
 		if (property == null)
@@ -125,17 +212,25 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store
 			return null;
 
 		String location = converter.convert(contentId, String.class);
-		Resource resource = gridFs.getResource(location);
 		try {
-			if (resource != null && resource.exists()) {
-				return resource.getInputStream();
+			if (reader != null) {
+				return reader.read(readLatencies, () -> openContent(location));
 			}
+			return openContent(location);
 		} catch (IOException e) {
 			logger.error(String.format("Unexpected error getting content %s", contentId.toString()), e);
 		}
 		return null;
 	}
 
+	private InputStream openContent(String location) throws IOException {
+		Resource resource = getResource(location);
+		if (resource != null && resource.exists()) {
+			return resource.getInputStream();
+		}
+		return null;
+	}
+
 	@Override
 	public void unsetContent(S property) {
 		if (property == null)
@@ -146,8 +241,9 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable> implements Store
 
 		try {
 			String location = converter.convert(contentId, String.class);
-			Resource resource = gridFs.getResource(location);
+			Resource resource = getResource(location);
 			if (resource != null && resource.exists()) {
+				// removes every version of the content
 				gridFs.delete(query(whereFilename().is(resource.getFilename())));
 
 				// reset content fields
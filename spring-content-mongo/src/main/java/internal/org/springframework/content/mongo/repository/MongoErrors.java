@@ -0,0 +1,39 @@
+package internal.org.springframework.content.mongo.repository;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+
+/**
+ * Classifies errors raised by requests to MongoDB.
+ */
+public final class MongoErrors {
+
+	private MongoErrors() {}
+
+	/**
+	 * Returns true if a request that failed with the given error may succeed if retried; network
+	 * errors, timeouts selecting a server and members of a replica set that are stepping down or
+	 * recovering.
+	 *
+	 * @param t the error
+	 * @return true if the error is transient
+	 */
+	public static boolean isTransient(Throwable t) {
+		for (; t != null; t = t.getCause()) {
+			if (t instanceof MongoSocketException ||
+				t instanceof MongoTimeoutException ||
+				t instanceof MongoNotPrimaryException ||
+				t instanceof MongoNodeIsRecoveringException ||
+				t instanceof TransientDataAccessException ||
+				t instanceof DataAccessResourceFailureException) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,176 @@
+package internal.org.springframework.content.mongo.repository;
+
+import static com.mongodb.client.model.Filters.eq;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.commons.utils.Condition;
+import org.springframework.content.mongo.store.ReactiveContentStore;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.Assert;
+
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Sorts;
+
+import internal.org.springframework.content.mongo.reactive.GridFsDownloadPublisher;
+import internal.org.springframework.content.mongo.reactive.PublisherInputStream;
+import internal.org.springframework.content.mongo.reactive.SingleResultPublisher;
+
+/**
+ * A content store over a GridFS bucket of the asynchronous driver.  Like {@link DefaultMongoStoreImpl}
+ * content is replaced by storing a new version and removing older versions in the background, and
+ * reads return the newest version.
+ */
+public class ReactiveMongoStoreImpl<S, SID extends Serializable> implements ReactiveContentStore<S, SID> {
+
+	private static Log logger = LogFactory.getLog(ReactiveMongoStoreImpl.class);
+
+	private final GridFSBucket bucket;
+	private final ConversionService converter;
+	private int bufferSize = GridFsDownloadPublisher.DEFAULT_BUFFER_SIZE;
+
+	public ReactiveMongoStoreImpl(GridFSBucket bucket, ConversionService converter) {
+		Assert.notNull(bucket, "bucket cannot be null");
+		Assert.notNull(converter, "converter cannot be null");
+
+		this.bucket = bucket;
+		this.converter = converter;
+	}
+
+	/**
+	 * Sets the size of the buffers content is read into.  Defaults to GridFS's default chunk size.
+	 */
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+
+	@Override
+	public Publisher<S> setContent(S property, Publisher<ByteBuffer> content) {
+		Assert.notNull(content, "content cannot be null");
+		return new SingleResultPublisher<S>(callback -> {
+			Object contentId = BeanUtils.getFieldWithAnnotation(property, ContentId.class);
+			if (contentId == null) {
+				contentId = UUID.randomUUID();
+				BeanUtils.setFieldWithAnnotation(property, ContentId.class, contentId.toString());
+			}
+
+			String location = converter.convert(contentId, String.class);
+			PublisherInputStream source = new PublisherInputStream(content);
+			bucket.uploadFromStream(location, source, (id, t) -> {
+				if (t != null) {
+					callback.onResult(null, t);
+					return;
+				}
+				removeOlderVersions(location);
+				BeanUtils.setFieldWithAnnotation(property, ContentLength.class, source.getCount());
+				callback.onResult(property, null);
+			});
+		});
+	}
+
+	@Override
+	public Publisher<ByteBuffer> getContent(S property) {
+		if (property == null)
+			return null;
+		Object contentId = BeanUtils.getFieldWithAnnotation(property, ContentId.class);
+		if (contentId == null)
+			return null;
+
+		// opens the newest version of the file
+		String location = converter.convert(contentId, String.class);
+		return new GridFsDownloadPublisher(() -> bucket.openDownloadStream(location), bufferSize);
+	}
+
+	@Override
+	public Publisher<S> unsetContent(S property) {
+		return new SingleResultPublisher<S>(callback -> {
+			Object contentId = (property != null ? BeanUtils.getFieldWithAnnotation(property, ContentId.class) : null);
+			if (contentId == null) {
+				callback.onResult(property, null);
+				return;
+			}
+
+			String location = converter.convert(contentId, String.class);
+			bucket.find(eq("filename", location)).into(new ArrayList<GridFSFile>(), (files, t) -> {
+				if (t != null) {
+					callback.onResult(null, t);
+					return;
+				}
+				if (files.isEmpty()) {
+					callback.onResult(property, null);
+					return;
+				}
+				// removes every version of the content
+				delete(files, 0, (result, deleteError) -> {
+					if (deleteError != null) {
+						callback.onResult(null, deleteError);
+						return;
+					}
+
+					// reset content fields
+					BeanUtils.setFieldWithAnnotationConditionally(property, ContentId.class, null, new Condition() {
+						@Override
+						public boolean matches(Field field) {
+							for (Annotation annotation : field.getAnnotations()) {
+								if ("javax.persistence.Id".equals(annotation.annotationType().getCanonicalName()) ||
+									"org.springframework.data.annotation.Id".equals(annotation.annotationType().getCanonicalName())) {
+									return false;
+								}
+							}
+							return true;
+						}});
+					BeanUtils.setFieldWithAnnotation(property, ContentLength.class, 0);
+					callback.onResult(property, null);
+				});
+			});
+		});
+	}
+
+	private void removeOlderVersions(String location) {
+		// every version but the newest, which is the one just stored unless it has been replaced since
+		bucket.find(eq("filename", location))
+				.sort(Sorts.descending("uploadDate", "_id"))
+				.skip(1)
+				.into(new ArrayList<GridFSFile>(), (files, t) -> {
+					if (t != null) {
+						logger.warn(String.format("Unable to find older versions of %s", location), t);
+						return;
+					}
+					delete(files, 0, (result, deleteError) -> {
+						if (deleteError != null) {
+							// left in place until the content is next replaced or unset
+							logger.warn(String.format("Unable to remove older versions of %s", location), deleteError);
+						}
+					});
+				});
+	}
+
+	private void delete(List<GridFSFile> files, int index, SingleResultCallback<Void> callback) {
+		if (index == files.size()) {
+			callback.onResult(null, null);
+			return;
+		}
+		bucket.delete(files.get(index).getObjectId(), (result, t) -> {
+			if (t != null) {
+				callback.onResult(null, t);
+				return;
+			}
+			delete(files, index + 1, callback);
+		});
+	}
+}
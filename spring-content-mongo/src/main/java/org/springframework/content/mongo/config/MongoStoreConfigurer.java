@@ -0,0 +1,8 @@
+package org.springframework.content.mongo.config;
+
+public interface MongoStoreConfigurer {
+
+	default void configure(MongoStoreProperties store) {
+	}
+
+}
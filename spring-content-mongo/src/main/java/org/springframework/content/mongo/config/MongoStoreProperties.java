@@ -0,0 +1,46 @@
+package org.springframework.content.mongo.config;
+
+import com.mongodb.WriteConcern;
+
+public interface MongoStoreProperties {
+
+	/**
+	 * Sets the GridFS bucket content is stored in; its files and chunks are held in the
+	 * {@code <bucket>.files} and {@code <bucket>.chunks} collections.  Defaults to {@code fs}.
+	 * Content stored in one bucket is not found in another.
+	 *
+	 * @param bucket the bucket name
+	 * @return these properties
+	 */
+	MongoStoreProperties bucket(String bucket);
+
+	/**
+	 * Sets the size of the chunks content is stored in.  Larger chunks mean fewer documents, and
+	 * fewer round trips, per file.  Chunks must be smaller than MongoDB's 16MB document limit.
+	 * Defaults to the driver's chunk size of 255KB.  Content already stored keeps its chunk size.
+	 *
+	 * @param bytes the chunk size in bytes
+	 * @return these properties
+	 */
+	MongoStoreProperties chunkSize(int bytes);
+
+	/**
+	 * Sets the write concern content is stored with.  The write concern applies to the bucket's
+	 * collections, so stores sharing a bucket should use the same write concern.  Defaults to the
+	 * write concern of the database.
+	 *
+	 * @param writeConcern the write concern
+	 * @return these properties
+	 */
+	MongoStoreProperties writeConcern(WriteConcern writeConcern);
+
+	/**
+	 * Returns the properties of a single store.  Properties not set for the store are those set
+	 * for every store.
+	 *
+	 * @param storeInterface the store's interface
+	 * @return the store's properties
+	 */
+	MongoStoreProperties forStore(Class<?> storeInterface);
+
+}
@@ -0,0 +1,48 @@
+package org.springframework.content.mongo.store;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * A content store whose content is read and written as streams of buffers that are only
+ * produced, or consumed, as fast as they are requested.  No thread is held while content is
+ * transferred.
+ * <p>
+ * Every publisher is cold; nothing happens until it is subscribed to and each subscription
+ * repeats the operation.
+ *
+ * @param <S> the type of the content entity
+ * @param <SID> the type of the content id
+ */
+public interface ReactiveContentStore<S, SID extends Serializable> {
+
+	/**
+	 * Stores content, replacing any content already stored for the entity.  The fields annotated
+	 * with {@code @ContentId} and {@code @ContentLength} are updated.
+	 *
+	 * @param entity the content entity
+	 * @param content the content
+	 * @return a publisher of the entity once its content is stored
+	 */
+	Publisher<S> setContent(S entity, Publisher<ByteBuffer> content);
+
+	/**
+	 * Returns the entity's content.
+	 *
+	 * @param entity the content entity
+	 * @return a publisher of the content, or null if the entity has no content
+	 */
+	Publisher<ByteBuffer> getContent(S entity);
+
+	/**
+	 * Removes the entity's content.  The fields annotated with {@code @ContentId} and
+	 * {@code @ContentLength} are reset.
+	 *
+	 * @param entity the content entity
+	 * @return a publisher of the entity once its content is removed
+	 */
+	Publisher<S> unsetContent(S entity);
+
+}
@@ -0,0 +1,48 @@
+package org.springframework.content.mongo.store;
+
+import java.io.Serializable;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.Assert;
+
+import com.mongodb.async.client.gridfs.GridFSBucket;
+
+import internal.org.springframework.content.mongo.repository.ReactiveMongoStoreImpl;
+
+/**
+ * Creates {@link ReactiveContentStore}s over GridFS buckets of the MongoDB asynchronous driver.
+ * <p>
+ * Use the same converter as the application's {@code ContentStore}s, the {@code mongoStoreConverter}
+ * bean, so that both stores find content at the same locations.
+ */
+public final class ReactiveMongoStores {
+
+	private ReactiveMongoStores() {
+	}
+
+	/**
+	 * Creates a store that reads content in buffers of GridFS's default chunk size.
+	 *
+	 * @param bucket the bucket content is stored in
+	 * @param converter converts content ids to GridFS filenames
+	 * @return the store
+	 */
+	public static <S, SID extends Serializable> ReactiveContentStore<S, SID> create(GridFSBucket bucket, ConversionService converter) {
+		return new ReactiveMongoStoreImpl<S, SID>(bucket, converter);
+	}
+
+	/**
+	 * Creates a store that reads content in buffers of the given size.
+	 *
+	 * @param bucket the bucket content is stored in
+	 * @param converter converts content ids to GridFS filenames
+	 * @param bufferSize the size, in bytes, of the buffers content is read into
+	 * @return the store
+	 */
+	public static <S, SID extends Serializable> ReactiveContentStore<S, SID> create(GridFSBucket bucket, ConversionService converter, int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		ReactiveMongoStoreImpl<S, SID> store = new ReactiveMongoStoreImpl<S, SID>(bucket, converter);
+		store.setBufferSize(bufferSize);
+		return store;
+	}
+}
@@ -10,6 +10,9 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.util.UUID;
 
@@ -21,6 +24,7 @@ import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.mongo.config.EnableMongoContentRepositories;
 import org.springframework.content.mongo.config.EnableMongoStores;
+import org.springframework.content.mongo.config.MongoStoreConfigurer;
 import org.springframework.content.mongo.config.MongoStoreConverter;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -40,6 +44,9 @@ import com.mongodb.MongoClient;
 public class EnableMongoStoresTest {
 
 	private AnnotationConfigApplicationContext context;
+
+	// mocks
+	static MongoStoreConfigurer configurer;
 	{
 		Describe("EnableMongoStores", () -> {
 			Context("given an enabled configuration with a mongo content repository bean", () -> {
@@ -74,6 +81,22 @@ public class EnableMongoStoresTest {
 				});
 			});
 
+			Context("given a context with a configurer", () -> {
+				BeforeEach(() -> {
+					configurer = mock(MongoStoreConfigurer.class);
+
+					context = new AnnotationConfigApplicationContext();
+					context.register(ConfigurerConfig.class);
+					context.refresh();
+				});
+				AfterEach(() -> {
+					context.close();
+				});
+				It("should call that configurer to help setup the store", () -> {
+					verify(configurer).configure(anyObject());
+				});
+			});
+
 			Context("given an enabled configuration with no mongo content repository beans", () -> {
 				BeforeEach(() -> {
 					context = new AnnotationConfigApplicationContext();
@@ -157,6 +180,16 @@ public class EnableMongoStoresTest {
 		}
 	}
 
+	@Configuration
+	@EnableMongoStores
+	@Import(InfrastructureConfig.class)
+	public static class ConfigurerConfig {
+		@Bean
+		public MongoStoreConfigurer configurer() {
+			return configurer;
+		}
+	}
+
 	@Configuration
 	public static class InfrastructureConfig extends AbstractMongoConfiguration {
 		@Bean
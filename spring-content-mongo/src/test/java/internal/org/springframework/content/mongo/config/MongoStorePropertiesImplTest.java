@@ -0,0 +1,69 @@
+package internal.org.springframework.content.mongo.config;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.WriteConcern;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MongoStorePropertiesImplTest {
+
+	private MongoStorePropertiesImpl properties;
+	{
+		Describe("MongoStorePropertiesImpl", () -> {
+			BeforeEach(() -> {
+				properties = new MongoStorePropertiesImpl();
+			});
+			Context("given nothing is configured", () -> {
+				It("should use GridFS's defaults", () -> {
+					MongoStorePropertiesImpl store = properties.getStoreProperties(StoreA.class);
+					assertThat(store.getBucket(), is("fs"));
+					assertThat(store.getChunkSize(), is(nullValue()));
+					assertThat(store.getWriteConcern(), is(nullValue()));
+					assertThat(store.isCustomized(), is(false));
+				});
+			});
+			Context("given properties for every store and for a single store", () -> {
+				BeforeEach(() -> {
+					properties.chunkSize(1024 * 1024).writeConcern(WriteConcern.ACKNOWLEDGED);
+					properties.forStore(StoreA.class).bucket("a").chunkSize(8 * 1024 * 1024);
+				});
+				It("should use the single store's properties for that store", () -> {
+					MongoStorePropertiesImpl store = properties.getStoreProperties(StoreA.class);
+					assertThat(store.getBucket(), is("a"));
+					assertThat(store.getChunkSize(), is(8 * 1024 * 1024));
+					assertThat(store.isCustomized(), is(true));
+				});
+				It("should fall back to every store's properties", () -> {
+					assertThat(properties.getStoreProperties(StoreA.class).getWriteConcern(), is(WriteConcern.ACKNOWLEDGED));
+				});
+				It("should use every store's properties for other stores", () -> {
+					MongoStorePropertiesImpl store = properties.getStoreProperties(StoreB.class);
+					assertThat(store.getBucket(), is("fs"));
+					assertThat(store.getChunkSize(), is(1024 * 1024));
+					assertThat(store.isCustomized(), is(true));
+				});
+				It("should return the same properties each time a store is configured", () -> {
+					assertThat(properties.forStore(StoreA.class), is(sameInstance(properties.forStore(StoreA.class))));
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	public interface StoreA {}
+	public interface StoreB {}
+}
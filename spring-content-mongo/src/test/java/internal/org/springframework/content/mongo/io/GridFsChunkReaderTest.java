@@ -0,0 +1,143 @@
+package internal.org.springframework.content.mongo.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class GridFsChunkReaderTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int CHUNK_SIZE = 5;
+
+    private GridFsChunkReader reader;
+    private DBCollection chunks;
+    private List<Integer> missing;
+
+    private InputStream in;
+    private Exception e;
+
+    {
+        Describe("GridFsChunkReader", () -> {
+            BeforeEach(() -> {
+                reader = GridFsChunkReader.create(2, 2, 2);
+                missing = new ArrayList<>();
+                chunks = mock(DBCollection.class);
+                when(chunks.find((DBObject) anyObject())).thenAnswer(invocation -> cursor(invocation.getArgument(0)));
+                e = null;
+            });
+            AfterEach(() -> {
+                if (in != null) {
+                    in.close();
+                }
+                reader.shutdown();
+            });
+            Context("given a whole file is read", () -> {
+                BeforeEach(() -> {
+                    in = reader.read(chunks, "file", CONTENT.length(), CHUNK_SIZE, 0, CONTENT.length() - 1);
+                });
+                It("should return the file's content", () -> {
+                    assertThat(IOUtils.toString(in), is(CONTENT));
+                });
+                It("should query the chunks in batches", () -> {
+                    IOUtils.toString(in);
+                    verify(chunks, times(4)).find((DBObject) anyObject());
+                });
+            });
+            Context("given a range within a single chunk is read", () -> {
+                BeforeEach(() -> {
+                    in = reader.read(chunks, "file", CONTENT.length(), CHUNK_SIZE, 11, 13);
+                });
+                It("should return the range", () -> {
+                    assertThat(IOUtils.toString(in), is(CONTENT.substring(11, 14)));
+                    verify(chunks, times(1)).find((DBObject) anyObject());
+                });
+            });
+            Context("given a range spanning several batches is read", () -> {
+                BeforeEach(() -> {
+                    in = reader.read(chunks, "file", CONTENT.length(), CHUNK_SIZE, 3, 27);
+                });
+                It("should return the range", () -> {
+                    assertThat(IOUtils.toString(in), is(CONTENT.substring(3, 28)));
+                });
+            });
+            Context("given a range that runs past the end of the file", () -> {
+                BeforeEach(() -> {
+                    in = reader.read(chunks, "file", CONTENT.length(), CHUNK_SIZE, 30, 100);
+                });
+                It("should return up to the end of the file", () -> {
+                    assertThat(IOUtils.toString(in), is(CONTENT.substring(30)));
+                });
+            });
+            Context("given an empty file", () -> {
+                BeforeEach(() -> {
+                    in = reader.read(chunks, "file", 0, CHUNK_SIZE, 0, -1);
+                });
+                It("should return nothing without querying", () -> {
+                    assertThat(in.read(), is(-1));
+                    verify(chunks, times(0)).find((DBObject) anyObject());
+                });
+            });
+            Context("given a chunk is missing", () -> {
+                BeforeEach(() -> {
+                    missing.add(3);
+                    in = reader.read(chunks, "file", CONTENT.length(), CHUNK_SIZE, 0, CONTENT.length() - 1);
+                    try {
+                        IOUtils.toString(in);
+                    } catch (IOException ioe) {
+                        e = ioe;
+                    }
+                });
+                It("should fail", () -> {
+                    assertThat(e, is(not(nullValue())));
+                });
+            });
+        });
+    }
+
+    private DBCursor cursor(DBObject query) {
+        DBObject n = (DBObject) query.get("n");
+        int first = (Integer) n.get("$gte");
+        int last = (Integer) n.get("$lte");
+
+        List<DBObject> docs = new ArrayList<>();
+        for (int i = first; i <= last && i * CHUNK_SIZE < CONTENT.length(); i++) {
+            if (!missing.contains(i)) {
+                byte[] data = Arrays.copyOfRange(CONTENT.getBytes(), i * CHUNK_SIZE, Math.min((i + 1) * CHUNK_SIZE, CONTENT.length()));
+                docs.add(new BasicDBObject("files_id", "file").append("n", i).append("data", data));
+            }
+        }
+
+        Iterator<DBObject> iterator = docs.iterator();
+        DBCursor cursor = mock(DBCursor.class);
+        when(cursor.sort(anyObject())).thenReturn(cursor);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
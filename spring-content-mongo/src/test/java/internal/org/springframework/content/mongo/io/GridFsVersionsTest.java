@@ -0,0 +1,100 @@
+package internal.org.springframework.content.mongo.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.gridfs.GridFSDBFile;
+import com.mongodb.gridfs.GridFSFile;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class GridFsVersionsTest {
+
+    private GridFsVersions versions;
+    private GridFsOperations gridFs;
+
+    {
+        Describe("GridFsVersions", () -> {
+            BeforeEach(() -> {
+                versions = new GridFsVersions(Runnable::run);
+                gridFs = mock(GridFsOperations.class);
+            });
+            Context("#findNewest", () -> {
+                It("should query for the newest version first", () -> {
+                    GridFSDBFile newest = mock(GridFSDBFile.class);
+                    when(gridFs.find(anyObject())).thenReturn(Collections.singletonList(newest));
+
+                    assertThat(versions.findNewest(gridFs, "some-file"), is(newest));
+
+                    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+                    verify(gridFs).find(query.capture());
+                    assertThat(query.getValue().getQueryObject().get("filename"), is("some-file"));
+                    assertThat(query.getValue().getSortObject().get("uploadDate"), is(-1));
+                    assertThat(query.getValue().getSortObject().get("_id"), is(-1));
+                });
+                It("should return null when there is no file", () -> {
+                    when(gridFs.find(anyObject())).thenReturn(Collections.emptyList());
+
+                    assertThat(versions.findNewest(gridFs, "some-file"), is(nullValue()));
+                });
+            });
+            Context("#removeOlderVersions", () -> {
+                It("should only delete versions older than the given version", () -> {
+                    GridFSFile version = mock(GridFSFile.class);
+                    Date uploaded = new Date();
+                    ObjectId id = new ObjectId();
+                    when(version.getUploadDate()).thenReturn(uploaded);
+                    when(version.getId()).thenReturn(id);
+
+                    versions.removeOlderVersions(gridFs, "some-file", version);
+
+                    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+                    verify(gridFs).delete(query.capture());
+                    DBObject criteria = query.getValue().getQueryObject();
+                    assertThat(criteria.get("filename"), is("some-file"));
+                    assertThat(criteria.get("$or").toString().contains("$lt"), is(true));
+                });
+                It("should not fail when the delete does", () -> {
+                    GridFSFile version = mock(GridFSFile.class);
+                    when(version.getUploadDate()).thenReturn(new Date());
+                    when(version.getId()).thenReturn(new ObjectId());
+                    doThrow(new IllegalStateException()).when(gridFs).delete(anyObject());
+
+                    versions.removeOlderVersions(gridFs, "some-file", version);
+                });
+            });
+            Context("#ensureIndex", () -> {
+                It("should only create the index once", () -> {
+                    DBCollection files = mock(DBCollection.class);
+                    when(files.getFullName()).thenReturn("db.fs.files");
+
+                    versions.ensureIndex(files);
+                    versions.ensureIndex(files);
+
+                    verify(files, times(1)).createIndex((DBObject) anyObject());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,214 @@
+package internal.org.springframework.content.mongo.reactive;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.MongoException;
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.gridfs.GridFSDownloadStream;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class GridFsDownloadPublisherTest {
+
+    private GridFSDownloadStream stream;
+    private GridFsDownloadPublisher publisher;
+    private TestSubscriber subscriber;
+    private byte[] content;
+    private int position;
+    private List<SingleResultCallback<Integer>> pending;
+
+    {
+        Describe("GridFsDownloadPublisher", () -> {
+            BeforeEach(() -> {
+                content = new byte[10];
+                for (int i = 0; i < content.length; i++) {
+                    content[i] = (byte) i;
+                }
+                position = 0;
+
+                stream = mock(GridFSDownloadStream.class);
+                doAnswer(invocation -> {
+                    ByteBuffer dst = invocation.getArgument(0);
+                    SingleResultCallback<Integer> callback = invocation.getArgument(1);
+                    if (position == content.length) {
+                        callback.onResult(-1, null);
+                        return null;
+                    }
+                    int n = Math.min(dst.remaining(), content.length - position);
+                    dst.put(content, position, n);
+                    position += n;
+                    callback.onResult(n, null);
+                    return null;
+                }).when(stream).read(any(ByteBuffer.class), any());
+
+                publisher = new GridFsDownloadPublisher(() -> stream, 4);
+                subscriber = new TestSubscriber();
+                publisher.subscribe(subscriber);
+            });
+            Context("given nothing has been requested", () -> {
+                It("should not read", () -> {
+                    verify(stream, never()).read(any(ByteBuffer.class), any());
+                });
+            });
+            Context("given a single buffer is requested", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(1);
+                });
+                It("should read and publish a single buffer", () -> {
+                    verify(stream, times(1)).read(any(ByteBuffer.class), any());
+                    assertThat(subscriber.buffers.size(), is(1));
+                    assertThat(subscriber.buffers.get(0).remaining(), is(4));
+                    assertThat(subscriber.completed, is(false));
+                });
+            });
+            Context("given all content is requested", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(Long.MAX_VALUE);
+                });
+                It("should publish the content and complete", () -> {
+                    assertThat(subscriber.content(), is(content));
+                    assertThat(subscriber.completed, is(true));
+                    assertThat(subscriber.error, is(nullValue()));
+                });
+                It("should close the stream", () -> {
+                    verify(stream).close(any());
+                });
+            });
+            Context("given the subscriber requests a buffer each time it receives one", () -> {
+                BeforeEach(() -> {
+                    subscriber.requestOnNext = true;
+                    subscriber.subscription.request(1);
+                });
+                It("should publish the content and complete", () -> {
+                    assertThat(subscriber.content(), is(content));
+                    assertThat(subscriber.completed, is(true));
+                });
+            });
+            Context("given the subscription is cancelled", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(1);
+                    subscriber.subscription.cancel();
+                    subscriber.subscription.request(1);
+                });
+                It("should close the stream and stop reading", () -> {
+                    verify(stream).close(any());
+                    verify(stream, times(1)).read(any(ByteBuffer.class), any());
+                    assertThat(subscriber.completed, is(false));
+                });
+            });
+            Context("given a read fails", () -> {
+                BeforeEach(() -> {
+                    doAnswer(invocation -> {
+                        SingleResultCallback<Integer> callback = invocation.getArgument(1);
+                        callback.onResult(null, new MongoException("badness"));
+                        return null;
+                    }).when(stream).read(any(ByteBuffer.class), any());
+                    subscriber.subscription.request(1);
+                });
+                It("should signal the error and close the stream", () -> {
+                    assertThat(subscriber.error.getMessage(), is("badness"));
+                    verify(stream).close(any());
+                });
+            });
+            Context("given an invalid request", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(0);
+                });
+                It("should signal an error", () -> {
+                    assertThat(subscriber.error instanceof IllegalArgumentException, is(true));
+                });
+            });
+            Context("given an invalid request while a read is outstanding", () -> {
+                BeforeEach(() -> {
+                    pending = new ArrayList<>();
+                    doAnswer(invocation -> {
+                        ByteBuffer dst = invocation.getArgument(0);
+                        dst.put(content, 0, 4);
+                        pending.add(invocation.getArgument(1));
+                        return null;
+                    }).when(stream).read(any(ByteBuffer.class), any());
+                    subscriber.subscription.request(1);
+                    subscriber.subscription.request(0);
+                });
+                It("should not signal the error until the read completes", () -> {
+                    assertThat(subscriber.error, is(nullValue()));
+                    verify(stream, never()).close(any());
+
+                    pending.get(0).onResult(4, null);
+
+                    assertThat(subscriber.signals, is(Arrays.asList("next", "error")));
+                    assertThat(subscriber.error instanceof IllegalArgumentException, is(true));
+                    verify(stream).close(any());
+                    verify(stream, times(1)).read(any(ByteBuffer.class), any());
+                });
+            });
+        });
+    }
+
+    private static class TestSubscriber implements Subscriber<ByteBuffer> {
+
+        private Subscription subscription;
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private final List<String> signals = new ArrayList<>();
+        private boolean requestOnNext;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            buffers.add(buffer);
+            signals.add("next");
+            if (requestOnNext) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            signals.add("error");
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            signals.add("complete");
+        }
+
+        byte[] content() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (ByteBuffer buffer : buffers) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.duplicate().get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+            return out.toByteArray();
+        }
+    }
+}
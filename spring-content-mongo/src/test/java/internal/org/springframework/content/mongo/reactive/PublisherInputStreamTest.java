@@ -0,0 +1,162 @@
+package internal.org.springframework.content.mongo.reactive;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class PublisherInputStreamTest {
+
+    private TestPublisher publisher;
+    private PublisherInputStream stream;
+    private ByteBuffer dst;
+    private Integer result;
+    private Throwable error;
+
+    {
+        Describe("PublisherInputStream", () -> {
+            BeforeEach(() -> {
+                publisher = new TestPublisher();
+                stream = new PublisherInputStream(publisher);
+                dst = ByteBuffer.allocate(4);
+                result = null;
+                error = null;
+            });
+            Context("given nothing has been read", () -> {
+                It("should not subscribe", () -> {
+                    assertThat(publisher.subscriber, is(nullValue()));
+                });
+            });
+            Context("given a read", () -> {
+                BeforeEach(() -> {
+                    read();
+                });
+                It("should subscribe and request a single buffer", () -> {
+                    assertThat(publisher.requested, is(1L));
+                    assertThat(result, is(nullValue()));
+                });
+                Context("given the publisher publishes a buffer larger than the read", () -> {
+                    BeforeEach(() -> {
+                        publisher.subscriber.onNext(buffer("Hello World"));
+                    });
+                    It("should read as much as fits", () -> {
+                        assertThat(result, is(4));
+                        assertThat(content(), is("Hell"));
+                    });
+                    It("should read the rest of the buffer before requesting another", () -> {
+                        dst = ByteBuffer.allocate(16);
+                        read();
+
+                        assertThat(result, is(7));
+                        assertThat(content(), is("o World"));
+                        assertThat(publisher.requested, is(1L));
+                        assertThat(stream.getCount(), is(11L));
+                    });
+                });
+                Context("given the publisher publishes an empty buffer", () -> {
+                    BeforeEach(() -> {
+                        publisher.subscriber.onNext(ByteBuffer.allocate(0));
+                    });
+                    It("should request another buffer", () -> {
+                        assertThat(result, is(nullValue()));
+                        assertThat(publisher.requested, is(2L));
+                    });
+                });
+                Context("given the publisher completes", () -> {
+                    BeforeEach(() -> {
+                        publisher.subscriber.onComplete();
+                    });
+                    It("should signal the end of the stream", () -> {
+                        assertThat(result, is(-1));
+                    });
+                });
+                Context("given the publisher fails", () -> {
+                    BeforeEach(() -> {
+                        publisher.subscriber.onError(new IllegalStateException("badness"));
+                    });
+                    It("should fail the read", () -> {
+                        assertThat(error.getMessage(), is("badness"));
+                    });
+                });
+                Context("given another read before the first completes", () -> {
+                    BeforeEach(() -> {
+                        read();
+                    });
+                    It("should fail the second read", () -> {
+                        assertThat(error instanceof IllegalStateException, is(true));
+                    });
+                });
+            });
+            Context("given the stream is closed before the publisher completes", () -> {
+                BeforeEach(() -> {
+                    read();
+                    publisher.subscriber.onNext(buffer("Hello World"));
+                    stream.close((result, t) -> {});
+                });
+                It("should cancel the subscription", () -> {
+                    assertThat(publisher.cancelled, is(true));
+                });
+                It("should fail further reads", () -> {
+                    read();
+                    assertThat(error instanceof IllegalStateException, is(true));
+                });
+            });
+        });
+    }
+
+    private void read() {
+        result = null;
+        error = null;
+        stream.read(dst, (n, t) -> {
+            result = n;
+            error = t;
+        });
+    }
+
+    private String content() {
+        dst.flip();
+        byte[] bytes = new byte[dst.remaining()];
+        dst.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class TestPublisher implements Publisher<ByteBuffer> {
+
+        private Subscriber<? super ByteBuffer> subscriber;
+        private long requested;
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            subscriber = s;
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package internal.org.springframework.content.mongo.reactive;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.MongoException;
+import com.mongodb.async.SingleResultCallback;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class SingleResultPublisherTest {
+
+    private List<SingleResultCallback<String>> operations;
+    private SingleResultPublisher<String> publisher;
+    private TestSubscriber subscriber;
+
+    {
+        Describe("SingleResultPublisher", () -> {
+            BeforeEach(() -> {
+                operations = new ArrayList<>();
+                publisher = new SingleResultPublisher<>(callback -> operations.add(callback));
+                subscriber = new TestSubscriber();
+                publisher.subscribe(subscriber);
+            });
+            Context("given nothing has been requested", () -> {
+                It("should not start the operation", () -> {
+                    assertThat(operations.size(), is(0));
+                });
+            });
+            Context("given the result is requested", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(1);
+                    subscriber.subscription.request(1);
+                });
+                It("should start the operation once", () -> {
+                    assertThat(operations.size(), is(1));
+                });
+                It("should publish the result and complete", () -> {
+                    operations.get(0).onResult("result", null);
+                    assertThat(subscriber.signals, is(Arrays.asList("next:result", "complete")));
+                });
+                It("should complete without a value given a null result", () -> {
+                    operations.get(0).onResult(null, null);
+                    assertThat(subscriber.signals, is(Collections.singletonList("complete")));
+                });
+                It("should signal the operation's error", () -> {
+                    operations.get(0).onResult(null, new MongoException("badness"));
+                    assertThat(subscriber.error.getMessage(), is("badness"));
+                    assertThat(subscriber.signals, is(Collections.singletonList("error")));
+                });
+                It("should not signal a result once cancelled", () -> {
+                    subscriber.subscription.cancel();
+                    operations.get(0).onResult("result", null);
+                    assertThat(subscriber.signals.size(), is(0));
+                });
+                It("should ignore an invalid request once the result is published", () -> {
+                    operations.get(0).onResult("result", null);
+                    subscriber.subscription.request(0);
+                    assertThat(subscriber.error, is(nullValue()));
+                });
+            });
+            Context("given the operation throws", () -> {
+                BeforeEach(() -> {
+                    publisher = new SingleResultPublisher<>(callback -> {
+                        throw new IllegalStateException("badness");
+                    });
+                    subscriber = new TestSubscriber();
+                    publisher.subscribe(subscriber);
+                    subscriber.subscription.request(1);
+                });
+                It("should signal the error", () -> {
+                    assertThat(subscriber.error.getMessage(), is("badness"));
+                });
+            });
+            Context("given an invalid request", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(0);
+                });
+                It("should signal an error and not start the operation", () -> {
+                    assertThat(subscriber.error instanceof IllegalArgumentException, is(true));
+                    assertThat(operations.size(), is(0));
+                });
+            });
+            Context("given two subscribers", () -> {
+                BeforeEach(() -> {
+                    subscriber.subscription.request(1);
+                    TestSubscriber other = new TestSubscriber();
+                    publisher.subscribe(other);
+                    other.subscription.request(1);
+                });
+                It("should start the operation for each", () -> {
+                    assertThat(operations.size(), is(2));
+                });
+            });
+        });
+    }
+
+    private static class TestSubscriber implements Subscriber<String> {
+
+        private Subscription subscription;
+        private final List<String> signals = new ArrayList<>();
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(String result) {
+            signals.add("next:" + result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            signals.add("error");
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+    }
+}
@@ -12,12 +12,15 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.UUID;
 
+import org.apache.commons.io.IOUtils;
 import org.bson.types.ObjectId;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +34,8 @@ import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import com.mongodb.gridfs.GridFSFile;
 
+import internal.org.springframework.content.mongo.io.GridFsVersions;
+
 
 @RunWith(Ginkgo4jRunner.class)
 public class DefaultMongoStoreImplTest {
@@ -42,6 +47,7 @@ public class DefaultMongoStoreImplTest {
     private GridFsResource resource;
     private Resource genericResource;
     private ConversionService converter;
+    private GridFsVersions versions;
 
     private InputStream content;
     private InputStream result;
@@ -243,6 +249,36 @@ public class DefaultMongoStoreImplTest {
                             assertThat(property.getContentLen(), is(1L));
                         });
                     });
+
+                    Context("when content is versioned", () -> {
+                        BeforeEach(() -> {
+                            versions = mock(GridFsVersions.class);
+                            mongoContentRepoImpl.setVersions(versions, null);
+
+                            property.setContentId("abcd-efghi");
+                            content = new ByteArrayInputStream("some content".getBytes());
+
+                            when(converter.convert(eq("abcd-efghi"), eq(String.class))).thenReturn("abcd-efghi");
+                            when(gridFsTemplate.store(anyObject(), anyString())).thenAnswer(invocation -> {
+                                IOUtils.toByteArray((InputStream) invocation.getArgument(0));
+                                return gridFSFile;
+                            });
+                        });
+
+                        It("should store content in GridFS without looking for existing content", () -> {
+                            verify(gridFsTemplate).store(anyObject(), eq("abcd-efghi"));
+                            verify(gridFsTemplate, never()).getResource(anyString());
+                            verify(gridFsTemplate, never()).delete(anyObject());
+                        });
+
+                        It("should remove older versions", () -> {
+                            verify(versions).removeOlderVersions(eq(gridFsTemplate), eq("abcd-efghi"), eq(gridFSFile));
+                        });
+
+                        It("should set the content length from the bytes stored", () -> {
+                            assertThat(property.getContentLen(), is(12L));
+                        });
+                    });
                 });
 
                 Context("#getContent", () -> {
@@ -0,0 +1,299 @@
+package internal.org.springframework.content.mongo.repository;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.BsonObjectId;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.MongoException;
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.gridfs.AsyncInputStream;
+import com.mongodb.async.client.gridfs.GridFSBucket;
+import com.mongodb.async.client.gridfs.GridFSDownloadStream;
+import com.mongodb.async.client.gridfs.GridFSFindIterable;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+@SuppressWarnings("unchecked")
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class ReactiveMongoStoreImplTest {
+
+    private GridFSBucket bucket;
+    private GridFSFindIterable versions;
+    private List<GridFSFile> found;
+    private ReactiveMongoStoreImpl<TestEntity, String> store;
+    private TestEntity entity;
+    private UploadCollector uploaded;
+    private TestSubscriber<TestEntity> subscriber;
+
+    {
+        Describe("ReactiveMongoStoreImpl", () -> {
+            BeforeEach(() -> {
+                bucket = mock(GridFSBucket.class);
+                versions = mock(GridFSFindIterable.class);
+                found = new ArrayList<>();
+                when(bucket.find(any(Bson.class))).thenReturn(versions);
+                when(versions.sort(any(Bson.class))).thenReturn(versions);
+                when(versions.skip(anyInt())).thenReturn(versions);
+                doAnswer(invocation -> {
+                    Collection<GridFSFile> target = invocation.getArgument(0);
+                    SingleResultCallback<Collection<GridFSFile>> callback = invocation.getArgument(1);
+                    target.addAll(found);
+                    callback.onResult(target, null);
+                    return null;
+                }).when(versions).into(any(), any());
+                doAnswer(invocation -> {
+                    SingleResultCallback<Void> callback = invocation.getArgument(1);
+                    callback.onResult(null, null);
+                    return null;
+                }).when(bucket).delete(any(ObjectId.class), any());
+
+                store = new ReactiveMongoStoreImpl<>(bucket, new DefaultConversionService());
+                entity = new TestEntity();
+                subscriber = new TestSubscriber<>();
+            });
+            Context("#setContent", () -> {
+                BeforeEach(() -> {
+                    uploaded = new UploadCollector();
+                    doAnswer(invocation -> {
+                        AsyncInputStream source = invocation.getArgument(1);
+                        SingleResultCallback<ObjectId> callback = invocation.getArgument(2);
+                        uploaded.drain(source, () -> callback.onResult(new ObjectId(), null));
+                        return null;
+                    }).when(bucket).uploadFromStream(any(String.class), any(AsyncInputStream.class), any());
+                });
+                JustBeforeEach(() -> {
+                    store.setContent(entity, publisherOf("Hello ", "Reactive World")).subscribe(subscriber);
+                });
+                It("should not store content until the entity is requested", () -> {
+                    verify(bucket, never()).uploadFromStream(any(String.class), any(AsyncInputStream.class), any());
+                });
+                Context("given the entity is requested", () -> {
+                    JustBeforeEach(() -> {
+                        subscriber.subscription.request(1);
+                    });
+                    It("should store the content under a new content id", () -> {
+                        assertThat(entity.contentId, is(not(nullValue())));
+                        verify(bucket).uploadFromStream(eq(entity.contentId), any(AsyncInputStream.class), any());
+                        assertThat(uploaded.toString(), is("Hello Reactive World"));
+                    });
+                    It("should set the content length and publish the entity", () -> {
+                        assertThat(entity.contentLen, is(20L));
+                        assertThat(subscriber.values, is(Collections.singletonList(entity)));
+                        assertThat(subscriber.completed, is(true));
+                    });
+                    Context("given older versions of the content", () -> {
+                        BeforeEach(() -> {
+                            found.add(file());
+                        });
+                        It("should remove them", () -> {
+                            verify(bucket).delete(eq(found.get(0).getObjectId()), any());
+                        });
+                    });
+                    Context("given the upload fails", () -> {
+                        BeforeEach(() -> {
+                            doAnswer(invocation -> {
+                                SingleResultCallback<ObjectId> callback = invocation.getArgument(2);
+                                callback.onResult(null, new MongoException("badness"));
+                                return null;
+                            }).when(bucket).uploadFromStream(any(String.class), any(AsyncInputStream.class), any());
+                        });
+                        It("should signal the error", () -> {
+                            assertThat(subscriber.error.getMessage(), is("badness"));
+                            assertThat(entity.contentLen, is(0L));
+                        });
+                    });
+                });
+            });
+            Context("#getContent", () -> {
+                Context("given an entity without content", () -> {
+                    It("should return null", () -> {
+                        assertThat(store.getContent(entity), is(nullValue()));
+                    });
+                });
+                Context("given an entity with content", () -> {
+                    BeforeEach(() -> {
+                        entity.contentId = "abcd";
+                        store.setBufferSize(16);
+                    });
+                    It("should open the newest version only when the content is requested", () -> {
+                        GridFSDownloadStream stream = mock(GridFSDownloadStream.class);
+                        when(bucket.openDownloadStream("abcd")).thenReturn(stream);
+
+                        Publisher<ByteBuffer> content = store.getContent(entity);
+                        verify(bucket, never()).openDownloadStream(any(String.class));
+
+                        TestSubscriber<ByteBuffer> buffers = new TestSubscriber<>();
+                        content.subscribe(buffers);
+                        buffers.subscription.request(1);
+                        verify(bucket).openDownloadStream("abcd");
+                        verify(stream).read(any(ByteBuffer.class), any());
+                    });
+                });
+            });
+            Context("#unsetContent", () -> {
+                BeforeEach(() -> {
+                    entity.contentId = "abcd";
+                    entity.contentLen = 20L;
+                });
+                JustBeforeEach(() -> {
+                    store.unsetContent(entity).subscribe(subscriber);
+                    subscriber.subscription.request(1);
+                });
+                Context("given versions of the content", () -> {
+                    BeforeEach(() -> {
+                        found.addAll(Arrays.asList(file(), file()));
+                    });
+                    It("should remove every version and reset the content fields", () -> {
+                        verify(bucket, times(2)).delete(any(ObjectId.class), any());
+                        assertThat(entity.contentId, is(nullValue()));
+                        assertThat(entity.contentLen, is(0L));
+                        assertThat(subscriber.values, is(Collections.singletonList(entity)));
+                    });
+                });
+                Context("given a version can't be removed", () -> {
+                    BeforeEach(() -> {
+                        found.addAll(Arrays.asList(file(), file()));
+                        doAnswer(invocation -> {
+                            SingleResultCallback<Void> callback = invocation.getArgument(1);
+                            callback.onResult(null, new MongoException("badness"));
+                            return null;
+                        }).when(bucket).delete(any(ObjectId.class), any());
+                    });
+                    It("should signal the error and leave the content fields", () -> {
+                        verify(bucket, times(1)).delete(any(ObjectId.class), any());
+                        assertThat(subscriber.error.getMessage(), is("badness"));
+                        assertThat(entity.contentId, is("abcd"));
+                    });
+                });
+                Context("given no versions of the content", () -> {
+                    It("should publish the entity unchanged", () -> {
+                        verify(bucket, never()).delete(any(ObjectId.class), any());
+                        assertThat(entity.contentId, is("abcd"));
+                        assertThat(subscriber.completed, is(true));
+                    });
+                });
+            });
+        });
+    }
+
+    private static GridFSFile file() {
+        return new GridFSFile(new BsonObjectId(new ObjectId()), "abcd", 20L, 255 * 1024, new Date(), "md5", null);
+    }
+
+    private static Publisher<ByteBuffer> publisherOf(String... buffers) {
+        return subscriber -> subscriber.onSubscribe(new Subscription() {
+            private int next;
+            private boolean done;
+
+            @Override
+            public void request(long n) {
+                for (long i = 0; i < n && !done; i++) {
+                    if (next == buffers.length) {
+                        done = true;
+                        subscriber.onComplete();
+                    } else {
+                        subscriber.onNext(ByteBuffer.wrap(buffers[next++].getBytes(StandardCharsets.UTF_8)));
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                done = true;
+            }
+        });
+    }
+
+    private static class UploadCollector {
+
+        private final StringBuilder content = new StringBuilder();
+
+        void drain(AsyncInputStream source, Runnable onEnd) {
+            ByteBuffer dst = ByteBuffer.allocate(8);
+            source.read(dst, (n, t) -> {
+                if (n == null || n < 0) {
+                    onEnd.run();
+                    return;
+                }
+                dst.flip();
+                content.append(StandardCharsets.UTF_8.decode(dst));
+                drain(source, onEnd);
+            });
+        }
+
+        @Override
+        public String toString() {
+            return content.toString();
+        }
+    }
+
+    private static class TestSubscriber<T> implements Subscriber<T> {
+
+        private Subscription subscription;
+        private final List<T> values = new ArrayList<>();
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+}
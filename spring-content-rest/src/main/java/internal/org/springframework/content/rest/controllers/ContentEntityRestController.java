@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.MimeType;
 import org.springframework.content.commons.annotations.OriginalFileName;
+import org.springframework.content.commons.io.SizedInputStream;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.storeservice.ContentStoreInfo;
@@ -159,7 +160,7 @@ public class ContentEntityRestController extends AbstractContentPropertyControll
 			isNew = (BeanUtils.getFieldWithAnnotation(domainObj, ContentId.class) == null);
 		}
 		
-		info.getImpementation().setContent(domainObj, request.getInputStream());
+		info.getImpementation().setContent(domainObj, sized(request.getInputStream(), request.getContentLengthLong()));
 		
 		if (BeanUtils.hasFieldWithAnnotation(domainObj, MimeType.class)) {
 			BeanUtils.setFieldWithAnnotation(domainObj, MimeType.class, request.getHeader("Content-Type"));
@@ -239,7 +240,7 @@ public class ContentEntityRestController extends AbstractContentPropertyControll
 		Object domainObj = findOne(repositories, info.getDomainObjectClass(), id);
 
 
-		info.getImpementation().setContent(domainObj, multiPart.getInputStream());
+		info.getImpementation().setContent(domainObj, sized(multiPart.getInputStream(), multiPart.getSize()));
 
 		if (BeanUtils.hasFieldWithAnnotation(domainObj, MimeType.class)) {
 			BeanUtils.setFieldWithAnnotation(domainObj, MimeType.class, multiPart.getContentType());
@@ -265,4 +266,12 @@ public class ContentEntityRestController extends AbstractContentPropertyControll
 			response.setStatus(HttpStatus.OK.value());
 		}
 	}
+
+	/*
+	 * Lets stores that can use it, such as a JPA store writing directly, know the length of the
+	 * content before it is read.  The entity itself is not touched.
+	 */
+	private static InputStream sized(InputStream content, long length) {
+		return (length >= 0 ? new SizedInputStream(content, length) : content);
+	}
 }
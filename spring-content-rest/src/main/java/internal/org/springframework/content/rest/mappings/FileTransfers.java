@@ -0,0 +1,106 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Copies content held in a file to a response without reading it through the JVM heap where the
+ * servlet container allows it.
+ * <p>
+ * On Tomcat the file region is handed to the connector, which sends it with sendfile once the
+ * response headers have been written.  Because the connector bypasses the response, this is only
+ * done when the response isn't wrapped, for example by a filter that computes an ETag from, or
+ * compresses, the body, and when the region is large enough to be worth it.  Otherwise the file is
+ * copied as a stream.
+ */
+final class FileTransfers {
+
+	static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	/**
+	 * The smallest region sent with sendfile, the same as Tomcat's default for its own static content.
+	 */
+	static final long SENDFILE_THRESHOLD = 48L * 1024;
+
+	private FileTransfers() {
+	}
+
+	/**
+	 * Returns the file holding the resource's content, or null if its content isn't held in a file.
+	 */
+	static File getFile(Resource resource) {
+		try {
+			File file = resource.getFile();
+			return (file != null && file.isFile() ? file : null);
+		} catch (IOException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Asks the servlet container to send bytes [start, end) of file once the response headers have
+	 * been written.  Must be called before the response is committed.
+	 *
+	 * @return true if the container will send the file, false if it can't or shouldn't
+	 */
+	static boolean sendfile(HttpOutputMessage outputMessage, File file, long start, long end) {
+		if (end - start < SENDFILE_THRESHOLD) {
+			return false;
+		}
+
+		// the container would send the file around anything wrapping the response
+		if (!(outputMessage instanceof ServletServerHttpResponse)
+				|| ((ServletServerHttpResponse) outputMessage).getServletResponse() instanceof ServletResponseWrapper) {
+			return false;
+		}
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return false;
+		}
+
+		HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+		if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			return false;
+		}
+
+		request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+		request.setAttribute(SENDFILE_START, start);
+		request.setAttribute(SENDFILE_END, end);
+		return true;
+	}
+
+	/**
+	 * Copies count bytes of file, starting at position, to body.
+	 *
+	 * @throws IOException if the file is shorter than the region, as the response has already
+	 *                     declared its length
+	 */
+	static void copy(File file, long position, long count, OutputStream body) throws IOException {
+		long copied;
+		try (InputStream in = new FileInputStream(file)) {
+			copied = StreamUtils.copyRange(in, body, position, position + count - 1);
+		}
+		if (copied < count) {
+			throw new EOFException(String.format("%s ended after %s of %s bytes", file, copied, count));
+		}
+	}
+}
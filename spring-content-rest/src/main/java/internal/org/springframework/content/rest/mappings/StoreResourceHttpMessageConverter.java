@@ -0,0 +1,32 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+/**
+ * Writes whole resources, sending those held in files with {@link FileTransfers}.
+ */
+public class StoreResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+	@Override
+	protected void writeInternal(Resource resource, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+
+		File file = FileTransfers.getFile(resource);
+		if (file == null) {
+			super.writeInternal(resource, outputMessage);
+			return;
+		}
+
+		long length = resource.contentLength();
+		if (FileTransfers.sendfile(outputMessage, file, 0, length)) {
+			return;
+		}
+		FileTransfers.copy(file, 0, length, outputMessage.getBody());
+	}
+}
@@ -0,0 +1,62 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Writes single byte ranges of resources, sending those held in files with {@link FileTransfers}
+ * and reading those of a {@link RangeableResource} from the requested offset rather than from the
+ * start of the content.  Multiple byte ranges are written as a multipart response by the superclass.
+ */
+public class StoreResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+
+		if (!(object instanceof ResourceRegion)) {
+			super.writeInternal(object, type, outputMessage);
+			return;
+		}
+
+		ResourceRegion region = (ResourceRegion) object;
+		Resource resource = region.getResource();
+		File file = FileTransfers.getFile(resource);
+		if (file == null && !(resource instanceof RangeableResource)) {
+			super.writeInternal(object, type, outputMessage);
+			return;
+		}
+
+		long resourceLength = resource.contentLength();
+		long start = region.getPosition();
+		long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+		long rangeLength = end - start + 1;
+
+		HttpHeaders headers = outputMessage.getHeaders();
+		headers.add("Content-Range", "bytes " + start + '-' + end + '/' + resourceLength);
+		headers.setContentLength(rangeLength);
+
+		if (file == null) {
+			try (InputStream in = ((RangeableResource) resource).getInputStream(start, end)) {
+				StreamUtils.copy(in, outputMessage.getBody());
+			}
+			return;
+		}
+
+		if (FileTransfers.sendfile(outputMessage, file, start, end + 1)) {
+			return;
+		}
+		FileTransfers.copy(file, start, rangeLength, outputMessage.getBody());
+	}
+}
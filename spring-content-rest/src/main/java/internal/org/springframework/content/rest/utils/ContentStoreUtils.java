@@ -3,6 +3,7 @@ package internal.org.springframework.content.rest.utils;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 import org.atteo.evo.inflector.English;
 import org.springframework.content.commons.annotations.ContentLength;
@@ -12,17 +13,26 @@ import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.storeservice.ContentStoreInfo;
 import org.springframework.content.commons.storeservice.ContentStoreService;
+import org.springframework.content.commons.storeservice.IndexedContentStoreService;
+import org.springframework.content.commons.storeservice.StoreKey;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.rest.StoreRestResource;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 import org.springframework.util.StringUtils;
 
 import internal.org.springframework.content.rest.annotations.ContentStoreRestResource;
 
 public final class ContentStoreUtils {
 
+	private static final StoreKey<String> STORE_PATH = StoreKey.named("storePath", ContentStoreUtils::storePath);
+
+	// a store's path is fixed so it is only computed once
+	private static final Map<ContentStoreInfo, String> storePaths = new ConcurrentReferenceHashMap<>(16, ReferenceType.WEAK);
+
 	private ContentStoreUtils() {}
 	
 	/**
@@ -77,7 +87,10 @@ public final class ContentStoreUtils {
 	}
 	
 	public static ContentStoreInfo findContentStore(ContentStoreService stores, Class<?> contentEntityClass) {
-		
+		if (stores instanceof IndexedContentStoreService) {
+			return ((IndexedContentStoreService) stores).getContentStore(contentEntityClass);
+		}
+
 		for (ContentStoreInfo info : stores.getStores(ContentStore.class)) {
 			if (contentEntityClass.equals(info.getDomainObjectClass()))
 				return info;
@@ -86,7 +99,10 @@ public final class ContentStoreUtils {
 	}
 
 	public static ContentStoreInfo findContentStore(ContentStoreService stores, String store) {
-		
+		if (stores instanceof IndexedContentStoreService) {
+			return ((IndexedContentStoreService) stores).getStore(ContentStore.class, STORE_PATH, store);
+		}
+
 		for (ContentStoreInfo info : stores.getStores(ContentStore.class)) {
 			if (store.equals(storePath(info))) {
 				return info;
@@ -96,6 +112,10 @@ public final class ContentStoreUtils {
 	}
 
 	public static ContentStoreInfo findStore(ContentStoreService stores, String store) {
+		if (stores instanceof IndexedContentStoreService) {
+			return ((IndexedContentStoreService) stores).getStore(Store.class, STORE_PATH, store);
+		}
+
 		for (ContentStoreInfo info : stores.getStores(Store.class)) {
 			if (store.equals(storePath(info))) {
 				return info;
@@ -105,6 +125,10 @@ public final class ContentStoreUtils {
 	}
 	
 	public static String storePath(ContentStoreInfo info) {
+		return storePaths.computeIfAbsent(info, ContentStoreUtils::computeStorePath);
+	}
+
+	private static String computeStorePath(ContentStoreInfo info) {
 		Class<?> clazz = info.getInterface();
 		String path = null;
 
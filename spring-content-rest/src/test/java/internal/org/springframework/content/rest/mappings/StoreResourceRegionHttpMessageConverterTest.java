@@ -0,0 +1,142 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreResourceRegionHttpMessageConverterTest {
+
+	private static final String CONTENT = "Hello Spring Content World!" + String.join("", Collections.nCopies((int) FileTransfers.SENDFILE_THRESHOLD, "x"));
+
+	private StoreResourceRegionHttpMessageConverter converter;
+
+	private File file;
+	private RangeableResource resource;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+	private ContentCachingResponseWrapper wrapper;
+	private ResourceRegion region;
+	private ServletServerHttpResponse outputMessage;
+
+	{
+		Describe("StoreResourceRegionHttpMessageConverter", () -> {
+			BeforeEach(() -> {
+				converter = new StoreResourceRegionHttpMessageConverter();
+
+				file = File.createTempFile("content", ".txt");
+				Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+
+				request = new MockHttpServletRequest();
+				response = new MockHttpServletResponse();
+				RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+			});
+			AfterEach(() -> {
+				RequestContextHolder.resetRequestAttributes();
+				file.delete();
+			});
+			Context("#write", () -> {
+				BeforeEach(() -> {
+					region = new ResourceRegion(new FileSystemResource(file), 6, 6);
+					outputMessage = new ServletServerHttpResponse(response);
+				});
+				JustBeforeEach(() -> {
+					converter.write(region, MediaType.TEXT_PLAIN, outputMessage);
+				});
+				Context("given the servlet container doesn't support sendfile", () -> {
+					It("should write the requested range", () -> {
+						assertThat(response.getContentAsString(), is("Spring"));
+						assertThat(response.getHeader("Content-Range"), is("bytes 6-11/" + CONTENT.length()));
+						assertThat(response.getHeader("Content-Length"), is("6"));
+					});
+				});
+				Context("given the servlet container supports sendfile", () -> {
+					BeforeEach(() -> {
+						request.setAttribute(FileTransfers.SENDFILE_SUPPORT, Boolean.TRUE);
+					});
+					Context("given a range smaller than the sendfile threshold", () -> {
+						It("should write the requested range", () -> {
+							assertThat(request.getAttribute(FileTransfers.SENDFILE_FILENAME), is(nullValue()));
+							assertThat(response.getContentAsString(), is("Spring"));
+						});
+					});
+					Context("given a range of at least the sendfile threshold", () -> {
+						BeforeEach(() -> {
+							region = new ResourceRegion(new FileSystemResource(file), 6, FileTransfers.SENDFILE_THRESHOLD);
+						});
+						It("should hand the range to the servlet container", () -> {
+							long end = 6 + FileTransfers.SENDFILE_THRESHOLD;
+							assertThat(request.getAttribute(FileTransfers.SENDFILE_FILENAME), is(file.getAbsolutePath()));
+							assertThat(request.getAttribute(FileTransfers.SENDFILE_START), is(6L));
+							assertThat(request.getAttribute(FileTransfers.SENDFILE_END), is(end));
+							assertThat(response.getContentAsString(), is(""));
+							assertThat(response.getHeader("Content-Range"), is("bytes 6-" + (end - 1) + "/" + CONTENT.length()));
+						});
+						Context("given the response is wrapped by a filter", () -> {
+							BeforeEach(() -> {
+								// as ShallowEtagHeaderFilter does to compute an ETag from the body
+								wrapper = new ContentCachingResponseWrapper(response);
+								outputMessage = new ServletServerHttpResponse(wrapper);
+							});
+							It("should write the range through the wrapper", () -> {
+								assertThat(request.getAttribute(FileTransfers.SENDFILE_FILENAME), is(nullValue()));
+								assertThat(wrapper.getContentSize(), is((int) FileTransfers.SENDFILE_THRESHOLD));
+								wrapper.copyBodyToResponse();
+								assertThat(response.getContentAsString(), is(CONTENT.substring(6, 6 + (int) FileTransfers.SENDFILE_THRESHOLD)));
+							});
+						});
+					});
+				});
+			});
+			Context("#write given a rangeable resource", () -> {
+				BeforeEach(() -> {
+					resource = mock(RangeableResource.class);
+					when(resource.contentLength()).thenReturn(27L);
+					when(resource.getInputStream(6, 11)).thenReturn(new ByteArrayInputStream("Spring".getBytes(StandardCharsets.UTF_8)));
+				});
+				JustBeforeEach(() -> {
+					ResourceRegion region = new ResourceRegion(resource, 6, 6);
+					converter.write(region, MediaType.TEXT_PLAIN, new ServletServerHttpResponse(response));
+				});
+				It("should read only the requested range", () -> {
+					verify(resource).getInputStream(6, 11);
+					verify(resource, never()).getInputStream();
+					assertThat(response.getContentAsString(), is("Spring"));
+					assertThat(response.getHeader("Content-Range"), is("bytes 6-11/27"));
+					assertThat(response.getHeader("Content-Length"), is("6"));
+				});
+			});
+		});
+	}
+}
@@ -3,6 +3,7 @@ package internal.org.springframework.content.rest.utils;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +20,7 @@ import org.springframework.http.MediaType;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import static org.mockito.Matchers.anyObject;
@@ -37,6 +39,7 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 
 import internal.org.springframework.content.commons.storeservice.ContentStoreInfoImpl;
+import internal.org.springframework.content.commons.storeservice.ContentStoreServiceImpl;
 import internal.org.springframework.content.rest.annotations.ContentStoreRestResource;
 import internal.org.springframework.content.rest.support.TestEntity;
 
@@ -107,6 +110,22 @@ public class ContentStoreUtilsTest {
 				});
 			});
 		});
+		Context("given an indexed content store service", () -> {
+			BeforeEach(() -> {
+				ContentStore storeImpl = mock(ContentStoreWithPath.class);
+				info = new ContentStoreInfoImpl(ContentStoreWithPath.class, TestEntity.class, storeImpl);
+				ContentStoreServiceImpl service = new ContentStoreServiceImpl();
+				service.setContentStoreInfos(Collections.singleton(info));
+				stores = service;
+			});
+			It("should find the content store by path", () -> {
+				assertThat(ContentStoreUtils.findContentStore(stores, "some-path"), is(info));
+				assertThat(ContentStoreUtils.findContentStore(stores, "testEntities"), is(nullValue()));
+			});
+			It("should find the content store by entity class", () -> {
+				assertThat(ContentStoreUtils.findContentStore(stores, TestEntity.class), is(info));
+			});
+		});
 		Context("#storePath", () -> {
 			JustBeforeEach(() -> {
 				storePath = ContentStoreUtils.storePath(info);
@@ -2,7 +2,13 @@ package internal.org.springframework.content.s3.config;
 
 import java.util.List;
 
+import internal.org.springframework.content.s3.io.BulkDeleter;
+import internal.org.springframework.content.s3.io.MultipartUploader;
+import internal.org.springframework.content.s3.io.RangedDownloader;
+import internal.org.springframework.content.s3.io.S3Errors;
+import internal.org.springframework.content.s3.io.S3MetadataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.HedgedReader;
 import org.springframework.content.s3.config.S3ObjectIdResolvers;
 import org.springframework.content.s3.config.S3StoreConfigurer;
 import org.springframework.context.annotation.Bean;
@@ -26,6 +32,46 @@ public class S3StoreConfiguration {
 		return resolvers;
 	}
 
+	@Bean
+	public S3StorePropertiesImpl s3StoreProperties() {
+		S3StorePropertiesImpl properties = new S3StorePropertiesImpl();
+		if (configurers != null) {
+			for (S3StoreConfigurer configurer : configurers) {
+				configurer.configure(properties);
+			}
+		}
+		return properties;
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public MultipartUploader s3MultipartUploader() {
+		S3StorePropertiesImpl properties = s3StoreProperties();
+		return MultipartUploader.create(properties.getPartSize(), properties.getUploadThreads(), properties.getUploadBuffers(), properties.getUploadExecutor());
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public RangedDownloader s3RangedDownloader() {
+		S3StorePropertiesImpl properties = s3StoreProperties();
+		return RangedDownloader.create(properties.getRangedDownloadThreshold(), properties.getSegmentSize(), properties.getDownloadReadAhead(), properties.getDownloadThreads(), properties.getDownloadBuffers(), properties.getDownloadExecutor());
+	}
+
+	@Bean
+	public S3MetadataCache s3MetadataCache() {
+		S3StorePropertiesImpl properties = s3StoreProperties();
+		return new S3MetadataCache(properties.getMetadataCacheTtl(), properties.getMetadataCacheNotFoundTtl(), properties.getMetadataCacheSize());
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public BulkDeleter s3BulkDeleter() {
+		return BulkDeleter.create(s3StoreProperties().getDeleteThreads());
+	}
+
+	@Bean(destroyMethod="shutdown")
+	public HedgedReader s3HedgedReader() {
+		S3StorePropertiesImpl properties = s3StoreProperties();
+		return HedgedReader.create("s3-read", properties.getReadThreads(), S3Errors::isTransient, properties.getHedgePercentile(), properties.getReadAttempts(), properties.getReadRetryBackoff());
+	}
+
 	@Bean
 	public ConversionService s3StoreConverter() {
 		DefaultConversionService conversion = new DefaultConversionService();
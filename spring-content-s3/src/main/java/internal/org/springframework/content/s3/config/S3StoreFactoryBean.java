@@ -3,6 +3,7 @@ package internal.org.springframework.content.s3.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.aws.core.io.s3.SimpleStorageResourceLoader;
+import org.springframework.content.commons.io.HedgedReader;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
@@ -13,6 +14,10 @@ import org.springframework.core.convert.ConversionService;
 
 import com.amazonaws.services.s3.AmazonS3;
 
+import internal.org.springframework.content.s3.io.BulkDeleter;
+import internal.org.springframework.content.s3.io.MultipartUploader;
+import internal.org.springframework.content.s3.io.RangedDownloader;
+import internal.org.springframework.content.s3.io.S3MetadataCache;
 import internal.org.springframework.content.s3.store.DefaultS3StoreImpl;
 
 import java.io.Serializable;
@@ -27,6 +32,24 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 	private ConversionService s3StoreConverter;
 	private S3ObjectIdResolvers resolvers;
 
+	@Autowired(required=false)
+	private MultipartUploader uploader;
+
+	@Autowired(required=false)
+	private RangedDownloader downloader;
+
+	@Autowired(required=false)
+	private S3MetadataCache metadataCache;
+
+	@Autowired(required=false)
+	private BulkDeleter bulkDeleter;
+
+	@Autowired(required=false)
+	private S3StorePropertiesImpl s3StoreProperties;
+
+	@Autowired(required=false)
+	private HedgedReader s3HedgedReader;
+
 	@Value("${spring.content.s3.bucket:#{environment.AWS_BUCKET}}")
 	private String bucket;
 
@@ -56,6 +79,13 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 				resolver = DEFAULT_S3OBJECTID_RESOLVER_STORE;
 			}
 		}
-		return new DefaultS3StoreImpl(loader, s3StoreConverter, client, resolver, bucket);
+		DefaultS3StoreImpl store = new DefaultS3StoreImpl(loader, s3StoreConverter, client, resolver, bucket, uploader, downloader);
+		store.setMetadataCache(metadataCache);
+		store.setBulkDeleter(bulkDeleter);
+		store.setHedgedReader(s3HedgedReader);
+		if (s3StoreProperties != null) {
+			store.setKeyLayout(s3StoreProperties.getKeyLayout());
+		}
+		return store;
 	}
 }
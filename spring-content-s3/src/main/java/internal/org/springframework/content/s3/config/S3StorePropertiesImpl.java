@@ -0,0 +1,228 @@
+package internal.org.springframework.content.s3.config;
+
+import java.util.concurrent.ExecutorService;
+
+import internal.org.springframework.content.s3.io.BulkDeleter;
+import internal.org.springframework.content.s3.io.MultipartUploader;
+import internal.org.springframework.content.s3.io.RangedDownloader;
+import internal.org.springframework.content.s3.io.S3MetadataCache;
+import internal.org.springframework.content.s3.io.S3TransferExecutor;
+import org.springframework.content.commons.io.HedgedReader;
+import org.springframework.content.s3.config.S3StoreProperties;
+import org.springframework.content.s3.layout.FlatKeyLayout;
+import org.springframework.content.s3.layout.KeyLayout;
+import org.springframework.util.Assert;
+
+public class S3StorePropertiesImpl implements S3StoreProperties {
+
+	private KeyLayout keyLayout = new FlatKeyLayout();
+	private int partSize = MultipartUploader.DEFAULT_PART_SIZE;
+	private int uploadThreads = S3TransferExecutor.DEFAULT_THREADS;
+	private int uploadBuffers = MultipartUploader.DEFAULT_BUFFERS;
+	private ExecutorService uploadExecutor;
+	private long rangedDownloadThreshold = RangedDownloader.DEFAULT_THRESHOLD;
+	private int segmentSize = RangedDownloader.DEFAULT_SEGMENT_SIZE;
+	private int downloadReadAhead = RangedDownloader.DEFAULT_READ_AHEAD;
+	private int downloadThreads = S3TransferExecutor.DEFAULT_THREADS;
+	private int downloadBuffers = RangedDownloader.DEFAULT_BUFFERS;
+	private ExecutorService downloadExecutor;
+	private int metadataCacheTtl = S3MetadataCache.DEFAULT_TTL;
+	private int metadataCacheNotFoundTtl = S3MetadataCache.DEFAULT_NOT_FOUND_TTL;
+	private int metadataCacheSize = S3MetadataCache.DEFAULT_MAX_ENTRIES;
+	private int deleteThreads = BulkDeleter.DEFAULT_THREADS;
+	private int readThreads = HedgedReader.DEFAULT_THREADS;
+	private double hedgePercentile = HedgedReader.DEFAULT_PERCENTILE;
+	private int readAttempts = HedgedReader.DEFAULT_ATTEMPTS;
+	private long readRetryBackoff = HedgedReader.DEFAULT_BACKOFF;
+
+	@Override
+	public S3StoreProperties keyLayout(KeyLayout layout) {
+		Assert.notNull(layout, "layout must not be null");
+		keyLayout = layout;
+		return this;
+	}
+
+	public KeyLayout getKeyLayout() {
+		return keyLayout;
+	}
+
+	@Override
+	public S3StoreProperties partSize(int bytes) {
+		partSize = bytes;
+		return this;
+	}
+
+	public int getPartSize() {
+		return partSize;
+	}
+
+	@Override
+	public S3StoreProperties uploadThreads(int threads) {
+		uploadThreads = threads;
+		return this;
+	}
+
+	public int getUploadThreads() {
+		return uploadThreads;
+	}
+
+	@Override
+	public S3StoreProperties uploadBuffers(int buffers) {
+		uploadBuffers = buffers;
+		return this;
+	}
+
+	public int getUploadBuffers() {
+		return uploadBuffers;
+	}
+
+	@Override
+	public S3StoreProperties uploadExecutor(ExecutorService executor) {
+		uploadExecutor = executor;
+		return this;
+	}
+
+	public ExecutorService getUploadExecutor() {
+		return uploadExecutor;
+	}
+
+	@Override
+	public S3StoreProperties rangedDownloadThreshold(long bytes) {
+		rangedDownloadThreshold = bytes;
+		return this;
+	}
+
+	public long getRangedDownloadThreshold() {
+		return rangedDownloadThreshold;
+	}
+
+	@Override
+	public S3StoreProperties segmentSize(int bytes) {
+		segmentSize = bytes;
+		return this;
+	}
+
+	public int getSegmentSize() {
+		return segmentSize;
+	}
+
+	@Override
+	public S3StoreProperties downloadReadAhead(int segments) {
+		downloadReadAhead = segments;
+		return this;
+	}
+
+	public int getDownloadReadAhead() {
+		return downloadReadAhead;
+	}
+
+	@Override
+	public S3StoreProperties downloadThreads(int threads) {
+		downloadThreads = threads;
+		return this;
+	}
+
+	public int getDownloadThreads() {
+		return downloadThreads;
+	}
+
+	@Override
+	public S3StoreProperties downloadBuffers(int buffers) {
+		downloadBuffers = buffers;
+		return this;
+	}
+
+	public int getDownloadBuffers() {
+		return downloadBuffers;
+	}
+
+	@Override
+	public S3StoreProperties downloadExecutor(ExecutorService executor) {
+		downloadExecutor = executor;
+		return this;
+	}
+
+	public ExecutorService getDownloadExecutor() {
+		return downloadExecutor;
+	}
+
+	@Override
+	public S3StoreProperties metadataCacheTtl(int seconds) {
+		metadataCacheTtl = seconds;
+		return this;
+	}
+
+	public int getMetadataCacheTtl() {
+		return metadataCacheTtl;
+	}
+
+	@Override
+	public S3StoreProperties metadataCacheNotFoundTtl(int seconds) {
+		metadataCacheNotFoundTtl = seconds;
+		return this;
+	}
+
+	public int getMetadataCacheNotFoundTtl() {
+		return metadataCacheNotFoundTtl;
+	}
+
+	@Override
+	public S3StoreProperties metadataCacheSize(int entries) {
+		metadataCacheSize = entries;
+		return this;
+	}
+
+	public int getMetadataCacheSize() {
+		return metadataCacheSize;
+	}
+
+	@Override
+	public S3StoreProperties deleteThreads(int threads) {
+		deleteThreads = threads;
+		return this;
+	}
+
+	public int getDeleteThreads() {
+		return deleteThreads;
+	}
+
+	@Override
+	public S3StoreProperties readThreads(int threads) {
+		readThreads = threads;
+		return this;
+	}
+
+	public int getReadThreads() {
+		return readThreads;
+	}
+
+	@Override
+	public S3StoreProperties hedgePercentile(double percentile) {
+		hedgePercentile = percentile;
+		return this;
+	}
+
+	public double getHedgePercentile() {
+		return hedgePercentile;
+	}
+
+	@Override
+	public S3StoreProperties readAttempts(int attempts) {
+		readAttempts = attempts;
+		return this;
+	}
+
+	public int getReadAttempts() {
+		return readAttempts;
+	}
+
+	@Override
+	public S3StoreProperties readRetryBackoff(long millis) {
+		readRetryBackoff = millis;
+		return this;
+	}
+
+	public long getReadRetryBackoff() {
+		return readRetryBackoff;
+	}
+}
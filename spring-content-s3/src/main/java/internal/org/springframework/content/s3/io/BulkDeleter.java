@@ -0,0 +1,211 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+import com.amazonaws.services.s3.model.S3ObjectId;
+
+/**
+ * Deletes many S3 objects with multi-object delete requests.
+ * <p>
+ * Objects are grouped by bucket into batches of up to {@link #MAX_KEYS} keys, the most a single
+ * request may delete, and batches are deleted concurrently on the executor as they fill.  Only a
+ * bounded number of batches are outstanding at once so that any number of objects can be deleted
+ * without holding all of their keys in memory.
+ */
+public class BulkDeleter {
+
+	private static Log logger = LogFactory.getLog(BulkDeleter.class);
+
+	public static final int MAX_KEYS = 1000;
+	public static final int DEFAULT_THREADS = 4;
+
+	private final ExecutorService executor;
+	private final int maxOutstanding;
+	private final boolean ownsExecutor;
+
+	public BulkDeleter(ExecutorService executor, int maxOutstanding) {
+		this(executor, maxOutstanding, false);
+	}
+
+	private BulkDeleter(ExecutorService executor, int maxOutstanding, boolean ownsExecutor) {
+		Assert.notNull(executor, "executor must not be null");
+		Assert.isTrue(maxOutstanding > 0, "maxOutstanding must be greater than 0");
+		this.executor = executor;
+		this.maxOutstanding = maxOutstanding;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	public static BulkDeleter create(int threads) {
+		return new BulkDeleter(S3TransferExecutor.create("s3-delete", threads), threads * 2, true);
+	}
+
+	/**
+	 * Deletes the object located for each item, calling back for each item whose object was
+	 * deleted.  Callbacks are made on the executor's threads.
+	 *
+	 * @param client the client to delete with
+	 * @param items the items to delete
+	 * @param locator locates the object of an item
+	 * @param deleted called for each item whose object was deleted
+	 * @throws IOException if any object could not be deleted; every other object is still deleted
+	 */
+	public <T> void delete(AmazonS3 client, Iterable<T> items, Function<T, S3ObjectId> locator, BiConsumer<T, S3ObjectId> deleted) throws IOException {
+		Semaphore outstanding = new Semaphore(maxOutstanding);
+		List<Future<?>> batches = new ArrayList<>();
+		Failures failures = new Failures();
+
+		Map<String, Batch<T>> filling = new HashMap<>();
+		try {
+			for (T item : items) {
+				S3ObjectId id = locator.apply(item);
+				Batch<T> batch = filling.get(id.getBucket());
+				if (batch == null) {
+					batch = new Batch<>(client, id.getBucket(), deleted, failures);
+					filling.put(id.getBucket(), batch);
+				}
+				batch.add(item, id);
+				if (batch.size() == MAX_KEYS) {
+					filling.remove(id.getBucket());
+					batches.add(submit(batch, outstanding));
+				}
+			}
+			for (Batch<T> batch : filling.values()) {
+				batches.add(submit(batch, outstanding));
+			}
+
+			for (Future<?> batch : batches) {
+				batch.get();
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted deleting objects");
+		} catch (ExecutionException ee) {
+			throw new IOException("Unable to delete objects", ee.getCause());
+		}
+
+		if (failures.count.get() > 0) {
+			throw new IOException(String.format("Unable to delete %s objects including %s", failures.count.get(), failures.first.get()));
+		}
+	}
+
+	private Future<?> submit(Batch<?> batch, Semaphore outstanding) throws InterruptedException {
+		outstanding.acquire();
+		try {
+			return executor.submit(() -> {
+				try {
+					batch.run();
+				} finally {
+					outstanding.release();
+				}
+			});
+		} catch (RejectedExecutionException ree) {
+			outstanding.release();
+			throw ree;
+		}
+	}
+
+	public void shutdown() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	// counts failures rather than collecting them as there may be a great many
+	private static class Failures {
+
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicReference<String> first = new AtomicReference<>();
+
+		void add(String failure) {
+			count.incrementAndGet();
+			first.compareAndSet(null, failure);
+		}
+	}
+
+	private static class Batch<T> implements Runnable {
+
+		private final AmazonS3 client;
+		private final String bucket;
+		private final BiConsumer<T, S3ObjectId> deleted;
+		private final Failures failures;
+
+		private final List<T> items = new ArrayList<>();
+		private final List<S3ObjectId> ids = new ArrayList<>();
+
+		Batch(AmazonS3 client, String bucket, BiConsumer<T, S3ObjectId> deleted, Failures failures) {
+			this.client = client;
+			this.bucket = bucket;
+			this.deleted = deleted;
+			this.failures = failures;
+		}
+
+		void add(T item, S3ObjectId id) {
+			items.add(item);
+			ids.add(id);
+		}
+
+		int size() {
+			return items.size();
+		}
+
+		@Override
+		public void run() {
+			List<KeyVersion> keys = new ArrayList<>(ids.size());
+			for (S3ObjectId id : ids) {
+				keys.add(new KeyVersion(id.getKey()));
+			}
+
+			Set<String> failed = new HashSet<>();
+			try {
+				// quiet requests only report the keys that could not be deleted
+				client.deleteObjects(new DeleteObjectsRequest(bucket).withKeys(keys).withQuiet(true));
+			} catch (MultiObjectDeleteException e) {
+				for (DeleteError error : e.getErrors()) {
+					failed.add(error.getKey());
+					failures.add(String.format("s3://%s/%s (%s)", bucket, error.getKey(), error.getCode()));
+				}
+			} catch (AmazonClientException e) {
+				logger.error(String.format("Unable to delete %s objects from %s", keys.size(), bucket), e);
+				for (S3ObjectId id : ids) {
+					failures.add(String.format("s3://%s/%s", bucket, id.getKey()));
+				}
+				return;
+			}
+
+			Iterator<S3ObjectId> idIterator = ids.iterator();
+			for (T item : items) {
+				S3ObjectId id = idIterator.next();
+				if (!failed.contains(id.getKey())) {
+					deleted.accept(item, id);
+				}
+			}
+		}
+	}
+}
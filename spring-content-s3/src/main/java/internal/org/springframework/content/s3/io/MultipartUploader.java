@@ -0,0 +1,270 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+/**
+ * Uploads content to S3, in parallel parts, as it is read.
+ * <p>
+ * Content is read a part at a time into buffers from a shared {@link PartBufferPool} and each part
+ * is uploaded on the executor while the next is read, so an upload is limited by the bandwidth
+ * available rather than by a single request.  Content that fits in one part is uploaded with a
+ * single request.  If any part fails, or the content can't be read, the remaining parts are
+ * abandoned and the multipart upload is aborted so that no partial object, or orphaned parts,
+ * are left behind.
+ */
+public class MultipartUploader {
+
+	private static Log logger = LogFactory.getLog(MultipartUploader.class);
+
+	public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+	public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+	public static final int DEFAULT_BUFFERS = 16;
+
+	private final ExecutorService executor;
+	private final PartBufferPool buffers;
+	private final boolean ownsExecutor;
+
+	public MultipartUploader(ExecutorService executor, PartBufferPool buffers) {
+		this(executor, buffers, false);
+	}
+
+	private MultipartUploader(ExecutorService executor, PartBufferPool buffers, boolean ownsExecutor) {
+		Assert.notNull(executor, "executor must not be null");
+		Assert.notNull(buffers, "buffers must not be null");
+		this.executor = executor;
+		this.buffers = buffers;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	public static MultipartUploader create(int partSize, int threads, int bufferCount, ExecutorService executor) {
+		Assert.isTrue(partSize >= MIN_PART_SIZE, "partSize must be at least 5MB");
+		PartBufferPool pool = new PartBufferPool(partSize, bufferCount);
+		if (executor != null) {
+			return new MultipartUploader(executor, pool, false);
+		}
+		return new MultipartUploader(S3TransferExecutor.create("s3-upload", threads), pool, true);
+	}
+
+	/**
+	 * Uploads content to the given object, replacing any existing object.
+	 *
+	 * @param client the client to upload with
+	 * @param bucket the bucket
+	 * @param key the object key
+	 * @param content the content; it is read to the end but not closed
+	 * @return the length and ETag of the uploaded object
+	 * @throws IOException if the content can't be read or uploaded
+	 */
+	public S3ObjectInfo upload(AmazonS3 client, String bucket, String key, InputStream content) throws IOException {
+		ReadableByteChannel channel = Channels.newChannel(content);
+
+		ByteBuffer buffer = acquire();
+		boolean eof;
+		try {
+			eof = fill(channel, buffer);
+		} catch (IOException | RuntimeException e) {
+			buffers.release(buffer);
+			throw e;
+		}
+
+		if (eof) {
+			try {
+				buffer.flip();
+				long length = buffer.remaining();
+				ObjectMetadata metadata = new ObjectMetadata();
+				metadata.setContentLength(length);
+				PutObjectResult result = client.putObject(new PutObjectRequest(bucket, key, new ByteBufferInputStream(buffer), metadata));
+				return S3ObjectInfo.of(length, result.getETag(), -1L);
+			} catch (RuntimeException e) {
+				throw new IOException(String.format("Unable to upload s3://%s/%s", bucket, key), e);
+			} finally {
+				buffers.release(buffer);
+			}
+		}
+
+		String uploadId;
+		try {
+			uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key)).getUploadId();
+		} catch (RuntimeException e) {
+			buffers.release(buffer);
+			throw new IOException(String.format("Unable to upload s3://%s/%s", bucket, key), e);
+		}
+		return uploadParts(client, bucket, key, uploadId, channel, buffer);
+	}
+
+	private S3ObjectInfo uploadParts(AmazonS3 client, String bucket, String key, String uploadId, ReadableByteChannel channel, ByteBuffer first) throws IOException {
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Future<PartETag>> parts = new ArrayList<>();
+		long length = 0;
+
+		ByteBuffer buffer = first;
+		boolean eof = false;
+		try {
+			for (int partNumber = 1; ; partNumber++) {
+				buffer.flip();
+				length += buffer.remaining();
+
+				ByteBuffer part = buffer;
+				buffer = null;
+				try {
+					parts.add(executor.submit(new PartUpload(client, bucket, key, uploadId, partNumber, part, failure)));
+				} catch (RejectedExecutionException ree) {
+					buffers.release(part);
+					throw ree;
+				}
+
+				if (eof || failure.get() != null) {
+					break;
+				}
+
+				buffer = acquire();
+				eof = fill(channel, buffer);
+				if (buffer.position() == 0) {
+					buffers.release(buffer);
+					buffer = null;
+					break;
+				}
+			}
+
+			List<PartETag> etags = new ArrayList<>(parts.size());
+			for (Future<PartETag> part : parts) {
+				etags.add(part.get());
+			}
+			CompleteMultipartUploadResult result = client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+			return S3ObjectInfo.of(length, result.getETag(), -1L);
+		} catch (Throwable t) {
+			failure.compareAndSet(null, t);
+			buffers.release(buffer);
+			abort(client, bucket, key, uploadId, parts);
+
+			Throwable cause = (t instanceof ExecutionException ? t.getCause() : t);
+			if (cause instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(String.format("Upload of s3://%s/%s interrupted", bucket, key));
+			}
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(String.format("Unable to upload s3://%s/%s", bucket, key), cause);
+		}
+	}
+
+	private void abort(AmazonS3 client, String bucket, String key, String uploadId, List<Future<PartETag>> parts) {
+		// parts still uploading when the upload is aborted may be stored anyway so wait for them first
+		for (Future<PartETag> part : parts) {
+			try {
+				part.get();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException ee) {
+				// already reported
+			}
+		}
+		try {
+			client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+		} catch (RuntimeException e) {
+			logger.error(String.format("Unable to abort upload %s of s3://%s/%s", uploadId, bucket, key), e);
+		}
+	}
+
+	private ByteBuffer acquire() throws IOException {
+		try {
+			return buffers.acquire();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for an upload buffer");
+		}
+	}
+
+	// fills the buffer, returning true if the end of the content was reached
+	private static boolean fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void shutdown() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	private class PartUpload implements Callable<PartETag> {
+
+		private final AmazonS3 client;
+		private final String bucket;
+		private final String key;
+		private final String uploadId;
+		private final int partNumber;
+		private final ByteBuffer part;
+		private final AtomicReference<Throwable> failure;
+
+		PartUpload(AmazonS3 client, String bucket, String key, String uploadId, int partNumber, ByteBuffer part, AtomicReference<Throwable> failure) {
+			this.client = client;
+			this.bucket = bucket;
+			this.key = key;
+			this.uploadId = uploadId;
+			this.partNumber = partNumber;
+			this.part = part;
+			this.failure = failure;
+		}
+
+		@Override
+		public PartETag call() throws Exception {
+			try {
+				if (failure.get() != null) {
+					return null;
+				}
+
+				UploadPartRequest request = new UploadPartRequest()
+						.withBucketName(bucket)
+						.withKey(key)
+						.withUploadId(uploadId)
+						.withPartNumber(partNumber)
+						.withPartSize(part.remaining())
+						.withInputStream(new ByteBufferInputStream(part));
+				return client.uploadPart(request).getPartETag();
+			} catch (Exception e) {
+				failure.compareAndSet(null, e);
+				throw e;
+			} finally {
+				buffers.release(part);
+			}
+		}
+	}
+}
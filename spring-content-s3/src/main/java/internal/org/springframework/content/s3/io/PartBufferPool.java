@@ -0,0 +1,73 @@
+package internal.org.springframework.content.s3.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.util.Assert;
+
+/**
+ * A bounded pool of direct buffers that hold parts of objects while they are transferred.
+ * <p>
+ * Buffers are allocated on first use, up to the pool's capacity, and are reused thereafter so
+ * transfers neither churn the heap nor allocate more than {@code bufferSize * capacity} bytes.
+ * When every buffer is in use {@link #acquire()} blocks until one is released and
+ * {@link #tryAcquire()} returns null.
+ */
+public class PartBufferPool {
+
+	private final int bufferSize;
+	private final int capacity;
+	private final AtomicInteger allocated = new AtomicInteger();
+	private final BlockingQueue<ByteBuffer> available;
+
+	public PartBufferPool(int bufferSize, int capacity) {
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		this.bufferSize = bufferSize;
+		this.capacity = capacity;
+		this.available = new LinkedBlockingQueue<>(capacity);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public ByteBuffer acquire() throws InterruptedException {
+		ByteBuffer buffer = tryAcquire();
+		return (buffer != null ? buffer : available.take());
+	}
+
+	/**
+	 * Returns a buffer without waiting
+	 *
+	 * @return a buffer, or null if every buffer is in use
+	 */
+	public ByteBuffer tryAcquire() {
+		ByteBuffer buffer = available.poll();
+		if (buffer != null) {
+			return buffer;
+		}
+
+		int count;
+		while ((count = allocated.get()) < capacity) {
+			if (allocated.compareAndSet(count, count + 1)) {
+				return ByteBuffer.allocateDirect(bufferSize);
+			}
+		}
+		return available.poll();
+	}
+
+	public void release(ByteBuffer buffer) {
+		if (buffer == null) {
+			return;
+		}
+		buffer.clear();
+		available.offer(buffer);
+	}
+}
@@ -0,0 +1,405 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+
+/**
+ * Downloads large objects from S3 as a number of concurrent ranged requests.
+ * <p>
+ * The object is divided into fixed size segments that are fetched ahead of the reader on the
+ * executor and returned in order, so a download is limited by the bandwidth available rather
+ * than by a single connection.  Each segment is fetched into a buffer from a {@link PartBufferPool}
+ * shared by all downloads, so at most {@code segmentSize * buffers} bytes are held by downloads at
+ * any one time, and each download holds at most {@code readAhead + 1} of them; the segment being
+ * read and those fetched ahead of it.  A download fetches ahead only while buffers are free and,
+ * once it holds none, waits for one to be released.
+ * <p>
+ * Every segment is requested with the object's ETag so that an object replaced during a download
+ * is reported as an error rather than returned mixed.  If the ETag is already stale when the
+ * download starts, as it may be when taken from a cache, the download is restarted once with
+ * refreshed metadata.
+ */
+public class RangedDownloader {
+
+	public static final long DEFAULT_THRESHOLD = 64L * 1024 * 1024;
+	public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+	public static final int DEFAULT_READ_AHEAD = 4;
+	public static final int DEFAULT_BUFFERS = 16;
+
+	private final ExecutorService executor;
+	private final PartBufferPool buffers;
+	private final long threshold;
+	private final int segmentSize;
+	private final int readAhead;
+	private final boolean ownsExecutor;
+
+	public RangedDownloader(ExecutorService executor, PartBufferPool buffers, long threshold, int readAhead) {
+		this(executor, buffers, threshold, readAhead, false);
+	}
+
+	private RangedDownloader(ExecutorService executor, PartBufferPool buffers, long threshold, int readAhead, boolean ownsExecutor) {
+		Assert.notNull(executor, "executor must not be null");
+		Assert.notNull(buffers, "buffers must not be null");
+		Assert.isTrue(readAhead > 0, "readAhead must be greater than 0");
+		this.executor = executor;
+		this.buffers = buffers;
+		this.threshold = threshold;
+		this.segmentSize = buffers.getBufferSize();
+		this.readAhead = readAhead;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	public static RangedDownloader create(long threshold, int segmentSize, int readAhead, int threads, int bufferCount, ExecutorService executor) {
+		PartBufferPool pool = new PartBufferPool(segmentSize, bufferCount);
+		if (executor != null) {
+			return new RangedDownloader(executor, pool, threshold, readAhead, false);
+		}
+		return new RangedDownloader(S3TransferExecutor.create("s3-download", threads), pool, threshold, readAhead, true);
+	}
+
+	/**
+	 * @param length the length of an object
+	 * @return true if an object of the given length should be downloaded in segments
+	 */
+	public boolean isRanged(long length) {
+		return length >= threshold && length > segmentSize;
+	}
+
+	/**
+	 * Returns a stream over the given object that fetches the object's segments concurrently.
+	 *
+	 * @param client the client to download with
+	 * @param bucket the bucket
+	 * @param key the object key
+	 * @param length the length of the object
+	 * @param etag the ETag of the object
+	 * @return the object's content
+	 */
+	public InputStream download(AmazonS3 client, String bucket, String key, long length, String etag) {
+		return download(client, bucket, key, length, etag, null);
+	}
+
+	/**
+	 * Returns a stream over the given object that fetches the object's segments concurrently.
+	 *
+	 * @param client the client to download with
+	 * @param bucket the bucket
+	 * @param key the object key
+	 * @param length the length of the object
+	 * @param etag the ETag of the object
+	 * @param refresh looks up the object's current metadata should the ETag not match before any
+	 * content has been read, or null to fail instead
+	 * @return the object's content
+	 */
+	public InputStream download(AmazonS3 client, String bucket, String key, long length, String etag, Supplier<S3ObjectInfo> refresh) {
+		return new SegmentedInputStream(client, bucket, key, length, etag, refresh);
+	}
+
+	public void shutdown() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	private class SegmentedInputStream extends InputStream {
+
+		private final AmazonS3 client;
+		private final String bucket;
+		private final String key;
+		private final Supplier<S3ObjectInfo> refresh;
+
+		private long length;
+		private String etag;
+		private boolean refreshed;
+
+		private final Deque<Segment> segments = new ArrayDeque<>();
+		private long nextOffset = 0;
+
+		private Segment current;
+		private ByteBuffer segment;
+		private boolean received;
+		private boolean closed;
+
+		SegmentedInputStream(AmazonS3 client, String bucket, String key, long length, String etag, Supplier<S3ObjectInfo> refresh) {
+			this.client = client;
+			this.bucket = bucket;
+			this.key = key;
+			this.length = length;
+			this.etag = etag;
+			this.refresh = refresh;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!ensureSegment()) {
+				return -1;
+			}
+			return segment.get() & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!ensureSegment()) {
+				return -1;
+			}
+			int n = Math.min(len, segment.remaining());
+			segment.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			if (n <= 0 || !ensureSegment()) {
+				return 0;
+			}
+			int skipped = (int) Math.min(n, segment.remaining());
+			segment.position(segment.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return (segment != null ? segment.remaining() : 0);
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			releaseCurrent();
+			releasePending();
+		}
+
+		private boolean ensureSegment() throws IOException {
+			if (closed) {
+				throw new IOException("Stream closed");
+			}
+			if (segment != null && segment.hasRemaining()) {
+				return true;
+			}
+
+			// give the spent segment's buffer back before waiting for another
+			releaseCurrent();
+			fetchAhead();
+			Segment next = segments.poll();
+			if (next == null) {
+				return false;
+			}
+
+			try {
+				segment = next.get();
+				current = next;
+				received = true;
+			} catch (InterruptedException ie) {
+				next.release();
+				Thread.currentThread().interrupt();
+				close();
+				throw new InterruptedIOException(String.format("Download of s3://%s/%s interrupted", bucket, key));
+			} catch (ExecutionException | CancellationException e) {
+				next.release();
+				Throwable cause = (e instanceof ExecutionException ? e.getCause() : e);
+				// nothing has been read yet so the ETag was stale before the download started
+				if (cause instanceof ObjectChangedException && !received && refresh != null && !refreshed) {
+					restart();
+					return ensureSegment();
+				}
+				close();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				throw new IOException(String.format("Unable to download s3://%s/%s", bucket, key), cause);
+			}
+			fetchAhead();
+			return true;
+		}
+
+		private void restart() throws IOException {
+			refreshed = true;
+			releasePending();
+
+			S3ObjectInfo info;
+			try {
+				info = refresh.get();
+			} catch (AmazonClientException e) {
+				close();
+				throw new IOException(String.format("Unable to download s3://%s/%s", bucket, key), e);
+			}
+			if (!info.exists()) {
+				close();
+				throw new FileNotFoundException(String.format("s3://%s/%s", bucket, key));
+			}
+			length = info.getContentLength();
+			etag = info.getETag();
+			nextOffset = 0;
+		}
+
+		private void fetchAhead() throws IOException {
+			while (segments.size() < readAhead && nextOffset < length) {
+				// only wait for a buffer when holding none, so downloads never wait on each other
+				ByteBuffer buffer = (current == null && segments.isEmpty() ? acquire() : buffers.tryAcquire());
+				if (buffer == null) {
+					return;
+				}
+
+				long start = nextOffset;
+				long end = Math.min(start + segmentSize, length) - 1;
+				Segment next = new Segment(start, end, etag, buffer);
+				try {
+					next.submit();
+				} catch (RejectedExecutionException ree) {
+					buffers.release(buffer);
+					close();
+					throw new IOException(String.format("Unable to download s3://%s/%s", bucket, key), ree);
+				}
+				segments.add(next);
+				nextOffset = end + 1;
+			}
+		}
+
+		private ByteBuffer acquire() throws IOException {
+			try {
+				return buffers.acquire();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new InterruptedIOException(String.format("Download of s3://%s/%s interrupted", bucket, key));
+			}
+		}
+
+		private void releaseCurrent() {
+			segment = null;
+			if (current != null) {
+				current.release();
+				current = null;
+			}
+		}
+
+		private void releasePending() {
+			for (Segment pending : segments) {
+				pending.release();
+			}
+			segments.clear();
+		}
+
+		/**
+		 * A segment being fetched into a pooled buffer.  The buffer goes back to the pool once the
+		 * segment is released and no fetch is writing to it.
+		 */
+		private class Segment implements Callable<ByteBuffer> {
+
+			private final long start;
+			private final long end;
+			private final String etag;
+			private final ByteBuffer buffer;
+
+			private Future<ByteBuffer> result;
+			private boolean fetching;
+			private boolean released;
+
+			Segment(long start, long end, String etag, ByteBuffer buffer) {
+				this.start = start;
+				this.end = end;
+				this.etag = etag;
+				this.buffer = buffer;
+			}
+
+			void submit() {
+				result = executor.submit(this);
+			}
+
+			ByteBuffer get() throws InterruptedException, ExecutionException {
+				return result.get();
+			}
+
+			@Override
+			public ByteBuffer call() throws IOException {
+				synchronized (this) {
+					if (released) {
+						throw new CancellationException();
+					}
+					fetching = true;
+				}
+				try {
+					fetch(start, end, etag, buffer);
+					return buffer;
+				} finally {
+					synchronized (this) {
+						fetching = false;
+						if (released) {
+							buffers.release(buffer);
+						}
+					}
+				}
+			}
+
+			synchronized void release() {
+				if (released) {
+					return;
+				}
+				released = true;
+				result.cancel(true);
+				if (!fetching) {
+					buffers.release(buffer);
+				}
+			}
+		}
+
+		private void fetch(long start, long end, String etag, ByteBuffer buffer) throws IOException {
+			GetObjectRequest request = new GetObjectRequest(bucket, key).withRange(start, end);
+			if (etag != null) {
+				request.withMatchingETagConstraint(etag);
+			}
+
+			S3Object object = client.getObject(request);
+			if (object == null) {
+				throw new ObjectChangedException(String.format("s3://%s/%s changed during download", bucket, key));
+			}
+			try (InputStream in = object.getObjectContent()) {
+				ReadableByteChannel channel = Channels.newChannel(in);
+				buffer.limit((int) (end - start + 1));
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) {
+						throw new EOFException(String.format("s3://%s/%s ended at %s, expected %s", bucket, key, start + buffer.position(), end + 1));
+					}
+				}
+				buffer.flip();
+			}
+		}
+	}
+
+	private static class ObjectChangedException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		ObjectChangedException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+
+/**
+ * Classifies errors raised by requests to S3.
+ */
+public final class S3Errors {
+
+	private S3Errors() {}
+
+	/**
+	 * Returns true if a request that failed with the given error may succeed if retried; server
+	 * errors, throttling, failures to connect and connections lost before the first byte of content
+	 * arrived.  Missing objects, denied access and other client errors are not transient.
+	 *
+	 * @param t the error
+	 * @return true if the error is transient
+	 */
+	public static boolean isTransient(Throwable t) {
+		for (; t != null; t = t.getCause()) {
+			if (t instanceof FileNotFoundException) {
+				return false;
+			}
+			if (t instanceof AmazonServiceException) {
+				int status = ((AmazonServiceException) t).getStatusCode();
+				return status >= 500 || status == 429;
+			}
+			if (t instanceof AmazonClientException) {
+				return ((AmazonClientException) t).isRetryable();
+			}
+			if (t instanceof IOException && t.getCause() == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
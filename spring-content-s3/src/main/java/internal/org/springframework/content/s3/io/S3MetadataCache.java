@@ -0,0 +1,112 @@
+package internal.org.springframework.content.s3.io;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * A bounded cache of what is known about S3 objects, so that checking whether content exists, or
+ * how long it is, doesn't cost a request each time.
+ * <p>
+ * Entries are populated from the responses to uploads, downloads and metadata requests and expire
+ * after a fixed time so that changes made by other clients are eventually seen.  Writes and
+ * deletes made through the store replace or invalidate the entry immediately.  Once full the least
+ * recently used entries are evicted.  A cache with a time to live of 0 keeps nothing.
+ * <p>
+ * That an object doesn't exist is kept for a separate time, by default not at all, as content is
+ * often looked up by clients waiting for another to create it.  Recording a missing object
+ * without keeping it still drops whatever was known about the object before.
+ */
+public class S3MetadataCache {
+
+	public static final int DEFAULT_TTL = 10;
+	public static final int DEFAULT_NOT_FOUND_TTL = 0;
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	private final long ttlNanos;
+	private final long notFoundTtlNanos;
+	private final Map<String, Entry> entries;
+
+	/**
+	 * @param ttl the number of seconds an entry is kept for, or 0 to keep nothing
+	 * @param maxEntries the maximum number of entries kept
+	 */
+	public S3MetadataCache(int ttl, int maxEntries) {
+		this(ttl, DEFAULT_NOT_FOUND_TTL, maxEntries);
+	}
+
+	/**
+	 * @param ttl the number of seconds an entry is kept for, or 0 to keep nothing
+	 * @param notFoundTtl the number of seconds that an object doesn't exist is kept for, or 0 not to
+	 *                    keep it; never longer than ttl
+	 * @param maxEntries the maximum number of entries kept
+	 */
+	public S3MetadataCache(int ttl, int notFoundTtl, int maxEntries) {
+		Assert.isTrue(ttl >= 0, "ttl must not be negative");
+		Assert.isTrue(notFoundTtl >= 0, "notFoundTtl must not be negative");
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+		this.ttlNanos = TimeUnit.SECONDS.toNanos(ttl);
+		this.notFoundTtlNanos = TimeUnit.SECONDS.toNanos(Math.min(notFoundTtl, ttl));
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * @return what is known about the object, or null if nothing is
+	 */
+	public S3ObjectInfo get(String bucket, String key) {
+		String id = id(bucket, key);
+		synchronized (entries) {
+			Entry entry = entries.get(id);
+			if (entry == null) {
+				return null;
+			}
+			if (System.nanoTime() - entry.created >= entry.ttlNanos) {
+				entries.remove(id);
+				return null;
+			}
+			return entry.info;
+		}
+	}
+
+	public void put(String bucket, String key, S3ObjectInfo info) {
+		long ttl = (info.exists() ? ttlNanos : notFoundTtlNanos);
+		if (ttl == 0) {
+			invalidate(bucket, key);
+			return;
+		}
+		Entry entry = new Entry(info, System.nanoTime(), ttl);
+		synchronized (entries) {
+			entries.put(id(bucket, key), entry);
+		}
+	}
+
+	public void invalidate(String bucket, String key) {
+		synchronized (entries) {
+			entries.remove(id(bucket, key));
+		}
+	}
+
+	private static String id(String bucket, String key) {
+		return bucket + '/' + key;
+	}
+
+	private static class Entry {
+
+		private final S3ObjectInfo info;
+		private final long created;
+		private final long ttlNanos;
+
+		Entry(S3ObjectInfo info, long created, long ttlNanos) {
+			this.info = info;
+			this.created = created;
+			this.ttlNanos = ttlNanos;
+		}
+	}
+}
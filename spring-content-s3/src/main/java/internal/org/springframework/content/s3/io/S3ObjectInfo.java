@@ -0,0 +1,60 @@
+package internal.org.springframework.content.s3.io;
+
+import java.util.Date;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+
+/**
+ * What is known about an S3 object: whether it exists and, if it does, its length, ETag and, when
+ * known, when it was last modified.
+ */
+public final class S3ObjectInfo {
+
+	private static final S3ObjectInfo NOT_FOUND = new S3ObjectInfo(false, -1L, null, -1L);
+
+	private final boolean exists;
+	private final long contentLength;
+	private final String etag;
+	private final long lastModified;
+
+	private S3ObjectInfo(boolean exists, long contentLength, String etag, long lastModified) {
+		this.exists = exists;
+		this.contentLength = contentLength;
+		this.etag = etag;
+		this.lastModified = lastModified;
+	}
+
+	public static S3ObjectInfo notFound() {
+		return NOT_FOUND;
+	}
+
+	/**
+	 * @param contentLength the object's length
+	 * @param etag the object's ETag
+	 * @param lastModified when the object was last modified, in milliseconds, or -1 if not known
+	 */
+	public static S3ObjectInfo of(long contentLength, String etag, long lastModified) {
+		return new S3ObjectInfo(true, contentLength, etag, lastModified);
+	}
+
+	public static S3ObjectInfo of(ObjectMetadata metadata) {
+		Date lastModified = metadata.getLastModified();
+		return of(metadata.getContentLength(), metadata.getETag(), lastModified != null ? lastModified.getTime() : -1L);
+	}
+
+	public boolean exists() {
+		return exists;
+	}
+
+	public long getContentLength() {
+		return contentLength;
+	}
+
+	public String getETag() {
+		return etag;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+}
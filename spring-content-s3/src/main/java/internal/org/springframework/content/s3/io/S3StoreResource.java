@@ -0,0 +1,260 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+
+import org.springframework.content.commons.io.HedgedReader;
+import org.springframework.content.commons.io.LatencyHistogram;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+
+/**
+ * A resource for an S3 object that reads byte ranges of the object with ranged requests so that
+ * the latency of reading a range is independent of its offset.
+ * <p>
+ * Given a {@link S3MetadataCache} the resource answers whether the object exists, its length and
+ * when it was last modified from the cache, and keeps the cache up to date as the object is read
+ * and written.  Given a {@link HedgedReader} the content is opened by the reader so that slow
+ * requests are hedged and failed requests retried.  Everything else is delegated to the resource
+ * returned by the store's resource loader.
+ */
+public class S3StoreResource implements WritableResource, RangeableResource {
+
+	private final AmazonS3 client;
+	private final String bucket;
+	private final String key;
+	private final Resource delegate;
+	private final S3MetadataCache cache;
+	private final HedgedReader reader;
+	private final LatencyHistogram latencies;
+
+	public S3StoreResource(AmazonS3 client, String bucket, String key, Resource delegate) {
+		this(client, bucket, key, delegate, null);
+	}
+
+	public S3StoreResource(AmazonS3 client, String bucket, String key, Resource delegate, S3MetadataCache cache) {
+		this(client, bucket, key, delegate, cache, null, null);
+	}
+
+	public S3StoreResource(AmazonS3 client, String bucket, String key, Resource delegate, S3MetadataCache cache, HedgedReader reader, LatencyHistogram latencies) {
+		Assert.notNull(client, "client must not be null");
+		Assert.notNull(delegate, "delegate must not be null");
+		this.client = client;
+		this.bucket = bucket;
+		this.key = key;
+		this.delegate = delegate;
+		this.cache = cache;
+		this.reader = reader;
+		this.latencies = (latencies != null ? latencies : new LatencyHistogram());
+	}
+
+	public String getBucket() {
+		return bucket;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	@Override
+	public InputStream getInputStream(long start, long end) throws IOException {
+		try {
+			S3Object object = client.getObject(new GetObjectRequest(bucket, key).withRange(start, end));
+			if (object == null) {
+				throw new FileNotFoundException(getDescription());
+			}
+			return object.getObjectContent();
+		} catch (AmazonClientException e) {
+			throw new IOException(String.format("Unable to read bytes %s-%s of %s", start, end, getDescription()), e);
+		}
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		if (reader == null) {
+			return openInputStream();
+		}
+		return reader.read(latencies, this::openInputStream);
+	}
+
+	private InputStream openInputStream() throws IOException {
+		if (cache == null) {
+			return delegate.getInputStream();
+		}
+
+		try {
+			S3Object object = client.getObject(bucket, key);
+			cache.put(bucket, key, S3ObjectInfo.of(object.getObjectMetadata()));
+			return object.getObjectContent();
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == 404) {
+				cache.put(bucket, key, S3ObjectInfo.notFound());
+				throw new FileNotFoundException(getDescription());
+			}
+			throw new IOException(String.format("Unable to read %s", getDescription()), e);
+		} catch (AmazonClientException e) {
+			throw new IOException(String.format("Unable to read %s", getDescription()), e);
+		}
+	}
+
+	@Override
+	public boolean exists() {
+		if (cache == null) {
+			return delegate.exists();
+		}
+		try {
+			return getInfo(false).exists();
+		} catch (AmazonClientException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean isReadable() {
+		return delegate.isReadable();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return delegate.isOpen();
+	}
+
+	@Override
+	public URL getURL() throws IOException {
+		return delegate.getURL();
+	}
+
+	@Override
+	public URI getURI() throws IOException {
+		return delegate.getURI();
+	}
+
+	@Override
+	public File getFile() throws IOException {
+		return delegate.getFile();
+	}
+
+	@Override
+	public long contentLength() throws IOException {
+		if (cache == null) {
+			return delegate.contentLength();
+		}
+		return getExistingInfo(false).getContentLength();
+	}
+
+	@Override
+	public long lastModified() throws IOException {
+		if (cache == null) {
+			return delegate.lastModified();
+		}
+
+		S3ObjectInfo info = getExistingInfo(false);
+		if (info.getLastModified() < 0) {
+			// uploads don't report when the object was modified
+			info = getExistingInfo(true);
+		}
+		return info.getLastModified();
+	}
+
+	@Override
+	public Resource createRelative(String relativePath) throws IOException {
+		return delegate.createRelative(relativePath);
+	}
+
+	@Override
+	public String getFilename() {
+		return delegate.getFilename();
+	}
+
+	@Override
+	public String getDescription() {
+		return delegate.getDescription();
+	}
+
+	@Override
+	public boolean isWritable() {
+		return delegate instanceof WritableResource && ((WritableResource) delegate).isWritable();
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		if (!(delegate instanceof WritableResource)) {
+			throw new FileNotFoundException(String.format("%s is not writable", getDescription()));
+		}
+		if (cache == null) {
+			return ((WritableResource) delegate).getOutputStream();
+		}
+
+		cache.invalidate(bucket, key);
+		return new FilterOutputStream(((WritableResource) delegate).getOutputStream()) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					cache.invalidate(bucket, key);
+				}
+			}
+		};
+	}
+
+	private S3ObjectInfo getExistingInfo(boolean refresh) throws IOException {
+		S3ObjectInfo info = getInfo(refresh);
+		if (!info.exists()) {
+			throw new FileNotFoundException(getDescription());
+		}
+		return info;
+	}
+
+	private S3ObjectInfo getInfo(boolean refresh) {
+		S3ObjectInfo info = (refresh ? null : cache.get(bucket, key));
+		if (info != null) {
+			return info;
+		}
+
+		try {
+			info = S3ObjectInfo.of(client.getObjectMetadata(bucket, key));
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() != 404) {
+				throw e;
+			}
+			info = S3ObjectInfo.notFound();
+		}
+		cache.put(bucket, key, info);
+		return info;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (this == other || (other instanceof S3StoreResource && delegate.equals(((S3StoreResource) other).delegate)));
+	}
+
+	@Override
+	public int hashCode() {
+		return delegate.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return delegate.toString();
+	}
+}
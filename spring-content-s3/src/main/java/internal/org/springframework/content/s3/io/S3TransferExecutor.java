@@ -0,0 +1,36 @@
+package internal.org.springframework.content.s3.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Creates the executors that transfer parts of objects to and from S3.
+ * <p>
+ * The queue is unbounded because the number of parts outstanding is already bounded by the
+ * buffers available to hold them.
+ */
+public final class S3TransferExecutor {
+
+	public static final int DEFAULT_THREADS = 8;
+
+	private S3TransferExecutor() {}
+
+	public static ExecutorService create(String name, int threads) {
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+				60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
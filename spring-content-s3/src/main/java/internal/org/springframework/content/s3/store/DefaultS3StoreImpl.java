@@ -13,6 +13,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.HedgedReader;
+import org.springframework.content.commons.io.LatencyHistogram;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
@@ -20,6 +22,15 @@ import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.s3.S3ObjectIdResolver;
+import org.springframework.content.s3.layout.FlatKeyLayout;
+import org.springframework.content.s3.layout.KeyLayout;
+
+import internal.org.springframework.content.s3.io.BulkDeleter;
+import internal.org.springframework.content.s3.io.MultipartUploader;
+import internal.org.springframework.content.s3.io.RangedDownloader;
+import internal.org.springframework.content.s3.io.S3MetadataCache;
+import internal.org.springframework.content.s3.io.S3ObjectInfo;
+import internal.org.springframework.content.s3.io.S3StoreResource;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -27,7 +38,10 @@ import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 
 public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SID>, AssociativeStore<S, SID>, ContentStore<S,SID> {
 
@@ -38,8 +52,19 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 	private AmazonS3 client;
 	private S3ObjectIdResolver idResolver = null;
 	private String defaultBucket;
+	private MultipartUploader uploader;
+	private RangedDownloader downloader;
+	private S3MetadataCache metadataCache;
+	private BulkDeleter bulkDeleter;
+	private KeyLayout keyLayout = new FlatKeyLayout();
+	private HedgedReader reader;
+	private final LatencyHistogram readLatencies = new LatencyHistogram();
 
 	public DefaultS3StoreImpl(ResourceLoader loader, ConversionService converter, AmazonS3 client, S3ObjectIdResolver idResolver, String defaultBucket) {
+		this(loader, converter, client, idResolver, defaultBucket, null, null);
+	}
+
+	public DefaultS3StoreImpl(ResourceLoader loader, ConversionService converter, AmazonS3 client, S3ObjectIdResolver idResolver, String defaultBucket, MultipartUploader uploader, RangedDownloader downloader) {
 		Assert.notNull(loader, "loader must be specified");
 		Assert.notNull(converter, "converter must be specified");
 		Assert.notNull(client, "client must be specified");
@@ -49,6 +74,40 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 		this.client = client;
 		this.idResolver = idResolver;
 		this.defaultBucket = defaultBucket;
+		this.uploader = uploader;
+		this.downloader = downloader;
+	}
+
+	/**
+	 * Sets the cache of object metadata consulted, and kept up to date, by this store and its
+	 * resources.  Without a cache every lookup is a request to S3.
+	 */
+	public void setMetadataCache(S3MetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+
+	/**
+	 * Sets the deleter used to unset, or delete, content in bulk.  Without a deleter content is
+	 * deleted one object at a time.
+	 */
+	public void setBulkDeleter(BulkDeleter bulkDeleter) {
+		this.bulkDeleter = bulkDeleter;
+	}
+
+	/**
+	 * Sets how content is laid out within buckets.
+	 */
+	public void setKeyLayout(KeyLayout keyLayout) {
+		Assert.notNull(keyLayout, "keyLayout must be specified");
+		this.keyLayout = keyLayout;
+	}
+
+	/**
+	 * Sets the reader used to open content.  The reader hedges requests that are slow compared to
+	 * this store's recent requests and retries requests that fail with transient errors.
+	 */
+	public void setHedgedReader(HedgedReader reader) {
+		this.reader = reader;
 	}
 
 	public S3ObjectIdResolver getS3ObjectIdResolver() {
@@ -60,6 +119,10 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 		if (id == null)
 			return null;
 
+		return this.getResource(getS3ObjectIdForId(id));
+	}
+
+	private S3ObjectId getS3ObjectIdForId(SID id) {
 		this.getS3ObjectIdResolver().validate(id);
 		String bucket = this.getS3ObjectIdResolver().getBucket(id, this.defaultBucket);
 		String objectId = this.getS3ObjectIdResolver().getKey(id);
@@ -68,8 +131,30 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 			throw new StoreAccessException("Bucket not set");
 		}
 
-		S3ObjectId s3ObjectId = new S3ObjectId(bucket, objectId);
-		return this.getResource(s3ObjectId);
+		return new S3ObjectId(bucket, objectId);
+	}
+
+	@Override
+	public void deleteAll(Iterable<SID> ids) {
+		if (bulkDeleter == null) {
+			for (SID id : ids) {
+				deleteIfExists(id);
+			}
+			return;
+		}
+
+		try {
+			bulkDeleter.delete(client, ids, id -> {
+				S3ObjectId s3ObjectId = getS3ObjectIdForId(id);
+				return new S3ObjectId(s3ObjectId.getBucket(), getKey(s3ObjectId));
+			}, (id, s3ObjectId) -> {
+				if (metadataCache != null) {
+					metadataCache.put(s3ObjectId.getBucket(), s3ObjectId.getKey(), S3ObjectInfo.notFound());
+				}
+			});
+		} catch (IOException e) {
+			throw new StoreAccessException("Unable to delete content", e);
+		}
 	}
 
 	@Override
@@ -77,6 +162,10 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 		if (entity == null)
 			return null;
 
+		return this.getResource(getS3ObjectId(entity));
+	}
+
+	private S3ObjectId getS3ObjectId(S entity) {
 		String bucket = this.getS3ObjectIdResolver().getBucket(entity, this.defaultBucket);
 		String objectId = this.getS3ObjectIdResolver().getKey(entity);
 
@@ -84,18 +173,25 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 			throw new StoreAccessException("Bucket not set");
 		}
 
-		S3ObjectId s3ObjectId = new S3ObjectId(bucket.toString(), objectId.toString());
-		return this.getResource(s3ObjectId);
+		return new S3ObjectId(bucket.toString(), objectId.toString());
 	}
 
 	private Resource getResource(S3ObjectId id) {
-		String bucket = id.getBucket();
-		Object objectId = id.getKey();
+		String key = getKey(id);
+		Resource resource = loader.getResource(absolutify(id.getBucket(), key));
+		if (resource == null) {
+			return null;
+		}
+		return new S3StoreResource(client, id.getBucket(), key, resource, metadataCache, reader, readLatencies);
+	}
 
-		String location = converter.convert(objectId, String.class);
-		location = absolutify(bucket, location);
-		Resource resource = loader.getResource(location);
-		return resource;
+	private String getKey(S3ObjectId id) {
+		String location = converter.convert(id.getKey(), String.class);
+		Assert.state(location.startsWith("s3://") == false);
+		if (location.startsWith("/")) {
+			location = location.substring(1);
+		}
+		return keyLayout.toKey(location);
 	}
 
 	@Override
@@ -121,13 +217,32 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 
 	@Override
 	public void setContent(S property, InputStream content) {
+		if (uploader != null) {
+			S3ObjectId id = getS3ObjectId(property);
+			String key = getKey(id);
+			try {
+				S3ObjectInfo uploaded = uploader.upload(client, id.getBucket(), key, content);
+				if (metadataCache != null) {
+					metadataCache.put(id.getBucket(), key, uploaded);
+				}
+				BeanUtils.setFieldWithAnnotation(property, ContentLength.class, uploaded.getContentLength());
+			} catch (IOException e) {
+				if (metadataCache != null) {
+					metadataCache.invalidate(id.getBucket(), key);
+				}
+				throw new StoreAccessException(String.format("Unable to set content for s3://%s/%s", id.getBucket(), key), e);
+			}
+			return;
+		}
+
 		Resource resource = this.getResource(property);
 
 		OutputStream os = null;
+		long contentLen = -1L;
 		try {
 			if (resource instanceof WritableResource) {
 				os = ((WritableResource)resource).getOutputStream();
-				IOUtils.copy(content, os);
+				contentLen = IOUtils.copyLarge(content, os);
 			}
 		} catch (IOException e) {
 			logger.error(String.format("Unexpected error setting content for resource %s", resource.toString()), e);
@@ -140,11 +255,10 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 	            // ignore
 	        }
 		}
-			
-		try {
-			BeanUtils.setFieldWithAnnotation(property, ContentLength.class, resource.contentLength());
-		} catch (IOException e) {
-			logger.error(String.format("Unexpected error setting content length for resource %s", resource.toString()), e);
+
+		// the length is known from the bytes written so there is no need to ask S3
+		if (contentLen >= 0) {
+			BeanUtils.setFieldWithAnnotation(property, ContentLength.class, contentLen);
 		}
 	}
 
@@ -153,6 +267,10 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 		if (property == null)
 			return null;
 
+		if (downloader != null) {
+			return getContentInternal(getS3ObjectId(property));
+		}
+
 		Resource resource = this.getResource(property);
 
 		try {
@@ -166,6 +284,99 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 		return null;
 	}
 
+	private InputStream getContentInternal(S3ObjectId id) {
+		String bucket = id.getBucket();
+		String key = getKey(id);
+		try {
+			S3ObjectInfo info = getObjectInfo(bucket, key);
+			if (!info.exists()) {
+				return null;
+			}
+
+			if (downloader.isRanged(info.getContentLength())) {
+				return downloader.download(client, bucket, key, info.getContentLength(), info.getETag(), () -> getObjectInfo(bucket, key, true));
+			}
+
+			if (reader != null) {
+				return reader.read(readLatencies, () -> getObjectContent(bucket, key, info.getETag()));
+			}
+			return getObjectContent(bucket, key, info.getETag());
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == 404) {
+				if (metadataCache != null) {
+					metadataCache.put(bucket, key, S3ObjectInfo.notFound());
+				}
+				return null;
+			}
+			throw new StoreAccessException(String.format("Unable to get content for s3://%s/%s", bucket, key), e);
+		} catch (IOException e) {
+			throw new StoreAccessException(String.format("Unable to get content for s3://%s/%s", bucket, key), e);
+		}
+	}
+
+	private InputStream getObjectContent(String bucket, String key, String etag) {
+		GetObjectRequest request = new GetObjectRequest(bucket, key);
+		if (etag != null) {
+			request.withMatchingETagConstraint(etag);
+		}
+		S3Object object = client.getObject(request);
+		if (object == null) {
+			// the object has been replaced since it was looked up
+			object = client.getObject(bucket, key);
+		}
+		if (metadataCache != null) {
+			metadataCache.put(bucket, key, S3ObjectInfo.of(object.getObjectMetadata()));
+		}
+		return object.getObjectContent();
+	}
+
+	private S3ObjectInfo getObjectInfo(String bucket, String key) {
+		return getObjectInfo(bucket, key, false);
+	}
+
+	private S3ObjectInfo getObjectInfo(String bucket, String key, boolean refresh) {
+		S3ObjectInfo info = (metadataCache != null && !refresh ? metadataCache.get(bucket, key) : null);
+		if (info != null) {
+			return info;
+		}
+
+		try {
+			info = S3ObjectInfo.of(client.getObjectMetadata(bucket, key));
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() != 404) {
+				throw e;
+			}
+			info = S3ObjectInfo.notFound();
+		}
+		if (metadataCache != null) {
+			metadataCache.put(bucket, key, info);
+		}
+		return info;
+	}
+
+	@Override
+	public void unsetContent(Iterable<S> properties) {
+		if (bulkDeleter == null) {
+			ContentStore.super.unsetContent(properties);
+			return;
+		}
+
+		try {
+			bulkDeleter.delete(client, properties, property -> {
+				S3ObjectId id = getS3ObjectId(property);
+				return new S3ObjectId(id.getBucket(), getKey(id));
+			}, (property, id) -> {
+				if (metadataCache != null) {
+					metadataCache.put(id.getBucket(), id.getKey(), S3ObjectInfo.notFound());
+				}
+				// reset content fields
+				unassociate(property);
+			});
+		} catch (IOException e) {
+			throw new StoreAccessException("Unable to unset content", e);
+		}
+	}
+
 	@Override
 	public void unsetContent(S property) {
 		if (property == null)
@@ -192,18 +403,17 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 		}
 	}
 
-	private String absolutify(String bucket, String location) {
-		String locationToUse = null;
-		Assert.state(location.startsWith("s3://") == false);
-		if (location.startsWith("/")) {
-			locationToUse = location.substring(1);
-		} else {
-			locationToUse = location;
-		}
-		return String.format("s3://%s/%s", bucket, locationToUse);
+	private String absolutify(String bucket, String key) {
+		return String.format("s3://%s/%s", bucket, key);
 	}
 
 	private void deleteIfExists(SID contentId) {
+		if (metadataCache != null) {
+			S3ObjectId id = getS3ObjectIdForId(contentId);
+			deleteObject(id.getBucket(), getKey(id));
+			return;
+		}
+
 		String bucketName = this.idResolver.getBucket(contentId, this.defaultBucket);
 		
 		Resource resource = this.getResource(contentId);
@@ -213,6 +423,12 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 	}
 
 	private void deleteIfExists(S entity) {
+		if (metadataCache != null) {
+			S3ObjectId id = getS3ObjectId(entity);
+			deleteObject(id.getBucket(), getKey(id));
+			return;
+		}
+
 		String bucketName = this.getS3ObjectIdResolver().getBucket(entity, this.defaultBucket);
 
 		Resource resource = this.getResource(entity);
@@ -220,4 +436,13 @@ public class DefaultS3StoreImpl<S, SID extends Serializable> implements Store<SI
 			client.deleteObject(new DeleteObjectRequest(bucketName, resource.getFilename()));
 		}
 	}
+
+	private void deleteObject(String bucket, String key) {
+		// deleting a missing object succeeds so there is no need to check it exists first
+		S3ObjectInfo info = metadataCache.get(bucket, key);
+		if (info == null || info.exists()) {
+			client.deleteObject(new DeleteObjectRequest(bucket, key));
+		}
+		metadataCache.put(bucket, key, S3ObjectInfo.notFound());
+	}
 }
@@ -7,4 +7,7 @@ public interface S3StoreConfigurer {
 	void configureS3StoreConverters(ConverterRegistry registry);
 
 	void configureS3ObjectIdResolvers(S3ObjectIdResolvers resolvers);
+
+	default void configure(S3StoreProperties store) {
+	}
 }
@@ -0,0 +1,178 @@
+package org.springframework.content.s3.config;
+
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.content.s3.layout.FlatKeyLayout;
+import org.springframework.content.s3.layout.KeyLayout;
+
+public interface S3StoreProperties {
+
+	/**
+	 * Sets how content is laid out within buckets.  Defaults to {@link FlatKeyLayout}.  Content
+	 * stored with one layout is not found with another; see the reference guide for how to move
+	 * existing content when changing layouts.
+	 *
+	 * @param layout the key layout
+	 * @return these properties
+	 */
+	S3StoreProperties keyLayout(KeyLayout layout);
+
+	/**
+	 * Sets the size of each part of a multipart upload.  Content smaller than one part is uploaded
+	 * with a single request.  S3 requires every part but the last to be at least 5MB.
+	 *
+	 * @param bytes the part size in bytes
+	 * @return these properties
+	 */
+	S3StoreProperties partSize(int bytes);
+
+	/**
+	 * Sets the number of threads that upload parts.
+	 *
+	 * @param threads the number of upload threads
+	 * @return these properties
+	 */
+	S3StoreProperties uploadThreads(int threads);
+
+	/**
+	 * Sets the number of part buffers shared by all uploads.  Buffers are allocated outside of the
+	 * heap so at most {@code partSize * buffers} bytes are held by uploads at any one time; when all
+	 * buffers are in use uploads wait for one to be released.
+	 *
+	 * @param buffers the number of part buffers
+	 * @return these properties
+	 */
+	S3StoreProperties uploadBuffers(int buffers);
+
+	/**
+	 * Sets the executor that uploads parts, replacing the default pool.
+	 *
+	 * @param executor the upload executor
+	 * @return these properties
+	 */
+	S3StoreProperties uploadExecutor(ExecutorService executor);
+
+	/**
+	 * Sets the size above which content is downloaded as a number of concurrent ranged requests.
+	 *
+	 * @param bytes the threshold in bytes
+	 * @return these properties
+	 */
+	S3StoreProperties rangedDownloadThreshold(long bytes);
+
+	/**
+	 * Sets the size of each range of a ranged download.
+	 *
+	 * @param bytes the segment size in bytes
+	 * @return these properties
+	 */
+	S3StoreProperties segmentSize(int bytes);
+
+	/**
+	 * Sets the number of segments of a ranged download fetched ahead of the reader.  Each download
+	 * holds at most {@code segments + 1} segment buffers, while buffers are free.
+	 *
+	 * @param segments the number of segments fetched ahead
+	 * @return these properties
+	 */
+	S3StoreProperties downloadReadAhead(int segments);
+
+	/**
+	 * Sets the number of threads that fetch segments of ranged downloads.
+	 *
+	 * @param threads the number of download threads
+	 * @return these properties
+	 */
+	S3StoreProperties downloadThreads(int threads);
+
+	/**
+	 * Sets the number of segment buffers shared by all ranged downloads.  Buffers are allocated
+	 * outside of the heap so at most {@code segmentSize * buffers} bytes are held by downloads at any
+	 * one time; when all buffers are in use downloads fetch ahead less, or wait for one to be released.
+	 *
+	 * @param buffers the number of segment buffers
+	 * @return these properties
+	 */
+	S3StoreProperties downloadBuffers(int buffers);
+
+	/**
+	 * Sets the executor that fetches segments of ranged downloads, replacing the default pool.
+	 *
+	 * @param executor the download executor
+	 * @return these properties
+	 */
+	S3StoreProperties downloadExecutor(ExecutorService executor);
+
+	/**
+	 * Sets how long what is known about an object, such as whether it exists and its length, is
+	 * cached for.  Changes made by other clients may not be seen for this long.  0 disables caching.
+	 *
+	 * @param seconds the time to live in seconds
+	 * @return these properties
+	 */
+	S3StoreProperties metadataCacheTtl(int seconds);
+
+	/**
+	 * Sets how long that an object doesn't exist is cached for, at most the metadata cache's time
+	 * to live.  Content created by other clients may not be seen for this long.  Defaults to 0, so
+	 * that missing objects are looked up each time.
+	 *
+	 * @param seconds the time to live in seconds
+	 * @return these properties
+	 */
+	S3StoreProperties metadataCacheNotFoundTtl(int seconds);
+
+	/**
+	 * Sets the maximum number of objects whose metadata is cached.
+	 *
+	 * @param entries the maximum number of entries
+	 * @return these properties
+	 */
+	S3StoreProperties metadataCacheSize(int entries);
+
+	/**
+	 * Sets the number of threads that delete batches of objects when content is unset, or deleted,
+	 * in bulk.
+	 *
+	 * @param threads the number of delete threads
+	 * @return these properties
+	 */
+	S3StoreProperties deleteThreads(int threads);
+
+	/**
+	 * Sets the number of threads that open content.
+	 *
+	 * @param threads the number of read threads
+	 * @return these properties
+	 */
+	S3StoreProperties readThreads(int threads);
+
+	/**
+	 * Sets the percentile of the store's recent first byte latencies after which a request for
+	 * content is hedged with a second request; whichever responds first is used.  0 disables
+	 * hedging.
+	 *
+	 * @param percentile the percentile, between 0 and 1
+	 * @return these properties
+	 */
+	S3StoreProperties hedgePercentile(double percentile);
+
+	/**
+	 * Sets the number of times a request for content is attempted when it fails with a transient
+	 * error, such as a server error or throttling.  1 disables retries.
+	 *
+	 * @param attempts the number of attempts
+	 * @return these properties
+	 */
+	S3StoreProperties readAttempts(int attempts);
+
+	/**
+	 * Sets the initial wait before a failed request for content is retried.  The wait doubles with
+	 * each attempt and a random part of it is used so that clients don't retry in step.
+	 *
+	 * @param millis the initial wait in milliseconds
+	 * @return these properties
+	 */
+	S3StoreProperties readRetryBackoff(long millis);
+
+}
@@ -0,0 +1,13 @@
+package org.springframework.content.s3.layout;
+
+/**
+ * Uses the location derived from a content id as the object key, placing content directly under
+ * the root of the bucket.  This is the default layout.
+ */
+public class FlatKeyLayout implements KeyLayout {
+
+	@Override
+	public String toKey(String location) {
+		return location;
+	}
+}
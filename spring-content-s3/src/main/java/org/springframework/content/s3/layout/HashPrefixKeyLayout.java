@@ -0,0 +1,57 @@
+package org.springframework.content.s3.layout;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.Assert;
+
+/**
+ * Prefixes each key with a hash of its location, for example {@code 3fa2/<location>}.
+ * <p>
+ * S3 scales request rates per key prefix so content with sequential, or time ordered, ids all
+ * lands on the same prefix and is throttled once that prefix's limits are reached.  Hashing
+ * spreads content evenly over {@code 16^width} prefixes whatever its ids.
+ * <p>
+ * The hash is a 64 bit FNV-1a hash of the location's UTF-8 bytes, rendered as hex, so that keys
+ * are the same from every JVM.
+ */
+public class HashPrefixKeyLayout implements KeyLayout {
+
+	public static final int DEFAULT_WIDTH = 4;
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final int width;
+
+	public HashPrefixKeyLayout() {
+		this(DEFAULT_WIDTH);
+	}
+
+	/**
+	 * @param width the number of hex characters in the prefix, between 1 and 16
+	 */
+	public HashPrefixKeyLayout(int width) {
+		Assert.isTrue(width > 0 && width <= 16, "width must be between 1 and 16");
+		this.width = width;
+	}
+
+	@Override
+	public String toKey(String location) {
+		return prefix(location) + '/' + location;
+	}
+
+	private String prefix(String location) {
+		long hash = FNV_OFFSET_BASIS;
+		for (byte b : location.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= (b & 0xff);
+			hash *= FNV_PRIME;
+		}
+
+		String hex = Long.toHexString(hash);
+		StringBuilder prefix = new StringBuilder(16);
+		for (int i = hex.length(); i < 16; i++) {
+			prefix.append('0');
+		}
+		return prefix.append(hex).substring(0, width);
+	}
+}
@@ -0,0 +1,16 @@
+package org.springframework.content.s3.layout;
+
+/**
+ * Lays content out within a bucket by mapping the location the store derives from a content id
+ * to the key of the object holding the content.
+ * <p>
+ * The mapping must depend on the location alone so that content can always be found from its id.
+ */
+public interface KeyLayout {
+
+	/**
+	 * @param location the location derived from a content id, without a leading '/'
+	 * @return the key of the object holding the content
+	 */
+	String toKey(String location);
+}
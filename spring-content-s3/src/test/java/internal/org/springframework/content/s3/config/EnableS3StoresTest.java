@@ -84,6 +84,7 @@ public class EnableS3StoresTest {
 				It("should call that configurer to help setup the store", () -> {
 					verify(configurer).configureS3StoreConverters(anyObject());
 					verify(configurer).configureS3ObjectIdResolvers(anyObject());
+					verify(configurer).configure(anyObject());
 				});
 			});
 
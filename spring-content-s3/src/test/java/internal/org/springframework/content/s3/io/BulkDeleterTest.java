@@ -0,0 +1,118 @@
+package internal.org.springframework.content.s3.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.runner.RunWith;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+import com.amazonaws.services.s3.model.S3ObjectId;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class BulkDeleterTest {
+
+	private BulkDeleter deleter;
+	private ExecutorService executor;
+	private AmazonS3 client;
+
+	private List<S3ObjectId> objects;
+	private Map<String, List<Integer>> requests;
+	private Set<String> deleted;
+	private String failKey;
+
+	private Exception e;
+
+	{
+		Describe("BulkDeleter", () -> {
+			BeforeEach(() -> {
+				executor = S3TransferExecutor.create("test-delete", 2);
+				deleter = new BulkDeleter(executor, 2);
+				client = mock(AmazonS3.class);
+				requests = new ConcurrentHashMap<>();
+				deleted = Collections.newSetFromMap(new ConcurrentHashMap<>());
+				failKey = null;
+				e = null;
+
+				objects = new ArrayList<>();
+				for (int i = 0; i < 2500; i++) {
+					objects.add(new S3ObjectId("bucket-a", "key-" + i));
+				}
+				for (int i = 0; i < 10; i++) {
+					objects.add(new S3ObjectId("bucket-b", "key-" + i));
+				}
+
+				when(client.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+					DeleteObjectsRequest request = invocation.getArgument(0);
+					requests.computeIfAbsent(request.getBucketName(), bucket -> Collections.synchronizedList(new ArrayList<>())).add(request.getKeys().size());
+					for (KeyVersion key : request.getKeys()) {
+						if (key.getKey().equals(failKey)) {
+							DeleteError error = new DeleteError();
+							error.setKey(failKey);
+							error.setCode("AccessDenied");
+							throw new MultiObjectDeleteException(Collections.singletonList(error), Collections.<DeleteObjectsResult.DeletedObject>emptyList());
+						}
+					}
+					return new DeleteObjectsResult(Collections.<DeleteObjectsResult.DeletedObject>emptyList());
+				});
+			});
+			JustBeforeEach(() -> {
+				try {
+					deleter.delete(client, objects, id -> id, (id, s3ObjectId) -> deleted.add(id.getBucket() + "/" + id.getKey()));
+				} catch (Exception e) {
+					this.e = e;
+				}
+			});
+			AfterEach(() -> {
+				executor.shutdown();
+			});
+			It("should delete the objects in batches of at most 1000 keys per bucket", () -> {
+				assertThat(e, is(nullValue()));
+				assertThat(requests.get("bucket-a").size(), is(3));
+				assertThat(requests.get("bucket-a"), hasItem(500));
+				assertThat(requests.get("bucket-b").size(), is(1));
+				assertThat(requests.get("bucket-b").get(0), is(10));
+				assertThat(deleted.size(), is(2510));
+			});
+			Context("when an object can't be deleted", () -> {
+				BeforeEach(() -> {
+					failKey = "key-5";
+				});
+				It("should report the failure and call back for the remaining objects only", () -> {
+					assertThat(e, is(not(nullValue())));
+					assertThat(deleted.contains("bucket-b/key-4"), is(true));
+					assertThat(deleted.contains("bucket-a/key-5"), is(false));
+					assertThat(deleted.contains("bucket-b/key-5"), is(false));
+					assertThat(deleted.contains("bucket-a/key-4"), is(true));
+				});
+			});
+		});
+	}
+}
@@ -0,0 +1,155 @@
+package internal.org.springframework.content.s3.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class MultipartUploaderTest {
+
+	private static final int PART_SIZE = 16;
+
+	private MultipartUploader uploader;
+	private ExecutorService executor;
+	private AmazonS3 client;
+
+	private byte[] content;
+	private Map<Integer, byte[]> parts;
+	private boolean failPart;
+
+	private S3ObjectInfo uploaded;
+	private Exception e;
+
+	{
+		Describe("MultipartUploader", () -> {
+			BeforeEach(() -> {
+				executor = S3TransferExecutor.create("test-upload", 2);
+				uploader = new MultipartUploader(executor, new PartBufferPool(PART_SIZE, 3));
+				client = mock(AmazonS3.class);
+				parts = new ConcurrentHashMap<>();
+				failPart = false;
+				e = null;
+
+				InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+				initiated.setUploadId("upload-id");
+				when(client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+				PutObjectResult put = new PutObjectResult();
+				put.setETag("put-etag");
+				when(client.putObject(any(PutObjectRequest.class))).thenReturn(put);
+				CompleteMultipartUploadResult completed = new CompleteMultipartUploadResult();
+				completed.setETag("multipart-etag");
+				when(client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenReturn(completed);
+				when(client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+					UploadPartRequest request = invocation.getArgument(0);
+					if (failPart && request.getPartNumber() == 2) {
+						throw new AmazonServiceException("part failed");
+					}
+					parts.put(request.getPartNumber(), IOUtils.toByteArray(request.getInputStream()));
+					UploadPartResult result = new UploadPartResult();
+					result.setPartNumber(request.getPartNumber());
+					result.setETag("etag-" + request.getPartNumber());
+					return result;
+				});
+			});
+			JustBeforeEach(() -> {
+				try {
+					uploaded = uploader.upload(client, "some-bucket", "some-key", new ByteArrayInputStream(content));
+				} catch (Exception e) {
+					this.e = e;
+				}
+			});
+			AfterEach(() -> {
+				executor.shutdown();
+			});
+			Context("given content smaller than a part", () -> {
+				BeforeEach(() -> {
+					content = "0123456789".getBytes();
+				});
+				It("should upload the content with a single request", () -> {
+					assertThat(uploaded.getContentLength(), is(10L));
+					assertThat(uploaded.getETag(), is("put-etag"));
+					ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+					verify(client).putObject(request.capture());
+					assertThat(request.getValue().getMetadata().getContentLength(), is(10L));
+					verify(client, never()).initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+				});
+			});
+			Context("given content larger than a part", () -> {
+				BeforeEach(() -> {
+					content = new byte[PART_SIZE * 5 + 7];
+					new Random(42).nextBytes(content);
+				});
+				It("should upload the content in parts", () -> {
+					assertThat(e, is(nullValue()));
+					assertThat(uploaded.getContentLength(), is((long) content.length));
+					assertThat(uploaded.getETag(), is("multipart-etag"));
+					assertThat(parts.size(), is(6));
+
+					ByteArrayOutputStream received = new ByteArrayOutputStream();
+					for (int i = 1; i <= parts.size(); i++) {
+						received.write(parts.get(i));
+					}
+					assertThat(received.toByteArray(), is(content));
+				});
+				It("should complete the upload with the parts in order", () -> {
+					ArgumentCaptor<CompleteMultipartUploadRequest> request = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+					verify(client).completeMultipartUpload(request.capture());
+					assertThat(request.getValue().getUploadId(), is("upload-id"));
+					int partNumber = 1;
+					for (PartETag etag : request.getValue().getPartETags()) {
+						assertThat(etag.getPartNumber(), is(partNumber++));
+					}
+				});
+				Context("when a part fails to upload", () -> {
+					BeforeEach(() -> {
+						failPart = true;
+					});
+					It("should abort the upload", () -> {
+						assertThat(e, is(not(nullValue())));
+						verify(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+						verify(client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+					});
+				});
+			});
+		});
+	}
+}
@@ -0,0 +1,207 @@
+package internal.org.springframework.content.s3.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class RangedDownloaderTest {
+
+	private static final int SEGMENT_SIZE = 16;
+
+	private RangedDownloader downloader;
+	private ExecutorService executor;
+	private PartBufferPool buffers;
+	private AmazonS3 client;
+
+	private byte[] content;
+	private boolean changed;
+	private int refreshes;
+
+	private Exception e;
+
+	{
+		Describe("RangedDownloader", () -> {
+			BeforeEach(() -> {
+				executor = S3TransferExecutor.create("test-download", 2);
+				buffers = new PartBufferPool(SEGMENT_SIZE, 3);
+				downloader = new RangedDownloader(executor, buffers, 32, 2);
+				client = mock(AmazonS3.class);
+				content = new byte[SEGMENT_SIZE * 4 + 5];
+				new Random(42).nextBytes(content);
+				changed = false;
+				refreshes = 0;
+				e = null;
+
+				when(client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+					GetObjectRequest request = invocation.getArgument(0);
+					if (changed || request.getMatchingETagConstraints().contains("stale")) {
+						return null;
+					}
+					long[] range = request.getRange();
+					S3Object object = new S3Object();
+					object.setObjectContent(new ByteArrayInputStream(Arrays.copyOfRange(content, (int) range[0], (int) range[1] + 1)));
+					return object;
+				});
+			});
+			AfterEach(() -> {
+				executor.shutdown();
+			});
+			Context("#isRanged", () -> {
+				It("should only range content above the threshold", () -> {
+					assertThat(downloader.isRanged(31), is(false));
+					assertThat(downloader.isRanged(content.length), is(true));
+				});
+			});
+			Context("#download", () -> {
+				It("should return the content in order", () -> {
+					try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+						assertThat(IOUtils.toByteArray(in), is(content));
+					}
+				});
+				It("should fetch the content one segment per request", () -> {
+					try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+						IOUtils.toByteArray(in);
+					}
+					verify(client, times(5)).getObject(any(GetObjectRequest.class));
+				});
+				It("should return every buffer once the download is closed", () -> {
+					try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+						assertThat(in.read(), is(content[0] & 0xff));
+					}
+					assertThat(acquireAll(), is(3));
+				});
+				Context("given a single buffer", () -> {
+					BeforeEach(() -> {
+						buffers = new PartBufferPool(SEGMENT_SIZE, 1);
+						downloader = new RangedDownloader(executor, buffers, 32, 2);
+					});
+					It("should return the content a segment at a time", () -> {
+						try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+							assertThat(IOUtils.toByteArray(in), is(content));
+						}
+						assertThat(acquireAll(), is(1));
+					});
+				});
+				Context("given another download holds most of the buffers", () -> {
+					BeforeEach(() -> {
+						buffers = new PartBufferPool(SEGMENT_SIZE, 4);
+						downloader = new RangedDownloader(executor, buffers, 32, 2);
+					});
+					It("should fetch ahead only as far as the free buffers allow", () -> {
+						try (InputStream first = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+							// the segment being read and both of those fetched ahead
+							assertThat(first.read(), is(content[0] & 0xff));
+
+							try (InputStream second = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+								assertThat(IOUtils.toByteArray(second), is(content));
+							}
+							assertThat(IOUtils.toByteArray(first), is(Arrays.copyOfRange(content, 1, content.length)));
+						}
+						assertThat(acquireAll(), is(4));
+					});
+				});
+				Context("when the object changes during the download", () -> {
+					BeforeEach(() -> {
+						changed = true;
+					});
+					It("should fail", () -> {
+						try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "etag")) {
+							IOUtils.toByteArray(in);
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+						assertThat(e, is(not(nullValue())));
+					});
+					It("should not refresh the object's metadata once content has been read", () -> {
+						changed = false;
+						try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "etag", this::refresh)) {
+							assertThat(in.read(), is(content[0] & 0xff));
+							changed = true;
+							IOUtils.toByteArray(in);
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+						assertThat(e, is(not(nullValue())));
+						assertThat(refreshes, is(0));
+					});
+				});
+				Context("when the object's ETag is stale before the download starts", () -> {
+					It("should refresh the object's metadata and download it again", () -> {
+						try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "stale", this::refresh)) {
+							assertThat(IOUtils.toByteArray(in), is(content));
+						}
+						assertThat(refreshes, is(1));
+					});
+					It("should fail without a way to refresh the metadata", () -> {
+						try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "stale")) {
+							IOUtils.toByteArray(in);
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+						assertThat(e, is(not(nullValue())));
+					});
+					It("should refresh only once", () -> {
+						try (InputStream in = downloader.download(client, "some-bucket", "some-key", content.length, "stale", () -> {
+							refreshes++;
+							return S3ObjectInfo.of(content.length, "stale", 0L);
+						})) {
+							IOUtils.toByteArray(in);
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+						assertThat(e, is(not(nullValue())));
+						assertThat(refreshes, is(1));
+					});
+				});
+			});
+		});
+	}
+
+	// acquires every free buffer, waiting briefly for any still being released by cancelled fetches
+	private int acquireAll() throws InterruptedException {
+		int count = 0;
+		long deadline = System.currentTimeMillis() + 5000;
+		while (count < buffers.getCapacity() && System.currentTimeMillis() < deadline) {
+			if (buffers.tryAcquire() != null) {
+				count++;
+			} else {
+				Thread.sleep(10);
+			}
+		}
+		return count;
+	}
+
+	private S3ObjectInfo refresh() {
+		refreshes++;
+		return S3ObjectInfo.of(content.length, "fresh", 0L);
+	}
+}
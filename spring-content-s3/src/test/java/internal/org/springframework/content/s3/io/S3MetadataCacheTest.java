@@ -0,0 +1,128 @@
+package internal.org.springframework.content.s3.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.FileNotFoundException;
+
+import org.junit.runner.RunWith;
+import org.springframework.core.io.Resource;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class S3MetadataCacheTest {
+
+	private S3MetadataCache cache;
+
+	private AmazonS3 client;
+	private Resource delegate;
+	private S3StoreResource resource;
+
+	private Exception e;
+
+	{
+		Describe("S3MetadataCache", () -> {
+			BeforeEach(() -> {
+				cache = new S3MetadataCache(60, 60, 2);
+			});
+			It("should return what was put", () -> {
+				cache.put("some-bucket", "some-key", S3ObjectInfo.of(20L, "etag", -1L));
+				assertThat(cache.get("some-bucket", "some-key").getContentLength(), is(20L));
+				assertThat(cache.get("some-bucket", "some-key").getETag(), is("etag"));
+				assertThat(cache.get("other-bucket", "some-key"), is(nullValue()));
+			});
+			It("should forget invalidated objects", () -> {
+				cache.put("some-bucket", "some-key", S3ObjectInfo.notFound());
+				cache.invalidate("some-bucket", "some-key");
+				assertThat(cache.get("some-bucket", "some-key"), is(nullValue()));
+			});
+			It("should evict the least recently used objects once full", () -> {
+				cache.put("some-bucket", "a", S3ObjectInfo.notFound());
+				cache.put("some-bucket", "b", S3ObjectInfo.notFound());
+				cache.get("some-bucket", "a");
+				cache.put("some-bucket", "c", S3ObjectInfo.notFound());
+				assertThat(cache.get("some-bucket", "a"), is(not(nullValue())));
+				assertThat(cache.get("some-bucket", "b"), is(nullValue()));
+				assertThat(cache.get("some-bucket", "c"), is(not(nullValue())));
+			});
+			Context("given the default time to live for missing objects", () -> {
+				BeforeEach(() -> {
+					cache = new S3MetadataCache(60, 2);
+				});
+				It("should not keep that an object doesn't exist", () -> {
+					cache.put("some-bucket", "some-key", S3ObjectInfo.notFound());
+					assertThat(cache.get("some-bucket", "some-key"), is(nullValue()));
+				});
+				It("should forget what was known about an object found not to exist", () -> {
+					cache.put("some-bucket", "some-key", S3ObjectInfo.of(20L, "etag", -1L));
+					cache.put("some-bucket", "some-key", S3ObjectInfo.notFound());
+					assertThat(cache.get("some-bucket", "some-key"), is(nullValue()));
+				});
+			});
+			Context("given a time to live of 0", () -> {
+				BeforeEach(() -> {
+					cache = new S3MetadataCache(0, 2);
+				});
+				It("should keep nothing", () -> {
+					cache.put("some-bucket", "some-key", S3ObjectInfo.notFound());
+					assertThat(cache.get("some-bucket", "some-key"), is(nullValue()));
+				});
+			});
+			Context("given a resource using the cache", () -> {
+				BeforeEach(() -> {
+					client = mock(AmazonS3.class);
+					delegate = mock(Resource.class);
+					resource = new S3StoreResource(client, "some-bucket", "some-key", delegate, cache);
+					e = null;
+				});
+				Context("when the object exists", () -> {
+					BeforeEach(() -> {
+						ObjectMetadata metadata = new ObjectMetadata();
+						metadata.setContentLength(20L);
+						when(client.getObjectMetadata("some-bucket", "some-key")).thenReturn(metadata);
+					});
+					It("should look the object up once", () -> {
+						assertThat(resource.exists(), is(true));
+						assertThat(resource.contentLength(), is(20L));
+						verify(client, times(1)).getObjectMetadata("some-bucket", "some-key");
+						verify(delegate, never()).exists();
+					});
+				});
+				Context("when the object doesn't exist", () -> {
+					BeforeEach(() -> {
+						AmazonS3Exception notFound = new AmazonS3Exception("Not Found");
+						notFound.setStatusCode(404);
+						when(client.getObjectMetadata("some-bucket", "some-key")).thenThrow(notFound);
+					});
+					It("should remember that it doesn't exist", () -> {
+						assertThat(resource.exists(), is(false));
+						try {
+							resource.contentLength();
+						} catch (FileNotFoundException fnfe) {
+							e = fnfe;
+						}
+						assertThat(e, is(not(nullValue())));
+						verify(client, times(1)).getObjectMetadata("some-bucket", "some-key");
+					});
+				});
+			});
+		});
+	}
+}
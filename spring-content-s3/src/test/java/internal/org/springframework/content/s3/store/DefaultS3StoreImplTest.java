@@ -1,10 +1,14 @@
 package internal.org.springframework.content.s3.store;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
 import com.amazonaws.services.s3.model.S3ObjectId;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import internal.org.springframework.content.s3.config.DefaultAssociativeStoreS3ObjectIdResolver;
+import internal.org.springframework.content.s3.io.S3MetadataCache;
+import internal.org.springframework.content.s3.io.S3ObjectInfo;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
@@ -22,6 +26,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.UUID;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
@@ -72,6 +77,7 @@ public class DefaultS3StoreImplTest {
     private File parent;
     private InputStream result;
     private Exception e;
+    private S3MetadataCache metadataCache;
 
 
     {
@@ -212,6 +218,28 @@ public class DefaultS3StoreImplTest {
                         });
                     });
                 });
+                Context("#deleteAll", () -> {
+                    BeforeEach(() -> {
+                        metadataCache = new S3MetadataCache(60, 2);
+                        metadataCache.put("some-bucket", "some/object/id", S3ObjectInfo.of(20L, "etag", -1L));
+
+                        s3ObjectIdBasedStore = new DefaultS3StoreImpl<ContentProperty, S3ObjectId>(loader, converter, client,
+                                S3ObjectIdResolver.createS3ObjectIdResolver(S3ObjectId::getBucket, S3ObjectId::getKey, null),
+                                "default-defaultBucket");
+                        s3ObjectIdBasedStore.setMetadataCache(metadataCache);
+                        when(converter.convert(eq("some-object-id"), eq(String.class))).thenReturn("/some/object/id");
+                    });
+                    JustBeforeEach(() -> {
+                        s3ObjectIdBasedStore.deleteAll(Collections.singletonList(new S3ObjectId("some-bucket", "some-object-id")));
+                    });
+                    It("should delete the object and forget its cached metadata", () -> {
+                        ArgumentCaptor<DeleteObjectRequest> request = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+                        verify(client).deleteObject(request.capture());
+                        assertThat(request.getValue().getBucketName(), is("some-bucket"));
+                        assertThat(request.getValue().getKey(), is("some/object/id"));
+                        assertThat(metadataCache.get("some-bucket", "some/object/id"), is(nullValue()));
+                    });
+                });
             });
             Describe("AssociativeStore", () -> {
                 JustBeforeEach(() -> {
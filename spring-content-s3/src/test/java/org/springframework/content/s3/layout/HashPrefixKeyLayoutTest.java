@@ -0,0 +1,55 @@
+package org.springframework.content.s3.layout;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class HashPrefixKeyLayoutTest {
+
+	private HashPrefixKeyLayout layout;
+
+	{
+		Describe("HashPrefixKeyLayout", () -> {
+			BeforeEach(() -> {
+				layout = new HashPrefixKeyLayout(2);
+			});
+			Context("#toKey", () -> {
+				It("should prefix the location with a hash of the location", () -> {
+					String key = layout.toKey("some/location");
+					assertThat(key.matches("[0-9a-f]{2}/some/location"), is(true));
+					assertThat(layout.toKey("some/location"), is(key));
+				});
+				It("should spread sequential locations over prefixes", () -> {
+					Set<String> prefixes = new HashSet<>();
+					for (int i = 0; i < 1000; i++) {
+						prefixes.add(layout.toKey(String.format("%08d", i)).substring(0, 2));
+					}
+					assertThat(prefixes.size() > 200, is(true));
+				});
+			});
+			Context("given a wider prefix", () -> {
+				BeforeEach(() -> {
+					layout = new HashPrefixKeyLayout(6);
+				});
+				It("should use that many hex characters", () -> {
+					assertThat(layout.toKey("abc").matches("[0-9a-f]{6}/abc"), is(true));
+					assertThat(layout.toKey("abc"), endsWith("/abc"));
+					assertThat(layout.toKey("abc"), is(not("abc")));
+				});
+			});
+		});
+	}
+}